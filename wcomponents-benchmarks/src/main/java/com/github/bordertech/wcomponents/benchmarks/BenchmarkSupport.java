@@ -0,0 +1,100 @@
+package com.github.bordertech.wcomponents.benchmarks;
+
+import com.github.bordertech.wcomponents.Request;
+import com.github.bordertech.wcomponents.Response;
+import com.github.bordertech.wcomponents.UIContext;
+import com.github.bordertech.wcomponents.UIContextHolder;
+import com.github.bordertech.wcomponents.UIContextImpl;
+import com.github.bordertech.wcomponents.WComponent;
+import com.github.bordertech.wcomponents.container.InterceptorComponent;
+import com.github.bordertech.wcomponents.servlet.ServletRequest;
+import com.github.bordertech.wcomponents.servlet.ServletResponse;
+import com.github.bordertech.wcomponents.servlet.WServlet;
+import com.github.bordertech.wcomponents.servlet.WebXmlRenderContext;
+import com.github.bordertech.wcomponents.util.mock.servlet.MockHttpServletRequest;
+import com.github.bordertech.wcomponents.util.mock.servlet.MockHttpServletResponse;
+import java.io.PrintWriter;
+import java.io.Writer;
+
+/**
+ * Utility methods for setting up and running the request lifecycle in benchmarks.
+ *
+ * @since 1.5.30
+ */
+public final class BenchmarkSupport {
+
+	/**
+	 * Hide utility class constructor.
+	 */
+	private BenchmarkSupport() {
+	}
+
+	/**
+	 * Creates a UIContext for the given UI.
+	 *
+	 * @param ui the UI to create the context for.
+	 * @return a new UIContext.
+	 */
+	public static UIContext createUIContext(final WComponent ui) {
+		UIContext uic = new UIContextImpl();
+		uic.setEnvironment(new WServlet.WServletEnvironment("/app", "http://localhost", ""));
+		uic.setUI(ui);
+		return uic;
+	}
+
+	/**
+	 * Runs a complete request lifecycle: serviceRequest, preparePaint and paint.
+	 *
+	 * @param root the root of the component tree, usually an interceptor chain.
+	 * @param uic the context to process the request in.
+	 * @param request the request to process.
+	 * @param response the response to paint to.
+	 * @param writer the writer to paint to.
+	 */
+	public static void processRequest(final InterceptorComponent root, final UIContext uic, final Request request,
+			final Response response, final Writer writer) {
+		root.attachResponse(response);
+		UIContextHolder.pushContext(uic);
+
+		try {
+			root.serviceRequest(request);
+			root.preparePaint(request);
+
+			PrintWriter printWriter = new PrintWriter(writer);
+			root.paint(new WebXmlRenderContext(printWriter));
+			printWriter.flush();
+		} finally {
+			UIContextHolder.popContext();
+		}
+	}
+
+	/**
+	 * Runs a complete request lifecycle for a servlet request.
+	 *
+	 * @param root the root of the component tree, usually an interceptor chain.
+	 * @param uic the context to process the request in.
+	 * @param backing the servlet request to process.
+	 * @param writer the writer to paint to.
+	 */
+	public static void processServletRequest(final InterceptorComponent root, final UIContext uic,
+			final MockHttpServletRequest backing, final Writer writer) {
+		processRequest(root, uic, new ServletRequest(backing), new ServletResponse(new MockHttpServletResponse()),
+				writer);
+	}
+
+	/**
+	 * Runs the given action with the given context active.
+	 *
+	 * @param uic the context to make active.
+	 * @param action the action to run.
+	 */
+	public static void runInContext(final UIContext uic, final Runnable action) {
+		UIContextHolder.pushContext(uic);
+
+		try {
+			action.run();
+		} finally {
+			UIContextHolder.popContext();
+		}
+	}
+}
@@ -0,0 +1,79 @@
+package com.github.bordertech.wcomponents.benchmarks;
+
+import com.github.bordertech.wcomponents.HeadingLevel;
+import com.github.bordertech.wcomponents.WApplication;
+import com.github.bordertech.wcomponents.WButton;
+import com.github.bordertech.wcomponents.WCheckBox;
+import com.github.bordertech.wcomponents.WDateField;
+import com.github.bordertech.wcomponents.WDropdown;
+import com.github.bordertech.wcomponents.WFieldLayout;
+import com.github.bordertech.wcomponents.WHeading;
+import com.github.bordertech.wcomponents.WPanel;
+import com.github.bordertech.wcomponents.WText;
+import com.github.bordertech.wcomponents.WTextArea;
+import com.github.bordertech.wcomponents.WTextField;
+
+/**
+ * A UI made up of a number of typical form sections, used to measure how the request lifecycle scales with the size of
+ * the component tree. Each section contains 11 components.
+ *
+ * @since 1.5.30
+ */
+public class BenchmarkUI extends WApplication {
+
+	/**
+	 * The default number of sections.
+	 */
+	public static final int DEFAULT_SECTIONS = 100;
+
+	/**
+	 * Creates a BenchmarkUI with the default number of sections.
+	 */
+	public BenchmarkUI() {
+		this(DEFAULT_SECTIONS);
+	}
+
+	/**
+	 * Creates a BenchmarkUI.
+	 *
+	 * @param sections the number of form sections to add.
+	 */
+	public BenchmarkUI(final int sections) {
+		for (int i = 0; i < sections; i++) {
+			add(createSection(i));
+		}
+	}
+
+	/**
+	 * Retrieves a form section.
+	 *
+	 * @param index the index of the section.
+	 * @return the form section at the given index.
+	 */
+	public WPanel getSection(final int index) {
+		return (WPanel) getChildAt(index);
+	}
+
+	/**
+	 * Creates a form section.
+	 *
+	 * @param index the index of the section.
+	 * @return the form section.
+	 */
+	private static WPanel createSection(final int index) {
+		WPanel panel = new WPanel();
+		panel.add(new WHeading(HeadingLevel.H2, "Section " + index));
+
+		WFieldLayout layout = new WFieldLayout();
+		layout.addField("Name", new WTextField());
+		layout.addField("Type", new WDropdown(new String[]{"", "One", "Two", "Three"}));
+		layout.addField("Date", new WDateField());
+		layout.addField("Comments", new WTextArea());
+		layout.addField("Confirm", new WCheckBox());
+		panel.add(layout);
+
+		panel.add(new WText("Some descriptive text for section " + index));
+		panel.add(new WButton("Save"));
+		return panel;
+	}
+}
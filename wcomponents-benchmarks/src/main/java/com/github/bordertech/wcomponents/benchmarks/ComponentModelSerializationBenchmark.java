@@ -0,0 +1,122 @@
+package com.github.bordertech.wcomponents.benchmarks;
+
+import com.github.bordertech.wcomponents.ComponentModel;
+import com.github.bordertech.wcomponents.UIContext;
+import com.github.bordertech.wcomponents.registry.UIRegistry;
+import com.github.bordertech.wcomponents.util.Config;
+import com.github.bordertech.wcomponents.util.ConfigurationProperties;
+import com.github.bordertech.wcomponents.util.mock.MockRequest;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the serialization and deserialization of a user's {@link UIContext}, which is dominated by the
+ * {@link ComponentModel}s of the components that have been updated by a request. Both the default and compact
+ * model forms are measured, see {@link ConfigurationProperties#getCompactModelSerialization()}.
+ *
+ * @since 1.5.30
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ComponentModelSerializationBenchmark {
+
+	/**
+	 * Whether to use the compact component model form.
+	 */
+	@Param({"false", "true"})
+	private boolean compact;
+
+	/**
+	 * The user's context.
+	 */
+	private UIContext uic;
+
+	/**
+	 * The serialized context.
+	 */
+	private byte[] serialized;
+
+	/**
+	 * Creates a context with a model for every input field in the UI.
+	 *
+	 * @throws IOException if there is an error serializing the context.
+	 */
+	@Setup
+	public void setup() throws IOException {
+		Config.getInstance().setProperty(ConfigurationProperties.MODEL_COMPACT_SERIALIZATION, String.valueOf(
+				compact));
+
+		// The UI must be in the registry, so that only the models are written
+		BenchmarkUI ui = (BenchmarkUI) UIRegistry.getInstance().getUI(BenchmarkUI.class.getName());
+		uic = BenchmarkSupport.createUIContext(ui);
+
+		MockRequest request = new MockRequest();
+
+		BenchmarkSupport.runInContext(uic, () -> {
+			RequestLifecycleBenchmark.addFieldValues(ui, request);
+			ui.serviceRequest(request);
+			ui.preparePaint(request);
+		});
+
+		serialized = serialize();
+	}
+
+	/**
+	 * Restores the default configuration.
+	 */
+	@TearDown
+	public void tearDown() {
+		Config.reset();
+	}
+
+	/**
+	 * Measures serializing the context.
+	 *
+	 * @return the serialized context.
+	 * @throws IOException if there is an error serializing the context.
+	 */
+	@Benchmark
+	public byte[] serialize() throws IOException {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream(16 * 1024);
+
+		try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+			out.writeObject(uic);
+		}
+
+		return bytes.toByteArray();
+	}
+
+	/**
+	 * Measures deserializing the context.
+	 *
+	 * @return the deserialized context.
+	 * @throws IOException if there is an error deserializing the context.
+	 * @throws ClassNotFoundException if a serialized class can not be found.
+	 */
+	@Benchmark
+	public Object deserialize() throws IOException, ClassNotFoundException {
+		try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(serialized))) {
+			return in.readObject();
+		}
+	}
+}
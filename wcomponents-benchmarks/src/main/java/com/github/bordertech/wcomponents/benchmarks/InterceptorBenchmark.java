@@ -0,0 +1,212 @@
+package com.github.bordertech.wcomponents.benchmarks;
+
+import com.github.bordertech.wcomponents.UIContext;
+import com.github.bordertech.wcomponents.container.AjaxCleanupInterceptor;
+import com.github.bordertech.wcomponents.container.ContextCleanupInterceptor;
+import com.github.bordertech.wcomponents.container.DebugStructureInterceptor;
+import com.github.bordertech.wcomponents.container.FormInterceptor;
+import com.github.bordertech.wcomponents.container.InterceptorComponent;
+import com.github.bordertech.wcomponents.container.PageShellInterceptor;
+import com.github.bordertech.wcomponents.container.ResponseCacheInterceptor;
+import com.github.bordertech.wcomponents.container.SessionTokenInterceptor;
+import com.github.bordertech.wcomponents.container.SubordinateControlInterceptor;
+import com.github.bordertech.wcomponents.container.TemplateRenderInterceptor;
+import com.github.bordertech.wcomponents.container.TransformXMLInterceptor;
+import com.github.bordertech.wcomponents.container.UIContextDumpInterceptor;
+import com.github.bordertech.wcomponents.container.ValidateXMLInterceptor;
+import com.github.bordertech.wcomponents.container.WWindowInterceptor;
+import com.github.bordertech.wcomponents.container.WhitespaceFilterInterceptor;
+import com.github.bordertech.wcomponents.container.WrongStepServerInterceptor;
+import com.github.bordertech.wcomponents.servlet.ServletUtil;
+import com.github.bordertech.wcomponents.util.Config;
+import com.github.bordertech.wcomponents.util.ConfigurationProperties;
+import com.github.bordertech.wcomponents.util.NullWriter;
+import com.github.bordertech.wcomponents.util.mock.servlet.MockHttpServletRequest;
+import com.github.bordertech.wcomponents.util.mock.servlet.MockHttpSession;
+import java.util.concurrent.TimeUnit;
+import org.apache.commons.configuration.Configuration;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * <p>
+ * Measures the overhead of each interceptor in the page submit chain created by
+ * {@link ServletUtil#createInterceptorChain}, by running a complete request lifecycle for a UI wrapped in only that
+ * interceptor and a {@link PageShellInterceptor}. The page shell is needed by the interceptors which process the
+ * complete page (e.g. the XML must declare its namespaces to be transformed or validated), and is placed in the same
+ * position as in the servlet chain. The "PageShell" case is the page shell alone, and gives the baseline to subtract
+ * from the other results. The debug interceptors ("ValidateXML", "DebugStructure" and "UIContextDump") do nothing
+ * unless their features are enabled, so the configuration properties which enable them are set for those cases.
+ * </p>
+ * <p>
+ * Interceptors hold per-request state, so a new interceptor is created for each request, as it is in the servlet.
+ * See {@link ServletChainBenchmark} for the complete chains.
+ * </p>
+ *
+ * @since 1.5.30
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class InterceptorBenchmark {
+
+	/**
+	 * The interceptor to measure.
+	 */
+	@Param({"PageShell", "TemplateRender", "TransformXML", "ValidateXML", "SessionToken", "ResponseCache", "UIContextDump",
+		"WWindow", "WrongStepServer", "AjaxCleanup", "ContextCleanup", "WhitespaceFilter", "SubordinateControl",
+		"Form", "DebugStructure"})
+	private String interceptor;
+
+	/**
+	 * The UI being processed.
+	 */
+	private BenchmarkUI ui;
+
+	/**
+	 * The user's context.
+	 */
+	private UIContext uic;
+
+	/**
+	 * The servlet request.
+	 */
+	private MockHttpServletRequest request;
+
+	/**
+	 * Creates the UI and the request.
+	 */
+	@Setup
+	public void setup() {
+		enableInterceptor(interceptor);
+
+		ui = new BenchmarkUI();
+		ui.setLocked(true);
+		uic = BenchmarkSupport.createUIContext(ui);
+
+		request = new MockHttpServletRequest(new MockHttpSession());
+		request.setMethod("GET");
+		request.setRequestURI("http://localhost/app");
+
+		// Render once, so that the first measured request is not the initial render
+		runRequest();
+	}
+
+	/**
+	 * Restores the default configuration.
+	 */
+	@TearDown
+	public void tearDown() {
+		Config.reset();
+	}
+
+	/**
+	 * Measures a request processed through the interceptor.
+	 */
+	@Benchmark
+	public void processRequest() {
+		runRequest();
+	}
+
+	/**
+	 * Runs a request through a new instance of the interceptor.
+	 */
+	private void runRequest() {
+		InterceptorComponent root;
+
+		if ("PageShell".equals(interceptor)) {
+			root = new PageShellInterceptor();
+		} else if ("Form".equals(interceptor) || "DebugStructure".equals(interceptor)) {
+			// These interceptors sit below the page shell
+			root = new PageShellInterceptor();
+			root.setBackingComponent(createInterceptor(interceptor));
+		} else {
+			root = createInterceptor(interceptor);
+			root.setBackingComponent(new PageShellInterceptor());
+		}
+
+		root.attachUI(ui);
+		BenchmarkSupport.processServletRequest(root, uic, request, new NullWriter());
+	}
+
+	/**
+	 * Sets the configuration properties needed for the interceptor with the given name to do its work.
+	 *
+	 * @param name the interceptor name, without the "Interceptor" suffix.
+	 */
+	private static void enableInterceptor(final String name) {
+		Configuration config = Config.getInstance();
+
+		switch (name) {
+			case "ValidateXML":
+				config.setProperty(ConfigurationProperties.DEVELOPER_DEBUG_ENABLED, "true");
+				config.setProperty(ConfigurationProperties.DEVELOPER_VALIDATE_XML, "true");
+				break;
+			case "DebugStructure":
+				config.setProperty(ConfigurationProperties.DEVELOPER_DEBUG_ENABLED, "true");
+				break;
+			case "UIContextDump":
+				config.setProperty(ConfigurationProperties.DEVELOPER_DUMP_UICONTEXT, "true");
+				break;
+			default:
+				return;
+		}
+
+		// DebugUtil caches the debug flags, so must be told about the change
+		Config.notifyListeners();
+	}
+
+	/**
+	 * Creates the interceptor with the given name.
+	 *
+	 * @param name the interceptor name, without the "Interceptor" suffix.
+	 * @return a new interceptor.
+	 */
+	private static InterceptorComponent createInterceptor(final String name) {
+		switch (name) {
+			case "TemplateRender":
+				return new TemplateRenderInterceptor();
+			case "TransformXML":
+				return new TransformXMLInterceptor();
+			case "ValidateXML":
+				return new ValidateXMLInterceptor();
+			case "SessionToken":
+				return new SessionTokenInterceptor();
+			case "ResponseCache":
+				return new ResponseCacheInterceptor(ResponseCacheInterceptor.CacheType.NO_CACHE);
+			case "UIContextDump":
+				return new UIContextDumpInterceptor();
+			case "WWindow":
+				return new WWindowInterceptor(true);
+			case "WrongStepServer":
+				return new WrongStepServerInterceptor();
+			case "AjaxCleanup":
+				return new AjaxCleanupInterceptor();
+			case "ContextCleanup":
+				return new ContextCleanupInterceptor();
+			case "WhitespaceFilter":
+				return new WhitespaceFilterInterceptor();
+			case "SubordinateControl":
+				return new SubordinateControlInterceptor();
+			case "Form":
+				return new FormInterceptor();
+			case "DebugStructure":
+				return new DebugStructureInterceptor();
+			default:
+				throw new IllegalArgumentException("Unknown interceptor " + name);
+		}
+	}
+}
@@ -0,0 +1,113 @@
+package com.github.bordertech.wcomponents.benchmarks;
+
+import com.github.bordertech.wcomponents.UIContext;
+import com.github.bordertech.wcomponents.WPanel;
+import com.github.bordertech.wcomponents.WRepeater;
+import com.github.bordertech.wcomponents.WText;
+import com.github.bordertech.wcomponents.WTextField;
+import com.github.bordertech.wcomponents.servlet.WebXmlRenderContext;
+import com.github.bordertech.wcomponents.util.NullWriter;
+import com.github.bordertech.wcomponents.util.mock.MockRequest;
+import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the request lifecycle of a {@link WRepeater} with a large bean list. Each row is a panel containing a text
+ * and a text field, both bound to the row bean.
+ *
+ * @since 1.5.30
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RepeaterBenchmark {
+
+	/**
+	 * The number of rows in the repeater.
+	 */
+	@Param({"1000", "10000", "100000"})
+	private int rows;
+
+	/**
+	 * The repeater being processed.
+	 */
+	private WRepeater repeater;
+
+	/**
+	 * The user's context.
+	 */
+	private UIContext uic;
+
+	/**
+	 * The request.
+	 */
+	private MockRequest request;
+
+	/**
+	 * Creates the repeater and the bean list.
+	 */
+	@Setup
+	public void setup() {
+		WText text = new WText();
+		text.setBeanProperty(".");
+		WTextField field = new WTextField();
+		field.setBeanProperty(".");
+
+		WPanel row = new WPanel();
+		row.add(text);
+		row.add(field);
+
+		repeater = new WRepeater(row);
+		repeater.setLocked(true);
+
+		List<String> beans = new ArrayList<>(rows);
+
+		for (int i = 0; i < rows; i++) {
+			beans.add("Row " + i);
+		}
+
+		uic = BenchmarkSupport.createUIContext(repeater);
+		request = new MockRequest();
+
+		BenchmarkSupport.runInContext(uic, () -> {
+			repeater.setBeanList(beans);
+			repeater.serviceRequest(request);
+			repeater.preparePaint(request);
+		});
+	}
+
+	/**
+	 * Measures request processing.
+	 */
+	@Benchmark
+	public void serviceRequest() {
+		BenchmarkSupport.runInContext(uic, () -> repeater.serviceRequest(request));
+	}
+
+	/**
+	 * Measures preparing and painting the repeater.
+	 */
+	@Benchmark
+	public void paint() {
+		BenchmarkSupport.runInContext(uic, () -> {
+			repeater.preparePaint(request);
+			repeater.paint(new WebXmlRenderContext(new PrintWriter(new NullWriter())));
+		});
+	}
+}
@@ -0,0 +1,134 @@
+package com.github.bordertech.wcomponents.benchmarks;
+
+import com.github.bordertech.wcomponents.Container;
+import com.github.bordertech.wcomponents.UIContext;
+import com.github.bordertech.wcomponents.WComponent;
+import com.github.bordertech.wcomponents.WTextField;
+import com.github.bordertech.wcomponents.servlet.WebXmlRenderContext;
+import com.github.bordertech.wcomponents.util.mock.MockRequest;
+import java.io.CharArrayWriter;
+import java.io.PrintWriter;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures each phase of the request lifecycle (serviceRequest, preparePaint and paint using the web XML renderers)
+ * over component trees of increasing size, without the interceptor chain.
+ *
+ * @since 1.5.30
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RequestLifecycleBenchmark {
+
+	/**
+	 * The number of form sections in the UI.
+	 */
+	@Param({"10", "100", "1000"})
+	private int sections;
+
+	/**
+	 * The UI being processed.
+	 */
+	private BenchmarkUI ui;
+
+	/**
+	 * The user's context.
+	 */
+	private UIContext uic;
+
+	/**
+	 * The request, which contains a value for every text field.
+	 */
+	private MockRequest request;
+
+	/**
+	 * The buffer that the UI is painted to.
+	 */
+	private CharArrayWriter buffer;
+
+	/**
+	 * Creates the UI and the request.
+	 */
+	@Setup
+	public void setup() {
+		ui = new BenchmarkUI(sections);
+		ui.setLocked(true);
+		uic = BenchmarkSupport.createUIContext(ui);
+		request = new MockRequest();
+		buffer = new CharArrayWriter(64 * 1024);
+
+		BenchmarkSupport.runInContext(uic, () -> {
+			addFieldValues(ui, request);
+			ui.serviceRequest(request);
+			ui.preparePaint(request);
+		});
+	}
+
+	/**
+	 * Measures request processing.
+	 */
+	@Benchmark
+	public void serviceRequest() {
+		BenchmarkSupport.runInContext(uic, () -> ui.serviceRequest(request));
+	}
+
+	/**
+	 * Measures paint preparation.
+	 */
+	@Benchmark
+	public void preparePaint() {
+		BenchmarkSupport.runInContext(uic, () -> ui.preparePaint(request));
+	}
+
+	/**
+	 * Measures painting the UI as XML.
+	 *
+	 * @param blackhole consumes the output.
+	 */
+	@Benchmark
+	public void paint(final Blackhole blackhole) {
+		buffer.reset();
+
+		BenchmarkSupport.runInContext(uic, () -> {
+			PrintWriter writer = new PrintWriter(buffer);
+			ui.paint(new WebXmlRenderContext(writer));
+			writer.flush();
+		});
+
+		blackhole.consume(buffer.size());
+	}
+
+	/**
+	 * Adds a value for every text field in the given branch to the request.
+	 *
+	 * @param component the branch to search.
+	 * @param req the request to add the values to.
+	 */
+	static void addFieldValues(final WComponent component, final MockRequest req) {
+		if (component instanceof WTextField) {
+			req.setParameter(component.getId(), "value " + component.getId());
+		} else if (component instanceof Container) {
+			Container container = (Container) component;
+
+			for (int i = 0; i < container.getChildCount(); i++) {
+				addFieldValues(container.getChildAt(i), req);
+			}
+		}
+	}
+}
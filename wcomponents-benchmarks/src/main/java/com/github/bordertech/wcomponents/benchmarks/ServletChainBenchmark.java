@@ -0,0 +1,156 @@
+package com.github.bordertech.wcomponents.benchmarks;
+
+import com.github.bordertech.wcomponents.Environment;
+import com.github.bordertech.wcomponents.UIContext;
+import com.github.bordertech.wcomponents.WComponent;
+import com.github.bordertech.wcomponents.registry.UIRegistry;
+import com.github.bordertech.wcomponents.servlet.ServletUtil;
+import com.github.bordertech.wcomponents.servlet.WServlet;
+import com.github.bordertech.wcomponents.util.mock.MockRequest;
+import com.github.bordertech.wcomponents.util.mock.servlet.MockHttpServletRequest;
+import com.github.bordertech.wcomponents.util.mock.servlet.MockHttpServletResponse;
+import com.github.bordertech.wcomponents.util.mock.servlet.MockHttpSession;
+import com.github.bordertech.wcomponents.util.mock.servlet.MockServletConfig;
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import javax.servlet.ServletException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures complete requests through {@link WServlet}, using the interceptor chains created by
+ * {@link ServletUtil#createInterceptorChain}. The page requests submit a value for every text field in the UI, and the
+ * AJAX requests replace a single section of the UI.
+ *
+ * @since 1.5.30
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ServletChainBenchmark {
+
+	/**
+	 * The type of request to send, either "page" or "ajax".
+	 */
+	@Param({"page", "ajax"})
+	private String requestType;
+
+	/**
+	 * The servlet which processes the requests.
+	 */
+	private WServlet servlet;
+
+	/**
+	 * The user's session.
+	 */
+	private MockHttpSession session;
+
+	/**
+	 * The user's context, which is held in the session.
+	 */
+	private UIContext uic;
+
+	/**
+	 * The parameters sent on each request, other than the step and session token.
+	 */
+	private MockRequest parameters;
+
+	/**
+	 * Creates the servlet and renders the initial page.
+	 *
+	 * @throws ServletException if the servlet fails to initialise.
+	 * @throws IOException if there is an error processing the initial request.
+	 */
+	@Setup
+	public void setup() throws ServletException, IOException {
+		servlet = new BenchmarkServlet();
+		servlet.init(new MockServletConfig());
+		session = new MockHttpSession();
+
+		// Initial render of the page
+		MockHttpServletRequest request = new MockHttpServletRequest(session);
+		request.setMethod("GET");
+		request.setRequestURI("http://localhost/app");
+		servlet.service(request, new MockHttpServletResponse());
+
+		String sessionKey = new WServlet.WServletHelper(servlet, new MockHttpServletRequest(session),
+				new MockHttpServletResponse()).getUiContextSessionKey();
+		uic = (UIContext) session.getAttribute(sessionKey);
+
+		BenchmarkUI ui = (BenchmarkUI) uic.getUI();
+		parameters = new MockRequest();
+
+		if ("ajax".equals(requestType)) {
+			String sectionId = getComponentId(ui.getSection(0));
+			parameters.setParameter(WServlet.AJAX_TRIGGER_PARAM_NAME, sectionId);
+			parameters.setParameter(WServlet.AJAX_TRIGGER_INTERNAL_PARAM_NAME, "true");
+		} else {
+			BenchmarkSupport.runInContext(uic, () -> RequestLifecycleBenchmark.addFieldValues(ui, parameters));
+		}
+	}
+
+	/**
+	 * Measures a request.
+	 *
+	 * @param blackhole consumes the output.
+	 * @throws ServletException if there is an error processing the request.
+	 * @throws IOException if there is an error processing the request.
+	 */
+	@Benchmark
+	public void service(final Blackhole blackhole) throws ServletException, IOException {
+		MockHttpServletRequest request = new MockHttpServletRequest(session);
+		request.setMethod("ajax".equals(requestType) ? "GET" : "POST");
+		request.setRequestURI("http://localhost/app");
+
+		for (Map.Entry<String, String[]> entry : parameters.getParameters().entrySet()) {
+			request.setParameter(entry.getKey(), entry.getValue()[0]);
+		}
+
+		request.setParameter(Environment.STEP_VARIABLE, String.valueOf(uic.getEnvironment().getStep()));
+		request.setParameter(Environment.SESSION_TOKEN_VARIABLE, uic.getEnvironment().getSessionToken());
+
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		servlet.service(request, response);
+		blackhole.consume(response.getOutput().length);
+	}
+
+	/**
+	 * Retrieves the id of a component in the user's context.
+	 *
+	 * @param component the component to retrieve the id of.
+	 * @return the component's id.
+	 */
+	private String getComponentId(final WComponent component) {
+		String[] id = new String[1];
+		BenchmarkSupport.runInContext(uic, () -> id[0] = component.getId());
+		return id[0];
+	}
+
+	/**
+	 * A WServlet which serves the {@link BenchmarkUI}.
+	 */
+	public static final class BenchmarkServlet extends WServlet {
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public WComponent getUI(final Object httpServletRequest) {
+			return UIRegistry.getInstance().getUI(BenchmarkUI.class.getName());
+		}
+	}
+}
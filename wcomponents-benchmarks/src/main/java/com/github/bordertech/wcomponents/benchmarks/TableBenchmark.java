@@ -0,0 +1,143 @@
+package com.github.bordertech.wcomponents.benchmarks;
+
+import com.github.bordertech.wcomponents.AdapterBasicTableModel;
+import com.github.bordertech.wcomponents.SimpleTableModel;
+import com.github.bordertech.wcomponents.UIContext;
+import com.github.bordertech.wcomponents.WTable;
+import com.github.bordertech.wcomponents.WTable.PaginationMode;
+import com.github.bordertech.wcomponents.WTable.SortMode;
+import com.github.bordertech.wcomponents.WTableColumn;
+import com.github.bordertech.wcomponents.WText;
+import com.github.bordertech.wcomponents.servlet.WebXmlRenderContext;
+import com.github.bordertech.wcomponents.util.NullWriter;
+import com.github.bordertech.wcomponents.util.mock.MockRequest;
+import java.io.PrintWriter;
+import java.io.Serializable;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the request lifecycle of a {@link WTable} with a large {@link SimpleTableModel} (via an
+ * {@link AdapterBasicTableModel}), with and without pagination.
+ *
+ * @since 1.5.30
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TableBenchmark {
+
+	/**
+	 * The number of rows per page, when the table is paginated.
+	 */
+	private static final int ROWS_PER_PAGE = 100;
+
+	/**
+	 * The number of rows in the table.
+	 */
+	@Param({"1000", "10000", "100000"})
+	private int rows;
+
+	/**
+	 * The table's pagination mode.
+	 */
+	@Param({"NONE", "DYNAMIC"})
+	private PaginationMode pagination;
+
+	/**
+	 * The table being processed.
+	 */
+	private WTable table;
+
+	/**
+	 * The user's context.
+	 */
+	private UIContext uic;
+
+	/**
+	 * The request.
+	 */
+	private MockRequest request;
+
+	/**
+	 * The sort direction for the next sort.
+	 */
+	private boolean ascending;
+
+	/**
+	 * Creates the table and the table model.
+	 */
+	@Setup
+	public void setup() {
+		table = new WTable();
+		table.addColumn(new WTableColumn("Id", WText.class));
+		table.addColumn(new WTableColumn("Name", WText.class));
+		table.addColumn(new WTableColumn("Description", WText.class));
+		table.setPaginationMode(pagination);
+		table.setRowsPerPage(ROWS_PER_PAGE);
+		table.setSortMode(SortMode.DYNAMIC);
+		table.setLocked(true);
+
+		Serializable[][] data = new Serializable[rows][];
+
+		for (int i = 0; i < rows; i++) {
+			data[i] = new Serializable[]{i, "Name " + (rows - i), "Description of row " + i};
+		}
+
+		SimpleTableModel model = new SimpleTableModel(data);
+
+		for (int col = 0; col < 3; col++) {
+			model.setComparator(col, SimpleTableModel.COMPARABLE_COMPARATOR);
+		}
+
+		uic = BenchmarkSupport.createUIContext(table);
+		request = new MockRequest();
+
+		BenchmarkSupport.runInContext(uic, () -> {
+			table.setTableModel(new AdapterBasicTableModel(model));
+			table.serviceRequest(request);
+			table.preparePaint(request);
+		});
+	}
+
+	/**
+	 * Measures request processing.
+	 */
+	@Benchmark
+	public void serviceRequest() {
+		BenchmarkSupport.runInContext(uic, () -> table.serviceRequest(request));
+	}
+
+	/**
+	 * Measures preparing and painting the table.
+	 */
+	@Benchmark
+	public void paint() {
+		BenchmarkSupport.runInContext(uic, () -> {
+			table.preparePaint(request);
+			table.paint(new WebXmlRenderContext(new PrintWriter(new NullWriter())));
+		});
+	}
+
+	/**
+	 * Measures sorting the table, alternating between ascending and descending order.
+	 */
+	@Benchmark
+	public void sort() {
+		ascending = !ascending;
+		BenchmarkSupport.runInContext(uic, () -> table.sort(1, ascending));
+	}
+}
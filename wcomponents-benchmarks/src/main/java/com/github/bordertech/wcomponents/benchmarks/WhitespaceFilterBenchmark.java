@@ -0,0 +1,111 @@
+package com.github.bordertech.wcomponents.benchmarks;
+
+import com.github.bordertech.wcomponents.UIContext;
+import com.github.bordertech.wcomponents.container.InterceptorComponent;
+import com.github.bordertech.wcomponents.container.PageShellInterceptor;
+import com.github.bordertech.wcomponents.util.NullWriter;
+import com.github.bordertech.wcomponents.util.WhiteSpaceFilterPrintWriter;
+import com.github.bordertech.wcomponents.util.mock.servlet.MockHttpServletRequest;
+import com.github.bordertech.wcomponents.util.mock.servlet.MockHttpSession;
+import java.io.CharArrayWriter;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures {@link WhiteSpaceFilterPrintWriter} filtering a painted page, when the page is written in a single call,
+ * in buffer sized chunks, and a character at a time.
+ *
+ * @since 1.5.30
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WhitespaceFilterBenchmark {
+
+	/**
+	 * The size of the chunks written by {@link #chunks()}.
+	 */
+	private static final int CHUNK_SIZE = 8 * 1024;
+
+	/**
+	 * The number of form sections in the painted UI.
+	 */
+	@Param({"10", "100", "1000"})
+	private int sections;
+
+	/**
+	 * The painted page.
+	 */
+	private char[] page;
+
+	/**
+	 * Paints the page to be filtered.
+	 */
+	@Setup
+	public void setup() {
+		BenchmarkUI ui = new BenchmarkUI(sections);
+		ui.setLocked(true);
+		UIContext uic = BenchmarkSupport.createUIContext(ui);
+
+		MockHttpServletRequest request = new MockHttpServletRequest(new MockHttpSession());
+		request.setMethod("GET");
+
+		InterceptorComponent root = new PageShellInterceptor();
+		root.attachUI(ui);
+
+		CharArrayWriter writer = new CharArrayWriter();
+		BenchmarkSupport.processServletRequest(root, uic, request, writer);
+		page = writer.toCharArray();
+	}
+
+	/**
+	 * Measures filtering the page written in a single call.
+	 */
+	@Benchmark
+	public void whole() {
+		WhiteSpaceFilterPrintWriter writer = new WhiteSpaceFilterPrintWriter(new NullWriter());
+		writer.write(page, 0, page.length);
+		writer.flush();
+	}
+
+	/**
+	 * Measures filtering the page written in buffer sized chunks.
+	 */
+	@Benchmark
+	public void chunks() {
+		WhiteSpaceFilterPrintWriter writer = new WhiteSpaceFilterPrintWriter(new NullWriter());
+
+		for (int off = 0; off < page.length; off += CHUNK_SIZE) {
+			writer.write(page, off, Math.min(CHUNK_SIZE, page.length - off));
+		}
+
+		writer.flush();
+	}
+
+	/**
+	 * Measures filtering the page written a character at a time.
+	 */
+	@Benchmark
+	public void characters() {
+		WhiteSpaceFilterPrintWriter writer = new WhiteSpaceFilterPrintWriter(new NullWriter());
+
+		for (char c : page) {
+			writer.write(c);
+		}
+
+		writer.flush();
+	}
+}
@@ -0,0 +1,92 @@
+package com.github.bordertech.wcomponents.benchmarks;
+
+import com.github.bordertech.wcomponents.UIContext;
+import com.github.bordertech.wcomponents.container.InterceptorComponent;
+import com.github.bordertech.wcomponents.container.PageShellInterceptor;
+import com.github.bordertech.wcomponents.container.TransformXMLInterceptor;
+import com.github.bordertech.wcomponents.util.NullWriter;
+import com.github.bordertech.wcomponents.util.mock.servlet.MockHttpServletRequest;
+import com.github.bordertech.wcomponents.util.mock.servlet.MockHttpSession;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the server-side XSLT transformation of pages of increasing size, using the theme XSLT. The "xml" benchmark
+ * paints the same page without the transformation, and gives the baseline to subtract from the "html" results.
+ *
+ * @since 1.5.30
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class XsltBenchmark {
+
+	/**
+	 * The number of form sections in the UI.
+	 */
+	@Param({"10", "100", "1000"})
+	private int sections;
+
+	/**
+	 * The UI being processed.
+	 */
+	private BenchmarkUI ui;
+
+	/**
+	 * The user's context.
+	 */
+	private UIContext uic;
+
+	/**
+	 * The servlet request.
+	 */
+	private MockHttpServletRequest request;
+
+	/**
+	 * Creates the UI and the request.
+	 */
+	@Setup
+	public void setup() {
+		ui = new BenchmarkUI(sections);
+		ui.setLocked(true);
+		uic = BenchmarkSupport.createUIContext(ui);
+
+		request = new MockHttpServletRequest(new MockHttpSession());
+		request.setMethod("GET");
+		request.setRequestURI("http://localhost/app");
+	}
+
+	/**
+	 * Measures rendering the page as XML.
+	 */
+	@Benchmark
+	public void xml() {
+		InterceptorComponent root = new PageShellInterceptor();
+		root.attachUI(ui);
+		BenchmarkSupport.processServletRequest(root, uic, request, new NullWriter());
+	}
+
+	/**
+	 * Measures rendering the page as HTML, using the theme XSLT.
+	 */
+	@Benchmark
+	public void html() {
+		InterceptorComponent root = new TransformXMLInterceptor();
+		root.setBackingComponent(new PageShellInterceptor());
+		root.attachUI(ui);
+		BenchmarkSupport.processServletRequest(root, uic, request, new NullWriter());
+	}
+}
@@ -0,0 +1,5 @@
+/**
+ * Contains JMH benchmarks for the WComponents request lifecycle. The benchmarks are driven by the mock request and
+ * response implementations, so they do not need a servlet container.
+ */
+package com.github.bordertech.wcomponents.benchmarks;
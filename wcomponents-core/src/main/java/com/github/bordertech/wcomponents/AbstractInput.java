@@ -17,7 +17,7 @@ import org.apache.commons.logging.LogFactory;
  * @author James Gifford, Martin Shevchenko, Jonathan Austin
  * @since 1.0.0
  */
-public abstract class AbstractInput extends WBeanComponent implements Input {
+public abstract class AbstractInput extends WBeanComponent implements Input, RequestParameterConsumer {
 
 	/**
 	 * The logger instance for this class.
@@ -325,6 +325,19 @@ public abstract class AbstractInput extends WBeanComponent implements Input {
 		return request.getParameter(getId()) != null;
 	}
 
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * Subclasses which override {@link #isPresent(Request)} to check parameters which do not start with the
+	 * component's id must also override this method.
+	 * </p>
+	 */
+	@Override
+	public String getRequestParameterPrefix() {
+		// The changed flag is reset by handleRequest, so a changed input must always be called
+		return isChangedInLastRequest() ? null : getId();
+	}
+
 	// ================================
 	// Input Value
 	/**
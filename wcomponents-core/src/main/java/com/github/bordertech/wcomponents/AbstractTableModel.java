@@ -3,7 +3,6 @@ package com.github.bordertech.wcomponents;
 import com.github.bordertech.wcomponents.WTable.TableModel;
 import com.github.bordertech.wcomponents.util.TableUtil;
 import java.io.Serializable;
-import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.List;
 
@@ -132,7 +131,8 @@ public abstract class AbstractTableModel implements TableModel, Serializable {
 	}
 
 	/**
-	 * Calculates the sort order for the data, using the given column and comparator.
+	 * Calculates the sort order for the data, using the given column and comparator. Rows which compare as equal are
+	 * kept in model order, so that the order is the same as for {@link #sort(Comparator, int, boolean, int, int)}.
 	 *
 	 * @param comparator the comparator to use for sorting
 	 * @param col the column to sort on
@@ -140,24 +140,31 @@ public abstract class AbstractTableModel implements TableModel, Serializable {
 	 * @return the row indices in sort order.
 	 */
 	protected int[] sort(final Comparator<Object> comparator, final int col, final boolean ascending) {
+		return sort(comparator, col, ascending, 0, getRowCount());
+	}
+
+	/**
+	 * Calculates the sort order for a range of rows, using the given column and comparator. Only the rows up to the end
+	 * of the range are put in order.
+	 *
+	 * @param comparator the comparator to use for sorting
+	 * @param col the column to sort on
+	 * @param ascending true for an ascending sort, false for descending.
+	 * @param start the first row in the sorted data to return, inclusive.
+	 * @param end the last row in the sorted data to return, exclusive.
+	 * @return the row indices for the given range of rows, in sort order.
+	 * @since 1.5.30
+	 */
+	protected int[] sort(final Comparator<Object> comparator, final int col, final boolean ascending, final int start,
+			final int end) {
 		// We cache the column data to avoid repeated and potentially expensive lookups
 		int rowCount = getRowCount();
 		Object[] columnData = new Object[rowCount];
 
-		for (int i = rowCount - 1; i >= 0; i--) {
-			List<Integer> row = new ArrayList<>();
-			row.add(i);
-			columnData[i] = getValueAt(row, col);
-		}
-
-		int[] sortIndices = new int[rowCount];
-
-		for (int i = 0; i < sortIndices.length; i++) {
-			sortIndices[i] = i;
+		for (int i = 0; i < rowCount; i++) {
+			columnData[i] = getValueAt(RowPath.of(i), col);
 		}
 
-		TableUtil.sortData(columnData, comparator, ascending, 0, columnData.length - 1, sortIndices);
-
-		return sortIndices;
+		return TableUtil.sortDataRange(columnData, comparator, ascending, start, end);
 	}
 }
@@ -75,6 +75,16 @@ public abstract class AbstractWComponent implements WComponent {
 	 */
 	private final ComponentModel sharedModel = newComponentModel();
 
+	/**
+	 * The snapshot of the locked tree which this component belongs to, or null if the component is not in a snapshot.
+	 */
+	private transient TreeSnapshot snapshot;
+
+	/**
+	 * The index of this component in the {@link #snapshot}.
+	 */
+	private transient int snapshotIndex;
+
 	/**
 	 * ID pattern.
 	 */
@@ -87,7 +97,12 @@ public abstract class AbstractWComponent implements WComponent {
 	 */
 	@Override
 	public String getInternalId() {
-		String iid = null;
+		TreeSnapshot currentSnapshot = getSnapshot();
+		String iid = currentSnapshot == null ? null : currentSnapshot.getInternalId(snapshotIndex);
+
+		if (iid != null) {
+			return iid;
+		}
 
 		// As determining the internal id involves a fair bit of tree traversal, it is cached in the scratch map.
 		// Try to retrieve the cached id first.
@@ -161,6 +176,7 @@ public abstract class AbstractWComponent implements WComponent {
 		if (!Objects.equals(idName, currIdName)) {
 			ComponentModel model = getOrCreateComponentModel();
 			model.setIdName(idName);
+			structureChanged();
 		}
 	}
 
@@ -180,6 +196,15 @@ public abstract class AbstractWComponent implements WComponent {
 	 */
 	@Override
 	public String getId() {
+		// The ids of components in a locked tree are precomputed, unless the tree structure has changed for the user
+		TreeSnapshot currentSnapshot = getSnapshot();
+		if (currentSnapshot != null) {
+			String id = currentSnapshot.getId(snapshotIndex);
+			if (id != null) {
+				return id;
+			}
+		}
+
 		// As determining the name involves a fair bit of tree traversal, it is cached in the scratch map.
 		// Try to retrieve the cached name first.
 		Map scratchMap = getScratchMap();
@@ -410,14 +435,38 @@ public abstract class AbstractWComponent implements WComponent {
 			LOG.debug("Calling handleRequest for " + visibles.size() + " components");
 		}
 
-		for (int i = 0; i < visibles.size(); i++) {
-			WComponent next = visibles.get(i);
+		// In parameter dispatch mode, components which consume parameters are only called if their parameters are present
+		RequestParameterIndex index = null;
+		boolean ownsIndex = false;
 
-			if (LOG.isDebugEnabled()) {
-				LOG.debug("Calling handleRequest on " + next.getId() + " " + next.getClass());
+		if (ConfigurationProperties.getRequestParameterDispatch()) {
+			index = (RequestParameterIndex) request.getAttribute(RequestParameterIndex.ATTRIBUTE_KEY);
+
+			if (index == null) {
+				index = new RequestParameterIndex(request);
+				request.setAttribute(RequestParameterIndex.ATTRIBUTE_KEY, index);
+				ownsIndex = true;
 			}
+		}
+
+		try {
+			for (int i = 0; i < visibles.size(); i++) {
+				WComponent next = visibles.get(i);
+
+				if (index != null && !index.isRequested(next)) {
+					continue;
+				}
+
+				if (LOG.isDebugEnabled()) {
+					LOG.debug("Calling handleRequest on " + next.getId() + " " + next.getClass());
+				}
 
-			next.handleRequest(request);
+				next.handleRequest(request);
+			}
+		} finally {
+			if (ownsIndex) {
+				request.setAttribute(RequestParameterIndex.ATTRIBUTE_KEY, null);
+			}
 		}
 
 		invokeLaters();
@@ -849,9 +898,69 @@ public abstract class AbstractWComponent implements WComponent {
 	public void setLocked(final boolean lock) {
 		this.locked = lock;
 
+		if (!lock && snapshot != null) {
+			snapshot.invalidate();
+			snapshot = null;
+		}
+
 		for (int i = 0; i < getChildCount(); i++) {
 			getChildAt(i).setLocked(lock);
 		}
+
+		// The shared structure of a locked tree does not change, so the ids can be precomputed for the whole tree
+		if (lock && getParent() == null && UIContextHolder.getCurrent() == null) {
+			TreeSnapshot.build(this);
+		}
+	}
+
+	/**
+	 * Attaches this component to a snapshot of the locked tree. Any previous snapshot is invalidated, as it no longer
+	 * reflects the snapshot which this component belongs to.
+	 *
+	 * @param treeSnapshot the snapshot.
+	 * @param index the index of this component in the snapshot.
+	 */
+	void attachSnapshot(final TreeSnapshot treeSnapshot, final int index) {
+		if (snapshot != null && snapshot != treeSnapshot) {
+			snapshot.invalidate();
+		}
+
+		this.snapshot = treeSnapshot;
+		this.snapshotIndex = index;
+	}
+
+	/**
+	 * @return the snapshot of the locked tree which this component belongs to, regardless of whether it can be used
+	 * for the current context, or null if the component is not in a snapshot.
+	 */
+	TreeSnapshot getTreeSnapshot() {
+		return snapshot;
+	}
+
+	/**
+	 * @return the index of this component in the snapshot returned by {@link #getTreeSnapshot()}.
+	 */
+	int getSnapshotIndex() {
+		return snapshotIndex;
+	}
+
+	/**
+	 * @return the snapshot of the locked tree which this component belongs to, or null if there is no snapshot which
+	 * can be used for the current context.
+	 */
+	private TreeSnapshot getSnapshot() {
+		TreeSnapshot currentSnapshot = snapshot;
+		return currentSnapshot != null && currentSnapshot.isValid(UIContextHolder.getCurrent()) ? currentSnapshot : null;
+	}
+
+	/**
+	 * Called when the structure of the tree below this component has changed, so that the snapshot of the locked tree
+	 * is no longer used for the current context.
+	 */
+	void structureChanged() {
+		if (snapshot != null) {
+			snapshot.structureChanged(UIContextHolder.getCurrent());
+		}
 	}
 
 	/**
@@ -976,6 +1085,10 @@ public abstract class AbstractWComponent implements WComponent {
 		if (flag != isFlagSet(mask)) {
 			ComponentModel model = getOrCreateComponentModel();
 			model.setFlags(switchFlag(model.getFlags(), mask, flag));
+
+			if ((mask & ComponentModel.NAMING_CONTEXT_FLAG) != 0) {
+				structureChanged();
+			}
 		}
 	}
 
@@ -1228,6 +1341,7 @@ public abstract class AbstractWComponent implements WComponent {
 			if (dynamicParent != null && getParent() != dynamicParent && getIndexOfChild(
 					dynamicParent, this) != -1) {
 				// then re-instate the reference to the dynamic parent.
+				structureChanged();
 				getOrCreateComponentModel().setParent(dynamicParent);
 			}
 		}
@@ -1375,11 +1489,18 @@ public abstract class AbstractWComponent implements WComponent {
 		}
 
 		model.getChildren().add(component);
+		structureChanged();
 
 		if (isLocked()) {
 			component.setLocked(true);
 		}
 
+		// The component is no longer the root of its tree, so must not keep the snapshot built when it was locked,
+		// even if this component is not locked
+		if (component instanceof AbstractWComponent && ((AbstractWComponent) component).snapshot != null) {
+			((AbstractWComponent) component).snapshot.invalidate();
+		}
+
 		if (component instanceof AbstractWComponent) {
 			((AbstractWComponent) component).getOrCreateComponentModel().setParent((Container) this);
 			((AbstractWComponent) component).addNotify();
@@ -1423,6 +1544,8 @@ public abstract class AbstractWComponent implements WComponent {
 		}
 
 		if (model.getChildren().remove(aChild)) {
+			structureChanged();
+
 			// Deallocate children list if possible, to reduce session size.
 			if (model.getChildren().isEmpty()) {
 				model.setChildren(null);
@@ -1510,6 +1633,11 @@ public abstract class AbstractWComponent implements WComponent {
 	 */
 	@Override
 	public Container getParent() {
+		TreeSnapshot currentSnapshot = getSnapshot();
+		if (currentSnapshot != null) {
+			return currentSnapshot.getParent(snapshotIndex);
+		}
+
 		ComponentModel model = getComponentModel();
 		return model.getParent();
 	}
@@ -1907,6 +2035,29 @@ public abstract class AbstractWComponent implements WComponent {
 		 * @see java.io.Serializable
 		 */
 		private Object readResolve() throws ObjectStreamException {
+			return resolve();
+		}
+
+		/**
+		 * @return the UIRegistry key under which the UI root component is registered.
+		 */
+		String getRepositoryKey() {
+			return repositoryKey;
+		}
+
+		/**
+		 * @return the location path of the component in the UI tree, specified as child indices.
+		 */
+		int[] getNodeLocation() {
+			return nodeLocation;
+		}
+
+		/**
+		 * Finds the WComponent that is referred to by this WComponentRef.
+		 *
+		 * @return the WComponent instance that is registered with the registry.
+		 */
+		WComponent resolve() {
 			if (repositoryKey == null || nodeLocation == null) {
 				// Should not happen
 				throw new IllegalStateException(
@@ -1966,14 +2117,19 @@ public abstract class AbstractWComponent implements WComponent {
 			// Calculate the node location.
 			// The node location is a list of "shared" child indexes of each
 			// ancestor going right back to the top node.
-			ArrayList<Integer> reversedIndexList = new ArrayList<>();
+			int depth = 0;
+
+			for (Container parent = getParent(); parent != null; parent = parent.getParent()) {
+				depth++;
+			}
+
+			int[] nodeLocation = new int[depth];
 			WComponent node = this;
 			Container parent = node.getParent();
 
 			try {
-				while (parent != null) {
-					int index = getIndexOfChild(parent, node);
-					reversedIndexList.add(index);
+				for (int i = depth - 1; parent != null; i--) {
+					nodeLocation[i] = getIndexOfChild(parent, node);
 					node = parent;
 					parent = node.getParent();
 				}
@@ -1981,14 +2137,6 @@ public abstract class AbstractWComponent implements WComponent {
 				LOG.error("Unable to determine component index relative to top.", ex);
 			}
 
-			final int depth = reversedIndexList.size();
-			int[] nodeLocation = new int[depth];
-
-			for (int i = 0; i < depth; i++) {
-				Integer index = reversedIndexList.get(depth - i - 1);
-				nodeLocation[i] = index.intValue();
-			}
-
 			WComponentRef ref = new WComponentRef(repositoryKey, nodeLocation);
 
 			if (LOG.isDebugEnabled()) {
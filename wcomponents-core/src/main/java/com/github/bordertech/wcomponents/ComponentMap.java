@@ -0,0 +1,645 @@
+package com.github.bordertech.wcomponents;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * <p>
+ * A map keyed by components, which is used by {@link UIContextImpl} to hold the per-context data of components.
+ * </p>
+ * <p>
+ * Values for components in the {@link TreeSnapshot} of a locked tree are held in slots indexed by each component's
+ * position in the snapshot, which avoids the entry object and hash lookup that a HashMap would need for every value.
+ * The slots are held in fixed size pages which are only allocated once they hold a value, so a map which only holds a
+ * few values for a large tree stays small. Values for all other components, e.g. components added to the tree after it
+ * was locked, are held in a HashMap.
+ * </p>
+ * <p>
+ * Only one snapshot is used at a time. The map switches to the snapshot of a component being added when it no longer
+ * holds any values for its current snapshot, when its current snapshot no longer reflects the shared structure of its
+ * tree (e.g. because the tree has been unlocked), or when more values have been added to the HashMap for other
+ * snapshots than it holds in slots. The values held in slots for the previous snapshot are moved into the HashMap.
+ * </p>
+ * <p>
+ * Reading from the map never changes its layout, so a map which is not being updated can be read concurrently. Values
+ * for a snapshot which is no longer valid can still be read, but need a search of the slots until the map is next
+ * updated.
+ * </p>
+ *
+ * @param <K> the component type.
+ * @param <V> the value type.
+ * @since 1.5.30
+ */
+final class ComponentMap<K extends WebComponent, V> extends AbstractMap<K, V> implements Serializable {
+
+	/**
+	 * Stands in for null values in the slots, where null indicates that there is no value.
+	 */
+	private static final Object NULL_VALUE = new Object();
+
+	/**
+	 * The number of bits of a slot index which select the slot within a page.
+	 */
+	private static final int PAGE_SHIFT = 5;
+
+	/**
+	 * The number of slots in each page.
+	 */
+	private static final int PAGE_SIZE = 1 << PAGE_SHIFT;
+
+	/**
+	 * The initial length of the array of pages, which grows towards the number of pages needed for the snapshot as
+	 * values are added.
+	 */
+	private static final int INITIAL_PAGES = 4;
+
+	/**
+	 * The snapshot which the slots are indexed by, or null if the slots are not in use.
+	 */
+	private transient TreeSnapshot snapshot;
+
+	/**
+	 * The pages of slots for components in the snapshot. Pages which do not hold any values may be null.
+	 */
+	private transient Object[][] pages;
+
+	/**
+	 * The number of values held in the slots.
+	 */
+	private transient int denseSize;
+
+	/**
+	 * The number of values added to the HashMap for components in other snapshots since the snapshot was adopted.
+	 */
+	private transient int misses;
+
+	/**
+	 * The number of times values have been added to or removed from the slots, used to detect updates made during an
+	 * iteration.
+	 */
+	private transient int modCount;
+
+	/**
+	 * The values for components which are not in the snapshot, lazily created.
+	 */
+	private transient Map<K, V> overflow;
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public V get(final Object key) {
+		int index = indexOf(key);
+
+		if (index >= 0) {
+			return unmask(getSlot(index));
+		}
+
+		return overflow == null ? null : overflow.get(key);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public boolean containsKey(final Object key) {
+		int index = indexOf(key);
+
+		if (index >= 0) {
+			return getSlot(index) != null;
+		}
+
+		return overflow != null && overflow.containsKey(key);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public V put(final K key, final V value) {
+		checkSnapshot();
+		int index = indexOf(key);
+
+		if (index < 0 && isOtherSnapshot(key)) {
+			if (snapshot != null && ++misses > denseSize) {
+				detach();
+			}
+
+			if (snapshot == null) {
+				adopt(key);
+				index = indexOf(key);
+			}
+		}
+
+		if (index >= 0) {
+			return setSlot(index, value);
+		}
+
+		if (overflow == null) {
+			overflow = new HashMap<>();
+		}
+
+		return overflow.put(key, value);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public V remove(final Object key) {
+		checkSnapshot();
+		int index = indexOf(key);
+
+		if (index >= 0) {
+			return removeSlot(index);
+		}
+
+		return overflow == null ? null : overflow.remove(key);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public int size() {
+		return denseSize + (overflow == null ? 0 : overflow.size());
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void clear() {
+		release();
+		overflow = null;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public Set<Map.Entry<K, V>> entrySet() {
+		return new EntrySet();
+	}
+
+	/**
+	 * Determines the slot of a component. This does not change the map, so that the map can be read concurrently.
+	 *
+	 * @param key the component.
+	 * @return the index of the component's slot, or -1 if the component's value is not held in a slot.
+	 */
+	private int indexOf(final Object key) {
+		if (snapshot == null || !(key instanceof AbstractWComponent)) {
+			return -1;
+		}
+
+		AbstractWComponent component = (AbstractWComponent) key;
+
+		if (component.getTreeSnapshot() == snapshot) {
+			return component.getSnapshotIndex();
+		}
+
+		if (snapshot.isValid(null)) {
+			return -1;
+		}
+
+		// The component may have been moved to another snapshot since its value was added, so search the slots
+		for (int page = 0; page < pages.length; page++) {
+			if (pages[page] != null) {
+				for (int slot = 0; slot < PAGE_SIZE; slot++) {
+					int index = (page << PAGE_SHIFT) + slot;
+
+					if (pages[page][slot] != null && snapshot.getComponent(index) == component) {
+						return index;
+					}
+				}
+			}
+		}
+
+		return -1;
+	}
+
+	/**
+	 * @param index the slot index.
+	 * @return the contents of the slot, or null if the slot is empty.
+	 */
+	private Object getSlot(final int index) {
+		int page = index >>> PAGE_SHIFT;
+
+		if (page >= pages.length || pages[page] == null) {
+			return null;
+		}
+
+		return pages[page][index & (PAGE_SIZE - 1)];
+	}
+
+	/**
+	 * Sets the value in a slot, allocating its page if necessary.
+	 *
+	 * @param index the slot index.
+	 * @param value the value to set.
+	 * @return the previous value in the slot.
+	 */
+	private V setSlot(final int index, final V value) {
+		int page = index >>> PAGE_SHIFT;
+
+		if (page >= pages.length) {
+			int pageCount = (snapshot.size() + PAGE_SIZE - 1) >>> PAGE_SHIFT;
+			pages = Arrays.copyOf(pages, Math.min(Math.max(page + 1, pages.length * 2), pageCount));
+		}
+
+		if (pages[page] == null) {
+			pages[page] = new Object[PAGE_SIZE];
+		}
+
+		int slot = index & (PAGE_SIZE - 1);
+		Object previous = pages[page][slot];
+		pages[page][slot] = value == null ? NULL_VALUE : value;
+
+		if (previous == null) {
+			denseSize++;
+			modCount++;
+		}
+
+		return unmask(previous);
+	}
+
+	/**
+	 * Removes the value from a slot. The page is released once it is empty, and the snapshot is released once all the
+	 * slots are empty, so that the map can adopt another snapshot.
+	 *
+	 * @param index the slot index.
+	 * @return the previous value in the slot.
+	 */
+	private V removeSlot(final int index) {
+		Object previous = getSlot(index);
+
+		if (previous == null) {
+			return null;
+		}
+
+		Object[] page = pages[index >>> PAGE_SHIFT];
+		page[index & (PAGE_SIZE - 1)] = null;
+		modCount++;
+
+		if (--denseSize == 0) {
+			release();
+		} else if (isEmpty(page)) {
+			pages[index >>> PAGE_SHIFT] = null;
+		}
+
+		return unmask(previous);
+	}
+
+	/**
+	 * Indicates whether a component being added belongs to a valid snapshot other than the one the slots are indexed
+	 * by.
+	 *
+	 * @param key the component being added.
+	 * @return true if the component belongs to another snapshot.
+	 */
+	private boolean isOtherSnapshot(final K key) {
+		if (!(key instanceof AbstractWComponent)) {
+			return false;
+		}
+
+		TreeSnapshot keySnapshot = ((AbstractWComponent) key).getTreeSnapshot();
+		return keySnapshot != null && keySnapshot != snapshot && keySnapshot.isValid(null);
+	}
+
+	/**
+	 * Starts using the slots for the snapshot of the given component.
+	 *
+	 * @param key the component being added, which must belong to a valid snapshot.
+	 */
+	private void adopt(final K key) {
+		TreeSnapshot keySnapshot = ((AbstractWComponent) key).getTreeSnapshot();
+		int pageCount = (keySnapshot.size() + PAGE_SIZE - 1) >>> PAGE_SHIFT;
+
+		snapshot = keySnapshot;
+		pages = new Object[Math.min(INITIAL_PAGES, pageCount)][];
+		misses = 0;
+
+		// Values for components in the snapshot may have been added while a different snapshot was in use
+		if (overflow != null) {
+			Map<K, V> previous = overflow;
+			overflow = null;
+
+			for (Map.Entry<K, V> entry : previous.entrySet()) {
+				int index = indexOf(entry.getKey());
+
+				if (index >= 0) {
+					setSlot(index, entry.getValue());
+				} else {
+					if (overflow == null) {
+						overflow = new HashMap<>();
+					}
+
+					overflow.put(entry.getKey(), entry.getValue());
+				}
+			}
+		}
+	}
+
+	/**
+	 * Stops using the slots, moving their values into the HashMap.
+	 */
+	private void detach() {
+		TreeSnapshot previousSnapshot = snapshot;
+		Object[][] previous = pages;
+		release();
+
+		for (int page = 0; page < previous.length; page++) {
+			if (previous[page] != null) {
+				for (int slot = 0; slot < PAGE_SIZE; slot++) {
+					Object value = previous[page][slot];
+
+					if (value != null) {
+						if (overflow == null) {
+							overflow = new HashMap<>();
+						}
+
+						overflow.put((K) previousSnapshot.getComponent((page << PAGE_SHIFT) + slot), unmask(value));
+					}
+				}
+			}
+		}
+	}
+
+	/**
+	 * Stops using the slots, discarding their values.
+	 */
+	private void release() {
+		modCount++;
+		snapshot = null;
+		pages = null;
+		denseSize = 0;
+		misses = 0;
+	}
+
+	/**
+	 * Stops using the slots before the map is updated if their snapshot is no longer valid.
+	 */
+	private void checkSnapshot() {
+		if (snapshot != null && !snapshot.isValid(null)) {
+			detach();
+		}
+	}
+
+	/**
+	 * @param page the page to check.
+	 * @return true if none of the page's slots hold a value.
+	 */
+	private static boolean isEmpty(final Object[] page) {
+		for (Object value : page) {
+			if (value != null) {
+				return false;
+			}
+		}
+
+		return true;
+	}
+
+	/**
+	 * @param value the value held in a slot.
+	 * @return the actual value.
+	 */
+	private V unmask(final Object value) {
+		return value == NULL_VALUE ? null : (V) value;
+	}
+
+	/**
+	 * Writes the entries, as the slots can not be used until the snapshot has been re-established.
+	 *
+	 * @param out the ObjectOutputStream to write to.
+	 * @throws IOException if there is an error writing to the stream.
+	 */
+	private void writeObject(final ObjectOutputStream out) throws IOException {
+		out.defaultWriteObject();
+		out.writeInt(size());
+
+		for (Map.Entry<K, V> entry : entrySet()) {
+			out.writeObject(entry.getKey());
+			out.writeObject(entry.getValue());
+		}
+	}
+
+	/**
+	 * Reads the entries, which are held in slots again if they belong to the snapshot of a locked tree.
+	 *
+	 * @param in the ObjectInputStream to read from.
+	 * @throws IOException if there is an error reading from the stream.
+	 * @throws ClassNotFoundException If the class of a serialized object cannot be found.
+	 */
+	private void readObject(final ObjectInputStream in) throws IOException, ClassNotFoundException {
+		in.defaultReadObject();
+		int size = in.readInt();
+
+		for (int i = 0; i < size; i++) {
+			K key = (K) in.readObject();
+			put(key, (V) in.readObject());
+		}
+	}
+
+	/**
+	 * The entries of the map, with the entries held in slots first.
+	 */
+	private final class EntrySet extends AbstractSet<Map.Entry<K, V>> {
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public Iterator<Map.Entry<K, V>> iterator() {
+			return new EntryIterator();
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public int size() {
+			return ComponentMap.this.size();
+		}
+	}
+
+	/**
+	 * Iterates over the entries held in slots, followed by the entries held in the HashMap. Updates made through the
+	 * iterator and its entries are made through the map. The iterator fails if values are added to or removed from the
+	 * slots other than through the iterator.
+	 */
+	private final class EntryIterator implements Iterator<Map.Entry<K, V>> {
+
+		/**
+		 * The modification count which the iterator expects the map to have.
+		 */
+		private int expectedModCount = modCount;
+
+		/**
+		 * The snapshot which the slots are indexed by.
+		 */
+		private final TreeSnapshot iterSnapshot = snapshot;
+
+		/**
+		 * The number of slots which may hold values.
+		 */
+		private final int slotCount = pages == null ? 0 : pages.length << PAGE_SHIFT;
+
+		/**
+		 * The iterator over the HashMap, created once the slots have been iterated over.
+		 */
+		private Iterator<Map.Entry<K, V>> overflowIterator;
+
+		/**
+		 * The index of the next slot holding a value.
+		 */
+		private int next = -1;
+
+		/**
+		 * The entry last returned from the slots, or null.
+		 */
+		private DenseEntry last;
+
+		/**
+		 * Creates an EntryIterator.
+		 */
+		private EntryIterator() {
+			advance();
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public boolean hasNext() {
+			if (next < slotCount) {
+				return true;
+			}
+
+			return getOverflowIterator().hasNext();
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public Map.Entry<K, V> next() {
+			if (next < slotCount) {
+				checkForComodification();
+				last = new DenseEntry(iterSnapshot.getComponent(next), next);
+				advance();
+				return last;
+			}
+
+			last = null;
+
+			if (!getOverflowIterator().hasNext()) {
+				throw new NoSuchElementException();
+			}
+
+			return overflowIterator.next();
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public void remove() {
+			if (last == null) {
+				getOverflowIterator().remove();
+			} else {
+				checkForComodification();
+
+				if (getSlot(last.index) == null) {
+					throw new IllegalStateException();
+				}
+
+				removeSlot(last.index);
+				expectedModCount = modCount;
+				last = null;
+			}
+		}
+
+		/**
+		 * Moves to the next slot holding a value.
+		 */
+		private void advance() {
+			do {
+				next++;
+			} while (next < slotCount && getSlot(next) == null);
+		}
+
+		/**
+		 * Checks that the slots have not been updated other than through the iterator.
+		 */
+		private void checkForComodification() {
+			if (modCount != expectedModCount) {
+				throw new ConcurrentModificationException();
+			}
+		}
+
+		/**
+		 * @return the iterator over the HashMap.
+		 */
+		private Iterator<Map.Entry<K, V>> getOverflowIterator() {
+			if (overflowIterator == null) {
+				Map<K, V> map = overflow == null ? new HashMap<K, V>(0) : overflow;
+				overflowIterator = map.entrySet().iterator();
+			}
+
+			return overflowIterator;
+		}
+	}
+
+	/**
+	 * An entry held in a slot, which writes through to the map.
+	 */
+	private final class DenseEntry extends AbstractMap.SimpleEntry<K, V> {
+
+		/**
+		 * The slots in use when the entry was created.
+		 */
+		private final Object[][] entryPages = pages;
+
+		/**
+		 * The index of the slot holding the value.
+		 */
+		private final int index;
+
+		/**
+		 * Creates a DenseEntry.
+		 *
+		 * @param component the component.
+		 * @param index the index of the slot holding the value.
+		 */
+		private DenseEntry(final AbstractWComponent component, final int index) {
+			super((K) component, unmask(getSlot(index)));
+			this.index = index;
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public V setValue(final V value) {
+			if (pages == entryPages && getSlot(index) != null) {
+				setSlot(index, value);
+			} else {
+				put(getKey(), value);
+			}
+
+			return super.setValue(value);
+		}
+	}
+}
@@ -1,18 +1,21 @@
 package com.github.bordertech.wcomponents;
 
+import com.github.bordertech.wcomponents.util.ConfigurationProperties;
 import com.github.bordertech.wcomponents.util.HtmlClassProperties;
 import com.github.bordertech.wcomponents.util.I18nUtilities;
-import com.github.bordertech.wcomponents.util.ReflectionUtil;
 import com.github.bordertech.wcomponents.util.Util;
 import java.io.Externalizable;
 import java.io.IOException;
 import java.io.ObjectInput;
 import java.io.ObjectOutput;
 import java.io.Serializable;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Array;
 import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
@@ -49,9 +52,14 @@ public class ComponentModel implements WebModel, Externalizable {
 	private static final Log LOG = LogFactory.getLog(ComponentModel.class);
 
 	/**
-	 * Cache fields obtained using ReflectionUtils - HashMap&lt;Class, Field[]&gt;.
+	 * The field accessors for each model class. These are built once per class and shared without locking.
 	 */
-	private static final Map<Class<?>, Field[]> FIELDS_BY_CLASS = new HashMap<>();
+	private static final ClassValue<ModelFields> FIELDS_BY_CLASS = new ClassValue<ModelFields>() {
+		@Override
+		protected ModelFields computeValue(final Class<?> type) {
+			return new ModelFields(type);
+		}
+	};
 
 	/**
 	 * The bit-mask for the flag that indicates whether a component is visible.
@@ -129,10 +137,11 @@ public class ComponentModel implements WebModel, Externalizable {
 
 	/**
 	 * When initially constructed or deserialized, some of our fields may be defaulted to the shared model, but we don't
-	 * yet have a reference to it. When a reference is supplied using the setSharedModel method, this list controls
-	 * which fields should have the values set to the shared model's values.
+	 * yet have a reference to it. When a reference is supplied using the setSharedModel method, this bit-mask controls
+	 * which fields should have the values set to the shared model's values. Each bit corresponds to the index of a
+	 * field in this model's {@link ModelFields}.
 	 */
-	private transient List<Field> unsetFields = Arrays.asList(getFields(this));
+	private transient long[] unsetFields = getFields(this).allUnset;
 
 	/**
 	 * A reference to the sharedModel. This is not serialized, and must therefore be supplied after deserialization.
@@ -272,20 +281,16 @@ public class ComponentModel implements WebModel, Externalizable {
 		} else {
 			// Check all fields - this saves subclasses having to override
 			// equals and remembering to call super.equals.
-			final Field[] fields = getFields(this);
+			final ModelFields fields = getFields(this);
+			final ComponentModel other = (ComponentModel) obj;
 
-			try {
-				for (int i = fields.length - 1; i >= 0; i--) {
-					Object value = fields[i].get(this);
-					Object otherValue = fields[i].get(obj);
+			for (int i = fields.size() - 1; i >= 0; i--) {
+				Object value = fields.get(i, this);
+				Object otherValue = fields.get(i, other);
 
-					if (!Util.equals(value, otherValue)) {
-						return false;
-					}
+				if (!Util.equals(value, otherValue)) {
+					return false;
 				}
-			} catch (IllegalAccessException e) {
-				LOG.error("Failed to read field", e);
-				return false;
 			}
 
 			return true;
@@ -319,14 +324,18 @@ public class ComponentModel implements WebModel, Externalizable {
 
 		if (unsetFields != null) {
 			// Copy the data from the shared model
-			for (Field field : unsetFields) {
-				try {
-					Object sharedValue = field.get(sharedModel);
-					Object sessionValue = copyData(sharedValue);
-					field.set(this, sessionValue);
-				} catch (IllegalAccessException | IllegalArgumentException e) {
-					LOG.error("Failed to set field " + field.getName() + " on " + getClass().
-							getName(), e);
+			ModelFields fields = getFields(this);
+
+			for (int i = 0; i < fields.size(); i++) {
+				if (isUnset(i)) {
+					try {
+						Object sharedValue = fields.get(i, sharedModel);
+						Object sessionValue = copyData(sharedValue);
+						fields.set(i, this, sessionValue);
+					} catch (ClassCastException e) {
+						LOG.error("Failed to set field " + fields.getName(i) + " on " + getClass().
+								getName(), e);
+					}
 				}
 			}
 
@@ -702,25 +711,64 @@ public class ComponentModel implements WebModel, Externalizable {
 	 */
 	@Override
 	public void readExternal(final ObjectInput in) throws IOException, ClassNotFoundException {
-		Field[] fields = getFields(this);
-		unsetFields = new ArrayList<>();
+		ModelFields fields = getFields(this);
+		Object first = in.readObject();
 
-		for (Field field : fields) {
-			try {
-				Object value = in.readObject();
+		if (first instanceof ComponentModelCodec.CompactForm) {
+			readCompact(in, fields);
+			return;
+		}
 
-				if (value instanceof NoOverride) {
-					// No override, so remember for later
-					unsetFields.add(field);
-				} else {
-					field.set(this, value);
-				}
-			} catch (IllegalAccessException e) {
-				LOG.error("Failed to read field " + field.getName(), e);
+		unsetFields = new long[fields.allUnset.length];
+
+		for (int i = 0; i < fields.size(); i++) {
+			Object value = i == 0 ? first : in.readObject();
+
+			if (value instanceof NoOverride) {
+				// No override, so remember for later
+				unsetFields[i >>> 6] |= 1L << i;
+			} else {
+				setField(fields, i, value);
+			}
+		}
+	}
+
+	/**
+	 * Reads the model in the compact form written by {@link #writeCompact(ObjectOutput, ModelFields)}.
+	 *
+	 * @param in the ObjectInput to read from.
+	 * @param fields the field accessors for this model.
+	 * @throws IOException if there is an error reading from the ObjectInput
+	 * @throws ClassNotFoundException If the class of a serialized object cannot be found.
+	 */
+	private void readCompact(final ObjectInput in, final ModelFields fields) throws IOException,
+			ClassNotFoundException {
+		long[] present = ComponentModelCodec.readBitmap(in, fields.size());
+		unsetFields = fields.allUnset.clone();
+
+		for (int i = 0; i < fields.size(); i++) {
+			if ((present[i >>> 6] & (1L << i)) != 0) {
+				unsetFields[i >>> 6] &= ~(1L << i);
+				setField(fields, i, ComponentModelCodec.readValue(in));
 			}
 		}
 	}
 
+	/**
+	 * Sets a field which has been read in.
+	 *
+	 * @param fields the field accessors for this model.
+	 * @param index the index of the field.
+	 * @param value the field value.
+	 */
+	private void setField(final ModelFields fields, final int index, final Object value) {
+		try {
+			fields.set(index, this, value);
+		} catch (ClassCastException e) {
+			LOG.error("Failed to read field " + fields.getName(index), e);
+		}
+	}
+
 	/**
 	 * <p>
 	 * Implementation of the Externalizable interface to ensure that we don't serialize redundant data (anything
@@ -736,58 +784,218 @@ public class ComponentModel implements WebModel, Externalizable {
 	 */
 	@Override
 	public void writeExternal(final ObjectOutput out) throws IOException {
-		Field[] fields = getFields(this);
+		ModelFields fields = getFields(this);
 
-		for (Field field : fields) {
-			try {
-				if (sharedModel == null) {
-					// Support serialization of the static model,
-					// even though this should not occur.
-					Object value = field.get(this);
-					out.writeObject(value);
-				} else if (unsetFields != null && unsetFields.contains(field)) {
-					// Support the unlikely case being deserialized/serialized
-					// in short succession without the shared model being set.
+		if (ConfigurationProperties.getCompactModelSerialization()) {
+			writeCompact(out, fields);
+			return;
+		}
+
+		for (int i = 0; i < fields.size(); i++) {
+			if (sharedModel == null) {
+				// Support serialization of the static model,
+				// even though this should not occur.
+				Object value = fields.get(i, this);
+				out.writeObject(value);
+			} else if (unsetFields != null && isUnset(i)) {
+				// Support the unlikely case being deserialized/serialized
+				// in short succession without the shared model being set.
+				out.writeObject(NoOverride.INSTANCE);
+			} else {
+				Object sharedValue = fields.get(i, sharedModel);
+				Object value = fields.get(i, this);
+
+				if (Util.equals(value, sharedValue)) {
 					out.writeObject(NoOverride.INSTANCE);
 				} else {
-					Object sharedValue = field.get(sharedModel);
-					Object value = field.get(this);
+					out.writeObject(value);
+				}
+			}
+		}
+	}
 
-					if (Util.equals(value, sharedValue)) {
-						out.writeObject(NoOverride.INSTANCE);
-					} else {
-						out.writeObject(value);
-					}
+	/**
+	 * Writes the model in a compact form: a bitmap of the fields which are overridden, followed by the values of those
+	 * fields. See {@link ComponentModelCodec}.
+	 *
+	 * @param out the ObjectOutput to write to.
+	 * @param fields the field accessors for this model.
+	 * @throws IOException if there is an error writing to the ObjectOutput
+	 */
+	private void writeCompact(final ObjectOutput out, final ModelFields fields) throws IOException {
+		int size = fields.size();
+		long[] present = new long[fields.allUnset.length];
+		Object[] values = new Object[size];
+
+		for (int i = 0; i < size; i++) {
+			if (sharedModel == null) {
+				// Support serialization of the static model, even though this should not occur.
+				values[i] = fields.get(i, this);
+			} else if (unsetFields != null && isUnset(i)) {
+				continue;
+			} else {
+				Object value = fields.get(i, this);
+
+				if (Util.equals(value, fields.get(i, sharedModel))) {
+					continue;
 				}
-			} catch (IllegalAccessException e) {
-				LOG.error("Failed to write field " + field.getName(), e);
+
+				values[i] = value;
 			}
+
+			present[i >>> 6] |= 1L << i;
 		}
+
+		out.writeObject(ComponentModelCodec.CompactForm.INSTANCE);
+		ComponentModelCodec.writeBitmap(out, present, size);
+
+		for (int i = 0; i < size; i++) {
+			if ((present[i >>> 6] & (1L << i)) != 0) {
+				ComponentModelCodec.writeValue(out, values[i]);
+			}
+		}
+	}
+
+	/**
+	 * Indicates whether a field has not yet been set from the shared model.
+	 *
+	 * @param index the index of the field.
+	 * @return true if the field at the given index is unset.
+	 */
+	private boolean isUnset(final int index) {
+		return (unsetFields[index >>> 6] & (1L << index)) != 0;
 	}
 
 	/**
-	 * Returns the list of fields for the given ComponentModel.
+	 * Returns the field accessors for the given ComponentModel.
 	 *
 	 * @param model the ComponentModel to read fields for.
-	 * @return an array of fields for the given model.
+	 * @return the field accessors for the given model.
 	 */
-	private static Field[] getFields(final ComponentModel model) {
-		Class modelClass = model.getClass();
-		Field[] fields;
+	private static ModelFields getFields(final ComponentModel model) {
+		return FIELDS_BY_CLASS.get(model.getClass());
+	}
+
+	/**
+	 * Holds the getters and setters for all the fields of a ComponentModel class, in serialization order. Instances
+	 * are immutable, so can be shared between threads.
+	 */
+	private static final class ModelFields {
+
+		/**
+		 * The field names, used for logging.
+		 */
+		private final String[] names;
+
+		/**
+		 * The field getters, with the type (ComponentModel)Object.
+		 */
+		private final MethodHandle[] getters;
+
+		/**
+		 * The field setters, with the type (ComponentModel,Object)void.
+		 */
+		private final MethodHandle[] setters;
+
+		/**
+		 * A bit-mask with a bit set for every field. This must not be modified.
+		 */
+		private final long[] allUnset;
+
+		/**
+		 * Creates the field accessors for a model class.
+		 *
+		 * @param modelClass the ComponentModel class.
+		 */
+		private ModelFields(final Class<?> modelClass) {
+			List<Field> fieldList = new ArrayList<>();
+
+			for (Class<?> clazz = modelClass; clazz != null; clazz = clazz.getSuperclass()) {
+				for (Field field : clazz.getDeclaredFields()) {
+					int mods = field.getModifiers();
+
+					if (!Modifier.isStatic(mods) && !Modifier.isTransient(mods)) {
+						field.setAccessible(true);
+						fieldList.add(field);
+					}
+				}
+			}
+
+			Collections.sort(fieldList, new FieldComparator());
+
+			int size = fieldList.size();
+			names = new String[size];
+			getters = new MethodHandle[size];
+			setters = new MethodHandle[size];
+			allUnset = new long[(size + 63) >>> 6];
+
+			MethodHandles.Lookup lookup = MethodHandles.lookup();
+			MethodType getterType = MethodType.methodType(Object.class, ComponentModel.class);
+			MethodType setterType = MethodType.methodType(void.class, ComponentModel.class, Object.class);
 
-		synchronized (FIELDS_BY_CLASS) {
-			fields = FIELDS_BY_CLASS.get(modelClass);
+			for (int i = 0; i < size; i++) {
+				Field field = fieldList.get(i);
+				names[i] = field.getName();
+				allUnset[i >>> 6] |= 1L << i;
+
+				try {
+					getters[i] = lookup.unreflectGetter(field).asType(getterType);
+					setters[i] = lookup.unreflectSetter(field).asType(setterType);
+				} catch (IllegalAccessException e) {
+					throw new IllegalStateException("Failed to access field " + field.getName() + " on "
+							+ modelClass.getName(), e);
+				}
+			}
+		}
+
+		/**
+		 * @return the number of fields.
+		 */
+		private int size() {
+			return getters.length;
+		}
 
-			if (fields == null) {
-				List fieldList = ReflectionUtil.getAllFields(model, true, true);
-				Collections.sort(fieldList, new FieldComparator());
+		/**
+		 * @param index the field index.
+		 * @return the name of the field.
+		 */
+		private String getName(final int index) {
+			return names[index];
+		}
 
-				fields = (Field[]) fieldList.toArray(new Field[fieldList.size()]);
-				FIELDS_BY_CLASS.put(modelClass, fields);
+		/**
+		 * Reads a field value.
+		 *
+		 * @param index the field index.
+		 * @param model the model to read from.
+		 * @return the field value.
+		 */
+		private Object get(final int index, final ComponentModel model) {
+			try {
+				return (Object) getters[index].invokeExact(model);
+			} catch (RuntimeException | Error e) {
+				throw e;
+			} catch (Throwable t) {
+				throw new IllegalStateException("Failed to read field " + names[index], t);
 			}
 		}
 
-		return fields;
+		/**
+		 * Sets a field value.
+		 *
+		 * @param index the field index.
+		 * @param model the model to update.
+		 * @param value the field value.
+		 */
+		private void set(final int index, final ComponentModel model, final Object value) {
+			try {
+				setters[index].invokeExact(model, value);
+			} catch (RuntimeException | Error e) {
+				throw e;
+			} catch (Throwable t) {
+				throw new IllegalStateException("Failed to set field " + names[index], t);
+			}
+		}
 	}
 
 	/**
@@ -0,0 +1,257 @@
+package com.github.bordertech.wcomponents;
+
+import com.github.bordertech.wcomponents.AbstractWComponent.WComponentRef;
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+import java.io.Serializable;
+
+/**
+ * <p>
+ * The compact serialized form of a {@link ComponentModel}, which is used when
+ * {@link com.github.bordertech.wcomponents.util.ConfigurationProperties#getCompactModelSerialization()} is enabled.
+ * Rather than writing every field of the model as an object, the compact form writes a bitmap of the fields which
+ * are overridden, followed by the values of only those fields.
+ * </p>
+ * <p>
+ * Values of the most common immutable field types (integers, booleans, strings and references to shared components)
+ * are written using type specific encodings, all other values are written as objects. Collections are always written
+ * as objects, as they may be referenced by more than one model or reachable through other values, and writing them
+ * as objects lets Java serialization preserve those references.
+ * </p>
+ *
+ * @since 1.5.30
+ */
+final class ComponentModelCodec {
+
+	/**
+	 * The tag for a null value.
+	 */
+	private static final int TAG_NULL = 0;
+
+	/**
+	 * The tag for a value which is written as an object.
+	 */
+	private static final int TAG_OBJECT = 1;
+
+	/**
+	 * The tag for an Integer value.
+	 */
+	private static final int TAG_INTEGER = 2;
+
+	/**
+	 * The tag for a Boolean value.
+	 */
+	private static final int TAG_BOOLEAN = 3;
+
+	/**
+	 * The tag for a String value.
+	 */
+	private static final int TAG_STRING = 4;
+
+	/**
+	 * The tag for a reference to a component in the UIRegistry.
+	 */
+	private static final int TAG_COMPONENT_REF = 5;
+
+	/**
+	 * The longest String which can always be written using writeUTF, which is limited to 65535 bytes.
+	 */
+	private static final int MAX_UTF_LENGTH = 65535 / 3;
+
+	/**
+	 * Hide utility class constructor.
+	 */
+	private ComponentModelCodec() {
+	}
+
+	/**
+	 * Writes a bitmap.
+	 *
+	 * @param out the ObjectOutput to write to.
+	 * @param bits the bitmap to write.
+	 * @param size the number of bits in the bitmap.
+	 * @throws IOException if there is an error writing to the ObjectOutput.
+	 */
+	static void writeBitmap(final ObjectOutput out, final long[] bits, final int size) throws IOException {
+		for (int i = 0; i < size; i += 8) {
+			out.writeByte((int) (bits[i >>> 6] >>> (i & 63)));
+		}
+	}
+
+	/**
+	 * Reads a bitmap.
+	 *
+	 * @param in the ObjectInput to read from.
+	 * @param size the number of bits in the bitmap.
+	 * @return the bitmap.
+	 * @throws IOException if there is an error reading from the ObjectInput.
+	 */
+	static long[] readBitmap(final ObjectInput in, final int size) throws IOException {
+		long[] bits = new long[(size + 63) >>> 6];
+
+		for (int i = 0; i < size; i += 8) {
+			bits[i >>> 6] |= (in.readByte() & 0xFFL) << (i & 63);
+		}
+
+		return bits;
+	}
+
+	/**
+	 * Writes a field value.
+	 *
+	 * @param out the ObjectOutput to write to.
+	 * @param value the value to write.
+	 * @throws IOException if there is an error writing to the ObjectOutput.
+	 */
+	static void writeValue(final ObjectOutput out, final Object value) throws IOException {
+		if (value == null) {
+			out.writeByte(TAG_NULL);
+		} else if (value.getClass() == Integer.class) {
+			int intValue = (Integer) value;
+			out.writeByte(TAG_INTEGER);
+			// Zig-zag encoding, so that small negative numbers are also short
+			writeVarInt(out, (intValue << 1) ^ (intValue >> 31));
+		} else if (value.getClass() == Boolean.class) {
+			out.writeByte(TAG_BOOLEAN);
+			out.writeBoolean((Boolean) value);
+		} else if (value.getClass() == String.class && ((String) value).length() <= MAX_UTF_LENGTH) {
+			out.writeByte(TAG_STRING);
+			out.writeUTF((String) value);
+		} else if (value instanceof AbstractWComponent) {
+			Object replacement = ((AbstractWComponent) value).writeReplace();
+
+			if (replacement instanceof WComponentRef) {
+				WComponentRef ref = (WComponentRef) replacement;
+				int[] nodeLocation = ref.getNodeLocation();
+
+				out.writeByte(TAG_COMPONENT_REF);
+				// The key is written as an object so that it is only written once per stream
+				out.writeObject(ref.getRepositoryKey());
+				writeVarInt(out, nodeLocation.length);
+
+				for (int index : nodeLocation) {
+					writeVarInt(out, index);
+				}
+			} else {
+				out.writeByte(TAG_OBJECT);
+				out.writeObject(value);
+			}
+		} else {
+			out.writeByte(TAG_OBJECT);
+			out.writeObject(value);
+		}
+	}
+
+	/**
+	 * Reads a field value.
+	 *
+	 * @param in the ObjectInput to read from.
+	 * @return the value which was read.
+	 * @throws IOException if there is an error reading from the ObjectInput.
+	 * @throws ClassNotFoundException If the class of a serialized object cannot be found.
+	 */
+	static Object readValue(final ObjectInput in) throws IOException, ClassNotFoundException {
+		int tag = in.readByte();
+
+		switch (tag) {
+			case TAG_NULL:
+				return null;
+
+			case TAG_OBJECT:
+				return in.readObject();
+
+			case TAG_INTEGER: {
+				int encoded = readVarInt(in);
+				return (encoded >>> 1) ^ -(encoded & 1);
+			}
+
+			case TAG_BOOLEAN:
+				return in.readBoolean();
+
+			case TAG_STRING:
+				return in.readUTF();
+
+			case TAG_COMPONENT_REF: {
+				String repositoryKey = (String) in.readObject();
+				int[] nodeLocation = new int[readVarInt(in)];
+
+				for (int i = 0; i < nodeLocation.length; i++) {
+					nodeLocation[i] = readVarInt(in);
+				}
+
+				return new WComponentRef(repositoryKey, nodeLocation).resolve();
+			}
+
+			default:
+				throw new IOException("Invalid component model value tag " + tag);
+		}
+	}
+
+	/**
+	 * Writes a non-negative integer using a variable length encoding, so that small values only take a single byte.
+	 *
+	 * @param out the ObjectOutput to write to.
+	 * @param value the value to write.
+	 * @throws IOException if there is an error writing to the ObjectOutput.
+	 */
+	private static void writeVarInt(final ObjectOutput out, final int value) throws IOException {
+		int remaining = value;
+
+		while ((remaining & ~0x7F) != 0) {
+			out.writeByte((remaining & 0x7F) | 0x80);
+			remaining >>>= 7;
+		}
+
+		out.writeByte(remaining);
+	}
+
+	/**
+	 * Reads an integer written by {@link #writeVarInt(ObjectOutput, int)}.
+	 *
+	 * @param in the ObjectInput to read from.
+	 * @return the value which was read.
+	 * @throws IOException if there is an error reading from the ObjectInput.
+	 */
+	private static int readVarInt(final ObjectInput in) throws IOException {
+		int value = 0;
+
+		for (int shift = 0; shift < 35; shift += 7) {
+			int b = in.readByte();
+			value |= (b & 0x7F) << shift;
+
+			if ((b & 0x80) == 0) {
+				return value;
+			}
+		}
+
+		throw new IOException("Invalid variable length integer");
+	}
+
+	/**
+	 * Marks the start of a model which has been written in the compact form. This is written as an object, so that
+	 * models written using either form can be read regardless of the current configuration.
+	 */
+	static final class CompactForm implements Serializable {
+
+		/**
+		 * Singleton instance.
+		 */
+		static final CompactForm INSTANCE = new CompactForm();
+
+		/**
+		 * Don't allow instantiation from outside of this class.
+		 */
+		private CompactForm() {
+		}
+
+		/**
+		 * Ensures that only a single instance exists.
+		 *
+		 * @return the singleton instance.
+		 */
+		private Object readResolve() {
+			return INSTANCE;
+		}
+	}
+}
@@ -1,6 +1,9 @@
 package com.github.bordertech.wcomponents;
 
 import com.github.bordertech.wcomponents.container.ResponseCacheInterceptor.CacheType;
+import com.github.bordertech.wcomponents.servlet.ServletRequest;
+import com.github.bordertech.wcomponents.servlet.ServletResponse;
+import com.github.bordertech.wcomponents.servlet.ServletUtil;
 import com.github.bordertech.wcomponents.util.StreamUtil;
 import com.github.bordertech.wcomponents.util.SystemException;
 import java.io.IOException;
@@ -80,7 +83,11 @@ public class ContentEscape extends ActionEscape {
 				}
 			}
 
-			if (contentAccess instanceof ContentStreamAccess) {
+			if (getRequest() instanceof ServletRequest && response instanceof ServletResponse) {
+				// Servlet responses support byte ranges, for resuming downloads and seeking in media
+				ServletUtil.writeContent(((ServletRequest) getRequest()).getBackingRequest(),
+						((ServletResponse) response).getBackingResponse(), contentAccess, false);
+			} else if (contentAccess instanceof ContentStreamAccess) {
 				InputStream stream = null;
 
 				try {
@@ -3,16 +3,19 @@ package com.github.bordertech.wcomponents;
 import com.github.bordertech.wcomponents.container.ValidateXMLInterceptor;
 import com.github.bordertech.wcomponents.util.DebugUtil;
 import com.github.bordertech.wcomponents.util.XMLUtil;
+import java.io.CharArrayReader;
+import java.io.Reader;
 import java.io.StringReader;
 import javax.xml.XMLConstants;
-import javax.xml.parsers.SAXParser;
-import javax.xml.parsers.SAXParserFactory;
+import javax.xml.transform.stream.StreamSource;
+import javax.xml.validation.Schema;
+import javax.xml.validation.SchemaFactory;
+import javax.xml.validation.Validator;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
-import org.xml.sax.InputSource;
+import org.xml.sax.ErrorHandler;
 import org.xml.sax.SAXException;
 import org.xml.sax.SAXParseException;
-import org.xml.sax.helpers.DefaultHandler;
 
 /**
  * A class used to make sure the HTML/XML generated by each {@link WComponent} is well formed. {@link DebugUtil} is used
@@ -20,6 +23,9 @@ import org.xml.sax.helpers.DefaultHandler;
  * WComponent calls this class to verify the HTML/XML. If a WComponent has badly formed HTML/XML, then an error message,
  * along with the component details are stored in a framework attribute to be retrieved later by the
  * {@link ValidateXMLInterceptor} so they can be reported in the response HTML.
+ * <p>
+ * The schema is compiled once and shared, so validation only needs to parse the XML being validated.
+ * </p>
  *
  * @author Jonathan Austin
  * @since 1.0.0
@@ -31,6 +37,21 @@ public final class DebugValidateXML {
 	 */
 	private static final Log LOG = LogFactory.getLog(DebugValidateXML.class);
 
+	/**
+	 * The start of the root element used to wrap XML fragments. The ui namespace is required for the xml theme.
+	 */
+	private static final String ROOT_START = XMLUtil.XML_DECLARATION + "<ui:root" + XMLUtil.STANDARD_NAMESPACES + ">";
+
+	/**
+	 * The end of the root element used to wrap XML fragments.
+	 */
+	private static final String ROOT_END = "</ui:root>";
+
+	/**
+	 * The compiled schema, which is thread-safe and so is shared by all requests.
+	 */
+	private static volatile Schema schema;
+
 	/**
 	 * Hide the constructor as there are no instance methods.
 	 */
@@ -57,55 +78,120 @@ public final class DebugValidateXML {
 		if (xml != null && !xml.equals("")) {
 			// Wrap XML with a root element (if required)
 			String testXML = wrapXMLInRootElement(xml);
-			try {
-				// Create SAX Parser Factory
-				SAXParserFactory spf = SAXParserFactory.newInstance();
-				spf.setNamespaceAware(true);
-				spf.setValidating(true);
-
-				// Create SAX Parser
-				SAXParser parser = spf.newSAXParser();
-				parser.setProperty("http://java.sun.com/xml/jaxp/properties/schemaLanguage",
-						XMLConstants.W3C_XML_SCHEMA_NS_URI);
-
-				// Set schema location
-				Object schema = DebugValidateXML.class.getResource(getSchemaPath()).toString();
-				parser.setProperty("http://java.sun.com/xml/jaxp/properties/schemaSource", schema);
-
-				// Setup the handler to throw an exception when an error occurs
-				DefaultHandler handler = new DefaultHandler() {
-					@Override
-					public void warning(final SAXParseException e) throws SAXException {
-						LOG.warn("XML Schema warning: " + e.getMessage(), e);
-						super.warning(e);
-					}
-
-					@Override
-					public void fatalError(final SAXParseException e) throws SAXException {
-						throw e;
-					}
-
-					@Override
-					public void error(final SAXParseException e) throws SAXException {
-						throw e;
-					}
-				};
-
-				// Validate the XML
-				InputSource xmlSource = new InputSource(new StringReader(testXML));
-				parser.parse(xmlSource, handler);
-
-			} catch (SAXParseException e) {
-				return "At line " + e.getLineNumber() + ", column: " + e.getColumnNumber()
-						+ " ==> " + e.getMessage();
-			} catch (Exception e) {
-				return e.getMessage();
+			return validate(new StringReader(testXML));
+		}
+
+		return null;
+	}
+
+	/**
+	 * Validate the generated XML held in a character buffer, to make sure it is schema compliant. The XML is read
+	 * directly from the buffer, and is wrapped in a root element (if required) without being copied.
+	 *
+	 * @param xml the buffer holding the xml to validate
+	 * @param length the number of characters in the buffer
+	 * @return Any errors found, or null if the XML is valid.
+	 */
+	public static String validateXMLAgainstSchema(final char[] xml, final int length) {
+		if (length == 0) {
+			return null;
+		}
+
+		if (startsWith(xml, length, "<?xml") || startsWith(xml, length, "<!DOCTYPE")) {
+			return validate(new CharArrayReader(xml, 0, length));
+		}
+
+		return validate(new WrappedXMLReader(xml, length));
+	}
+
+	/**
+	 * Retrieves the compiled schema. The schema is only compiled once, and is then shared by all threads.
+	 *
+	 * @return the compiled schema.
+	 * @throws SAXException if the schema could not be compiled.
+	 */
+	public static Schema getSchema() throws SAXException {
+		Schema result = schema;
+
+		if (result == null) {
+			synchronized (DebugValidateXML.class) {
+				result = schema;
+
+				if (result == null) {
+					LOG.debug("Compiling XML schema " + getSchemaPath());
+					SchemaFactory factory = SchemaFactory.newInstance(XMLConstants.W3C_XML_SCHEMA_NS_URI);
+					result = factory.newSchema(DebugValidateXML.class.getResource(getSchemaPath()));
+					schema = result;
+				}
 			}
 		}
 
+		return result;
+	}
+
+	/**
+	 * Validates a complete XML document against the schema.
+	 *
+	 * @param xml the reader to read the XML document from.
+	 * @return Any errors found, or null if the XML is valid.
+	 */
+	private static String validate(final Reader xml) {
+		try {
+			// Validators are cheap to create from the compiled schema, but are not thread-safe
+			Validator validator = getSchema().newValidator();
+
+			// Setup the handler to throw an exception when an error occurs
+			validator.setErrorHandler(new ErrorHandler() {
+				@Override
+				public void warning(final SAXParseException e) throws SAXException {
+					LOG.warn("XML Schema warning: " + e.getMessage(), e);
+				}
+
+				@Override
+				public void fatalError(final SAXParseException e) throws SAXException {
+					throw e;
+				}
+
+				@Override
+				public void error(final SAXParseException e) throws SAXException {
+					throw e;
+				}
+			});
+
+			// Validate the XML
+			validator.validate(new StreamSource(xml));
+		} catch (SAXParseException e) {
+			return "At line " + e.getLineNumber() + ", column: " + e.getColumnNumber()
+					+ " ==> " + e.getMessage();
+		} catch (Exception e) {
+			return e.getMessage();
+		}
+
 		return null;
 	}
 
+	/**
+	 * Checks whether the characters in a buffer start with the given prefix.
+	 *
+	 * @param xml the buffer to check
+	 * @param length the number of characters in the buffer
+	 * @param prefix the prefix to check for
+	 * @return true if the buffer starts with the prefix
+	 */
+	private static boolean startsWith(final char[] xml, final int length, final String prefix) {
+		if (length < prefix.length()) {
+			return false;
+		}
+
+		for (int i = 0; i < prefix.length(); i++) {
+			if (xml[i] != prefix.charAt(i)) {
+				return false;
+			}
+		}
+
+		return true;
+	}
+
 	/**
 	 * Wrap the XML in a root element before validating.
 	 *
@@ -119,7 +205,7 @@ public final class DebugValidateXML {
 		} else {
 			// ENTITY definition required for NBSP.
 			// ui namepsace required for xml theme.
-			return XMLUtil.XML_DECLARATION + "<ui:root" + XMLUtil.STANDARD_NAMESPACES + ">" + xml + "</ui:root>";
+			return ROOT_START + xml + ROOT_END;
 		}
 	}
 
@@ -132,4 +218,73 @@ public final class DebugValidateXML {
 	protected static String getSchemaPath() {
 		return "/schema/ui/v1/schema.xsd";
 	}
+
+	/**
+	 * Reads an XML fragment held in a character buffer, wrapped in a root element, without copying the buffer.
+	 */
+	private static final class WrappedXMLReader extends Reader {
+
+		/**
+		 * The parts of the document, in order.
+		 */
+		private final char[][] parts;
+
+		/**
+		 * The number of characters in each part.
+		 */
+		private final int[] lengths;
+
+		/**
+		 * The part currently being read.
+		 */
+		private int part;
+
+		/**
+		 * The position in the current part.
+		 */
+		private int pos;
+
+		/**
+		 * Creates a WrappedXMLReader.
+		 *
+		 * @param xml the buffer holding the xml fragment
+		 * @param length the number of characters in the buffer
+		 */
+		private WrappedXMLReader(final char[] xml, final int length) {
+			parts = new char[][]{ROOT_START.toCharArray(), xml, ROOT_END.toCharArray()};
+			lengths = new int[]{parts[0].length, length, parts[2].length};
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public int read(final char[] cbuf, final int off, final int len) {
+			if (len == 0) {
+				return 0;
+			}
+
+			while (part < parts.length && pos == lengths[part]) {
+				part++;
+				pos = 0;
+			}
+
+			if (part == parts.length) {
+				return -1;
+			}
+
+			int count = Math.min(len, lengths[part] - pos);
+			System.arraycopy(parts[part], pos, cbuf, off, count);
+			pos += count;
+			return count;
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public void close() {
+			// Nothing to close
+		}
+	}
 }
@@ -6,6 +6,7 @@ import com.github.bordertech.wcomponents.util.StreamUtil;
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.net.URL;
 import java.util.HashMap;
 import java.util.Map;
 import org.apache.commons.logging.Log;
@@ -125,6 +126,16 @@ public class InternalResource implements ContentStreamAccess {
 		return resourceName;
 	}
 
+	/**
+	 * Retrieves the location of the resource on the class path. Resources which have been extracted to the file system
+	 * have a "file" URL, and can be served directly from the file.
+	 *
+	 * @return the location of the resource, or null if the resource does not exist.
+	 */
+	public URL getResourceUrl() {
+		return resourceName == null ? null : getClass().getResource(resourceName);
+	}
+
 	/**
 	 * @return the URL which can be used to target this resource.
 	 */
@@ -1,11 +1,18 @@
 package com.github.bordertech.wcomponents;
 
+import com.github.bordertech.wcomponents.util.ConfigurationProperties;
 import com.github.bordertech.wcomponents.util.SystemException;
+import com.github.bordertech.wcomponents.util.Util;
+import java.io.IOException;
 import java.io.InputStream;
-import java.util.HashMap;
+import java.security.MessageDigest;
+import java.util.Arrays;
+import java.util.Base64;
 import java.util.Map;
-import java.util.zip.CRC32;
-import java.util.zip.Checksum;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
 
 /**
  * <p>
@@ -24,15 +31,36 @@ import java.util.zip.Checksum;
 public final class InternalResourceMap {
 
 	/**
-	 * The map of internal resources by resource path.
+	 * The logger instance for this class.
 	 */
-	private static final Map<String, InternalResource> RESOURCES = new HashMap<>();
+	private static final Log LOG = LogFactory.getLog(InternalResourceMap.class);
+
+	/**
+	 * The digest algorithm used to calculate resource hashes.
+	 */
+	private static final String HASH_ALGORITHM = "SHA-256";
+
+	/**
+	 * The number of bytes of the digest to use in resource hashes.
+	 */
+	private static final int HASH_LENGTH = 16;
+
+	/**
+	 * The map of internal resources by resource path. Resources are registered during class initialisation of
+	 * components, and read concurrently by static resource requests.
+	 */
+	private static final Map<String, InternalResource> RESOURCES = new ConcurrentHashMap<>();
 
 	/**
 	 * A map of internal resources cache keys by path. This is used to bust the browser cache when a resource changes
-	 * after a new deployment of the application.
+	 * after a new deployment of the application. Cache keys are only calculated when first requested, or read from
+	 * the resource hash manifest.
 	 */
-	private static final Map<String, String> RESOURCE_CACHE_KEYS = new HashMap<>();
+	private static final Map<String, String> RESOURCE_CACHE_KEYS = new ConcurrentHashMap<>();
+
+	static {
+		loadManifest();
+	}
 
 	/**
 	 * Hide utility class constructor.
@@ -46,12 +74,7 @@ public final class InternalResourceMap {
 	 * @param resource the resource.
 	 */
 	public static void registerResource(final InternalResource resource) {
-		String resourceName = resource.getResourceName();
-
-		if (!RESOURCES.containsKey(resourceName)) {
-			RESOURCES.put(resourceName, resource);
-			RESOURCE_CACHE_KEYS.put(resourceName, computeHash(resource));
-		}
+		RESOURCES.putIfAbsent(resource.getResourceName(), resource);
 	}
 
 	/**
@@ -65,42 +88,76 @@ public final class InternalResourceMap {
 	}
 
 	/**
-	 * Retrieves the cache key for a resource path.
+	 * Retrieves the cache key for a resource path. The cache key is calculated the first time it is requested, unless
+	 * it was provided by the resource hash manifest.
 	 *
 	 * @param path the path to the resource.
-	 * @return the resource cache key.
+	 * @return the resource cache key, or null if the resource has not been registered or does not exist.
 	 */
 	public static String getResourceCacheKey(final String path) {
-		return RESOURCE_CACHE_KEYS.get(path);
+		if (path == null || !RESOURCES.containsKey(path)) {
+			return null;
+		}
+
+		return RESOURCE_CACHE_KEYS.computeIfAbsent(path, key -> computeHash(RESOURCES.get(key)));
 	}
 
 	/**
-	 * Computes a simple hash of the resource contents.
+	 * Computes a hash of the resource contents, suitable for use as a cache key.
 	 *
 	 * @param resource the resource to hash.
-	 * @return a hash of the resource contents.
+	 * @return a hash of the resource contents, or null if the resource does not exist.
 	 */
 	public static String computeHash(final InternalResource resource) {
-		final int bufferSize = 1024;
+		final int bufferSize = 4096;
 		try (InputStream stream = resource.getStream()) {
 
 			if (stream == null) {
 				return null;
 			}
 
-			// Compute CRC-32 checksum
-			// TODO: Is a 1 in 2^32 chance of a cache bust fail good enough?
-			// Checksum checksumEngine = new Adler32();
-			Checksum checksumEngine = new CRC32();
+			MessageDigest digest = MessageDigest.getInstance(HASH_ALGORITHM);
 			byte[] buf = new byte[bufferSize];
 
 			for (int read = stream.read(buf); read != -1; read = stream.read(buf)) {
-				checksumEngine.update(buf, 0, read);
+				digest.update(buf, 0, read);
 			}
 
-			return Long.toHexString(checksumEngine.getValue());
+			// The first 128 bits of the digest are more than enough to prevent collisions, and keep URLs short.
+			return Base64.getUrlEncoder().withoutPadding().encodeToString(Arrays.copyOf(digest.digest(),
+					HASH_LENGTH));
 		} catch (Exception e) {
 			throw new SystemException("Error calculating resource hash", e);
 		}
 	}
+
+	/**
+	 * Loads the resource hash manifest, if one is present. The manifest is a properties file mapping resource names to
+	 * their hashes, which can be generated at build time using {@link #computeHash(InternalResource)} to save reading
+	 * every resource on start up.
+	 */
+	private static void loadManifest() {
+		String manifest = ConfigurationProperties.getInternalResourceHashManifest();
+
+		if (Util.empty(manifest)) {
+			return;
+		}
+
+		try (InputStream stream = InternalResourceMap.class.getResourceAsStream(manifest)) {
+			if (stream == null) {
+				return;
+			}
+
+			Properties hashes = new Properties();
+			hashes.load(stream);
+
+			for (String name : hashes.stringPropertyNames()) {
+				RESOURCE_CACHE_KEYS.put(name, hashes.getProperty(name));
+			}
+
+			LOG.info("Loaded " + hashes.size() + " resource hashes from " + manifest);
+		} catch (IOException e) {
+			LOG.warn("Failed to load resource hash manifest " + manifest, e);
+		}
+	}
 }
@@ -0,0 +1,19 @@
+package com.github.bordertech.wcomponents;
+
+/**
+ * <p>
+ * A {@link Targetable} whose targeted requests only read from the user's UIContext, e.g. to return an image or a
+ * document. Targeted requests for these components may be processed concurrently with each other, so they must not
+ * update the models of this or any other component while handling a targeted request.
+ * </p>
+ * <p>
+ * A targeted request is only processed concurrently when its target is found by the server to implement this
+ * interface, and is not within a repeated row. None of the standard components implement this interface, so an
+ * application opts in by implementing it on its own component, e.g. a subclass of {@link WContent} or {@link WImage}
+ * whose content is only read from the user's session.
+ * </p>
+ *
+ * @since 1.5.30
+ */
+public interface ReadOnlyTargetable extends Targetable {
+}
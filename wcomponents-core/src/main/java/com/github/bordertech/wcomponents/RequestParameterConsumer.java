@@ -0,0 +1,27 @@
+package com.github.bordertech.wcomponents;
+
+/**
+ * <p>
+ * Implemented by components which only need {@link WComponent#handleRequest(Request)} to be called when the request
+ * contains one of their parameters. When {@link com.github.bordertech.wcomponents.util.ConfigurationProperties#getRequestParameterDispatch()}
+ * is enabled, the framework skips the handleRequest call for these components unless the name of a request parameter
+ * or uploaded file, the AJAX trigger id or the target id starts with the component's prefix. Components which do not
+ * implement this interface are always called.
+ * </p>
+ * <p>
+ * Skipping a component must have the same effect as calling handleRequest on it with none of its parameters present.
+ * A component which needs to reset some state during handleRequest should return null from
+ * {@link #getRequestParameterPrefix()} until that state has been reset.
+ * </p>
+ *
+ * @since 1.5.30
+ */
+public interface RequestParameterConsumer {
+
+	/**
+	 * Retrieves the prefix of the request parameters which this component consumes. This is usually the component's id.
+	 *
+	 * @return the parameter prefix, or null if the component must always be called.
+	 */
+	String getRequestParameterPrefix();
+}
@@ -0,0 +1,70 @@
+package com.github.bordertech.wcomponents;
+
+import java.io.Serializable;
+import java.util.TreeSet;
+
+/**
+ * <p>
+ * The names of the parameters submitted in a request, sorted so that parameters can be found by prefix. This is used
+ * to decide which {@link RequestParameterConsumer} components need to be called during the handleRequest phase.
+ * </p>
+ * <p>
+ * The index is held in a request attribute for the duration of the outermost serviceRequest call, so that components
+ * which service the request for their own sub-contexts (e.g. repeater rows) do not rebuild it.
+ * </p>
+ *
+ * @since 1.5.30
+ */
+final class RequestParameterIndex implements Serializable {
+
+	/**
+	 * The request attribute key which the index is held under.
+	 */
+	static final String ATTRIBUTE_KEY = RequestParameterIndex.class.getName();
+
+	/**
+	 * The submitted names, in ascending order.
+	 */
+	private final TreeSet<String> names = new TreeSet<>();
+
+	/**
+	 * Creates a RequestParameterIndex.
+	 *
+	 * @param request the request to index.
+	 */
+	RequestParameterIndex(final Request request) {
+		names.addAll(request.getParameters().keySet());
+		names.addAll(request.getFiles().keySet());
+
+		String targetId = request.getParameter(Environment.TARGET_ID);
+		if (targetId != null) {
+			names.add(targetId);
+		}
+
+		AjaxOperation operation = AjaxHelper.getCurrentOperation();
+		if (operation != null && operation.getTriggerId() != null) {
+			names.add(operation.getTriggerId());
+		}
+	}
+
+	/**
+	 * Indicates whether handleRequest needs to be called on a component.
+	 *
+	 * @param component the component to check.
+	 * @return true if the component is not a {@link RequestParameterConsumer}, or one of its parameters was submitted.
+	 */
+	boolean isRequested(final WComponent component) {
+		if (!(component instanceof RequestParameterConsumer)) {
+			return true;
+		}
+
+		String prefix = ((RequestParameterConsumer) component).getRequestParameterPrefix();
+
+		if (prefix == null) {
+			return true;
+		}
+
+		String ceiling = names.ceiling(prefix);
+		return ceiling != null && ceiling.startsWith(prefix);
+	}
+}
@@ -0,0 +1,306 @@
+package com.github.bordertech.wcomponents;
+
+import java.io.Serializable;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * <p>
+ * An immutable row index for a {@link WTable}, holding the index of the row at each level of the table as an array of
+ * primitive ints. For example, the path <code>[2, 0]</code> identifies the first child of the third row in the table.
+ * </p>
+ * <p>
+ * RowPath implements <code>List&lt;Integer&gt;</code>, so can be passed to all the existing {@link WTable.TableModel}
+ * methods, and is equal to (and has the same hash code as) any other list containing the same indices. As row paths are
+ * immutable, they are also safe to use as row keys.
+ * </p>
+ *
+ * @since 1.5.30
+ */
+public final class RowPath extends AbstractList<Integer> implements RandomAccess, Serializable {
+
+	/**
+	 * The row index at each level.
+	 */
+	private final int[] indices;
+
+	/**
+	 * The cached hash code, calculated as per {@link List#hashCode()}.
+	 */
+	private final int hash;
+
+	/**
+	 * The cached string representation of the indices, see {@link #toIndexString()}.
+	 */
+	private transient String indexString;
+
+	/**
+	 * Creates a RowPath. The array is not copied, so must not be modified by the caller.
+	 *
+	 * @param indices the row index at each level.
+	 */
+	private RowPath(final int[] indices) {
+		this.indices = indices;
+
+		int result = 1;
+		for (int index : indices) {
+			result = 31 * result + index;
+		}
+
+		this.hash = result;
+	}
+
+	/**
+	 * Creates a row path with the given indices.
+	 *
+	 * @param indices the row index at each level.
+	 * @return the row path.
+	 */
+	public static RowPath of(final int... indices) {
+		return new RowPath(indices.clone());
+	}
+
+	/**
+	 * Converts a list of row indices to a row path.
+	 *
+	 * @param row the row index, may be null.
+	 * @return the row as a row path, or null if the row was null.
+	 */
+	public static RowPath valueOf(final List<Integer> row) {
+		if (row == null || row instanceof RowPath) {
+			return (RowPath) row;
+		}
+
+		int[] indices = new int[row.size()];
+
+		for (int i = 0; i < indices.length; i++) {
+			indices[i] = row.get(i);
+		}
+
+		return new RowPath(indices);
+	}
+
+	/**
+	 * Parses the string representation of a row path, as returned by {@link #toIndexString()}.
+	 *
+	 * @param row the string representation of the row path.
+	 * @return the row path.
+	 * @throws NumberFormatException if the string is not a valid row path.
+	 */
+	public static RowPath parse(final String row) {
+		int levels = 1;
+
+		for (int i = 0; i < row.length(); i++) {
+			if (row.charAt(i) == '-') {
+				levels++;
+			}
+		}
+
+		int[] indices = new int[levels];
+		int start = 0;
+
+		for (int level = 0; level < levels; level++) {
+			int end = row.indexOf('-', start);
+
+			if (end == -1) {
+				end = row.length();
+			}
+
+			indices[level] = parseIndex(row, start, end);
+			start = end + 1;
+		}
+
+		return new RowPath(indices);
+	}
+
+	/**
+	 * Parses a non-negative index from part of a string.
+	 *
+	 * @param row the string to parse.
+	 * @param start the start of the index in the string, inclusive.
+	 * @param end the end of the index in the string, exclusive.
+	 * @return the index.
+	 * @throws NumberFormatException if the substring is not a valid index.
+	 */
+	private static int parseIndex(final String row, final int start, final int end) {
+		if (start == end || end - start > 9) {
+			// Empty, or possibly larger than an int
+			return Integer.parseInt(row.substring(start, end));
+		}
+
+		int result = 0;
+
+		for (int i = start; i < end; i++) {
+			int digit = row.charAt(i) - '0';
+
+			if (digit < 0 || digit > 9) {
+				throw new NumberFormatException("Invalid row index: " + row);
+			}
+
+			result = result * 10 + digit;
+		}
+
+		return result;
+	}
+
+	/**
+	 * Creates the path for a child of this row.
+	 *
+	 * @param index the index of the child row.
+	 * @return the path to the child row.
+	 */
+	public RowPath child(final int index) {
+		int[] childIndices = Arrays.copyOf(indices, indices.length + 1);
+		childIndices[indices.length] = index;
+		return new RowPath(childIndices);
+	}
+
+	/**
+	 * Retrieves the row index at the given level, without boxing.
+	 *
+	 * @param level the level, where 0 is the top level of the table.
+	 * @return the row index at the given level.
+	 */
+	public int getIndex(final int level) {
+		return indices[level];
+	}
+
+	/**
+	 * @return the number of levels in this path.
+	 */
+	public int getDepth() {
+		return indices.length;
+	}
+
+	/**
+	 * Retrieves the string representation of the row path, which is the row indices separated by "-", e.g. "2-0".
+	 *
+	 * @return the string representation of the row path.
+	 */
+	public String toIndexString() {
+		String result = indexString;
+
+		if (result == null) {
+			StringBuilder buf = new StringBuilder(indices.length * 3);
+
+			for (int i = 0; i < indices.length; i++) {
+				if (i > 0) {
+					buf.append('-');
+				}
+				buf.append(indices[i]);
+			}
+
+			result = buf.toString();
+			indexString = result;
+		}
+
+		return result;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public Integer get(final int index) {
+		return indices[index];
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public int size() {
+		return indices.length;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public int hashCode() {
+		return hash;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public boolean equals(final Object obj) {
+		if (obj == this) {
+			return true;
+		}
+
+		if (obj instanceof RowPath) {
+			RowPath other = (RowPath) obj;
+			return hash == other.hash && Arrays.equals(indices, other.indices);
+		}
+
+		return super.equals(obj);
+	}
+
+	/**
+	 * Interns the row paths for the top level rows of a table, so that the same instance is used each time the table's
+	 * rows are processed. Row paths are immutable, so races between threads populating the cache are harmless.
+	 */
+	static final class TopLevelCache implements Serializable {
+
+		/**
+		 * The maximum number of row paths to keep.
+		 */
+		private static final int MAX_SIZE = 8192;
+
+		/**
+		 * The cached row paths, indexed by row. This is not serialized, so that the cache is not written into the
+		 * session, and is lazily created again after deserialization.
+		 */
+		private transient volatile RowPath[] paths;
+
+		/**
+		 * Retrieves the row path for a top level row.
+		 *
+		 * @param index the row index.
+		 * @return the row path for the given row.
+		 */
+		RowPath get(final int index) {
+			RowPath[] current = paths;
+
+			if (current != null && index < current.length && current[index] != null) {
+				return current[index];
+			}
+
+			RowPath path = new RowPath(new int[]{index});
+
+			if (index < MAX_SIZE) {
+				if (current == null || index >= current.length) {
+					current = grow(index + 1);
+				}
+
+				current[index] = path;
+			}
+
+			return path;
+		}
+
+		/**
+		 * Grows the cache to hold at least the given number of paths.
+		 *
+		 * @param minSize the minimum size of the cache.
+		 * @return the cache.
+		 */
+		private synchronized RowPath[] grow(final int minSize) {
+			RowPath[] current = paths;
+
+			if (current == null) {
+				current = new RowPath[Math.min(MAX_SIZE, minSize)];
+				paths = current;
+			} else if (current.length < minSize) {
+				current = Arrays.copyOf(current, Math.min(MAX_SIZE, Math.max(minSize, current.length * 2)));
+				paths = current;
+			}
+
+			return current;
+		}
+	}
+}
@@ -0,0 +1,120 @@
+package com.github.bordertech.wcomponents;
+
+import com.github.bordertech.wcomponents.monitor.SessionSizeEstimate;
+import com.github.bordertech.wcomponents.monitor.SessionSizeMetrics;
+import com.github.bordertech.wcomponents.util.ConfigurationProperties;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Tracks the number of component models held in a {@link UIContextImpl} for each component class, and uses the
+ * counts to estimate the serialized size of the context. The counts are updated as models are added and removed, so
+ * an estimate only needs to visit the models to count their dynamic children and to pick the models to sample. The
+ * number of models sampled is limited per estimate and by {@link SessionSizeMetrics#acquireSample(int)}.
+ *
+ * @since 1.5.30
+ */
+final class SessionSizeTracker {
+
+	/**
+	 * The maximum number of models serialized for calibration per estimate, to bound the cost of an estimate.
+	 */
+	private static final int MAX_SAMPLES = 4;
+
+	/**
+	 * The number of models held for each component class.
+	 */
+	private final Map<Class<?>, int[]> modelCounts = new HashMap<>();
+
+	/**
+	 * Creates a SessionSizeTracker.
+	 *
+	 * @param models the models which are already held in the context.
+	 */
+	SessionSizeTracker(final Map<WebComponent, WebModel> models) {
+		for (WebComponent component : models.keySet()) {
+			modelAdded(component);
+		}
+	}
+
+	/**
+	 * Called when a model has been added to the context.
+	 *
+	 * @param component the component which the model was added for.
+	 */
+	void modelAdded(final WebComponent component) {
+		int[] count = modelCounts.get(component.getClass());
+
+		if (count == null) {
+			modelCounts.put(component.getClass(), new int[]{1});
+		} else {
+			count[0]++;
+		}
+	}
+
+	/**
+	 * Called when a model has been removed from the context.
+	 *
+	 * @param component the component which the model was removed for.
+	 */
+	void modelRemoved(final WebComponent component) {
+		int[] count = modelCounts.get(component.getClass());
+
+		if (count != null && --count[0] == 0) {
+			modelCounts.remove(component.getClass());
+		}
+	}
+
+	/**
+	 * Estimates the serialized size of the context.
+	 *
+	 * @param models the models held in the context.
+	 * @param fwkAttributeCount the number of framework attributes in the context.
+	 * @param scratchMapCount the number of scratch maps in the context.
+	 * @return the size estimate.
+	 */
+	SessionSizeEstimate estimate(final Map<WebComponent, WebModel> models, final int fwkAttributeCount,
+			final int scratchMapCount) {
+		ThreadLocalRandom random = ThreadLocalRandom.current();
+		double sampleRate = ConfigurationProperties.getMetricsSessionSizeSampleRate();
+		int maxSamplesPerSecond = ConfigurationProperties.getMetricsSessionSizeMaxSamplesPerSecond();
+		boolean sampling = maxSamplesPerSecond > 0;
+		int childCount = 0;
+		int samples = 0;
+
+		for (Map.Entry<WebComponent, WebModel> entry : models.entrySet()) {
+			WebModel model = entry.getValue();
+
+			if (model instanceof ComponentModel) {
+				List<WComponent> children = ((ComponentModel) model).getChildren();
+				childCount += children == null ? 0 : children.size();
+			}
+
+			Class<?> componentClass = entry.getKey().getClass();
+
+			if (sampling && model != null && SessionSizeMetrics.isSampleRequired(componentClass, random.nextDouble(),
+					sampleRate)) {
+				if (SessionSizeMetrics.acquireSample(maxSamplesPerSecond)) {
+					SessionSizeMetrics.sample(componentClass, model);
+					sampling = ++samples < MAX_SAMPLES;
+				} else {
+					sampling = false;
+				}
+			}
+		}
+
+		Map<String, Integer> counts = new HashMap<>();
+		Map<String, Long> sizes = new HashMap<>();
+
+		for (Map.Entry<Class<?>, int[]> entry : modelCounts.entrySet()) {
+			String name = entry.getKey().getName();
+			int count = entry.getValue()[0];
+			counts.put(name, count);
+			sizes.put(name, SessionSizeMetrics.estimateModelSize(entry.getKey(), count));
+		}
+
+		return new SessionSizeEstimate(counts, sizes, childCount, fwkAttributeCount, scratchMapCount);
+	}
+}
@@ -30,13 +30,15 @@ import org.apache.commons.logging.LogFactory;
  * </p>
  * <p>
  * The model supports sorting. A comparator for a particular column can be added via
- * {@link #setComparator(int, Comparator)}.
+ * {@link #setComparator(int, Comparator)}. When used in a table with dynamic pagination, only the rows up to the
+ * current page are sorted.
  * </p>
  *
  * @author Jonathan Austin
  * @since 1.0.0
  */
-public class SimpleBeanBoundTableModel extends AbstractBeanBoundTableModel {
+public class SimpleBeanBoundTableModel extends AbstractBeanBoundTableModel implements
+		WTable.RangeSortableTableModel {
 
 	/**
 	 * The logger instance for this class.
@@ -342,6 +344,19 @@ public class SimpleBeanBoundTableModel extends AbstractBeanBoundTableModel {
 		return sort(comparators.get(col), col, ascending);
 	}
 
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public int[] sort(final int col, final boolean ascending, final int start, final int end) {
+		if (!isSortable(col)) {
+			throw new IllegalStateException(
+					"Attempted to sort on column " + col + ", which is not sortable");
+		}
+
+		return sort(comparators.get(col), col, ascending, start, end);
+	}
+
 	/**
 	 * {@inheritDoc}
 	 */
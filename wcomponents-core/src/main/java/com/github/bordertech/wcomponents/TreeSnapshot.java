@@ -0,0 +1,261 @@
+package com.github.bordertech.wcomponents;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * <p>
+ * An immutable, flattened view of the shared structure of a locked component tree. The snapshot is built when the root
+ * of a tree is locked (see {@link AbstractWComponent#setLocked(boolean)}), and holds the components in pre-order along
+ * with the index of each component's parent and the precomputed ids of each component.
+ * </p>
+ * <p>
+ * The ids are only precomputed for components whose ids depend solely on the shared structure of the tree, i.e. where
+ * neither the component nor any of its ancestors override the id methods in a way which may depend on the current
+ * context (e.g. repeater rows). Other components, and components added to the tree after it was locked, compute their
+ * ids as normal.
+ * </p>
+ * <p>
+ * A snapshot can not be used for a user once the structure of the tree has been changed for that user (e.g. by adding
+ * or removing children or changing id names), and can not be used at all once the shared structure has been changed
+ * while the tree was locked.
+ * </p>
+ *
+ * @since 1.5.30
+ */
+final class TreeSnapshot {
+
+	/**
+	 * The framework attribute which is set on a UIContext once the structure of a locked tree has been changed for the
+	 * user.
+	 */
+	static final String STRUCTURE_CHANGED_KEY = "wc_tree_structure_changed";
+
+	/**
+	 * The classes whose id method implementations only depend on the shared structure of the tree.
+	 */
+	private static final Class<?>[] STABLE_ID_CLASSES = {
+		AbstractWComponent.class, AbstractNamingContextContainer.class, WApplication.class, WContainer.class,
+		WDataTable.class, WTable.class, WTemplate.class
+	};
+
+	/**
+	 * The methods which determine a component's id.
+	 */
+	private static final String[] ID_METHODS = {"getId", "getIdName", "getInternalId", "getNamingContextId"};
+
+	/**
+	 * Caches whether the id methods of a class only depend on the shared structure of the tree.
+	 */
+	private static final Map<Class<?>, Boolean> STABLE_CLASSES = new ConcurrentHashMap<>();
+
+	/**
+	 * The components in the tree, in pre-order.
+	 */
+	private final AbstractWComponent[] components;
+
+	/**
+	 * The index of each component's parent, or -1 for the root.
+	 */
+	private final int[] parents;
+
+	/**
+	 * The precomputed id of each component, or null if the id can not be precomputed.
+	 */
+	private final String[] ids;
+
+	/**
+	 * The precomputed internal id of each component, or null if the internal id can not be precomputed.
+	 */
+	private final String[] internalIds;
+
+	/**
+	 * Set to false if the shared structure of the tree is changed after the snapshot was built.
+	 */
+	private volatile boolean valid = true;
+
+	/**
+	 * Creates a TreeSnapshot.
+	 *
+	 * @param tree the components in the tree, in pre-order.
+	 * @param parents the index of each component's parent.
+	 */
+	private TreeSnapshot(final List<AbstractWComponent> tree, final List<Integer> parents) {
+		this.components = tree.toArray(new AbstractWComponent[tree.size()]);
+		this.parents = new int[components.length];
+		this.ids = new String[components.length];
+		this.internalIds = new String[components.length];
+
+		boolean[] stable = new boolean[components.length];
+
+		for (int i = 0; i < components.length; i++) {
+			this.parents[i] = parents.get(i);
+			stable[i] = (this.parents[i] == -1 || stable[this.parents[i]]) && isStable(components[i].getClass());
+
+			if (stable[i]) {
+				ids[i] = components[i].getId();
+				internalIds[i] = components[i].getInternalId();
+			}
+		}
+	}
+
+	/**
+	 * Builds a snapshot of a tree and attaches it to the components in the tree. This must only be called when there
+	 * is no active UIContext, so that the snapshot is built from the shared structure of the tree.
+	 *
+	 * @param root the root of the tree.
+	 * @return the snapshot.
+	 */
+	static TreeSnapshot build(final AbstractWComponent root) {
+		List<AbstractWComponent> tree = new ArrayList<>();
+		List<Integer> parents = new ArrayList<>();
+		collate(root, -1, tree, parents);
+
+		TreeSnapshot snapshot = new TreeSnapshot(tree, parents);
+
+		for (int i = 0; i < snapshot.components.length; i++) {
+			snapshot.components[i].attachSnapshot(snapshot, i);
+		}
+
+		return snapshot;
+	}
+
+	/**
+	 * Adds a component and its descendants to the tree, in pre-order. Children which are not AbstractWComponents can
+	 * not hold a reference to the snapshot, so are left out along with their descendants.
+	 *
+	 * @param component the component to add.
+	 * @param parent the index of the component's parent.
+	 * @param tree the components in the tree.
+	 * @param parents the index of each component's parent.
+	 */
+	private static void collate(final AbstractWComponent component, final int parent,
+			final List<AbstractWComponent> tree, final List<Integer> parents) {
+		int index = tree.size();
+		tree.add(component);
+		parents.add(parent);
+
+		for (int i = 0; i < component.getChildCount(); i++) {
+			WComponent child = component.getChildAt(i);
+
+			if (child instanceof AbstractWComponent) {
+				collate((AbstractWComponent) child, index, tree, parents);
+			}
+		}
+	}
+
+	/**
+	 * Indicates whether the snapshot can be used for the given context.
+	 *
+	 * @param uic the current context, may be null.
+	 * @return true if the snapshot can be used.
+	 */
+	boolean isValid(final UIContext uic) {
+		return valid && (uic == null || uic.getFwkAttribute(STRUCTURE_CHANGED_KEY) == null);
+	}
+
+	/**
+	 * Records that the structure of the tree has been changed.
+	 *
+	 * @param uic the context the change was made in, or null if the shared structure was changed.
+	 */
+	void structureChanged(final UIContext uic) {
+		if (uic == null) {
+			valid = false;
+		} else if (uic.getFwkAttribute(STRUCTURE_CHANGED_KEY) == null) {
+			uic.setFwkAttribute(STRUCTURE_CHANGED_KEY, Boolean.TRUE);
+		}
+	}
+
+	/**
+	 * Stops the snapshot from being used.
+	 */
+	void invalidate() {
+		valid = false;
+	}
+
+	/**
+	 * @return the number of components in the snapshot.
+	 */
+	int size() {
+		return components.length;
+	}
+
+	/**
+	 * @param index the component index.
+	 * @return the component at the given index.
+	 */
+	AbstractWComponent getComponent(final int index) {
+		return components[index];
+	}
+
+	/**
+	 * @param index the component index.
+	 * @return the parent of the component at the given index, or null for the root.
+	 */
+	Container getParent(final int index) {
+		int parent = parents[index];
+		return parent == -1 ? null : (Container) components[parent];
+	}
+
+	/**
+	 * @param index the component index.
+	 * @return the precomputed id of the component at the given index, or null if not precomputed.
+	 */
+	String getId(final int index) {
+		return ids[index];
+	}
+
+	/**
+	 * @param index the component index.
+	 * @return the precomputed internal id of the component at the given index, or null if not precomputed.
+	 */
+	String getInternalId(final int index) {
+		return internalIds[index];
+	}
+
+	/**
+	 * Determines whether the id methods of a class only depend on the shared structure of the tree.
+	 *
+	 * @param componentClass the class to check.
+	 * @return true if the ids of the class's instances can be precomputed.
+	 */
+	private static boolean isStable(final Class<?> componentClass) {
+		Boolean stable = STABLE_CLASSES.get(componentClass);
+
+		if (stable == null) {
+			stable = Boolean.TRUE;
+
+			for (String name : ID_METHODS) {
+				try {
+					if (!isStableClass(componentClass.getMethod(name).getDeclaringClass())) {
+						stable = Boolean.FALSE;
+						break;
+					}
+				} catch (NoSuchMethodException e) {
+					// Not a naming context, so the method is not relevant
+				}
+			}
+
+			STABLE_CLASSES.put(componentClass, stable);
+		}
+
+		return stable;
+	}
+
+	/**
+	 * @param declaringClass the class which declares an id method.
+	 * @return true if the class's implementation only depends on the shared structure of the tree.
+	 */
+	private static boolean isStableClass(final Class<?> declaringClass) {
+		for (Class<?> stableClass : STABLE_ID_CLASSES) {
+			if (stableClass == declaringClass) {
+				return true;
+			}
+		}
+
+		return false;
+	}
+}
@@ -1,5 +1,6 @@
 package com.github.bordertech.wcomponents;
 
+import com.github.bordertech.wcomponents.monitor.SessionSizeEstimate;
 import com.github.bordertech.wcomponents.util.TreeUtil;
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -32,9 +33,10 @@ public class UIContextImpl implements UIContext {
 	private final long creationTime = System.currentTimeMillis();
 
 	/**
-	 * A map of component models, keyed by the component that they belong to.
+	 * A map of component models, keyed by the component that they belong to. Models for components in a locked tree are
+	 * held in slots indexed by the components' positions in the tree, see {@link ComponentMap}.
 	 */
-	private final Map<WebComponent, WebModel> map = new HashMap<>();
+	private final Map<WebComponent, WebModel> map = new ComponentMap<>();
 
 	/**
 	 * A map of temporary maps with phase scope, keyed by the components using them.
@@ -85,6 +87,12 @@ public class UIContextImpl implements UIContext {
 
 	private transient Headers headers;
 
+	/**
+	 * Tracks the number of models held for each component class, for session size estimates. This is lazily created,
+	 * as it is not serialized.
+	 */
+	private transient SessionSizeTracker sizeTracker;
+
 	/**
 	 * For use by internal framework code only. Sets the top level web component for this context.
 	 *
@@ -122,7 +130,11 @@ public class UIContextImpl implements UIContext {
 	 */
 	@Override
 	public void setModel(final WebComponent component, final WebModel model) {
-		map.put(component, model);
+		SessionSizeTracker tracker = getSizeTracker();
+
+		if (map.put(component, model) == null) {
+			tracker.modelAdded(component);
+		}
 	}
 
 	/**
@@ -133,7 +145,11 @@ public class UIContextImpl implements UIContext {
 	 */
 	@Override
 	public void removeModel(final WebComponent component) {
-		map.remove(component);
+		SessionSizeTracker tracker = getSizeTracker();
+
+		if (map.remove(component) != null) {
+			tracker.modelRemoved(component);
+		}
 	}
 
 	/**
@@ -402,7 +418,7 @@ public class UIContextImpl implements UIContext {
 	@Override
 	public Map<Object, Object> getScratchMap(final WComponent component) {
 		if (scratchMaps == null) {
-			scratchMaps = new HashMap<>();
+			scratchMaps = new ComponentMap<>();
 		}
 
 		Map<Object, Object> componentScratchMap = scratchMaps.get(component);
@@ -444,7 +460,7 @@ public class UIContextImpl implements UIContext {
 	@Override
 	public Map<Object, Object> getRequestScratchMap(final WComponent component) {
 		if (requestScratchMap == null) {
-			requestScratchMap = new HashMap<>();
+			requestScratchMap = new ComponentMap<>();
 		}
 
 		Map<Object, Object> componentScratchMap = requestScratchMap.get(component);
@@ -514,6 +530,29 @@ public class UIContextImpl implements UIContext {
 		this.locale = locale;
 	}
 
+	/**
+	 * Estimates the serialized size of this context.
+	 *
+	 * @return the session size estimate.
+	 */
+	public SessionSizeEstimate estimateSize() {
+		return getSizeTracker().estimate(map, attribMap == null ? 0 : attribMap.size(),
+				scratchMaps == null ? 0 : scratchMaps.size());
+	}
+
+	/**
+	 * Retrieves the size tracker, creating it from the models currently held if necessary.
+	 *
+	 * @return the size tracker for this context.
+	 */
+	private SessionSizeTracker getSizeTracker() {
+		if (sizeTracker == null) {
+			sizeTracker = new SessionSizeTracker(map);
+		}
+
+		return sizeTracker;
+	}
+
 	/**
 	 * The DummyEnvironment is used when an environment hasn't been explicitly supplied.
 	 *
@@ -90,7 +90,10 @@ public class WApplication extends AbstractMutableContainer implements AjaxTarget
 	 * @param appendID set true if append application ID to IDs
 	 */
 	public void setAppendID(final boolean appendID) {
-		getOrCreateComponentModel().appendID = appendID;
+		if (appendID != isAppendID()) {
+			getOrCreateComponentModel().appendID = appendID;
+			structureChanged();
+		}
 	}
 
 	/**
@@ -28,7 +28,7 @@ import org.apache.commons.logging.LogFactory;
  * @since 1.0.0
  */
 public class WButton extends WBeanComponent implements Container, Disableable, AjaxTrigger,
-		AjaxTarget, SubordinateTarget, DialogOpenTrigger, AccessKeyable {
+		AjaxTarget, SubordinateTarget, DialogOpenTrigger, AccessKeyable, RequestParameterConsumer {
 
 	/**
 	 * The logger instance for this class.
@@ -174,6 +174,15 @@ public class WButton extends WBeanComponent implements Container, Disableable, A
 		}
 	}
 
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public String getRequestParameterPrefix() {
+		// The pressed flag is cleared by handleRequest, so a pressed button must always be called
+		return isPressed() ? null : getId();
+	}
+
 	/**
 	 * Indicates whether this button has been pressed for the current request.
 	 *
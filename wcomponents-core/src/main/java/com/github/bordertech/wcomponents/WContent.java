@@ -153,7 +153,10 @@ public class WContent extends AbstractWComponent implements Targetable {
 	 * Resets the flag used to indicate that the content should be displayed.
 	 */
 	private void resetDisplayRequested() {
-		getOrCreateComponentModel().displayRequested = false;
+		// Only update the model if necessary, to avoid creating a model for every user
+		if (isDisplayRequested()) {
+			getOrCreateComponentModel().displayRequested = false;
+		}
 	}
 
 	/**
@@ -225,8 +228,6 @@ public class WContent extends AbstractWComponent implements Targetable {
 	 */
 	@Override
 	public void handleRequest(final Request request) {
-		resetDisplayRequested();
-
 		// Has this component been targeted to return the document content?
 		// Look in the request for the target parameter and see if it's for us.
 		// The target parameter is encoded into the url in the javascript that
@@ -235,11 +236,14 @@ public class WContent extends AbstractWComponent implements Targetable {
 		boolean contentReqested = targ != null && targ.equals(getTargetId());
 
 		if (contentReqested) {
+			// Don't update the model, so that subclasses may implement ReadOnlyTargetable
 			ContentEscape escape = new ContentEscape(getContentAccess());
 			escape.setCacheable(!Util.empty(getCacheKey()));
 			escape.setDisplayInline(getDisplayMode() != DisplayMode.PROMPT_TO_SAVE);
 			throw escape;
 		}
+
+		resetDisplayRequested();
 	}
 
 	/**
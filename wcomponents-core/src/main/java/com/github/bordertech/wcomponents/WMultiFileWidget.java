@@ -608,6 +608,17 @@ public class WMultiFileWidget extends AbstractInput implements Targetable, AjaxI
 		setFileUploadRequestId(null);
 	}
 
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * The file widget is always called, as it clears the file upload request id on every request.
+	 * </p>
+	 */
+	@Override
+	public String getRequestParameterPrefix() {
+		return null;
+	}
+
 	/**
 	 * {@inheritDoc}
 	 */
@@ -6,6 +6,7 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
@@ -43,6 +44,11 @@ public class WRepeater extends WBeanComponent implements Container, AjaxTarget,
 	 */
 	private static final String SCRATCHMAP_DATA_BY_ROW_ID_KEY = "WRepeater.dataByRowId";
 
+	/**
+	 * This key is used to access the rowId-to-row-index mapping table from the scratch map.
+	 */
+	private static final String SCRATCHMAP_INDEX_BY_ROW_ID_KEY = "WRepeater.indexByRowId";
+
 	/**
 	 * The logger instance for this class.
 	 */
@@ -354,7 +360,8 @@ public class WRepeater extends WBeanComponent implements Container, AjaxTarget,
 
 		List beanList = getBeanList();
 
-		List<Integer> used = new ArrayList<>();
+		Set<Integer> used = new HashSet<>(beanList.size());
+		Set<Object> rowIds = new HashSet<>(beanList.size());
 
 		for (int i = 0; i < beanList.size(); i++) {
 			Object rowData = beanList.get(i);
@@ -362,10 +369,11 @@ public class WRepeater extends WBeanComponent implements Container, AjaxTarget,
 			// Each row has its own context. This is why we can reuse the same
 			// WComponent instance for each row.
 			UIContext rowContext = getRowContext(rowData, i);
+			rowIds.add(((SubUIContext) rowContext).getRowId());
 
 			// Check the context has not been used for another row
 			Integer subId = ((SubUIContext) rowContext).getContextId();
-			if (used.contains(subId)) {
+			if (!used.add(subId)) {
 				Object rowId = ((SubUIContext) rowContext).getRowId();
 				String msg = "The row context for row id ["
 						+ rowId
@@ -374,8 +382,6 @@ public class WRepeater extends WBeanComponent implements Container, AjaxTarget,
 						+ "or no rowIdBeanProperty set on the repeater that uniquely identifies the row.";
 				throw new SystemException(msg);
 			}
-			used.add(subId);
-
 			UIContextHolder.pushContext(rowContext);
 
 			try {
@@ -384,6 +390,10 @@ public class WRepeater extends WBeanComponent implements Container, AjaxTarget,
 				UIContextHolder.popContext();
 			}
 		}
+
+		// The bean list may have changed since the request was handled, e.g. when paging through the data, so evict the
+		// contexts for rows which are no longer present.
+		cleanupStaleContexts(rowIds);
 	}
 
 	/**
@@ -486,7 +496,70 @@ public class WRepeater extends WBeanComponent implements Container, AjaxTarget,
 	 * @return The context for the given row.
 	 */
 	public UIContext getRowContext(final Object rowBean) {
-		return getRowContext(rowBean, getBeanList().indexOf(rowBean));
+		return getRowContext(rowBean, getRowIndex(rowBean));
+	}
+
+	/**
+	 * Determines the index of a row in the bean list. This uses a mapping of row id to row index which is cached in
+	 * the scratch map, rather than searching the list.
+	 *
+	 * @param rowBean the row's bean.
+	 * @return the index of the row, or -1 if the row is not in the bean list.
+	 */
+	private int getRowIndex(final Object rowBean) {
+		List<?> beanList = getBeanList();
+		Object rowId = getRowId(rowBean);
+		Map<Object, Integer> indexByRowId = (Map<Object, Integer>) getScratchMap().get(SCRATCHMAP_INDEX_BY_ROW_ID_KEY);
+
+		if (indexByRowId != null) {
+			int index = findRowIndex(beanList, indexByRowId, rowId, rowBean);
+
+			if (index != -1) {
+				return index;
+			}
+		}
+
+		// The bean list may have changed, so rebuild the mapping
+		indexByRowId = new HashMap<>(beanList.size() * 2);
+
+		for (int i = beanList.size() - 1; i >= 0; i--) {
+			// Iterate backwards so the first row with a given id is kept, as per List.indexOf
+			indexByRowId.put(getRowId(beanList.get(i)), i);
+		}
+
+		UIContext uic = UIContextHolder.getCurrent();
+
+		if (uic != null) {
+			uic.getScratchMap(this).put(SCRATCHMAP_INDEX_BY_ROW_ID_KEY, indexByRowId);
+		}
+
+		int index = findRowIndex(beanList, indexByRowId, rowId, rowBean);
+		// Fall back to a search if beans with the same id are not equal
+		return index == -1 ? beanList.indexOf(rowBean) : index;
+	}
+
+	/**
+	 * Looks up the index of a row in the row id mapping, checking that the row is still at that index.
+	 *
+	 * @param beanList the bean list.
+	 * @param indexByRowId the mapping of row id to row index.
+	 * @param rowId the row's id.
+	 * @param rowBean the row's bean.
+	 * @return the index of the row, or -1 if not found.
+	 */
+	private static int findRowIndex(final List<?> beanList, final Map<Object, Integer> indexByRowId,
+			final Object rowId, final Object rowBean) {
+		Integer index = indexByRowId.get(rowId);
+
+		if (index != null && index < beanList.size()) {
+			Object bean = beanList.get(index);
+
+			if (bean == rowBean || (bean != null && bean.equals(rowBean))) {
+				return index;
+			}
+		}
+
+		return -1;
 	}
 
 	/**
@@ -1011,9 +1084,11 @@ public class WRepeater extends WBeanComponent implements Container, AjaxTarget,
 		private final int contextId;
 
 		/**
-		 * A map of Component models, keyed by the component which they belong to.
+		 * A map of Component models, keyed by the component which they belong to. Components do not override equals,
+		 * so an identity map is used, which is more compact than a HashMap. The map is only created when a model is
+		 * added, as many rows only use the shared models.
 		 */
-		private final Map<WebComponent, WebModel> componentModels = new HashMap<>();
+		private Map<WebComponent, WebModel> componentModels;
 
 		/**
 		 * Creates a SubUIContext.
@@ -1115,7 +1190,7 @@ public class WRepeater extends WBeanComponent implements Container, AjaxTarget,
 		 */
 		@Override
 		public WebModel getModel(final WebComponent component) {
-			WebModel model = componentModels.get(component);
+			WebModel model = componentModels == null ? null : componentModels.get(component);
 
 			if (model == null) {
 				// Try the parent.
@@ -1138,11 +1213,11 @@ public class WRepeater extends WBeanComponent implements Container, AjaxTarget,
 			// Need to figure out which context should store the model.
 			if (component instanceof WRepeatRoot) {
 				// The repeat root must always be stored locally.
-				componentModels.put(component, model);
+				putModel(component, model);
 			} else if (isInContext(component)) {
 				// The component that we are being asked to store a model for
 				// is inside a repeater and is from this context.
-				componentModels.put(component, model);
+				putModel(component, model);
 			} else {
 				// The component is not from this context, so ask the parent
 				// context to store it.
@@ -1150,6 +1225,20 @@ public class WRepeater extends WBeanComponent implements Container, AjaxTarget,
 			}
 		}
 
+		/**
+		 * Stores a component model in this context.
+		 *
+		 * @param component the component to set the model for.
+		 * @param model the component model for the given component.
+		 */
+		private void putModel(final WebComponent component, final WebModel model) {
+			if (componentModels == null) {
+				componentModels = new IdentityHashMap<>(4);
+			}
+
+			componentModels.put(component, model);
+		}
+
 		/**
 		 * Indicates whether the given component is inside this context's repeatRoot.
 		 *
@@ -1191,7 +1280,7 @@ public class WRepeater extends WBeanComponent implements Container, AjaxTarget,
 		 */
 		@Override
 		public void removeModel(final WebComponent component) {
-			if (componentModels.remove(component) == null) {
+			if (componentModels == null || componentModels.remove(component) == null) {
 				// Not from this context, better try the parent context.
 				getParentContext().removeModel(component);
 			}
@@ -1202,7 +1291,7 @@ public class WRepeater extends WBeanComponent implements Container, AjaxTarget,
 		 */
 		@Override
 		public Set getComponents() {
-			return componentModels.keySet();
+			return componentModels == null ? Collections.emptySet() : componentModels.keySet();
 		}
 
 		/**
@@ -6,6 +6,7 @@ import com.github.bordertech.wcomponents.util.InternalMessages;
 import com.github.bordertech.wcomponents.util.TableUtil;
 import com.github.bordertech.wcomponents.util.Util;
 import java.io.Serializable;
+import java.util.AbstractList;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
@@ -13,6 +14,7 @@ import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.RandomAccess;
 import java.util.Set;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
@@ -78,6 +80,11 @@ public class WTable extends WBeanComponent implements Container, AjaxInternalTri
 	 */
 	private final WContainer actions = new WContainer();
 
+	/**
+	 * The interned row paths for the top level rows.
+	 */
+	private final RowPath.TopLevelCache topLevelRowPaths = new RowPath.TopLevelCache();
+
 	/**
 	 * This is used to control how row selection should work.
 	 */
@@ -342,6 +349,7 @@ public class WTable extends WBeanComponent implements Container, AjaxInternalTri
 	public void setTableModel(final TableModel tableModel) {
 		getOrCreateComponentModel().tableModel = tableModel;
 		getOrCreateComponentModel().rowIndexMapping = null;
+		getOrCreateComponentModel().rangeMapping = null;
 		setSelectedRows(null);
 		setExpandedRows(null);
 		clearPrevExpandedRows();
@@ -1320,6 +1328,7 @@ public class WTable extends WBeanComponent implements Container, AjaxInternalTri
 				// Reset sort
 				setSort(-1, false);
 				getOrCreateComponentModel().rowIndexMapping = null;
+				getOrCreateComponentModel().rangeMapping = null;
 			} else {
 				try {
 					int sortCol = Integer.parseInt(sortColStr);
@@ -1349,6 +1358,16 @@ public class WTable extends WBeanComponent implements Container, AjaxInternalTri
 	 * @param sortAsc true if sort ascending, otherwise sort descending
 	 */
 	public void sort(final int sortCol, final boolean sortAsc) {
+		// The data may have changed, so the rows for the current page need to be sorted again
+		getOrCreateComponentModel().rangeMapping = null;
+
+		if (isRangeSorted()) {
+			// The rows for each page are sorted as the page is rendered
+			getOrCreateComponentModel().rowIndexMapping = null;
+			setSort(sortCol, sortAsc);
+			return;
+		}
+
 		int[] rowIndexMappings = getTableModel().sort(sortCol, sortAsc);
 		getOrCreateComponentModel().rowIndexMapping = rowIndexMappings;
 
@@ -1398,8 +1417,7 @@ public class WTable extends WBeanComponent implements Container, AjaxInternalTri
 		}
 
 		for (String selectedRow : selectedRows) {
-			List<Integer> rowIndex = TableUtil.rowIndexStringToList(selectedRow);
-			Object key = pageRowKeys.get(rowIndex);
+			Object key = pageRowKeys.get(TableUtil.rowIndexStringToList(selectedRow));
 			if (key == null) {
 				continue;
 			}
@@ -1452,8 +1470,7 @@ public class WTable extends WBeanComponent implements Container, AjaxInternalTri
 		}
 
 		for (String expandedRow : expandedRows) {
-			List<Integer> rowIndex = TableUtil.rowIndexStringToList(expandedRow);
-			Object key = pageRowKeys.get(rowIndex);
+			Object key = pageRowKeys.get(TableUtil.rowIndexStringToList(expandedRow));
 			if (key != null) {
 				newExpansions.add(key);
 			}
@@ -1765,18 +1782,48 @@ public class WTable extends WBeanComponent implements Container, AjaxInternalTri
 		TableModel model = getTableModel();
 
 		// If the table is sorted, we may require a mapping for table row index <--> data model index.
-		int[] rowIndexMapping = getComponentModel().rowIndexMapping;
+		int[] rowIndexMapping;
+		// The table row index of the first entry in the mapping
+		int mappingOffset = 0;
+
+		if (isSorted() && isRangeSorted()) {
+			// Only sort as far as the rows being processed, reusing the rows from the last time this range was sorted
+			RangeMapping range = getComponentModel().rangeMapping;
+			int sortCol = getSortColumnIndex();
+			boolean sortAsc = isSortAscending();
+			int rowCount = model.getRowCount();
+
+			if (range == null || !range.isFor(sortCol, sortAsc, startIndex, endIndex, rowCount)) {
+				int[] rows = ((RangeSortableTableModel) model).sort(sortCol, sortAsc, startIndex, endIndex + 1);
+				range = new RangeMapping(sortCol, sortAsc, startIndex, endIndex, rowCount, rows);
+				getOrCreateComponentModel().rangeMapping = range;
+			}
 
-		// Check if sort mapping needs updating
-		if (isSorted() && rowIndexMapping != null && rowIndexMapping.length != model.getRowCount()) {
-			rowIndexMapping = model.sort(getSortColumnIndex(), isSortAscending());
-			getOrCreateComponentModel().rowIndexMapping = rowIndexMapping;
+			rowIndexMapping = range.rows;
+			mappingOffset = startIndex;
+		} else {
+			rowIndexMapping = getComponentModel().rowIndexMapping;
+
+			// Check if sort mapping needs updating. Range sortable models always provide a mapping, so will not have
+			// one if the table was previously range sorted.
+			if (isSorted() && (rowIndexMapping == null ? model instanceof RangeSortableTableModel
+					: rowIndexMapping.length != model.getRowCount())) {
+				rowIndexMapping = model.sort(getSortColumnIndex(), isSortAscending());
+				getOrCreateComponentModel().rowIndexMapping = rowIndexMapping;
+			}
 		}
 
-		List<RowIdWrapper> rowIds = new ArrayList<>(endIndex - startIndex + 1);
-
 		ExpandMode mode = getExpandMode();
 		boolean expandable = mode != ExpandMode.NONE;
+		boolean editable = isEditable();
+
+		// Flat tables which are only being rendered do not need to keep any state for each row, so the row ids can be
+		// created as the repeater asks for them.
+		if (!expandable && !forUpdate && !editable) {
+			return new RowIdWindow(model, rowIndexMapping, mappingOffset, topLevelRowPaths, startIndex, endIndex);
+		}
+
+		List<RowIdWrapper> rowIds = new ArrayList<>(endIndex - startIndex + 1);
 
 		// Expanded rows - for update, include rows that have been previously expanded
 		Set<?> expanded = null;
@@ -1795,18 +1842,9 @@ public class WTable extends WBeanComponent implements Container, AjaxInternalTri
 			}
 		}
 
-		boolean editable = isEditable();
-
 		for (int i = startIndex; i <= endIndex; i++) {
-			// Create top level
-			List<Integer> rowIndex = new ArrayList<>(1);
-
-			// Map ids (if sorted)
-			if (rowIndexMapping == null) {
-				rowIndex.add(i);
-			} else {
-				rowIndex.add(rowIndexMapping[i]);
-			}
+			// Create top level, mapping ids (if sorted)
+			RowPath rowIndex = topLevelRowPaths.get(rowIndexMapping == null ? i : rowIndexMapping[i - mappingOffset]);
 
 			// Row key
 			Object key = model.getRowKey(rowIndex);
@@ -1874,7 +1912,7 @@ public class WTable extends WBeanComponent implements Container, AjaxInternalTri
 			parent.addChild(row);
 		}
 
-		List<Integer> rowIndex = row.getRowIndex();
+		RowPath rowIndex = row.getRowPath();
 
 		// If row has a renderer, then dont need to process its children (should not have any anyway as it is a "leaf")
 		if (model.getRendererClass(rowIndex) != null) {
@@ -1915,8 +1953,7 @@ public class WTable extends WBeanComponent implements Container, AjaxInternalTri
 		// Add children by processing each child row
 		for (int i = 0; i < children; i++) {
 			// Add next level
-			List<Integer> nextRow = new ArrayList<>(row.getRowIndex());
-			nextRow.add(i);
+			RowPath nextRow = rowIndex.child(i);
 			// Create Wrapper
 			Object key = model.getRowKey(nextRow);
 			RowIdWrapper wrapper = new RowIdWrapper(nextRow, key, row);
@@ -1924,6 +1961,84 @@ public class WTable extends WBeanComponent implements Container, AjaxInternalTri
 		}
 	}
 
+	/**
+	 * Indicates whether the table's rows are sorted a page at a time. This is the case for dynamically paginated tables
+	 * whose model is a {@link RangeSortableTableModel}.
+	 *
+	 * @return true if the rows are sorted a page at a time
+	 */
+	private boolean isRangeSorted() {
+		return getPaginationMode() == PaginationMode.DYNAMIC && isPaginated()
+				&& getTableModel() instanceof RangeSortableTableModel;
+	}
+
+	/**
+	 * The model row indices for a range of sorted rows, which are kept for as long as the sort, the range and the
+	 * number of rows stay the same. This avoids sorting the rows again each time the row ids are determined.
+	 */
+	private static final class RangeMapping implements Serializable {
+
+		/**
+		 * The column which the rows were sorted on.
+		 */
+		private final int sortCol;
+
+		/**
+		 * True if the rows were sorted in ascending order.
+		 */
+		private final boolean sortAsc;
+
+		/**
+		 * The index of the first row in the range.
+		 */
+		private final int startIndex;
+
+		/**
+		 * The index of the last row in the range.
+		 */
+		private final int endIndex;
+
+		/**
+		 * The number of rows in the model when the range was sorted.
+		 */
+		private final int rowCount;
+
+		/**
+		 * The model row indices for the range.
+		 */
+		private final int[] rows;
+
+		/**
+		 * @param sortCol the column which the rows were sorted on
+		 * @param sortAsc true if the rows were sorted in ascending order
+		 * @param startIndex the index of the first row in the range
+		 * @param endIndex the index of the last row in the range
+		 * @param rowCount the number of rows in the model
+		 * @param rows the model row indices for the range
+		 */
+		private RangeMapping(final int sortCol, final boolean sortAsc, final int startIndex, final int endIndex,
+				final int rowCount, final int[] rows) {
+			this.sortCol = sortCol;
+			this.sortAsc = sortAsc;
+			this.startIndex = startIndex;
+			this.endIndex = endIndex;
+			this.rowCount = rowCount;
+			this.rows = rows;
+		}
+
+		/**
+		 * @param col the column the rows are sorted on
+		 * @param asc true if the rows are sorted in ascending order
+		 * @param start the index of the first row in the range
+		 * @param end the index of the last row in the range
+		 * @param count the number of rows in the model
+		 * @return true if this mapping is for the given sort and range
+		 */
+		private boolean isFor(final int col, final boolean asc, final int start, final int end, final int count) {
+			return sortCol == col && sortAsc == asc && startIndex == start && endIndex == end && rowCount == count;
+		}
+	}
+
 	/**
 	 * @return the current page row indexes and their keys
 	 */
@@ -1940,6 +2055,87 @@ public class WTable extends WBeanComponent implements Container, AjaxInternalTri
 		return rows;
 	}
 
+	/**
+	 * The row ids for a window of top-level rows of a flat table. Each row id is only created when it is first
+	 * requested.
+	 */
+	private static final class RowIdWindow extends AbstractList<RowIdWrapper> implements RandomAccess {
+
+		/**
+		 * The table model.
+		 */
+		private final TableModel model;
+
+		/**
+		 * The mapping of table row index to model row index, or null if the table is not sorted.
+		 */
+		private final int[] rowIndexMapping;
+
+		/**
+		 * The table row index of the first entry in the mapping.
+		 */
+		private final int mappingOffset;
+
+		/**
+		 * The table's interned row paths.
+		 */
+		private final RowPath.TopLevelCache rowPaths;
+
+		/**
+		 * The index of the first row in the window.
+		 */
+		private final int startIndex;
+
+		/**
+		 * The row ids which have been created so far.
+		 */
+		private final RowIdWrapper[] rows;
+
+		/**
+		 * @param model the table model
+		 * @param rowIndexMapping the mapping of table row index to model row index, or null if not sorted
+		 * @param mappingOffset the table row index of the first entry in the mapping
+		 * @param rowPaths the table's interned row paths
+		 * @param startIndex the index of the first row in the window
+		 * @param endIndex the index of the last row in the window
+		 */
+		private RowIdWindow(final TableModel model, final int[] rowIndexMapping, final int mappingOffset,
+				final RowPath.TopLevelCache rowPaths, final int startIndex, final int endIndex) {
+			this.model = model;
+			this.rowIndexMapping = rowIndexMapping;
+			this.mappingOffset = mappingOffset;
+			this.rowPaths = rowPaths;
+			this.startIndex = startIndex;
+			this.rows = new RowIdWrapper[endIndex - startIndex + 1];
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public RowIdWrapper get(final int index) {
+			RowIdWrapper row = rows[index];
+
+			if (row == null) {
+				int i = startIndex + index;
+				RowPath rowIndex = rowPaths.get(rowIndexMapping == null ? i : rowIndexMapping[i - mappingOffset]);
+				row = new RowIdWrapper(rowIndex, model.getRowKey(rowIndex), null);
+				row.setPosition(index);
+				rows[index] = row;
+			}
+
+			return row;
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public int size() {
+			return rows.length;
+		}
+	}
+
 	/**
 	 * Contains the table's UI state.
 	 *
@@ -2111,6 +2307,11 @@ public class WTable extends WBeanComponent implements Container, AjaxInternalTri
 		 */
 		private int[] rowIndexMapping;
 
+		/**
+		 * The model row indices for the range of rows last sorted, for tables whose rows are sorted a page at a time.
+		 */
+		private RangeMapping rangeMapping;
+
 		/**
 		 * Indicates that the first data column in the table is considered a row header.
 		 */
@@ -2420,6 +2621,22 @@ public class WTable extends WBeanComponent implements Container, AjaxInternalTri
 		 * @return the key (ie bean) used to uniquely identify this row
 		 */
 		Object getRowKey(List<Integer> row);
+
+		/**
+		 * Retrieves the key (ie bean) used to uniquely identify this row, given the row's index as a {@link RowPath}.
+		 * <p>
+		 * This is the method called by the table. The default implementation calls {@link #getRowKey(List)}, as a
+		 * RowPath is also a list of row indices. Models may override this method to read the row indices without
+		 * boxing.
+		 * </p>
+		 *
+		 * @param row the row index
+		 * @return the key (ie bean) used to uniquely identify this row
+		 * @since 1.5.30
+		 */
+		default Object getRowKey(final RowPath row) {
+			return getRowKey((List<Integer>) row);
+		}
 	}
 
 	/**
@@ -2445,6 +2662,40 @@ public class WTable extends WBeanComponent implements Container, AjaxInternalTri
 		void setCurrentRows(int start, int end);
 	}
 
+	/**
+	 * This extension of {@link TableModel} is for models which can efficiently sort a range of rows, without having to
+	 * determine the sort order of all the rows. When a table with {@link PaginationMode#DYNAMIC dynamic pagination} has
+	 * a model implementing this interface, only the rows needed for the current page are sorted, and the table does not
+	 * keep a mapping for all the rows.
+	 * <p>
+	 * The sort order must be the same as {@link #sort(int, boolean)}, and consistent between calls for different ranges
+	 * of the same data. This requires a stable sort, i.e. rows which compare as equal are kept in model order.
+	 * </p>
+	 * <p>
+	 * The table keeps the rows for the current page until the sort, the page or the number of rows changes. If the data
+	 * changes in a way which affects the sort order, {@link WTable#handleDataChanged()} should be called.
+	 * </p>
+	 *
+	 * @since 1.5.30
+	 */
+	public interface RangeSortableTableModel extends TableModel {
+
+		/**
+		 * Determines the model row indices for a range of rows of the data sorted by the given column.
+		 * <p>
+		 * For example, if the data for the column is {"a", "b", "d", "c"}, then an ascending sort for the range [1, 3)
+		 * should return {1, 3}.
+		 * </p>
+		 *
+		 * @param col the column to sort on
+		 * @param ascending true for an ascending sort, false for descending.
+		 * @param start the index of the first row in the sorted data to return, inclusive.
+		 * @param end the index of the last row in the sorted data to return, exclusive.
+		 * @return the model row indices for the given range of sorted rows.
+		 */
+		int[] sort(int col, boolean ascending, int start, int end);
+	}
+
 	/**
 	 * The BeanBoundTableModel provides a link between a bean (bound to a table), and the table model API.
 	 *
@@ -2535,15 +2786,15 @@ public class WTable extends WBeanComponent implements Container, AjaxInternalTri
 		/**
 		 * The row index.
 		 */
-		private final List<Integer> rowIndex;
+		private final RowPath rowIndex;
 		/**
 		 * The row key.
 		 */
 		private final Object rowKey;
 		/**
-		 * The children of the row.
+		 * The children of the row, or null if no children have been added.
 		 */
-		private final List<RowIdWrapper> children = new ArrayList<>();
+		private List<RowIdWrapper> children;
 		/**
 		 * Flag if row has children.
 		 */
@@ -2564,7 +2815,7 @@ public class WTable extends WBeanComponent implements Container, AjaxInternalTri
 		 */
 		public RowIdWrapper(final List<Integer> rowIndex, final Object rowKey,
 				final RowIdWrapper parent) {
-			this.rowIndex = rowIndex;
+			this.rowIndex = RowPath.valueOf(rowIndex);
 			this.rowKey = rowKey;
 			this.parent = parent;
 		}
@@ -2576,6 +2827,14 @@ public class WTable extends WBeanComponent implements Container, AjaxInternalTri
 			return rowIndex;
 		}
 
+		/**
+		 * @return the row index as a row path
+		 * @since 1.5.30
+		 */
+		public RowPath getRowPath() {
+			return rowIndex;
+		}
+
 		/**
 		 * @return the row key
 		 */
@@ -2584,10 +2843,10 @@ public class WTable extends WBeanComponent implements Container, AjaxInternalTri
 		}
 
 		/**
-		 * @return the children of the row, or null if no children
+		 * @return the children of the row, or an empty list if no children
 		 */
 		public List<RowIdWrapper> getChildren() {
-			return children;
+			return children == null ? Collections.<RowIdWrapper>emptyList() : children;
 		}
 
 		/**
@@ -2608,6 +2867,9 @@ public class WTable extends WBeanComponent implements Container, AjaxInternalTri
 		 * @param child the child row to add
 		 */
 		public void addChild(final RowIdWrapper child) {
+			if (children == null) {
+				children = new ArrayList<>();
+			}
 			children.add(child);
 		}
 
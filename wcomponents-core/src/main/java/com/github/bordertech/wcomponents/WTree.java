@@ -663,6 +663,17 @@ public class WTree extends AbstractInput
 		setOpenRequestItemId(null);
 	}
 
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * The tree is always called, as it clears the open request item id on every request.
+	 * </p>
+	 */
+	@Override
+	public String getRequestParameterPrefix() {
+		return null;
+	}
+
 	/**
 	 * {@inheritDoc}
 	 */
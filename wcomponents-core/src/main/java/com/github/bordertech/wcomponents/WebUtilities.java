@@ -6,6 +6,7 @@ import com.github.bordertech.wcomponents.container.PageShellInterceptor;
 import com.github.bordertech.wcomponents.container.TemplateRenderInterceptor;
 import com.github.bordertech.wcomponents.container.TransformXMLInterceptor;
 import com.github.bordertech.wcomponents.servlet.WebXmlRenderContext;
+import com.github.bordertech.wcomponents.util.ComponentIdIndex;
 import com.github.bordertech.wcomponents.util.ConfigurationProperties;
 import com.github.bordertech.wcomponents.util.SystemException;
 import com.github.bordertech.wcomponents.util.TreeUtil;
@@ -637,6 +638,9 @@ public final class WebUtilities {
 
 	/**
 	 * Finds a component by its id.
+	 * <p>
+	 * Lookups are indexed for the duration of the request, see {@link ComponentIdIndex}.
+	 * </p>
 	 *
 	 * @param id the id of the component to search for.
 	 * @param visibleOnly true if process visible only
@@ -644,9 +648,7 @@ public final class WebUtilities {
 	 */
 	public static ComponentWithContext getComponentById(final String id, final boolean visibleOnly) {
 		UIContext uic = UIContextHolder.getCurrent();
-		WComponent root = uic.getUI();
-		ComponentWithContext comp = TreeUtil.getComponentWithContextForId(root, id, visibleOnly);
-		return comp;
+		return ComponentIdIndex.getComponentWithContextForId(uic, id, visibleOnly);
 	}
 
 	/**
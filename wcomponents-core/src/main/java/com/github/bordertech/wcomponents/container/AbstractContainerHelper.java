@@ -16,6 +16,9 @@ import com.github.bordertech.wcomponents.WComponent;
 import com.github.bordertech.wcomponents.WebComponent;
 import com.github.bordertech.wcomponents.WebUtilities;
 import com.github.bordertech.wcomponents.container.ResponseCacheInterceptor.CacheType;
+import com.github.bordertech.wcomponents.monitor.CountingPrintWriter;
+import com.github.bordertech.wcomponents.monitor.RequestMetrics;
+import com.github.bordertech.wcomponents.monitor.SessionSizeMetrics;
 import com.github.bordertech.wcomponents.servlet.WebXmlRenderContext;
 import com.github.bordertech.wcomponents.util.ConfigurationProperties;
 import com.github.bordertech.wcomponents.util.Factory;
@@ -67,20 +70,26 @@ public abstract class AbstractContainerHelper {
 	private Request request = null;
 
 	/**
+	 * Sets the web component which will process the request. If request metrics are enabled, the interceptor chain is
+	 * instrumented to record the time taken by each interceptor, see {@link RequestMetrics}.
+	 *
 	 * @param webComponent the web component
 	 */
 	public void setWebComponent(final WebComponent webComponent) {
+		InterceptorComponent inter;
+
 		if (webComponent instanceof WComponent) {
 			// No interceptor supplied but we need one to make things simple.
 			// Dummy up a pass-through/do-nothing interceptor.
-			InterceptorComponent inter = new InterceptorComponent();
+			inter = new InterceptorComponent();
 			inter.setBackingComponent(webComponent);
-			setInterceptor(inter);
 		} else if (webComponent instanceof InterceptorComponent) {
-			setInterceptor((InterceptorComponent) webComponent);
+			inter = (InterceptorComponent) webComponent;
 		} else {
 			throw new IllegalArgumentException("Unexpected extension of WebComponent supplied.");
 		}
+
+		setInterceptor(RequestMetrics.isEnabled() ? RequestMetrics.instrument(inter) : inter);
 	}
 
 	/**
@@ -163,8 +172,14 @@ public abstract class AbstractContainerHelper {
 
 			Request req = getRequest();
 			getInterceptor().attachResponse(getResponse());
+
+			long start = System.nanoTime();
 			getInterceptor().serviceRequest(req);
 
+			if (RequestMetrics.isEnabled()) {
+				RequestMetrics.recordLatency(RequestMetrics.PHASE_SERVICE_REQUEST, System.nanoTime() - start);
+			}
+
 			if (req.isLogout()) {
 				handleLogout();
 				dispose();
@@ -242,18 +257,37 @@ public abstract class AbstractContainerHelper {
 				throw new SystemException("No WEnvironment exists.");
 			}
 
+			boolean metrics = RequestMetrics.isEnabled();
 			getInterceptor().attachResponse(getResponse());
+
+			long start = System.nanoTime();
 			getInterceptor().preparePaint(getRequest());
 
+			if (metrics) {
+				RequestMetrics.recordLatency(RequestMetrics.PHASE_PREPARE_PAINT, System.nanoTime() - start);
+			}
+
 			String contentType = getUI().getHeaders().getContentType();
 			Response response = getResponse();
 			response.setContentType(contentType);
 
 			addGenericHeaders(uic, getUI());
 
-			PrintWriter writer = getPrintWriter();
+			PrintWriter writer = metrics ? new CountingPrintWriter(getPrintWriter()) : getPrintWriter();
+
+			start = System.nanoTime();
 			getInterceptor().paint(new WebXmlRenderContext(writer, uic.getLocale()));
 
+			if (metrics) {
+				RequestMetrics.recordLatency(RequestMetrics.PHASE_PAINT, System.nanoTime() - start);
+				RequestMetrics.recordRenderedSize(((CountingPrintWriter) writer).getCount());
+			}
+
+			// Read-only requests do not change the size of the session
+			if (SessionSizeMetrics.isEnabled() && !isReadOnlyRequest()) {
+				SessionSizeMetrics.record(uic);
+			}
+
 			// The following only matters for a Portal context
 			String title = uiComponent instanceof WApplication ? ((WApplication) uiComponent).
 					getTitle() : null;
@@ -296,6 +330,16 @@ public abstract class AbstractContainerHelper {
 		return false;
 	}
 
+	/**
+	 * Indicates whether the current request only reads from the user's context. Subclasses which process read-only
+	 * requests against a different context may override.
+	 *
+	 * @return true if the current request does not update the user's context.
+	 */
+	protected boolean isReadOnlyRequest() {
+		return false;
+	}
+
 	/**
 	 * Creates and initialises a new UIContext.
 	 *
@@ -4,28 +4,42 @@ import com.github.bordertech.wcomponents.RenderContext;
 import com.github.bordertech.wcomponents.UIContext;
 import com.github.bordertech.wcomponents.UIContextHolder;
 import com.github.bordertech.wcomponents.servlet.WebXmlRenderContext;
+import com.github.bordertech.wcomponents.util.AbstractSearchReplaceWriter;
 import com.github.bordertech.wcomponents.util.ConfigurationProperties;
 import com.github.bordertech.wcomponents.util.I18nUtilities;
 import com.github.bordertech.wcomponents.util.SystemException;
-import com.github.mustachejava.DefaultMustacheFactory;
-import com.github.mustachejava.Mustache;
-import com.github.mustachejava.MustacheFactory;
 import com.github.mustachejava.TemplateFunction;
+import java.io.IOException;
 import java.io.PrintWriter;
-import java.io.StringReader;
-import java.io.StringWriter;
-import java.util.HashMap;
+import java.io.Writer;
 import java.util.Locale;
 import java.util.Map;
 import java.util.ResourceBundle;
-import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Render templates on the server (i.e. Mustache).
+ * <p>
+ * The theme i18n sections (<code>{{#i18n}}key{{/i18n}}</code>) are substituted as the content is written through to the
+ * response, so the page is never buffered or compiled as a template.
+ * </p>
  */
 public class TemplateRenderInterceptor extends InterceptorComponent {
 
-	private static final Map<String, ResourceBundle> RESOURCES = new HashMap<>();
+	/**
+	 * The marker which opens an i18n section.
+	 */
+	private static final String I18N_OPEN = "{{#i18n}}";
+
+	/**
+	 * The marker which closes an i18n section.
+	 */
+	private static final String I18N_CLOSE = "{{/i18n}}";
+
+	/**
+	 * The theme resource bundles, keyed by base name and locale.
+	 */
+	private static final Map<String, ResourceBundle> RESOURCES = new ConcurrentHashMap<>();
 
 	/**
 	 * {@inheritDoc}
@@ -35,34 +49,24 @@ public class TemplateRenderInterceptor extends InterceptorComponent {
 
 		UIContext uic = UIContextHolder.getCurrent();
 
-		// Generate the HTML
-		StringWriter outputBuffer = new StringWriter();
-		PrintWriter outputWriter = new PrintWriter(outputBuffer);
-		WebXmlRenderContext outputContext = new WebXmlRenderContext(outputWriter, uic.getLocale());
-		super.paint(outputContext);
-
-		String html = outputBuffer.toString();
-
-		// Only process TEMPLATE if has I18N brackets
-		if (html.contains("{{#i18n")) {
-			// Create a new instance of factory to avoid caching the page.
-			// https://github.com/spullara/mustache.java/issues/117
-			final MustacheFactory mf = new DefaultMustacheFactory();
-			Mustache mustache = mf.compile(new StringReader(html), UUID.randomUUID().toString());
-			StringWriter templateWriter = new StringWriter();
-			mustache.execute(templateWriter, new I18NContext(getResourceBundle()));
-			html = templateWriter.toString();
-		}
-
 		// Get the OUTPUT writer
 		WebXmlRenderContext webRenderContext = (WebXmlRenderContext) renderContext;
 		PrintWriter writer = webRenderContext.getWriter();
-		writer.print(html);
+
+		// Generate the HTML, translating the i18n sections on the way through
+		I18nWriter i18nWriter = new I18nWriter(writer);
+		PrintWriter outputWriter = new PrintWriter(i18nWriter);
+		WebXmlRenderContext outputContext = new WebXmlRenderContext(outputWriter, uic.getLocale());
+		super.paint(outputContext);
+		outputWriter.close();
 	}
 
 	/**
 	 * The context scope including the translate function.
+	 *
+	 * @deprecated the i18n sections are now translated as the page is written, this context is no longer used.
 	 */
+	@Deprecated
 	public static class I18NContext {
 
 		private final ResourceBundle res;
@@ -109,20 +113,171 @@ public class TemplateRenderInterceptor extends InterceptorComponent {
 	 * @return the current resource bundle
 	 */
 	private static ResourceBundle getResourceBundle() {
-		Locale locale = I18nUtilities.getEffectiveLocale();
-		String key = locale.toString();
+		final Locale locale = I18nUtilities.getEffectiveLocale();
+		final String baseName = ConfigurationProperties.getI18nThemeResourceBundleBaseName();
 		// Check if we have already loaded it
-		ResourceBundle bundle = RESOURCES.get(key);
-		if (bundle == null) {
+		return RESOURCES.computeIfAbsent(baseName + '|' + locale, key -> {
 			try {
-				String baseName = ConfigurationProperties.getI18nThemeResourceBundleBaseName();
-				bundle = ResourceBundle.getBundle(baseName, locale);
-				RESOURCES.put(key, bundle);
+				return ResourceBundle.getBundle(baseName, locale);
 			} catch (Exception e) {
-				throw new SystemException("Could not load theme resource bundle for locale [" + key + "].", e);
+				throw new SystemException("Could not load theme resource bundle for locale [" + locale + "].", e);
+			}
+		});
+	}
+
+	/**
+	 * Translates the i18n sections in the content as it is written to the backing writer. The theme resource bundle is
+	 * only loaded if an i18n section is found.
+	 */
+	private static final class I18nWriter extends AbstractSearchReplaceWriter {
+
+		/**
+		 * The writer that the content is finally sent to.
+		 */
+		private final Writer output;
+
+		/**
+		 * Holds the key of the i18n section being written, or null if not in an i18n section.
+		 */
+		private StringBuilder key;
+
+		/**
+		 * The theme resource bundle, loaded on demand.
+		 */
+		private ResourceBundle bundle;
+
+		/**
+		 * Creates an I18nWriter.
+		 *
+		 * @param output the writer that the translated content is sent to.
+		 */
+		private I18nWriter(final Writer output) {
+			this(new KeyRoutingWriter(output));
+		}
+
+		/**
+		 * Creates an I18nWriter.
+		 *
+		 * @param router the writer which routes content to either the output or the current key.
+		 */
+		private I18nWriter(final KeyRoutingWriter router) {
+			super(new String[]{I18N_OPEN, I18N_CLOSE}, router);
+			this.output = router.output;
+			router.owner = this;
+		}
+
+		/**
+		 * Starts or ends an i18n section.
+		 *
+		 * @param search the marker that was matched.
+		 * @param backing the underlying writer.
+		 * @throws IOException if there is an error writing to the output.
+		 */
+		@Override
+		protected void doReplace(final String search, final Writer backing) throws IOException {
+			if (I18N_OPEN.equals(search)) {
+				if (key != null) {
+					// Nested sections are not supported, output the previous marker as is
+					output.write(I18N_OPEN);
+					output.write(key.toString());
+				}
+				key = new StringBuilder();
+			} else if (key == null) {
+				output.write(I18N_CLOSE);
+			} else {
+				output.write(translate(key.toString()));
+				key = null;
+			}
+		}
+
+		/**
+		 * Writes out an unterminated i18n section before closing.
+		 *
+		 * @throws IOException if there is an error writing to the output.
+		 */
+		@Override
+		public void close() throws IOException {
+			super.close();
+			if (key != null) {
+				output.write(I18N_OPEN);
+				output.write(key.toString());
+				key = null;
+			}
+		}
+
+		/**
+		 * @param input the i18n key
+		 * @return the translation, or the key if there is no translation
+		 */
+		private String translate(final String input) {
+			if (bundle == null) {
+				bundle = getResourceBundle();
+			}
+			if (bundle.containsKey(input)) {
+				return bundle.getString(input);  // return translation
+			} else {
+				return input;  // return untranslated label
+			}
+		}
+
+		/**
+		 * @return false - the backing should not be closed.
+		 */
+		@Override
+		protected boolean closeBackingOnClose() {
+			return false;
+		}
+	}
+
+	/**
+	 * Sends content to the current i18n key when inside an i18n section, otherwise to the output.
+	 */
+	private static final class KeyRoutingWriter extends Writer {
+
+		/**
+		 * The writer that the content is finally sent to.
+		 */
+		private final Writer output;
+
+		/**
+		 * The I18nWriter which is using this router.
+		 */
+		private I18nWriter owner;
+
+		/**
+		 * @param output the writer that the content is finally sent to.
+		 */
+		private KeyRoutingWriter(final Writer output) {
+			this.output = output;
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public void write(final char[] cbuf, final int off, final int len) throws IOException {
+			if (owner.key == null) {
+				output.write(cbuf, off, len);
+			} else {
+				owner.key.append(cbuf, off, len);
 			}
 		}
-		return bundle;
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public void flush() throws IOException {
+			output.flush();
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public void close() throws IOException {
+			output.close();
+		}
 	}
 
 }
@@ -9,17 +9,19 @@ import com.github.bordertech.wcomponents.WebUtilities;
 import com.github.bordertech.wcomponents.servlet.ServletRequest;
 import com.github.bordertech.wcomponents.servlet.ServletUtil;
 import com.github.bordertech.wcomponents.servlet.WebXmlRenderContext;
+import com.github.bordertech.wcomponents.util.AbstractSearchReplaceWriter;
 import com.github.bordertech.wcomponents.util.ConfigurationProperties;
 import com.github.bordertech.wcomponents.util.SystemException;
 import com.github.bordertech.wcomponents.util.ThemeUtil;
-import com.github.bordertech.wcomponents.util.Util;
-import java.io.ByteArrayInputStream;
+import java.io.CharArrayWriter;
+import java.io.FilterWriter;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.PrintWriter;
-import java.io.StringWriter;
+import java.io.Reader;
+import java.io.Writer;
 import java.net.URL;
-import java.nio.charset.StandardCharsets;
+import java.nio.CharBuffer;
 import javax.servlet.http.HttpServletRequest;
 import javax.xml.transform.Source;
 import javax.xml.transform.Templates;
@@ -37,9 +39,10 @@ import org.apache.commons.logging.LogFactory;
 
 /**
  * This interceptor is used to perform server-side XSLT so that HTML is delivered to the client instead of XML. This
- * works by buffering the response in memory and then transforming it before sending the response to the client. This
- * will use more memory and CPU on the server. If this becomes a problem it may be better to perform the transform on an
- * appliance (or the client).
+ * works by buffering the response in memory and then transforming it before sending the response to the client. The
+ * XML is buffered once as characters and parsed directly from that buffer. The HTML is also buffered, so that a failed
+ * transform does not send partial HTML to the client. This will use more memory and CPU on the server. If this becomes
+ * a problem it may be better to perform the transform on an appliance (or the client).
  *
  * @author Rick Brown
  * @since 1.0.0
@@ -66,6 +69,28 @@ public class TransformXMLInterceptor extends InterceptorComponent {
 	 */
 	private static final String RESOURCE_NAME = "/theme/wcomponents-xslt/xslt/" + ThemeUtil.getThemeXsltName();
 
+	/**
+	 * The search strings used to double encode brackets in the XML.
+	 */
+	private static final String[] DOUBLE_ENCODE_SEARCH = {WebUtilities.OPEN_BRACKET_ESCAPE,
+		WebUtilities.CLOSE_BRACKET_ESCAPE};
+
+	/**
+	 * The replacements for {@link #DOUBLE_ENCODE_SEARCH}.
+	 */
+	private static final String[] DOUBLE_ENCODE_REPLACE = {WebUtilities.OPEN_BRACKET_DOUBLE_ESCAPE,
+		WebUtilities.CLOSE_BRACKET_DOUBLE_ESCAPE};
+
+	/**
+	 * The search strings used to decode the double encoded brackets in the HTML.
+	 */
+	private static final String[] DOUBLE_DECODE_SEARCH = DOUBLE_ENCODE_REPLACE;
+
+	/**
+	 * The replacements for {@link #DOUBLE_DECODE_SEARCH}.
+	 */
+	private static final String[] DOUBLE_DECODE_REPLACE = DOUBLE_ENCODE_SEARCH;
+
 	/**
 	 * The XSLT cached templates.
 	 */
@@ -134,13 +159,20 @@ public class TransformXMLInterceptor extends InterceptorComponent {
 
 		UIContext uic = UIContextHolder.getCurrent();
 
-		// Set up a render context to buffer the XML payload.
-		StringWriter xmlBuffer = new StringWriter();
-		PrintWriter xmlWriter = new PrintWriter(xmlBuffer);
+		// Set up a render context to buffer the XML payload. The bracket encoding (and optional removal of corrupt
+		// characters) is applied as the XML is written, so the payload is only held once in memory.
+		XmlBuffer xmlBuffer = new XmlBuffer();
+		Writer xmlFilter = new BracketReplaceWriter(DOUBLE_ENCODE_SEARCH, DOUBLE_ENCODE_REPLACE, xmlBuffer);
+		if (isAllowCorruptCharacters()) {
+			// Remove illegal HTML characters from the content before transforming it.
+			xmlFilter = new CorruptCharacterWriter(xmlFilter);
+		}
+		PrintWriter xmlWriter = new PrintWriter(xmlFilter);
 
 		WebXmlRenderContext xmlContext = new WebXmlRenderContext(xmlWriter, uic.getLocale());
 
 		super.paint(xmlContext);  // write the XML to the buffer
+		xmlWriter.close();
 
 		// Get a handle to the true PrintWriter.
 		WebXmlRenderContext webRenderContext = (WebXmlRenderContext) renderContext;
@@ -155,23 +187,18 @@ public class TransformXMLInterceptor extends InterceptorComponent {
 		Response response = getResponse();
 		response.setContentType(WebUtilities.CONTENT_TYPE_HTML);
 
-		String xml = xmlBuffer.toString();
-		if (isAllowCorruptCharacters() && !Util.empty(xml)) {
-			// Remove illegal HTML characters from the content before transforming it.
-			xml = removeCorruptCharacters(xml);
+		// Perform the transformation into a buffer, so that nothing is written to the response if the transform fails.
+		CharArrayWriter htmlBuffer = new CharArrayWriter(xmlBuffer.size());
+		transform(xmlBuffer.getReader(), htmlBuffer);
+
+		// Write the result, decoding the double encoded brackets on the way out.
+		Writer htmlWriter = new BracketReplaceWriter(DOUBLE_DECODE_SEARCH, DOUBLE_DECODE_REPLACE, writer);
+		try {
+			htmlBuffer.writeTo(htmlWriter);
+			htmlWriter.close();
+		} catch (IOException ex) {
+			throw new SystemException("Could not write transformed xml", ex);
 		}
-		// Double encode template tokens in the XML
-		xml = WebUtilities.doubleEncodeBrackets(xml);
-		// Setup temp writer
-		StringWriter tempBuffer = new StringWriter();
-		PrintWriter tempWriter = new PrintWriter(tempBuffer);
-		// Perform the transformation and write the result.
-		transform(xml, uic, tempWriter);
-		// Decode Double Encoded Brackets
-		String tempResp = tempBuffer.toString();
-		tempResp = WebUtilities.doubleDecodeBrackets(tempResp);
-		// Write response
-		writer.write(tempResp);
 
 		LOG.debug("Transform XML Interceptor: Finished");
 	}
@@ -180,15 +207,15 @@ public class TransformXMLInterceptor extends InterceptorComponent {
 	 * Transform the UI XML to HTML using the correct XSLT from the classpath.
 	 *
 	 * @param xml The XML to transform.
-	 * @param uic The UIContext used to determine variables such as locale.
 	 * @param writer The result of the transformation will be written to this writer.
 	 */
-	private void transform(final String xml, final UIContext uic, final PrintWriter writer) {
+	private void transform(final Reader xml, final Writer writer) {
 
 		Transformer transformer = newTransformer();
 		Source inputXml;
 		try {
-			inputXml = new StreamSource(new ByteArrayInputStream(xml.getBytes(StandardCharsets.UTF_8)));
+			// Reading characters directly avoids encoding the XML to bytes only to have the parser decode them again.
+			inputXml = new StreamSource(xml);
 			StreamResult result = new StreamResult(writer);
 			if (debugRequested) {
 				transformer.setParameter("isDebug", 1);
@@ -250,19 +277,6 @@ public class TransformXMLInterceptor extends InterceptorComponent {
 		return ConfigurationProperties.getXsltAllowCorruptCharacters();
 	}
 
-	/**
-	 * Remove bad characters in XML.
-	 *
-	 * @param input The String to escape.
-	 * @return the clean string
-	 */
-	private static String removeCorruptCharacters(final String input) {
-		if (Util.empty(input)) {
-			return input;
-		}
-		return ESCAPE_BAD_XML10.translate(input);
-	}
-
 	/**
 	 * Translator object for escaping XML 1.0.
 	 *
@@ -283,4 +297,92 @@ public class TransformXMLInterceptor extends InterceptorComponent {
 					WebUtilities.NumericEntityIgnorer.between(0x7f, 0x9f)
 			);
 
+	/**
+	 * Replaces the bracket escapes as the content is written to the backing writer.
+	 */
+	private static final class BracketReplaceWriter extends AbstractSearchReplaceWriter {
+
+		/**
+		 * The search strings.
+		 */
+		private final String[] search;
+
+		/**
+		 * The replacement for each search string.
+		 */
+		private final String[] replace;
+
+		/**
+		 * Creates a BracketReplaceWriter.
+		 *
+		 * @param search the search strings.
+		 * @param replace the replacement for each search string.
+		 * @param backing the backing writer, where output will be eventually sent to.
+		 */
+		private BracketReplaceWriter(final String[] search, final String[] replace, final Writer backing) {
+			super(search, backing);
+			this.search = search;
+			this.replace = replace;
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		protected void doReplace(final String match, final Writer backing) throws IOException {
+			for (int i = 0; i < search.length; i++) {
+				if (search[i].equals(match)) {
+					backing.write(replace[i]);
+					return;
+				}
+			}
+		}
+
+		/**
+		 * @return false - the backing writer is closed separately.
+		 */
+		@Override
+		protected boolean closeBackingOnClose() {
+			return false;
+		}
+	}
+
+	/**
+	 * Removes characters which are not legal in XML 1.0 as the content is written to the backing writer.
+	 */
+	private static final class CorruptCharacterWriter extends FilterWriter {
+
+		/**
+		 * Creates a CorruptCharacterWriter.
+		 *
+		 * @param backing the backing writer, where output will be eventually sent to.
+		 */
+		private CorruptCharacterWriter(final Writer backing) {
+			super(backing);
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public void write(final int chr) throws IOException {
+			ESCAPE_BAD_XML10.translate(String.valueOf((char) chr), out);
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public void write(final char[] cbuf, final int off, final int len) throws IOException {
+			ESCAPE_BAD_XML10.translate(CharBuffer.wrap(cbuf, off, len), out);
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public void write(final String str, final int off, final int len) throws IOException {
+			ESCAPE_BAD_XML10.translate(CharBuffer.wrap(str, off, off + len), out);
+		}
+	}
 }
@@ -6,7 +6,6 @@ import com.github.bordertech.wcomponents.UIContextHolder;
 import com.github.bordertech.wcomponents.WebUtilities;
 import com.github.bordertech.wcomponents.servlet.WebXmlRenderContext;
 import java.io.PrintWriter;
-import java.io.StringWriter;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 
@@ -22,7 +21,8 @@ import org.apache.commons.logging.LogFactory;
  * The Interceptor calls {@link DebugValidateXML} to determine if XML Validation is enabled. If it has been enabled,
  * then the interceptor uses a temporary buffer to hold the original response so that if {@link DebugValidateXML} has
  * reported errors, it can wrap the original response in a CDATA section and include any error messages in a new
- * response.
+ * response. The buffered response is validated in place against the cached schema, and is only copied to a String
+ * when errors have to be reported.
  * </p>
  *
  * @author Jonathan Austin
@@ -60,16 +60,16 @@ public class ValidateXMLInterceptor extends InterceptorComponent {
 		PrintWriter writer = webRenderContext.getWriter();
 
 		// Generate XML
-		StringWriter tempBuffer = new StringWriter();
+		XmlBuffer tempBuffer = new XmlBuffer();
 		PrintWriter tempWriter = new PrintWriter(tempBuffer);
 		WebXmlRenderContext tempContext = new WebXmlRenderContext(tempWriter, UIContextHolder.
 				getCurrent().getLocale());
 
 		super.paint(tempContext);
-		String xml = tempBuffer.toString();
+		tempWriter.flush();
 
-		// If no errors, check against the schema
-		String error = DebugValidateXML.validateXMLAgainstSchema(xml);
+		// Check against the schema, reading directly from the buffer
+		String error = DebugValidateXML.validateXMLAgainstSchema(tempBuffer.getBuffer(), tempBuffer.size());
 
 		if (error != null) {
 			// XML is NOT valid, so Report Errors and Wrap the original XML
@@ -83,13 +83,13 @@ public class ValidateXMLInterceptor extends InterceptorComponent {
 			writer.println("</div>");
 
 			// If a schema error detected, Wrap XML so line numbers reported in validation message are correct
-			String testXML = DebugValidateXML.wrapXMLInRootElement(xml);
+			String testXML = DebugValidateXML.wrapXMLInRootElement(tempBuffer.toString());
 			paintOriginalXML(testXML, writer);
 
 			writer.println("</div>");
 		} else {
 			// XML is valid
-			writer.write(xml);
+			writer.write(tempBuffer.getBuffer(), 0, tempBuffer.size());
 		}
 
 		LOG.debug("Validate XML Interceptor: Finished");
@@ -0,0 +1,40 @@
+package com.github.bordertech.wcomponents.container;
+
+import java.io.CharArrayReader;
+import java.io.CharArrayWriter;
+import java.io.Reader;
+
+/**
+ * Buffers an XML payload written by an interceptor, and provides access to the buffered characters without copying
+ * them.
+ *
+ * @since 1.5.30
+ */
+final class XmlBuffer extends CharArrayWriter {
+
+	/**
+	 * The initial size of the buffer. Most pages are larger than the CharArrayWriter default.
+	 */
+	private static final int DEFAULT_BUFFER_SIZE = 32 * 1024;
+
+	/**
+	 * Creates an XmlBuffer.
+	 */
+	XmlBuffer() {
+		super(DEFAULT_BUFFER_SIZE);
+	}
+
+	/**
+	 * @return the buffer holding the characters written, which may be larger than {@link #size()}.
+	 */
+	char[] getBuffer() {
+		return buf;
+	}
+
+	/**
+	 * @return a reader over the characters written to this buffer.
+	 */
+	Reader getReader() {
+		return new CharArrayReader(buf, 0, count);
+	}
+}
@@ -10,14 +10,13 @@ import com.github.bordertech.wcomponents.render.webxml.VelocityRenderer;
 import com.github.bordertech.wcomponents.servlet.WebXmlRenderContext;
 import com.github.bordertech.wcomponents.util.Config;
 import com.github.bordertech.wcomponents.util.ConfigurationProperties;
-import com.github.bordertech.wcomponents.util.Duplet;
 import com.github.bordertech.wcomponents.util.NullWriter;
 import com.github.bordertech.wcomponents.util.SystemException;
 import java.beans.PropertyChangeEvent;
 import java.beans.PropertyChangeListener;
 import java.io.PrintWriter;
-import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 
@@ -65,22 +64,22 @@ public final class UIManager implements PropertyChangeListener {
 	private static final Renderer NULL_RENDERER = (component, renderContext) -> { /* NO-OP */ };
 
 	/**
-	 * A cache of component Renderers keyed by WComponent classes. This cache must be flushed if the
-	 * {@link Config configuration} is changed.
+	 * A cache of component Renderers keyed by WComponent class and then render package. This cache must be flushed if
+	 * the {@link Config configuration} is changed, which is done by replacing it.
 	 */
-	private final Map<Duplet<String, Class<?>>, Renderer> renderers = new HashMap<>();
+	private volatile RendererCache renderers = new RendererCache();
 
 	/**
-	 * A cache of template Renderers keyed by WComponent classes. This cache must be flushed if the
+	 * A cache of template Renderers keyed by render package. This cache must be flushed if the
 	 * {@link Config configuration} is changed.
 	 */
-	private final Map<String, Renderer> templateRenderers = new HashMap<>();
+	private final Map<String, Renderer> templateRenderers = new ConcurrentHashMap<>();
 
 	/**
-	 * A cache of LayoutManagers keyed by WComponent classes. This cache must be flushed if the
+	 * A cache of RendererFactories keyed by render package. This cache must be flushed if the
 	 * {@link Config configuration} is changed.
 	 */
-	private final Map<String, RendererFactory> factoriesByPackage = new HashMap<>();
+	private final Map<String, RendererFactory> factoriesByPackage = new ConcurrentHashMap<>();
 
 	/**
 	 * Prevent instantiation of UIManager.
@@ -110,19 +109,16 @@ public final class UIManager implements PropertyChangeListener {
 	 * @return an appropriate renderer for the component and context, or null if a suitable renderer could not be found.
 	 */
 	public static Renderer getRenderer(final WComponent component, final RenderContext context) {
-		Class<? extends WComponent> clazz = component.getClass();
-
-		Duplet<String, Class<?>> key = new Duplet<String, Class<?>>(context.getRenderPackage(),
-				clazz);
-		Renderer renderer = INSTANCE.renderers.get(key);
+		String rendererPackage = context.getRenderPackage();
+		Map<String, Renderer> renderersByPackage = INSTANCE.renderers.get(component.getClass());
+		Renderer renderer = renderersByPackage.get(rendererPackage);
 
 		if (renderer == null) {
-			renderer = INSTANCE.findRenderer(component, key);
-		} else if (renderer == NULL_RENDERER) {
-			return null;
+			renderer = renderersByPackage.computeIfAbsent(rendererPackage,
+					key -> INSTANCE.findRenderer(component, key));
 		}
 
-		return renderer;
+		return renderer == NULL_RENDERER ? null : renderer;
 	}
 
 	/**
@@ -154,17 +150,13 @@ public final class UIManager implements PropertyChangeListener {
 	 * @deprecated Use {@link WTemplate} instead.
 	 */
 	@Deprecated
-	private synchronized Renderer findTemplateRenderer(final String packageName) {
-		RendererFactory factory = INSTANCE.findRendererFactory(packageName);
-		Renderer renderer = factory.getTemplateRenderer();
+	private Renderer findTemplateRenderer(final String packageName) {
+		Renderer renderer = templateRenderers.computeIfAbsent(packageName, key -> {
+			Renderer templateRenderer = findRendererFactory(key).getTemplateRenderer();
+			return templateRenderer == null ? NULL_RENDERER : templateRenderer;
+		});
 
-		if (renderer == null) {
-			templateRenderers.put(packageName, NULL_RENDERER);
-		} else {
-			templateRenderers.put(packageName, renderer);
-		}
-
-		return renderer;
+		return renderer == NULL_RENDERER ? null : renderer;
 	}
 
 	/**
@@ -185,31 +177,25 @@ public final class UIManager implements PropertyChangeListener {
 	/**
 	 * Clears the lookup caches.
 	 */
-	private synchronized void clearCache() {
+	private void clearCache() {
 		factoriesByPackage.clear();
-		renderers.clear();
+		templateRenderers.clear();
+		renderers = new RendererCache();
 	}
 
 	/**
 	 * Finds the layout for the given theme and component.
 	 *
 	 * @param component the WComponent class to find a manager for.
-	 * @param key the component key to use for caching the renderer.
-	 * @return the LayoutManager for the component.
+	 * @param rendererPackage the package containing the renderers.
+	 * @return the LayoutManager for the component, or {@link #NULL_RENDERER} if there is no renderer defined.
 	 */
-	private synchronized Renderer findRenderer(final WComponent component,
-			final Duplet<String, Class<?>> key) {
-		LOG.info("Looking for layout for " + key.getSecond().getName() + " in " + key.getFirst());
-
-		Renderer renderer = findConfiguredRenderer(component, key.getFirst());
+	private Renderer findRenderer(final WComponent component, final String rendererPackage) {
+		LOG.info("Looking for layout for " + component.getClass().getName() + " in " + rendererPackage);
 
-		if (renderer == null) {
-			renderers.put(key, NULL_RENDERER);
-		} else {
-			renderers.put(key, renderer);
-		}
+		Renderer renderer = findConfiguredRenderer(component, rendererPackage);
 
-		return renderer;
+		return renderer == null ? NULL_RENDERER : renderer;
 	}
 
 	/**
@@ -218,21 +204,14 @@ public final class UIManager implements PropertyChangeListener {
 	 * @param packageName the package name to find the renderer factory for.
 	 * @return the RendererFactory for the given package, or null if not found.
 	 */
-	private synchronized RendererFactory findRendererFactory(final String packageName) {
-		RendererFactory factory = factoriesByPackage.get(packageName);
-
-		if (factory == null) {
+	private RendererFactory findRendererFactory(final String packageName) {
+		return factoriesByPackage.computeIfAbsent(packageName, key -> {
 			try {
-				factory = (RendererFactory) Class.forName(packageName + ".RendererFactoryImpl").
-						newInstance();
-				factoriesByPackage.put(packageName, factory);
+				return (RendererFactory) Class.forName(key + ".RendererFactoryImpl").newInstance();
 			} catch (Exception e) {
-				throw new SystemException(
-						"Failed to create layout manager factory for " + packageName, e);
+				throw new SystemException("Failed to create layout manager factory for " + key, e);
 			}
-		}
-
-		return factory;
+		});
 	}
 
 	/**
@@ -301,4 +280,19 @@ public final class UIManager implements PropertyChangeListener {
 			throw new SystemException("Failed to access " + rendererName, e);
 		}
 	}
+
+	/**
+	 * Holds the renderers for each component class, keyed by render package. Lookups do not allocate or lock, and a new
+	 * instance is used when the cache needs to be flushed.
+	 */
+	private static final class RendererCache extends ClassValue<Map<String, Renderer>> {
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		protected Map<String, Renderer> computeValue(final Class<?> type) {
+			return new ConcurrentHashMap<>(2);
+		}
+	}
 }
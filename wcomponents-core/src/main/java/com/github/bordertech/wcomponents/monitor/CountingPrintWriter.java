@@ -0,0 +1,60 @@
+package com.github.bordertech.wcomponents.monitor;
+
+import java.io.PrintWriter;
+import java.io.Writer;
+
+/**
+ * A PrintWriter which counts the number of characters written to it.
+ *
+ * @since 1.5.30
+ */
+public class CountingPrintWriter extends PrintWriter {
+
+	/**
+	 * The number of characters written.
+	 */
+	private long count;
+
+	/**
+	 * Creates a CountingPrintWriter.
+	 *
+	 * @param writer the Writer that will receive the output.
+	 */
+	public CountingPrintWriter(final Writer writer) {
+		super(writer);
+	}
+
+	/**
+	 * @return the number of characters written.
+	 */
+	public long getCount() {
+		return count;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void write(final int c) {
+		count++;
+		super.write(c);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void write(final char[] buf, final int off, final int len) {
+		count += len;
+		super.write(buf, off, len);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void write(final String str, final int off, final int len) {
+		count += len;
+		super.write(str, off, len);
+	}
+}
@@ -0,0 +1,175 @@
+package com.github.bordertech.wcomponents.monitor;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * <p>
+ * A histogram of non-negative values, using a fixed set of buckets with a bounded relative error, similar to
+ * HdrHistogram. Each power of two range is split into four linear sub-buckets, so a value is reported to within 25% of
+ * its actual value, regardless of its magnitude.
+ * </p>
+ * <p>
+ * Histograms are thread safe, and recording a value does not allocate any memory.
+ * </p>
+ *
+ * @since 1.5.30
+ */
+public final class Histogram {
+
+	/**
+	 * The number of bits of each value used to select the sub-bucket within a power of two range.
+	 */
+	private static final int SUB_BUCKET_BITS = 2;
+
+	/**
+	 * The number of sub-buckets in each power of two range.
+	 */
+	private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+
+	/**
+	 * The number of buckets needed to hold any positive long value.
+	 */
+	private static final int BUCKET_COUNT = (Long.SIZE - SUB_BUCKET_BITS) * SUB_BUCKETS;
+
+	/**
+	 * The number of values recorded in each bucket.
+	 */
+	private final AtomicLongArray counts = new AtomicLongArray(BUCKET_COUNT);
+
+	/**
+	 * The number of values recorded.
+	 */
+	private final AtomicLong count = new AtomicLong();
+
+	/**
+	 * The sum of the values recorded.
+	 */
+	private final AtomicLong total = new AtomicLong();
+
+	/**
+	 * The largest value recorded.
+	 */
+	private final AtomicLong max = new AtomicLong();
+
+	/**
+	 * Records a value. Negative values are recorded as zero.
+	 *
+	 * @param value the value to record.
+	 */
+	public void record(final long value) {
+		long recorded = Math.max(0, value);
+
+		counts.incrementAndGet(getBucket(recorded));
+		count.incrementAndGet();
+		total.addAndGet(recorded);
+
+		for (long current = max.get(); recorded > current && !max.compareAndSet(current, recorded);) {
+			current = max.get();
+		}
+	}
+
+	/**
+	 * @return the number of values recorded.
+	 */
+	public long getCount() {
+		return count.get();
+	}
+
+	/**
+	 * @return the sum of the values recorded.
+	 */
+	public long getTotal() {
+		return total.get();
+	}
+
+	/**
+	 * @return the largest value recorded, or zero if no values have been recorded.
+	 */
+	public long getMax() {
+		return max.get();
+	}
+
+	/**
+	 * @return the mean of the values recorded, or zero if no values have been recorded.
+	 */
+	public double getMean() {
+		long n = getCount();
+		return n == 0 ? 0 : (double) getTotal() / n;
+	}
+
+	/**
+	 * Estimates the value at the given percentile. The estimate is the upper bound of the bucket containing the
+	 * percentile, so is never less than the actual value.
+	 *
+	 * @param percentile the percentile, from 0 to 100.
+	 * @return the estimated value at the given percentile, or zero if no values have been recorded.
+	 */
+	public long getValueAtPercentile(final double percentile) {
+		long n = getCount();
+
+		if (n == 0) {
+			return 0;
+		}
+
+		long target = Math.max(1, (long) Math.ceil(n * Math.min(100.0, Math.max(0.0, percentile)) / 100.0));
+		long seen = 0;
+
+		for (int bucket = 0; bucket < BUCKET_COUNT; bucket++) {
+			seen += counts.get(bucket);
+
+			if (seen >= target) {
+				return Math.min(getBucketUpperBound(bucket), getMax());
+			}
+		}
+
+		return getMax();
+	}
+
+	/**
+	 * Discards all recorded values.
+	 */
+	public void reset() {
+		for (int bucket = 0; bucket < BUCKET_COUNT; bucket++) {
+			counts.set(bucket, 0);
+		}
+
+		count.set(0);
+		total.set(0);
+		max.set(0);
+	}
+
+	/**
+	 * Determines the bucket which holds the given value.
+	 *
+	 * @param value the value, which must not be negative.
+	 * @return the index of the bucket for the value.
+	 */
+	static int getBucket(final long value) {
+		if (value < SUB_BUCKETS) {
+			return (int) value;
+		}
+
+		int magnitude = Long.SIZE - 1 - Long.numberOfLeadingZeros(value);
+		int subBucket = (int) (value >>> (magnitude - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+
+		return (magnitude - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + subBucket;
+	}
+
+	/**
+	 * Determines the largest value held by the given bucket.
+	 *
+	 * @param bucket the index of the bucket.
+	 * @return the largest value which is held by the bucket.
+	 */
+	static long getBucketUpperBound(final int bucket) {
+		if (bucket < SUB_BUCKETS) {
+			return bucket;
+		}
+
+		int magnitude = bucket / SUB_BUCKETS + SUB_BUCKET_BITS - 1;
+		long lowerBound = (long) (SUB_BUCKETS + bucket % SUB_BUCKETS) << (magnitude - SUB_BUCKET_BITS);
+
+		return lowerBound + (1L << (magnitude - SUB_BUCKET_BITS)) - 1;
+	}
+}
@@ -0,0 +1,125 @@
+package com.github.bordertech.wcomponents.monitor;
+
+import com.github.bordertech.wcomponents.RenderContext;
+import com.github.bordertech.wcomponents.Request;
+import com.github.bordertech.wcomponents.WebComponent;
+import com.github.bordertech.wcomponents.container.InterceptorComponent;
+
+/**
+ * <p>
+ * An interceptor which records the time taken by the next component in the chain, see
+ * {@link RequestMetrics#instrument(InterceptorComponent)}. The time recorded excludes the time taken by components
+ * further down the chain, so that the time spent in each interceptor can be seen directly.
+ * </p>
+ * <p>
+ * The time taken by the rest of the chain is tracked per thread, so that recording a time does not allocate any
+ * memory.
+ * </p>
+ *
+ * @since 1.5.30
+ */
+final class InterceptorTimer extends InterceptorComponent {
+
+	/**
+	 * The time taken by the timed components further down the chain, for the current thread.
+	 */
+	private static final ThreadLocal<long[]> NESTED_NANOS = new ThreadLocal<long[]>() {
+		@Override
+		protected long[] initialValue() {
+			return new long[1];
+		}
+	};
+
+	/**
+	 * The metric names for the serviceRequest, preparePaint and paint phases of the timed component.
+	 */
+	private final String[] names;
+
+	/**
+	 * The nested time which was being tracked when timing started.
+	 */
+	private long outerNanos;
+
+	/**
+	 * The time when timing started.
+	 */
+	private long startNanos;
+
+	/**
+	 * Creates an InterceptorTimer.
+	 *
+	 * @param component the component to time.
+	 * @param names the metric names for the serviceRequest, preparePaint and paint phases.
+	 */
+	InterceptorTimer(final WebComponent component, final String[] names) {
+		super(component);
+		this.names = names;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void serviceRequest(final Request request) {
+		long[] nested = start();
+
+		try {
+			super.serviceRequest(request);
+		} finally {
+			stop(nested, names[0]);
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void preparePaint(final Request request) {
+		long[] nested = start();
+
+		try {
+			super.preparePaint(request);
+		} finally {
+			stop(nested, names[1]);
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void paint(final RenderContext renderContext) {
+		long[] nested = start();
+
+		try {
+			super.paint(renderContext);
+		} finally {
+			stop(nested, names[2]);
+		}
+	}
+
+	/**
+	 * Starts timing.
+	 *
+	 * @return the nested time tracker for the current thread.
+	 */
+	private long[] start() {
+		long[] nested = NESTED_NANOS.get();
+		outerNanos = nested[0];
+		nested[0] = 0;
+		startNanos = System.nanoTime();
+		return nested;
+	}
+
+	/**
+	 * Stops timing, and records the time taken by the timed component.
+	 *
+	 * @param nested the nested time tracker for the current thread.
+	 * @param name the metric name to record the time against.
+	 */
+	private void stop(final long[] nested, final String name) {
+		long elapsed = System.nanoTime() - startNanos;
+		RequestMetrics.recordLatency(name, elapsed - nested[0]);
+		nested[0] = outerNanos + elapsed;
+	}
+}
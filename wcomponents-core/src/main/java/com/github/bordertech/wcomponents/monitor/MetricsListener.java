@@ -0,0 +1,31 @@
+package com.github.bordertech.wcomponents.monitor;
+
+/**
+ * <p>
+ * Receives the request metrics as they are recorded, e.g. to forward them to an external monitoring system. Listeners
+ * are registered using {@link RequestMetrics#addListener(MetricsListener)}.
+ * </p>
+ * <p>
+ * Listeners are called synchronously on the thread processing the request, so must be thread safe and should return
+ * quickly.
+ * </p>
+ *
+ * @since 1.5.30
+ */
+public interface MetricsListener {
+
+	/**
+	 * Called when a latency has been recorded.
+	 *
+	 * @param name the metric name, see {@link RequestMetrics}.
+	 * @param nanos the latency, in nanoseconds.
+	 */
+	void latencyRecorded(String name, long nanos);
+
+	/**
+	 * Called when the size of a rendered response has been recorded.
+	 *
+	 * @param characters the number of characters rendered.
+	 */
+	void renderedSizeRecorded(long characters);
+}
@@ -0,0 +1,356 @@
+package com.github.bordertech.wcomponents.monitor;
+
+import com.github.bordertech.wcomponents.WebComponent;
+import com.github.bordertech.wcomponents.container.InterceptorComponent;
+import com.github.bordertech.wcomponents.util.ConfigurationProperties;
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import javax.management.JMException;
+import javax.management.ObjectName;
+import javax.management.StandardMBean;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+/**
+ * <p>
+ * Records request timing metrics, when enabled by {@link ConfigurationProperties#getMetricsEnabled()}. The metrics
+ * are:
+ * </p>
+ * <ul>
+ * <li>the latency of each request phase, named {@link #PHASE_SERVICE_REQUEST}, {@link #PHASE_PREPARE_PAINT} and
+ * {@link #PHASE_PAINT};</li>
+ * <li>the latency of each phase of each interceptor, named by the interceptor class and the phase, e.g.
+ * "TransformXMLInterceptor.paint". The UI at the end of the chain is named {@link #UI_NAME}. Each latency excludes the
+ * time taken by the rest of the chain;</li>
+ * <li>the number of characters rendered for each response.</li>
+ * </ul>
+ * <p>
+ * Latencies are recorded in nanoseconds, in a {@link Histogram} per metric. The metrics are available through this
+ * class, through JMX under {@link #OBJECT_NAME}, and to any {@link MetricsListener}s which have been registered.
+ * </p>
+ *
+ * @since 1.5.30
+ */
+public final class RequestMetrics {
+
+	/**
+	 * The JMX object name of the metrics.
+	 */
+	public static final String OBJECT_NAME = "com.github.bordertech.wcomponents:type=RequestMetrics";
+
+	/**
+	 * The metric name for the serviceRequest phase.
+	 */
+	public static final String PHASE_SERVICE_REQUEST = "phase.serviceRequest";
+
+	/**
+	 * The metric name for the preparePaint phase.
+	 */
+	public static final String PHASE_PREPARE_PAINT = "phase.preparePaint";
+
+	/**
+	 * The metric name for the paint phase.
+	 */
+	public static final String PHASE_PAINT = "phase.paint";
+
+	/**
+	 * The name used for the UI at the end of an interceptor chain.
+	 */
+	public static final String UI_NAME = "ui";
+
+	/**
+	 * The logger instance for this class.
+	 */
+	private static final Log LOG = LogFactory.getLog(RequestMetrics.class);
+
+	/**
+	 * The latency histograms, keyed by metric name.
+	 */
+	private static final Map<String, Histogram> LATENCIES = new ConcurrentHashMap<>();
+
+	/**
+	 * The histogram of the number of characters rendered.
+	 */
+	private static final Histogram RENDERED_SIZES = new Histogram();
+
+	/**
+	 * The metric names for each interceptor class, so that instrumenting a chain does not create new names.
+	 */
+	private static final Map<Class<?>, String[]> INTERCEPTOR_NAMES = new ConcurrentHashMap<>();
+
+	/**
+	 * Indicates whether the metrics have been registered with JMX.
+	 */
+	private static final AtomicBoolean MBEAN_REGISTERED = new AtomicBoolean();
+
+	/**
+	 * The registered listeners. This is replaced rather than modified, so it can be read without locking.
+	 */
+	private static volatile MetricsListener[] listeners = new MetricsListener[0];
+
+	/**
+	 * Prevent instantiation of this class.
+	 */
+	private RequestMetrics() {
+	}
+
+	/**
+	 * @return true if request metrics are being recorded.
+	 */
+	public static boolean isEnabled() {
+		return ConfigurationProperties.getMetricsEnabled();
+	}
+
+	/**
+	 * Instruments an interceptor chain, so that the time taken by each interceptor is recorded. The chain should be
+	 * instrumented after it has been fully assembled, as interceptors added afterwards will not be timed.
+	 *
+	 * @param chain the interceptor chain to instrument.
+	 * @return the instrumented chain.
+	 */
+	public static InterceptorComponent instrument(final InterceptorComponent chain) {
+		if (chain instanceof InterceptorTimer) {
+			return chain;
+		}
+
+		registerMBean();
+
+		InterceptorComponent top = new InterceptorTimer(chain, getNames(chain));
+		InterceptorComponent current = chain;
+
+		while (current != null) {
+			WebComponent next = current.getBackingComponent();
+
+			if (next == null) {
+				break;
+			}
+
+			current.setBackingComponent(new InterceptorTimer(next, getNames(next)));
+			current = next instanceof InterceptorComponent ? (InterceptorComponent) next : null;
+		}
+
+		return top;
+	}
+
+	/**
+	 * Records a latency.
+	 *
+	 * @param name the metric name.
+	 * @param nanos the latency, in nanoseconds.
+	 */
+	public static void recordLatency(final String name, final long nanos) {
+		Histogram histogram = LATENCIES.get(name);
+
+		if (histogram == null) {
+			histogram = LATENCIES.computeIfAbsent(name, key -> new Histogram());
+		}
+
+		histogram.record(nanos);
+
+		for (MetricsListener listener : listeners) {
+			listener.latencyRecorded(name, nanos);
+		}
+	}
+
+	/**
+	 * Records the size of a rendered response.
+	 *
+	 * @param characters the number of characters rendered.
+	 */
+	public static void recordRenderedSize(final long characters) {
+		RENDERED_SIZES.record(characters);
+
+		for (MetricsListener listener : listeners) {
+			listener.renderedSizeRecorded(characters);
+		}
+	}
+
+	/**
+	 * Retrieves the latency histogram for a metric.
+	 *
+	 * @param name the metric name.
+	 * @return the histogram for the metric, or null if no latencies have been recorded for it.
+	 */
+	public static Histogram getLatency(final String name) {
+		return LATENCIES.get(name);
+	}
+
+	/**
+	 * @return the names of the latency metrics which have been recorded, in alphabetical order.
+	 */
+	public static String[] getMetricNames() {
+		String[] names = LATENCIES.keySet().toArray(new String[0]);
+		Arrays.sort(names);
+		return names;
+	}
+
+	/**
+	 * @return the histogram of the number of characters rendered per response.
+	 */
+	public static Histogram getRenderedSizes() {
+		return RENDERED_SIZES;
+	}
+
+	/**
+	 * Discards all recorded metrics.
+	 */
+	public static void reset() {
+		LATENCIES.clear();
+		RENDERED_SIZES.reset();
+	}
+
+	/**
+	 * Registers a listener to be notified of metrics as they are recorded.
+	 *
+	 * @param listener the listener to add.
+	 */
+	public static synchronized void addListener(final MetricsListener listener) {
+		MetricsListener[] updated = Arrays.copyOf(listeners, listeners.length + 1);
+		updated[listeners.length] = listener;
+		listeners = updated;
+	}
+
+	/**
+	 * Removes a listener.
+	 *
+	 * @param listener the listener to remove.
+	 */
+	public static synchronized void removeListener(final MetricsListener listener) {
+		for (int i = 0; i < listeners.length; i++) {
+			if (listeners[i] == listener) {
+				MetricsListener[] updated = new MetricsListener[listeners.length - 1];
+				System.arraycopy(listeners, 0, updated, 0, i);
+				System.arraycopy(listeners, i + 1, updated, i, updated.length - i);
+				listeners = updated;
+				return;
+			}
+		}
+	}
+
+	/**
+	 * Retrieves the metric names for a component in an interceptor chain.
+	 *
+	 * @param component the component to retrieve the names for.
+	 * @return the metric names for the serviceRequest, preparePaint and paint phases of the component.
+	 */
+	private static String[] getNames(final WebComponent component) {
+		return INTERCEPTOR_NAMES.computeIfAbsent(component.getClass(), clazz -> {
+			String name;
+
+			if (InterceptorComponent.class.isAssignableFrom(clazz)) {
+				name = clazz.getSimpleName().isEmpty() ? clazz.getName() : clazz.getSimpleName();
+			} else {
+				name = UI_NAME;
+			}
+
+			return new String[]{name + ".serviceRequest", name + ".preparePaint", name + ".paint"};
+		});
+	}
+
+	/**
+	 * Registers the metrics with the platform MBean server, if they have not already been registered.
+	 */
+	private static void registerMBean() {
+		if (MBEAN_REGISTERED.get() || !MBEAN_REGISTERED.compareAndSet(false, true)) {
+			return;
+		}
+
+		try {
+			ManagementFactory.getPlatformMBeanServer().registerMBean(
+					new StandardMBean(new MetricsMXBean(), RequestMetricsMXBean.class, true),
+					new ObjectName(OBJECT_NAME));
+		} catch (JMException | SecurityException e) {
+			LOG.warn("Unable to register request metrics with JMX. " + e.getMessage());
+		}
+	}
+
+	/**
+	 * Exposes the metrics through JMX.
+	 */
+	private static final class MetricsMXBean implements RequestMetricsMXBean {
+
+		/**
+		 * The number of nanoseconds in a millisecond.
+		 */
+		private static final double NANOS_PER_MILLI = 1000000.0;
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public String[] getMetricNames() {
+			return RequestMetrics.getMetricNames();
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public long getCount(final String name) {
+			Histogram histogram = getLatency(name);
+			return histogram == null ? 0 : histogram.getCount();
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public double getMeanMillis(final String name) {
+			Histogram histogram = getLatency(name);
+			return histogram == null ? 0 : histogram.getMean() / NANOS_PER_MILLI;
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public double getMaxMillis(final String name) {
+			Histogram histogram = getLatency(name);
+			return histogram == null ? 0 : histogram.getMax() / NANOS_PER_MILLI;
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public double getPercentileMillis(final String name, final double percentile) {
+			Histogram histogram = getLatency(name);
+			return histogram == null ? 0 : histogram.getValueAtPercentile(percentile) / NANOS_PER_MILLI;
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public long getRenderedCount() {
+			return RENDERED_SIZES.getCount();
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public double getRenderedMean() {
+			return RENDERED_SIZES.getMean();
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public long getRenderedTotal() {
+			return RENDERED_SIZES.getTotal();
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public void reset() {
+			RequestMetrics.reset();
+		}
+	}
+}
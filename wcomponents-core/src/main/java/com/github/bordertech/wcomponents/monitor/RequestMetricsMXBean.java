@@ -0,0 +1,59 @@
+package com.github.bordertech.wcomponents.monitor;
+
+/**
+ * The JMX management interface for the {@link RequestMetrics}. Latencies are reported in milliseconds.
+ *
+ * @since 1.5.30
+ */
+public interface RequestMetricsMXBean {
+
+	/**
+	 * @return the names of the latency metrics which have been recorded.
+	 */
+	String[] getMetricNames();
+
+	/**
+	 * @param name the metric name.
+	 * @return the number of latencies recorded for the metric.
+	 */
+	long getCount(String name);
+
+	/**
+	 * @param name the metric name.
+	 * @return the mean latency for the metric, in milliseconds.
+	 */
+	double getMeanMillis(String name);
+
+	/**
+	 * @param name the metric name.
+	 * @return the maximum latency for the metric, in milliseconds.
+	 */
+	double getMaxMillis(String name);
+
+	/**
+	 * @param name the metric name.
+	 * @param percentile the percentile, from 0 to 100.
+	 * @return the estimated latency at the given percentile, in milliseconds.
+	 */
+	double getPercentileMillis(String name, double percentile);
+
+	/**
+	 * @return the number of responses whose size has been recorded.
+	 */
+	long getRenderedCount();
+
+	/**
+	 * @return the mean number of characters rendered per response.
+	 */
+	double getRenderedMean();
+
+	/**
+	 * @return the total number of characters rendered.
+	 */
+	long getRenderedTotal();
+
+	/**
+	 * Discards all recorded metrics.
+	 */
+	void reset();
+}
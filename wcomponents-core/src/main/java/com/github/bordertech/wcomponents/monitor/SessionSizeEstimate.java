@@ -0,0 +1,136 @@
+package com.github.bordertech.wcomponents.monitor;
+
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * <p>
+ * An estimate of the serialized size of a user's UIContext, see
+ * {@link com.github.bordertech.wcomponents.UIContextImpl#estimateSize()}. The estimate is calculated from the number of
+ * component models held for each component class, and the average serialized size of the models of each class, which
+ * is calibrated by serializing a sample of models, see {@link SessionSizeMetrics}.
+ * </p>
+ * <p>
+ * The estimate is much cheaper to calculate than serializing the context (as {@link UicStats} does), so it can be
+ * used in production.
+ * </p>
+ *
+ * @since 1.5.30
+ */
+public final class SessionSizeEstimate {
+
+	/**
+	 * The number of models held for each component class, keyed by class name.
+	 */
+	private final Map<String, Integer> modelCounts;
+
+	/**
+	 * The estimated serialized size of the models held for each component class, keyed by class name.
+	 */
+	private final Map<String, Long> modelSizes;
+
+	/**
+	 * The number of dynamic children held in the models.
+	 */
+	private final int childCount;
+
+	/**
+	 * The number of framework attributes.
+	 */
+	private final int fwkAttributeCount;
+
+	/**
+	 * The number of scratch maps.
+	 */
+	private final int scratchMapCount;
+
+	/**
+	 * Creates a SessionSizeEstimate.
+	 *
+	 * @param modelCounts the number of models held for each component class.
+	 * @param modelSizes the estimated serialized size of the models held for each component class.
+	 * @param childCount the number of dynamic children held in the models.
+	 * @param fwkAttributeCount the number of framework attributes.
+	 * @param scratchMapCount the number of scratch maps.
+	 */
+	public SessionSizeEstimate(final Map<String, Integer> modelCounts, final Map<String, Long> modelSizes,
+			final int childCount, final int fwkAttributeCount, final int scratchMapCount) {
+		this.modelCounts = Collections.unmodifiableMap(modelCounts);
+		this.modelSizes = Collections.unmodifiableMap(modelSizes);
+		this.childCount = childCount;
+		this.fwkAttributeCount = fwkAttributeCount;
+		this.scratchMapCount = scratchMapCount;
+	}
+
+	/**
+	 * @return the number of models held for each component class, keyed by class name.
+	 */
+	public Map<String, Integer> getModelCounts() {
+		return modelCounts;
+	}
+
+	/**
+	 * @return the estimated serialized size of the models held for each component class, in bytes, keyed by class
+	 * name.
+	 */
+	public Map<String, Long> getModelSizes() {
+		return modelSizes;
+	}
+
+	/**
+	 * @return the total number of models held.
+	 */
+	public int getModelCount() {
+		int count = 0;
+
+		for (int classCount : modelCounts.values()) {
+			count += classCount;
+		}
+
+		return count;
+	}
+
+	/**
+	 * @return the estimated serialized size of all the models held, in bytes.
+	 */
+	public long getEstimatedSize() {
+		long size = 0;
+
+		for (long classSize : modelSizes.values()) {
+			size += classSize;
+		}
+
+		return size;
+	}
+
+	/**
+	 * @return the number of dynamic children held in the models.
+	 */
+	public int getChildCount() {
+		return childCount;
+	}
+
+	/**
+	 * @return the number of framework attributes.
+	 */
+	public int getFwkAttributeCount() {
+		return fwkAttributeCount;
+	}
+
+	/**
+	 * @return the number of scratch maps. Scratch maps are not serialized, but do take up memory.
+	 */
+	public int getScratchMapCount() {
+		return scratchMapCount;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public String toString() {
+		return "SessionSizeEstimate[models=" + getModelCount() + ", estimatedSize=" + getEstimatedSize()
+				+ ", children=" + childCount + ", fwkAttributes=" + fwkAttributeCount + ", scratchMaps="
+				+ scratchMapCount + "]";
+	}
+}
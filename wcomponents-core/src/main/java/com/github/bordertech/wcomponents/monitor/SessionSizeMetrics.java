@@ -0,0 +1,374 @@
+package com.github.bordertech.wcomponents.monitor;
+
+import com.github.bordertech.wcomponents.UIContext;
+import com.github.bordertech.wcomponents.UIContextDelegate;
+import com.github.bordertech.wcomponents.UIContextImpl;
+import com.github.bordertech.wcomponents.WComponent;
+import com.github.bordertech.wcomponents.util.ConfigurationProperties;
+import com.github.bordertech.wcomponents.util.StreamUtil;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.io.Serializable;
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.management.JMException;
+import javax.management.ObjectName;
+import javax.management.StandardMBean;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+/**
+ * <p>
+ * Records estimates of session sizes per UI, so that the screens which bloat sessions can be identified. When enabled
+ * by {@link ConfigurationProperties#getMetricsSessionSizeEnabled()}, the size of the user's UIContext is estimated at
+ * the end of each request, see {@link SessionSizeEstimate}. The estimates are available through this class and through
+ * JMX under {@link #OBJECT_NAME}.
+ * </p>
+ * <p>
+ * This class also holds the calibration for the estimates, which is the average serialized size of the models of each
+ * component class. A proportion of models (see {@link ConfigurationProperties#getMetricsSessionSizeSampleRate()}) are
+ * serialized to refine the calibration as estimates are made. Sampling is limited to
+ * {@link ConfigurationProperties#getMetricsSessionSizeMaxSamplesPerSecond()} models per second across all requests, so
+ * that it does not add significantly to request processing times.
+ * </p>
+ *
+ * @since 1.5.30
+ */
+public final class SessionSizeMetrics {
+
+	/**
+	 * The JMX object name of the metrics.
+	 */
+	public static final String OBJECT_NAME = "com.github.bordertech.wcomponents:type=SessionSizeMetrics";
+
+	/**
+	 * The logger instance for this class.
+	 */
+	private static final Log LOG = LogFactory.getLog(SessionSizeMetrics.class);
+
+	/**
+	 * The estimated session sizes, keyed by UI class name.
+	 */
+	private static final Map<String, Histogram> SESSION_SIZES = new ConcurrentHashMap<>();
+
+	/**
+	 * The number of models held in sessions, keyed by UI class name.
+	 */
+	private static final Map<String, Histogram> MODEL_COUNTS = new ConcurrentHashMap<>();
+
+	/**
+	 * The serialized sizes of the sampled models, keyed by component class.
+	 */
+	private static final Map<Class<?>, Histogram> MODEL_SIZES = new ConcurrentHashMap<>();
+
+	/**
+	 * Indicates whether the metrics have been registered with JMX.
+	 */
+	private static final AtomicBoolean MBEAN_REGISTERED = new AtomicBoolean();
+
+	/**
+	 * The second in which the current samples were taken.
+	 */
+	private static final AtomicLong SAMPLE_SECOND = new AtomicLong();
+
+	/**
+	 * The number of samples taken in the current second.
+	 */
+	private static final AtomicInteger SAMPLE_COUNT = new AtomicInteger();
+
+	/**
+	 * Prevent instantiation of this class.
+	 */
+	private SessionSizeMetrics() {
+	}
+
+	/**
+	 * @return true if session size estimates are being recorded.
+	 */
+	public static boolean isEnabled() {
+		return ConfigurationProperties.getMetricsSessionSizeEnabled();
+	}
+
+	/**
+	 * Estimates the size of a user's context, and records the estimate against the context's UI.
+	 *
+	 * @param uic the context to estimate the size of.
+	 * @return the estimate, or null if the size of the context can not be estimated.
+	 */
+	public static SessionSizeEstimate record(final UIContext uic) {
+		UIContext backing = uic;
+
+		while (backing instanceof UIContextDelegate) {
+			backing = ((UIContextDelegate) backing).getBacking();
+		}
+
+		WComponent ui = uic.getUI();
+
+		if (!(backing instanceof UIContextImpl) || ui == null) {
+			return null;
+		}
+
+		registerMBean();
+
+		SessionSizeEstimate estimate = ((UIContextImpl) backing).estimateSize();
+		String name = ui.getClass().getName();
+		getHistogram(SESSION_SIZES, name).record(estimate.getEstimatedSize());
+		getHistogram(MODEL_COUNTS, name).record(estimate.getModelCount());
+
+		return estimate;
+	}
+
+	/**
+	 * Retrieves the estimated session sizes for a UI.
+	 *
+	 * @param ui the UI class name.
+	 * @return the estimated session sizes, or null if no estimates have been recorded for the UI.
+	 */
+	public static Histogram getSessionSizes(final String ui) {
+		return SESSION_SIZES.get(ui);
+	}
+
+	/**
+	 * Retrieves the number of models held in sessions for a UI.
+	 *
+	 * @param ui the UI class name.
+	 * @return the model counts, or null if no estimates have been recorded for the UI.
+	 */
+	public static Histogram getModelCounts(final String ui) {
+		return MODEL_COUNTS.get(ui);
+	}
+
+	/**
+	 * @return the class names of the UIs which have session size estimates, in alphabetical order.
+	 */
+	public static String[] getUINames() {
+		String[] names = SESSION_SIZES.keySet().toArray(new String[0]);
+		Arrays.sort(names);
+		return names;
+	}
+
+	/**
+	 * Discards all recorded estimates. The model size calibration is retained.
+	 */
+	public static void reset() {
+		SESSION_SIZES.clear();
+		MODEL_COUNTS.clear();
+	}
+
+	/**
+	 * Indicates whether a model should be serialized to calibrate the estimates.
+	 *
+	 * @param componentClass the class of the component which the model belongs to.
+	 * @param random a random number from 0 to 1.
+	 * @param sampleRate the proportion of models to sample, see
+	 * {@link ConfigurationProperties#getMetricsSessionSizeSampleRate()}.
+	 * @return true if the model should be sampled.
+	 */
+	public static boolean isSampleRequired(final Class<?> componentClass, final double random,
+			final double sampleRate) {
+		Histogram sizes = MODEL_SIZES.get(componentClass);
+
+		// Always sample the first few models of each class, so that every class has a calibration
+		return sizes == null || sizes.getCount() < 3 || random < sampleRate;
+	}
+
+	/**
+	 * Reserves a sample from the samples allowed in the current second.
+	 *
+	 * @param maxPerSecond the maximum number of samples per second, see
+	 * {@link ConfigurationProperties#getMetricsSessionSizeMaxSamplesPerSecond()}.
+	 * @return true if a model may be sampled, or false if the limit for the current second has been reached.
+	 */
+	public static boolean acquireSample(final int maxPerSecond) {
+		long second = System.currentTimeMillis() / 1000;
+		long current = SAMPLE_SECOND.get();
+
+		if (current != second && SAMPLE_SECOND.compareAndSet(current, second)) {
+			SAMPLE_COUNT.set(0);
+		}
+
+		return SAMPLE_COUNT.get() < maxPerSecond && SAMPLE_COUNT.incrementAndGet() <= maxPerSecond;
+	}
+
+	/**
+	 * Serializes a model to calibrate the estimates for its component class.
+	 *
+	 * @param componentClass the class of the component which the model belongs to.
+	 * @param model the model to sample.
+	 */
+	public static void sample(final Class<?> componentClass, final Serializable model) {
+		try {
+			getHistogram(MODEL_SIZES, componentClass).record(getSerializedSize(model));
+		} catch (IOException e) {
+			LOG.warn("Unable to serialize model for " + componentClass.getName() + ". " + e.getMessage());
+		}
+	}
+
+	/**
+	 * Estimates the serialized size of the models for a component class.
+	 *
+	 * @param componentClass the class of the components which the models belong to.
+	 * @param count the number of models.
+	 * @return the estimated serialized size of the models, in bytes.
+	 */
+	public static long estimateModelSize(final Class<?> componentClass, final int count) {
+		Histogram sizes = MODEL_SIZES.get(componentClass);
+		return sizes == null ? 0 : Math.round(sizes.getMean() * count);
+	}
+
+	/**
+	 * Determines the serialized size of an object, excluding the description of its class. Class descriptions are only
+	 * written once per session, so would otherwise dominate the size of small objects.
+	 *
+	 * @param object the object to serialize.
+	 * @return the serialized size of the object, in bytes.
+	 * @throws IOException if the object can not be serialized.
+	 */
+	static long getSerializedSize(final Serializable object) throws IOException {
+		CountingOutputStream counter = new CountingOutputStream();
+		ObjectOutputStream out = new ObjectOutputStream(counter);
+
+		try {
+			out.writeObject(object.getClass());
+			out.flush();
+			long start = counter.count;
+
+			out.writeObject(object);
+			out.flush();
+
+			return counter.count - start;
+		} finally {
+			StreamUtil.safeClose(out);
+		}
+	}
+
+	/**
+	 * Retrieves a histogram, creating it if necessary.
+	 *
+	 * @param histograms the histograms to search.
+	 * @param key the histogram key.
+	 * @param <T> the key type.
+	 * @return the histogram for the given key.
+	 */
+	private static <T> Histogram getHistogram(final Map<T, Histogram> histograms, final T key) {
+		Histogram histogram = histograms.get(key);
+		return histogram == null ? histograms.computeIfAbsent(key, k -> new Histogram()) : histogram;
+	}
+
+	/**
+	 * Registers the metrics with the platform MBean server, if they have not already been registered.
+	 */
+	private static void registerMBean() {
+		if (MBEAN_REGISTERED.get() || !MBEAN_REGISTERED.compareAndSet(false, true)) {
+			return;
+		}
+
+		try {
+			ManagementFactory.getPlatformMBeanServer().registerMBean(
+					new StandardMBean(new MetricsMXBean(), SessionSizeMetricsMXBean.class, true),
+					new ObjectName(OBJECT_NAME));
+		} catch (JMException | SecurityException e) {
+			LOG.warn("Unable to register session size metrics with JMX. " + e.getMessage());
+		}
+	}
+
+	/**
+	 * An OutputStream which discards its output, and counts the number of bytes written.
+	 */
+	private static final class CountingOutputStream extends OutputStream {
+
+		/**
+		 * The number of bytes written.
+		 */
+		private long count;
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public void write(final int b) {
+			count++;
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public void write(final byte[] b, final int off, final int len) {
+			count += len;
+		}
+	}
+
+	/**
+	 * Exposes the metrics through JMX.
+	 */
+	private static final class MetricsMXBean implements SessionSizeMetricsMXBean {
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public String[] getUINames() {
+			return SessionSizeMetrics.getUINames();
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public long getCount(final String ui) {
+			Histogram sizes = getSessionSizes(ui);
+			return sizes == null ? 0 : sizes.getCount();
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public double getMeanSize(final String ui) {
+			Histogram sizes = getSessionSizes(ui);
+			return sizes == null ? 0 : sizes.getMean();
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public long getMaxSize(final String ui) {
+			Histogram sizes = getSessionSizes(ui);
+			return sizes == null ? 0 : sizes.getMax();
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public long getPercentileSize(final String ui, final double percentile) {
+			Histogram sizes = getSessionSizes(ui);
+			return sizes == null ? 0 : sizes.getValueAtPercentile(percentile);
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public double getMeanModelCount(final String ui) {
+			Histogram counts = getModelCounts(ui);
+			return counts == null ? 0 : counts.getMean();
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public void reset() {
+			SessionSizeMetrics.reset();
+		}
+	}
+}
@@ -0,0 +1,50 @@
+package com.github.bordertech.wcomponents.monitor;
+
+/**
+ * The JMX management interface for the {@link SessionSizeMetrics}. Sizes are reported in bytes.
+ *
+ * @since 1.5.30
+ */
+public interface SessionSizeMetricsMXBean {
+
+	/**
+	 * @return the class names of the UIs which have session size estimates.
+	 */
+	String[] getUINames();
+
+	/**
+	 * @param ui the UI class name.
+	 * @return the number of session size estimates recorded for the UI.
+	 */
+	long getCount(String ui);
+
+	/**
+	 * @param ui the UI class name.
+	 * @return the mean estimated session size for the UI.
+	 */
+	double getMeanSize(String ui);
+
+	/**
+	 * @param ui the UI class name.
+	 * @return the largest estimated session size for the UI.
+	 */
+	long getMaxSize(String ui);
+
+	/**
+	 * @param ui the UI class name.
+	 * @param percentile the percentile, from 0 to 100.
+	 * @return the estimated session size for the UI at the given percentile.
+	 */
+	long getPercentileSize(String ui, double percentile);
+
+	/**
+	 * @param ui the UI class name.
+	 * @return the mean number of component models held in sessions for the UI.
+	 */
+	double getMeanModelCount(String ui);
+
+	/**
+	 * Discards all recorded estimates. The model size calibration is retained.
+	 */
+	void reset();
+}
@@ -1,4 +1,4 @@
 /**
- * Contains the classes used for providing statics about the user context.
+ * Contains the classes used for providing statics about the user context, and for recording request timing metrics.
  */
 package com.github.bordertech.wcomponents.monitor;
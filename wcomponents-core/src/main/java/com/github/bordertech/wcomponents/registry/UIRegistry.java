@@ -1,7 +1,18 @@
 package com.github.bordertech.wcomponents.registry;
 
 import com.github.bordertech.wcomponents.WComponent;
+import com.github.bordertech.wcomponents.util.ConfigurationProperties;
 import com.github.bordertech.wcomponents.util.Factory;
+import com.github.bordertech.wcomponents.util.SystemException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
 
 /**
  * The UIRegistry enables sharing of UIs between multiple sessions.
@@ -11,20 +22,75 @@ import com.github.bordertech.wcomponents.util.Factory;
  */
 public abstract class UIRegistry {
 
+	/**
+	 * The logger instance for this class.
+	 */
+	private static final Log LOG = LogFactory.getLog(UIRegistry.class);
+
 	/**
 	 * The UIRegistry singleton instance.
 	 */
-	private static UIRegistry instance = null;
+	private static volatile UIRegistry instance = null;
 
 	/**
 	 * @return the singleton instance of the UIRegistry.
 	 */
-	public static synchronized UIRegistry getInstance() {
-		if (instance == null) {
-			instance = Factory.newInstance(UIRegistry.class);
+	public static UIRegistry getInstance() {
+		UIRegistry registry = instance;
+
+		if (registry == null) {
+			synchronized (UIRegistry.class) {
+				registry = instance;
+
+				if (registry == null) {
+					registry = Factory.newInstance(UIRegistry.class);
+					instance = registry;
+				}
+			}
+		}
+
+		return registry;
+	}
+
+	/**
+	 * Loads the UIs listed in the {@link ConfigurationProperties#UI_REGISTRY_WARM_UP} parameter into the registry. The
+	 * UIs are constructed in parallel, and this method returns once they have all been loaded.
+	 */
+	public static void warmUp() {
+		String[] keys = ConfigurationProperties.getUIRegistryWarmUp();
+
+		if (keys.length == 0) {
+			return;
+		}
+
+		final UIRegistry registry = getInstance();
+		List<Callable<WComponent>> tasks = new ArrayList<>(keys.length);
+
+		for (final String key : keys) {
+			tasks.add(() -> registry.getUI(key));
 		}
 
-		return instance;
+		int threads = Math.min(keys.length, Runtime.getRuntime().availableProcessors());
+		ExecutorService executor = Executors.newFixedThreadPool(threads);
+
+		try {
+			List<Future<WComponent>> results = executor.invokeAll(tasks);
+
+			for (int i = 0; i < keys.length; i++) {
+				try {
+					results.get(i).get();
+				} catch (ExecutionException e) {
+					LOG.warn("Failed to warm up UI. Key = " + keys[i], e.getCause());
+				}
+			}
+
+			LOG.info("Warmed up " + keys.length + " UIs");
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			LOG.warn("Interrupted while warming up UIs", e);
+		} finally {
+			executor.shutdownNow();
+		}
 	}
 
 	/**
@@ -50,4 +116,23 @@ public abstract class UIRegistry {
 	 * @return the user interface which was registered with the given key.
 	 */
 	public abstract WComponent getUI(String key);
+
+	/**
+	 * Waits for a UI to be loaded, if necessary.
+	 *
+	 * @param future the future result of loading the UI.
+	 * @param key the registration key.
+	 * @param <T> the type of the result.
+	 * @return the result of loading the UI.
+	 */
+	static <T> T awaitUI(final Future<T> future, final String key) {
+		try {
+			return future.get();
+		} catch (ExecutionException e) {
+			throw new SystemException("Failed to load UI. Key = " + key, e.getCause());
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new SystemException("Interrupted while loading UI. Key = " + key, e);
+		}
+	}
 }
@@ -6,8 +6,12 @@ import com.github.bordertech.wcomponents.WComponent;
 import com.github.bordertech.wcomponents.util.ConfigurationProperties;
 import com.github.bordertech.wcomponents.util.Factory;
 import com.github.bordertech.wcomponents.util.SystemException;
-import java.util.HashMap;
-import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 
@@ -35,9 +39,10 @@ public class UIRegistryAmicableImpl extends UIRegistry {
 	private static final Log LOG = LogFactory.getLog(UIRegistryAmicableImpl.class);
 
 	/**
-	 * The UI registry map.
+	 * The UI registry map. UIs which are being loaded are present as incomplete futures, so that each UI is only
+	 * loaded once, without blocking access to the other UIs.
 	 */
-	private final Map<String, WComponent> registry = new HashMap<>();
+	private final ConcurrentMap<String, Future<WComponent>> registry = new ConcurrentHashMap<>();
 
 	/**
 	 * Registers the given user interface with the given key.
@@ -46,12 +51,10 @@ public class UIRegistryAmicableImpl extends UIRegistry {
 	 * @param ui the user interface to register.
 	 */
 	@Override
-	public synchronized void register(final String key, final WComponent ui) {
-		if (isRegistered(key)) {
+	public void register(final String key, final WComponent ui) {
+		if (registry.putIfAbsent(key, CompletableFuture.completedFuture(ui)) != null) {
 			throw new SystemException("Cannot re-register a component. Key = " + key);
 		}
-
-		registry.put(key, ui);
 	}
 
 	/**
@@ -61,8 +64,8 @@ public class UIRegistryAmicableImpl extends UIRegistry {
 	 * @return true if there is a UI registered with the given key.
 	 */
 	@Override
-	public synchronized boolean isRegistered(final String key) {
-		return registry.containsKey(key);
+	public boolean isRegistered(final String key) {
+		return key != null && registry.containsKey(key);
 	}
 
 	/**
@@ -73,28 +76,48 @@ public class UIRegistryAmicableImpl extends UIRegistry {
 	 * @return the UI for the given key. The UI may be newly created.
 	 */
 	@Override
-	public synchronized WComponent getUI(final String key) {
-		WComponent ui = registry.get(key);
+	public WComponent getUI(final String key) {
+		Future<WComponent> future = registry.get(key);
 
-		if (ui == null) {
+		if (future == null) {
 			// Looks like we haven't tried loading this UI yet, so do it now.
-			ui = loadUI(key);
-
-			ui.setLocked(true);
-
-			// Cache the result only if the UI was successfully loaded.
-			if (ui instanceof ErrorPage) {
-				LOG.debug("Returning non-cached ErrorPage WComponent. Key=" + key);
-			} else {
-				register(key, ui);
-
-				LOG.debug("Returning cached WComponent. Key=" + key);
+			FutureTask<WComponent> task = new FutureTask<>(() -> {
+				WComponent ui = loadUI(key);
+				ui.setLocked(true);
+				return ui;
+			});
+
+			future = registry.putIfAbsent(key, task);
+
+			if (future == null) {
+				future = task;
+				task.run();
+
+				// Cache the result only if the UI was successfully loaded.
+				if (isErrorPage(task)) {
+					registry.remove(key, task);
+					LOG.debug("Returning non-cached ErrorPage WComponent. Key=" + key);
+					return awaitUI(task, key);
+				}
 			}
-		} else {
-			LOG.debug("Returning cached WComponent. Key=" + key);
 		}
 
-		return ui;
+		LOG.debug("Returning cached WComponent. Key=" + key);
+		return awaitUI(future, key);
+	}
+
+	/**
+	 * Indicates whether a UI load resulted in an error page.
+	 *
+	 * @param task the completed task which loaded the UI.
+	 * @return true if the task failed, or produced an error page.
+	 */
+	private static boolean isErrorPage(final Future<WComponent> task) {
+		try {
+			return task.get() instanceof ErrorPage;
+		} catch (InterruptedException | ExecutionException e) {
+			return true;
+		}
 	}
 
 	/**
@@ -2,8 +2,11 @@ package com.github.bordertech.wcomponents.registry;
 
 import com.github.bordertech.wcomponents.WComponent;
 import com.github.bordertech.wcomponents.util.SystemException;
-import java.util.HashMap;
-import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 
@@ -21,9 +24,10 @@ public class UIRegistryClassLoaderImpl extends UIRegistry {
 	private static final Log LOG = LogFactory.getLog(UIRegistryClassLoaderImpl.class);
 
 	/**
-	 * The UI registry map.
+	 * The UI registry map. UIs which are being loaded are present as incomplete futures, so that each UI is only
+	 * loaded once, without blocking access to the other UIs.
 	 */
-	private final Map<String, Object> registry = new HashMap<>();
+	private final ConcurrentMap<String, Future<Object>> registry = new ConcurrentHashMap<>();
 
 	/**
 	 * Registers the given user interface with the given key.
@@ -32,12 +36,10 @@ public class UIRegistryClassLoaderImpl extends UIRegistry {
 	 * @param ui the user interface to register.
 	 */
 	@Override
-	public synchronized void register(final String key, final WComponent ui) {
-		if (isRegistered(key)) {
+	public void register(final String key, final WComponent ui) {
+		if (registry.putIfAbsent(key, CompletableFuture.completedFuture(ui)) != null) {
 			throw new SystemException("Cannot re-register a component. Key = " + key);
 		}
-
-		registry.put(key, ui);
 	}
 
 	/**
@@ -47,8 +49,8 @@ public class UIRegistryClassLoaderImpl extends UIRegistry {
 	 * @return true if there is a UI registered with the given key.
 	 */
 	@Override
-	public synchronized boolean isRegistered(final String key) {
-		return registry.containsKey(key);
+	public boolean isRegistered(final String key) {
+		return key != null && registry.containsKey(key);
 	}
 
 	/**
@@ -59,22 +61,44 @@ public class UIRegistryClassLoaderImpl extends UIRegistry {
 	 * @return the UI for the given key. The UI may be newly created.
 	 */
 	@Override
-	public synchronized WComponent getUI(final String key) {
-		Object obj = registry.get(key);
+	public WComponent getUI(final String key) {
+		Future<Object> future = registry.get(key);
 
-		if (obj == null) {
+		if (future == null) {
 			// Looks like we haven't tried loading this UI yet, so do it now.
-			obj = loadUI(key);
+			// Note that the result could be a flag indicating that no UI could be load for the given key.
+			FutureTask<Object> task = new FutureTask<>(() -> {
+				Object obj = loadUI(key);
+
+				if (obj instanceof WComponent) {
+					((WComponent) obj).setLocked(true);
+				}
+
+				return obj;
+			});
 
 			// Cache the result.
-			// Note that the result could be a flag indicating that no UI could be load for the given key.
-			registry.put(key, obj);
+			future = registry.putIfAbsent(key, task);
 
-			if (obj instanceof WComponent) {
-				((WComponent) obj).setLocked(true);
+			if (future == null) {
+				future = task;
+				task.run();
 			}
 		}
 
+		Object obj;
+
+		try {
+			obj = awaitUI(future, key);
+		} catch (SystemException e) {
+			// Don't cache a failed load, so that the UI can be loaded by a later request.
+			if (future.isDone()) {
+				registry.remove(key, future);
+			}
+
+			throw e;
+		}
+
 		if (obj instanceof WComponent) {
 			LOG.debug("Returning cached WComponent. Key=" + key);
 			return (WComponent) obj;
@@ -1,21 +1,40 @@
 package com.github.bordertech.wcomponents.servlet;
 
 import com.github.bordertech.wcomponents.AbstractEnvironment;
+import com.github.bordertech.wcomponents.ComponentWithContext;
 import com.github.bordertech.wcomponents.Environment;
+import com.github.bordertech.wcomponents.ReadOnlyTargetable;
 import com.github.bordertech.wcomponents.Request;
 import com.github.bordertech.wcomponents.Response;
 import com.github.bordertech.wcomponents.UIContext;
+import com.github.bordertech.wcomponents.UIContextHolder;
 import com.github.bordertech.wcomponents.UserAgentInfo;
 import com.github.bordertech.wcomponents.WComponent;
+import com.github.bordertech.wcomponents.WWindow;
+import com.github.bordertech.wcomponents.WebComponent;
 import com.github.bordertech.wcomponents.container.AbstractContainerHelper;
+import com.github.bordertech.wcomponents.container.DataListInterceptor;
+import com.github.bordertech.wcomponents.container.InterceptorComponent;
 import com.github.bordertech.wcomponents.container.ResponseCacheInterceptor.CacheType;
+import com.github.bordertech.wcomponents.container.SessionTokenContentInterceptor;
+import com.github.bordertech.wcomponents.container.TargetableErrorInterceptor;
+import com.github.bordertech.wcomponents.container.TargetableInterceptor;
+import com.github.bordertech.wcomponents.container.TransformXMLInterceptor;
+import com.github.bordertech.wcomponents.container.UIContextDumpInterceptor;
+import com.github.bordertech.wcomponents.container.WWindowInterceptor;
+import com.github.bordertech.wcomponents.container.WrongStepContentInterceptor;
+import com.github.bordertech.wcomponents.util.ComponentIdIndex;
 import com.github.bordertech.wcomponents.util.ConfigurationProperties;
+import com.github.bordertech.wcomponents.util.TreeUtil;
 import com.github.bordertech.wcomponents.util.Util;
 import java.io.IOException;
 import java.io.PrintWriter;
 import java.net.MalformedURLException;
 import java.net.URL;
+import java.util.Arrays;
+import java.util.HashSet;
 import java.util.Map;
+import java.util.Set;
 import javax.servlet.http.HttpServlet;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
@@ -49,6 +68,14 @@ public class HttpServletHelper extends AbstractContainerHelper {
 	 */
 	public static final String ONGOING_URL_SUFFIX = "suffix";
 
+	/**
+	 * The interceptors, other than the {@link TargetableInterceptor} and {@link DataListInterceptor}, which only read
+	 * from the UIContext when processing a read-only request.
+	 */
+	private static final Set<Class<?>> READ_ONLY_INTERCEPTORS = new HashSet<>(Arrays.<Class<?>>asList(
+			TargetableErrorInterceptor.class, SessionTokenContentInterceptor.class, UIContextDumpInterceptor.class,
+			WWindowInterceptor.class, WrongStepContentInterceptor.class, TransformXMLInterceptor.class));
+
 	/**
 	 * Flag that update already processed in the action phase.
 	 */
@@ -85,6 +112,11 @@ public class HttpServletHelper extends AbstractContainerHelper {
 	 */
 	private final boolean dataRequest;
 
+	/**
+	 * The context used while processing a read-only request, or null if the request is not read-only.
+	 */
+	private ReadOnlyRequestUIContext readOnlyContext;
+
 	/**
 	 * @param servlet the servlet processing the request
 	 * @param httpServletRequest the servlet request being processed
@@ -171,6 +203,98 @@ public class HttpServletHelper extends AbstractContainerHelper {
 		return dataRequest;
 	}
 
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	protected boolean isReadOnlyRequest() {
+		return readOnlyContext != null;
+	}
+
+	/**
+	 * <p>
+	 * Determines whether the request only reads from the user's UIContext, in which case it is processed against a
+	 * {@link ReadOnlyRequestUIContext} and may run concurrently with other read-only requests for the user. This must
+	 * be called while no other request for the user is being processed, as it prepares the user's environment.
+	 * </p>
+	 * <p>
+	 * Read-only requests are data list requests, and targeted requests for a {@link ReadOnlyTargetable} which is not
+	 * within a repeated row. The target is found on the server, so the request parameters can not make other requests
+	 * read-only. The request must also be processed by the standard interceptors for its type, as other interceptors
+	 * may update the UIContext.
+	 * </p>
+	 *
+	 * @param chain the chain of interceptors which will process the request
+	 * @return true if the request is read-only
+	 */
+	boolean prepareReadOnlyRequest(final InterceptorComponent chain) {
+		UIContext uic = getUIContext();
+
+		if (uic == null || !isReadOnlyChain(chain)) {
+			return false;
+		}
+
+		Map<String, String[]> parameters = ServletUtil.getRequestParameters(backingRequest);
+		String targetId = getTargetComponentId();
+
+		if (!isDataRequest() && (targetId == null || parameters.get(WServlet.AJAX_TRIGGER_PARAM_NAME) != null
+				|| parameters.get(WWindow.WWINDOW_REQUEST_PARAM_KEY) != null)) {
+			return false;
+		}
+
+		UIContextHolder.pushContext(uic);
+
+		try {
+			// The environment is shared with the user's context, so must be set up before concurrent processing starts
+			prepareRequest();
+
+			ReadOnlyRequestUIContext context = new ReadOnlyRequestUIContext(uic);
+
+			if (!isDataRequest()) {
+				ComponentWithContext target = TreeUtil.getComponentWithContextForId(uic.getUI(), targetId, true);
+
+				// Components in repeated rows are excluded, as finding them updates the repeater's row contexts
+				if (target == null || target.getContext() != uic
+						|| !(target.getComponent() instanceof ReadOnlyTargetable)) {
+					return false;
+				}
+
+				ComponentIdIndex.addComponent(context, targetId, new ComponentWithContext(target.getComponent(), context));
+			}
+
+			readOnlyContext = context;
+			return true;
+		} finally {
+			UIContextHolder.popContext();
+		}
+	}
+
+	/**
+	 * Indicates whether an interceptor chain only reads from the UIContext.
+	 *
+	 * @param chain the chain of interceptors
+	 * @return true if the chain is made up of the standard read-only interceptors
+	 */
+	private boolean isReadOnlyChain(final InterceptorComponent chain) {
+		boolean targeted = false;
+
+		for (WebComponent component = chain; component instanceof InterceptorComponent;
+				component = ((InterceptorComponent) component).getBackingComponent()) {
+			Class<?> type = component.getClass();
+
+			if (type == DataListInterceptor.class) {
+				// Data list requests do not go any further down the chain
+				return isDataRequest();
+			} else if (type == TargetableInterceptor.class) {
+				targeted = true;
+			} else if (!READ_ONLY_INTERCEPTORS.contains(type)) {
+				return false;
+			}
+		}
+
+		return targeted && !isDataRequest();
+	}
+
 	/**
 	 * {@inheritDoc}
 	 */
@@ -180,8 +304,12 @@ public class HttpServletHelper extends AbstractContainerHelper {
 		if (session == null) {
 			return null;
 		}
-		UIContext uic = (UIContext) session.getAttribute(getUiContextSessionKey());
-		return uic;
+
+		if (readOnlyContext != null) {
+			return readOnlyContext;
+		}
+
+		return (UIContext) session.getAttribute(getUiContextSessionKey());
 	}
 
 	/**
@@ -0,0 +1,459 @@
+package com.github.bordertech.wcomponents.servlet;
+
+import com.github.bordertech.wcomponents.Environment;
+import com.github.bordertech.wcomponents.Headers;
+import com.github.bordertech.wcomponents.HeadersImpl;
+import com.github.bordertech.wcomponents.ReadOnlyTargetable;
+import com.github.bordertech.wcomponents.UIContext;
+import com.github.bordertech.wcomponents.UIContextDelegate;
+import com.github.bordertech.wcomponents.UIContextHolder;
+import com.github.bordertech.wcomponents.WComponent;
+import com.github.bordertech.wcomponents.WebComponent;
+import com.github.bordertech.wcomponents.WebModel;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * <p>
+ * The UIContext used to process a read-only request, see {@link HttpServletHelper#isReadOnlyRequest()}. Read-only
+ * requests for the same user may be processed concurrently, so the user's UIContext must not be updated while they
+ * are processed.
+ * </p>
+ * <p>
+ * Models which are added or removed, scratch maps, headers and the environment set during the request are held by this
+ * context, and are discarded at the end of the request, as are the UI, locale and framework attributes set during the
+ * request. Invoke laters added during the request are run against this context at the end of the request, and focus
+ * changes are ignored. Everything else is read from the user's UIContext. The models already held by the user's
+ * UIContext are shared, so must not be updated, see {@link ReadOnlyTargetable}.
+ * </p>
+ * <p>
+ * Instances of this class are only used for the duration of a single request, and are never stored in the session.
+ * </p>
+ *
+ * @since 1.5.30
+ */
+final class ReadOnlyRequestUIContext extends UIContextDelegate {
+
+	/**
+	 * The models added or removed during this request. A null value indicates the model has been removed.
+	 */
+	private transient Map<WebComponent, WebModel> models;
+
+	/**
+	 * The environment set during this request.
+	 */
+	private transient Environment environment;
+
+	/**
+	 * The headers for this request.
+	 */
+	private transient Headers headers;
+
+	/**
+	 * The scratch maps for this request.
+	 */
+	private transient Map<WComponent, Map<Object, Object>> scratchMaps;
+
+	/**
+	 * The request scratch maps for this request.
+	 */
+	private transient Map<WComponent, Map<Object, Object>> requestScratchMaps;
+
+	/**
+	 * The UI set during this request.
+	 */
+	private transient WComponent ui;
+
+	/**
+	 * The locale set during this request.
+	 */
+	private transient Locale locale;
+
+	/**
+	 * The framework attributes set or removed during this request. A null value indicates the attribute has been
+	 * removed.
+	 */
+	private transient Map<String, Object> fwkAttributes;
+
+	/**
+	 * The runnables added during this request.
+	 */
+	private transient List<ContextRunnable> invokeLaters;
+
+	/**
+	 * Creates a ReadOnlyRequestUIContext.
+	 *
+	 * @param backing the user's UIContext.
+	 */
+	ReadOnlyRequestUIContext(final UIContext backing) {
+		super(backing);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public WebModel getModel(final WebComponent component) {
+		if (models != null && models.containsKey(component)) {
+			return models.get(component);
+		}
+
+		return super.getModel(component);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void setModel(final WebComponent component, final WebModel model) {
+		if (models == null) {
+			models = new HashMap<>();
+		}
+
+		models.put(component, model);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void removeModel(final WebComponent component) {
+		if (models == null) {
+			models = new HashMap<>();
+		}
+
+		models.put(component, null);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public Environment getEnvironment() {
+		return environment == null ? super.getEnvironment() : environment;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void setEnvironment(final Environment environment) {
+		this.environment = environment;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public boolean isDummyEnvironment() {
+		return environment == null && super.isDummyEnvironment();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public Headers getHeaders() {
+		if (headers == null) {
+			headers = new HeadersImpl();
+		}
+
+		return headers;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public Map getScratchMap(final WComponent component) {
+		if (scratchMaps == null) {
+			scratchMaps = new HashMap<>();
+		}
+
+		return getComponentMap(scratchMaps, component);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void clearScratchMap(final WComponent component) {
+		if (scratchMaps != null) {
+			scratchMaps.remove(component);
+		}
+	}
+
+	/**
+	 * The scratch maps of this context only exist for the current request, so there is nothing to clear at the start
+	 * of the request.
+	 */
+	@Override
+	public void clearScratchMap() {
+		// NOP
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public Map<Object, Object> getRequestScratchMap(final WComponent component) {
+		if (requestScratchMaps == null) {
+			requestScratchMaps = new HashMap<>();
+		}
+
+		return getComponentMap(requestScratchMaps, component);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void clearRequestScratchMap(final WComponent component) {
+		if (requestScratchMaps != null) {
+			requestScratchMaps.remove(component);
+		}
+	}
+
+	/**
+	 * The request scratch maps of this context only exist for the current request, and already hold the target
+	 * component which was found when the request was prepared, so they are not cleared at the start of the request.
+	 */
+	@Override
+	public void clearRequestScratchMap() {
+		// NOP
+	}
+
+	/**
+	 * Adds a runnable to be run at the end of this request. Any updates it makes are held by this context.
+	 *
+	 * @param runnable the runnable to add.
+	 */
+	@Override
+	public void invokeLater(final Runnable runnable) {
+		invokeLater(this, runnable);
+	}
+
+	/**
+	 * Adds a runnable to be run at the end of this request. Any updates it makes are held by this context.
+	 *
+	 * @param uic the UIContext to invoke the runnable in.
+	 * @param runnable the runnable to add.
+	 */
+	@Override
+	public void invokeLater(final UIContext uic, final Runnable runnable) {
+		if (invokeLaters == null) {
+			invokeLaters = new ArrayList<>();
+		}
+
+		invokeLaters.add(new ContextRunnable(uic == getBacking() ? this : uic, runnable));
+	}
+
+	/**
+	 * Runs the runnables added during this request. The user's invoke laters are not run, as they must only be run by
+	 * the request which added them.
+	 */
+	@Override
+	public void doInvokeLaters() {
+		if (invokeLaters == null) {
+			return;
+		}
+
+		// The runnables may add their own invoke laters, so loop to make sure they are all processed.
+		while (!invokeLaters.isEmpty()) {
+			List<ContextRunnable> runnables = new ArrayList<>(invokeLaters);
+			invokeLaters.clear();
+
+			for (ContextRunnable run : runnables) {
+				UIContextHolder.pushContext(run.context);
+
+				try {
+					run.runnable.run();
+				} finally {
+					UIContextHolder.popContext();
+				}
+			}
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public WComponent getUI() {
+		return ui == null ? super.getUI() : ui;
+	}
+
+	/**
+	 * Sets the UI for the remainder of this request only.
+	 *
+	 * @param ui the UI.
+	 */
+	@Override
+	public void setUI(final WComponent ui) {
+		this.ui = ui;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public Locale getLocale() {
+		return locale == null ? super.getLocale() : locale;
+	}
+
+	/**
+	 * Sets the locale for the remainder of this request only.
+	 *
+	 * @param locale the locale.
+	 */
+	@Override
+	public void setLocale(final Locale locale) {
+		this.locale = locale;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public Object getFwkAttribute(final String name) {
+		if (fwkAttributes != null && fwkAttributes.containsKey(name)) {
+			return fwkAttributes.get(name);
+		}
+
+		return super.getFwkAttribute(name);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public Set getFwkAttributeNames() {
+		if (fwkAttributes == null) {
+			return super.getFwkAttributeNames();
+		}
+
+		Set<Object> names = new HashSet<>();
+		Set backingNames = super.getFwkAttributeNames();
+
+		if (backingNames != null) {
+			names.addAll(backingNames);
+		}
+
+		for (Map.Entry<String, Object> entry : fwkAttributes.entrySet()) {
+			if (entry.getValue() == null) {
+				names.remove(entry.getKey());
+			} else {
+				names.add(entry.getKey());
+			}
+		}
+
+		return names;
+	}
+
+	/**
+	 * Sets a framework attribute for the remainder of this request only.
+	 *
+	 * @param name the attribute name.
+	 * @param value the attribute value.
+	 */
+	@Override
+	public void setFwkAttribute(final String name, final Object value) {
+		if (fwkAttributes == null) {
+			fwkAttributes = new HashMap<>();
+		}
+
+		fwkAttributes.put(name, value);
+	}
+
+	/**
+	 * Removes a framework attribute for the remainder of this request only.
+	 *
+	 * @param name the attribute name.
+	 */
+	@Override
+	public void removeFwkAttribute(final String name) {
+		setFwkAttribute(name, null);
+	}
+
+	/**
+	 * Does nothing, as focus is only rendered by requests which update the user's UIContext.
+	 *
+	 * @param component the component to focus.
+	 */
+	@Override
+	public void setFocussed(final WComponent component) {
+		// NOP
+	}
+
+	/**
+	 * Does nothing, as focus is only rendered by requests which update the user's UIContext.
+	 *
+	 * @param component the component to focus.
+	 * @param uic the component's context.
+	 */
+	@Override
+	public void setFocussed(final WComponent component, final UIContext uic) {
+		// NOP
+	}
+
+	/**
+	 * Does nothing, as focus is only rendered by requests which update the user's UIContext.
+	 *
+	 * @param required true if focus is required.
+	 */
+	@Override
+	public void setFocusRequired(final boolean required) {
+		// NOP
+	}
+
+	/**
+	 * Retrieves a component's map, creating it if necessary.
+	 *
+	 * @param maps the maps to search.
+	 * @param component the component to retrieve the map for.
+	 * @return the map for the given component.
+	 */
+	private static Map<Object, Object> getComponentMap(final Map<WComponent, Map<Object, Object>> maps,
+			final WComponent component) {
+		Map<Object, Object> componentMap = maps.get(component);
+
+		if (componentMap == null) {
+			componentMap = new HashMap<>(2);
+			maps.put(component, componentMap);
+		}
+
+		return componentMap;
+	}
+
+	/**
+	 * A runnable to be run in a given context at the end of the request.
+	 */
+	private static final class ContextRunnable {
+
+		/**
+		 * The context to run the runnable in.
+		 */
+		private final UIContext context;
+
+		/**
+		 * The runnable to run.
+		 */
+		private final Runnable runnable;
+
+		/**
+		 * Creates a ContextRunnable.
+		 *
+		 * @param context the context to run the runnable in.
+		 * @param runnable the runnable to run.
+		 */
+		private ContextRunnable(final UIContext context, final Runnable runnable) {
+			this.context = context;
+			this.runnable = runnable;
+		}
+	}
+}
@@ -2,6 +2,8 @@ package com.github.bordertech.wcomponents.servlet;
 
 import au.com.flyingkite.mobiledetect.UAgentInfo;
 import com.github.bordertech.wcomponents.AjaxHelper;
+import com.github.bordertech.wcomponents.ContentAccess;
+import com.github.bordertech.wcomponents.ContentStreamAccess;
 import com.github.bordertech.wcomponents.Environment;
 import com.github.bordertech.wcomponents.InternalResource;
 import com.github.bordertech.wcomponents.InternalResourceMap;
@@ -39,6 +41,7 @@ import com.github.bordertech.wcomponents.container.WhitespaceFilterInterceptor;
 import com.github.bordertech.wcomponents.container.WrongStepAjaxInterceptor;
 import com.github.bordertech.wcomponents.container.WrongStepContentInterceptor;
 import com.github.bordertech.wcomponents.container.WrongStepServerInterceptor;
+import com.github.bordertech.wcomponents.util.ByteRange;
 import com.github.bordertech.wcomponents.util.ConfigurationProperties;
 import com.github.bordertech.wcomponents.util.DeviceType;
 import com.github.bordertech.wcomponents.util.I18nUtilities;
@@ -48,16 +51,35 @@ import com.github.bordertech.wcomponents.util.StreamUtil;
 import com.github.bordertech.wcomponents.util.SystemException;
 import com.github.bordertech.wcomponents.util.ThemeUtil;
 import com.github.bordertech.wcomponents.util.Util;
+import java.io.Closeable;
+import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.io.UnsupportedEncodingException;
+import java.net.URISyntaxException;
 import java.net.URL;
 import java.net.URLConnection;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 import javax.servlet.ServletException;
 import javax.servlet.http.Cookie;
 import javax.servlet.http.HttpServletRequest;
@@ -89,6 +111,24 @@ public final class ServletUtil {
 	 */
 	private static final Log LOG = LogFactory.getLog(ServletUtil.class);
 
+	/**
+	 * The locks used to serialise request processing for each user's UIContext.
+	 */
+	private static final Map<UIContext, ReadWriteLock> CONTEXT_LOCKS = Collections.synchronizedMap(
+			new WeakHashMap<UIContext, ReadWriteLock>());
+
+	/**
+	 * Formats and parses dates in HTTP headers.
+	 */
+	private static final DateTimeFormatter HTTP_DATE_FORMAT = DateTimeFormatter.RFC_1123_DATE_TIME.withZone(
+			ZoneOffset.UTC);
+
+	/**
+	 * The cache of theme resources.
+	 */
+	private static final ThemeResourceCache THEME_RESOURCE_CACHE = new ThemeResourceCache(ConfigurationProperties.
+			getThemeResourceCacheSize());
+
 	/**
 	 * Theme resource path parameter.
 	 */
@@ -186,12 +226,27 @@ public final class ServletUtil {
 			// Prepare user context
 			UIContext uic = helper.prepareUserContext();
 
-			synchronized (uic) {
+			// Requests which may update the UIContext run exclusively. Read-only requests are prepared exclusively, but
+			// may then run concurrently with each other.
+			ReadWriteLock contextLock = getContextLock(uic);
+			Lock lock = contextLock.writeLock();
+			lock.lock();
+
+			try {
+				if (helper.prepareReadOnlyRequest(interceptorChain)) {
+					Lock readLock = contextLock.readLock();
+					readLock.lock();
+					lock.unlock();
+					lock = readLock;
+				}
+
 				// Process the action phase.
 				helper.processAction();
 
 				// Process the render phase.
 				helper.render();
+			} finally {
+				lock.unlock();
 			}
 		} finally {
 			// We need to ensure that the AJAX operation is cleared
@@ -201,6 +256,25 @@ public final class ServletUtil {
 		}
 	}
 
+	/**
+	 * Retrieves the lock used to serialise request processing for the given context.
+	 *
+	 * @param uic the user's UIContext
+	 * @return the lock for the given context
+	 */
+	static ReadWriteLock getContextLock(final UIContext uic) {
+		synchronized (CONTEXT_LOCKS) {
+			ReadWriteLock lock = CONTEXT_LOCKS.get(uic);
+
+			if (lock == null) {
+				lock = new ReentrantReadWriteLock();
+				CONTEXT_LOCKS.put(uic, lock);
+			}
+
+			return lock;
+		}
+	}
+
 	/**
 	 * @param req the request being processed
 	 * @return true if requesting a static resource
@@ -229,23 +303,17 @@ public final class ServletUtil {
 				return;
 			}
 
-			InputStream resourceStream = staticResource.getStream();
-			if (resourceStream == null) {
+			if (staticResource.getResourceUrl() == null) {
 				LOG.warn(
 						"Static resource [" + staticRequest + "] not found. Stream for content is null.");
 				response.setStatus(HttpServletResponse.SC_NOT_FOUND);
 				return;
 			}
 
-			int size = resourceStream.available();
 			String fileName = WebUtilities.encodeForContentDispositionHeader(staticRequest.
 					substring(staticRequest
 							.lastIndexOf('/') + 1));
 
-			if (size > 0) {
-				response.setContentLength(size);
-			}
-
 			response.setContentType(WebUtilities.getContentType(staticRequest));
 			response.setHeader("Cache-Control", CacheType.CONTENT_CACHE.getSettings());
 
@@ -259,9 +327,7 @@ public final class ServletUtil {
 				response.setHeader("Content-Disposition", "filename=" + fileName);
 			}
 
-			if (!headersOnly) {
-				StreamUtil.copy(resourceStream, response.getOutputStream());
-			}
+			writeContent(request, response, staticResource, headersOnly);
 		} catch (IOException e) {
 			LOG.warn("Could not process static resource [" + staticRequest + "]. ", e);
 			response.reset();
@@ -269,6 +335,154 @@ public final class ServletUtil {
 		}
 	}
 
+	/**
+	 * <p>
+	 * Writes content to the response, honouring the <code>Range</code> and <code>If-Range</code> request headers. A
+	 * single range is served as a <code>206 Partial Content</code> response, and multiple ranges as a
+	 * <code>multipart/byteranges</code> response. The response content type must already have been set.
+	 * </p>
+	 * <p>
+	 * Ranges can only be served when the length of the content is known, i.e. for byte array content, file backed
+	 * streams and {@link InternalResource}s. File backed content is read from the file channel, so ranges can be
+	 * served in any order without reading the file from the start.
+	 * </p>
+	 *
+	 * @param request the request being processed
+	 * @param response the response to write the content to
+	 * @param content the content to write
+	 * @param headersOnly true to only set the headers, e.g. for a HEAD request
+	 * @throws IOException if there is an error reading or writing the content
+	 */
+	public static void writeContent(final HttpServletRequest request, final HttpServletResponse response,
+			final ContentAccess content, final boolean headersOnly) throws IOException {
+		ContentSource source = ContentSource.open(content);
+
+		try {
+			long length = source.getLength();
+
+			if (length < 0) {
+				// Ranges can not be resolved without knowing the length, so always send the whole content
+				response.setHeader("Accept-Ranges", "none");
+
+				if (!headersOnly) {
+					source.writeAll(response.getOutputStream());
+				}
+				return;
+			}
+
+			response.setHeader("Accept-Ranges", "bytes");
+
+			if (source.getLastModified() != null) {
+				response.setHeader("Last-Modified", source.getLastModified());
+			}
+
+			List<ByteRange> ranges = getRequestedRanges(request, source);
+
+			if (ranges == null) {
+				response.setHeader("Content-Length", String.valueOf(length));
+
+				if (!headersOnly) {
+					source.write(response.getOutputStream(), 0, length);
+				}
+			} else if (ranges.isEmpty()) {
+				response.setStatus(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+				response.setHeader("Content-Range", "bytes */" + length);
+			} else if (ranges.size() == 1) {
+				ByteRange range = ranges.get(0);
+				response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+				response.setHeader("Content-Range", range.toContentRange(length));
+				response.setHeader("Content-Length", String.valueOf(range.getLength()));
+
+				if (!headersOnly) {
+					source.write(response.getOutputStream(), range.getStart(), range.getLength());
+				}
+			} else {
+				writeMultipleRanges(response, source, ranges, headersOnly);
+			}
+		} finally {
+			source.close();
+		}
+	}
+
+	/**
+	 * Determines which ranges of the content have been requested.
+	 *
+	 * @param request the request being processed
+	 * @param source the content being served
+	 * @return the requested ranges, an empty list if they can not be satisfied, or null to serve the whole content
+	 */
+	private static List<ByteRange> getRequestedRanges(final HttpServletRequest request, final ContentSource source) {
+		String header = request.getHeader("Range");
+
+		if (header == null) {
+			return null;
+		}
+
+		// Only honour the range if the client's copy is current. There are no entity tags for content, so an If-Range
+		// can only match the last modified date.
+		String ifRange = request.getHeader("If-Range");
+
+		if (ifRange != null && !ifRange.equals(source.getLastModified())) {
+			return null;
+		}
+
+		List<ByteRange> ranges = ByteRange.parse(header, source.getLength());
+
+		if (ranges != null && !source.isRandomAccess() && !ByteRange.isSequential(ranges)) {
+			// Streams can only be read forwards
+			return null;
+		}
+
+		return ranges;
+	}
+
+	/**
+	 * Writes multiple ranges of the content as a multipart/byteranges response.
+	 *
+	 * @param response the response to write the content to
+	 * @param source the content being served
+	 * @param ranges the ranges to write
+	 * @param headersOnly true to only set the headers
+	 * @throws IOException if there is an error reading or writing the content
+	 */
+	private static void writeMultipleRanges(final HttpServletResponse response, final ContentSource source,
+			final List<ByteRange> ranges, final boolean headersOnly) throws IOException {
+		String boundary = "wc_byteranges_" + WebUtilities.generateRandom();
+		String contentType = response.getContentType();
+		byte[][] partHeaders = new byte[ranges.size()][];
+		byte[] end = ("\r\n--" + boundary + "--\r\n").getBytes(StandardCharsets.ISO_8859_1);
+		long contentLength = end.length;
+
+		for (int i = 0; i < partHeaders.length; i++) {
+			ByteRange range = ranges.get(i);
+			StringBuilder partHeader = new StringBuilder("\r\n--").append(boundary);
+
+			if (contentType != null) {
+				partHeader.append("\r\nContent-Type: ").append(contentType);
+			}
+
+			partHeader.append("\r\nContent-Range: ").append(range.toContentRange(source.getLength())).append("\r\n\r\n");
+			partHeaders[i] = partHeader.toString().getBytes(StandardCharsets.ISO_8859_1);
+			contentLength += partHeaders[i].length + range.getLength();
+		}
+
+		response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+		response.setContentType("multipart/byteranges; boundary=" + boundary);
+		response.setHeader("Content-Length", String.valueOf(contentLength));
+
+		if (!headersOnly) {
+			OutputStream out = response.getOutputStream();
+
+			for (int i = 0; i < partHeaders.length; i++) {
+				out.write(partHeaders[i]);
+				source.write(out, ranges.get(i).getStart(), ranges.get(i).getLength());
+			}
+
+			out.write(end);
+			out.flush();
+		}
+	}
+
 	/**
 	 * @param req the request being processed
 	 * @return true if requesting a theme resource
@@ -281,7 +495,11 @@ public final class ServletUtil {
 	/**
 	 * Serves up a file from the theme. In practice, it is generally a bad idea to use this servlet to serve up static
 	 * resources. Instead, it would make more sense to move CSS, JS, HTML resources to a CDN or similar.
-	 *
+	 * <p>
+	 * Theme resources are held in a bounded in-memory cache, along with a strong entity tag and (for compressible
+	 * content) a gzip compressed copy, which is served to clients that accept gzip encoding. Conditional requests are
+	 * evaluated using If-None-Match, or If-Modified-Since if no entity tags were sent.
+	 * </p>
 	 *
 	 * @param req the request with the file name in parameter "f", or following the servlet path.
 	 * @param resp the response to write to.
@@ -292,12 +510,6 @@ public final class ServletUtil {
 			final HttpServletResponse resp)
 			throws ServletException, IOException {
 
-		if (req.getHeader("If-Modified-Since") != null) {
-			resp.reset();
-			resp.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
-			return;
-		}
-
 		String fileName = req.getParameter("f");
 
 		String path = req.getPathInfo();
@@ -312,57 +524,297 @@ public final class ServletUtil {
 			return;
 		}
 
-		InputStream resourceStream = null;
+		ThemeResourceCache.ThemeResource resource = THEME_RESOURCE_CACHE.get(fileName);
 
-		try {
-			URL url = null;
+		if (resource == null) {
+			URL url = getThemeResourceUrl(fileName);
 
-			// Check for project translation file
-			if (fileName.startsWith(THEME_TRANSLATION_RESOURCE_PREFIX)) {
-				String resourceFileName = fileName.substring(THEME_TRANSLATION_RESOURCE_PREFIX.length());
-				url = ServletUtil.class.getResource(THEME_PROJECT_TRANSLATION_RESOURCE_PATH + resourceFileName);
+			if (url == null) {
+				resp.setStatus(HttpServletResponse.SC_NOT_FOUND);
+				return;
 			}
 
-			// Load from the theme path
-			if (url == null) {
-				String resourceName = ThemeUtil.getThemeBase() + fileName;
-				url = ServletUtil.class.getResource(resourceName);
+			URLConnection connection = url.openConnection();
+
+			if (!THEME_RESOURCE_CACHE.isCacheable(connection.getContentLengthLong())) {
+				streamThemeResource(req, resp, fileName, connection);
+				return;
 			}
 
-			if (url == null) {
-				resp.setStatus(HttpServletResponse.SC_NOT_FOUND);
-			} else {
-				URLConnection connection = url.openConnection();
-				resourceStream = connection.getInputStream();
-				int size = resourceStream.available();
-				if (size > 0) {
-					resp.setContentLength(size);
+			resource = loadThemeResource(fileName, connection);
+		}
+
+		/*
+		I have commented out the setting of the Content-Disposition on static theme resources because, well why is it there?
+		If this needs to be reinstated please provide a thorough justification comment here so the reasons are clear.
+
+		Note that setting this header breaks Polymer 1.0 when it is present on HTML imports.
+
+		String encodedName = WebUtilities.encodeForContentDispositionHeader(fileName.
+				substring(fileName
+						.lastIndexOf('/') + 1));
+		resp.setHeader("Content-Disposition", "filename=" + encodedName);  // "filename=" to comply with https://tools.ietf.org/html/rfc6266
+		 */
+		boolean gzip = resource.getGzipContent() != null && acceptsGzip(req);
+		String etag = gzip ? resource.getGzipEtag() : resource.getEtag();
+
+		resp.setContentType(WebUtilities.getContentType(fileName));
+		resp.setHeader("Cache-Control", CacheType.THEME_CACHE.getSettings());
+		resp.setHeader("Expires", "31536000");
+		resp.setHeader("ETag", etag);
+
+		if (resource.getLastModified() > 0) {
+			resp.setHeader("Last-Modified", formatHttpDate(resource.getLastModified()));
+		}
+
+		if (resource.getGzipContent() != null) {
+			resp.setHeader("Vary", "Accept-Encoding");
+		}
+
+		if (isNotModified(req, resource)) {
+			resp.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+			return;
+		}
+
+		byte[] content = gzip ? resource.getGzipContent() : resource.getContent();
+
+		if (gzip) {
+			resp.setHeader("Content-Encoding", "gzip");
+		}
+
+		resp.setContentLength(content.length);
+
+		if (!"HEAD".equals(req.getMethod())) {
+			OutputStream out = resp.getOutputStream();
+			out.write(content);
+			out.flush();
+		}
+	}
+
+	/**
+	 * Streams a theme resource which is too large to be cached. The resource is not loaded into memory, so it is served
+	 * without an entity tag or compression.
+	 *
+	 * @param req the request being processed.
+	 * @param resp the response to write to.
+	 * @param fileName the theme file name.
+	 * @param connection the connection to the resource.
+	 * @throws IOException if there is an error reading the resource or writing the response.
+	 */
+	private static void streamThemeResource(final HttpServletRequest req, final HttpServletResponse resp,
+			final String fileName, final URLConnection connection) throws IOException {
+		long lastModified = connection.getLastModified();
+		long length = connection.getContentLengthLong();
+
+		resp.setContentType(WebUtilities.getContentType(fileName));
+		resp.setHeader("Cache-Control", CacheType.THEME_CACHE.getSettings());
+		resp.setHeader("Expires", "31536000");
+
+		if (lastModified > 0) {
+			resp.setHeader("Last-Modified", formatHttpDate(lastModified));
+		}
+
+		// There is no entity tag to match, so If-None-Match can not be satisfied
+		if (req.getHeader("If-None-Match") == null && isNotModifiedSince(req, lastModified)) {
+			resp.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+			return;
+		}
+
+		if (length >= 0) {
+			resp.setHeader("Content-Length", String.valueOf(length));
+		}
+
+		if (!"HEAD".equals(req.getMethod())) {
+			InputStream stream = connection.getInputStream();
+
+			try {
+				StreamUtil.copy(stream, resp.getOutputStream());
+			} finally {
+				StreamUtil.safeClose(stream);
+			}
+		}
+	}
+
+	/**
+	 * Loads the theme resources listed in the {@link ConfigurationProperties#THEME_RESOURCE_CACHE_PRELOAD} parameter
+	 * into the theme resource cache, so that the first requests for them do not need to load them.
+	 */
+	public static void preloadThemeResources() {
+		for (String fileName : ConfigurationProperties.getThemeResourceCachePreload()) {
+			try {
+				if (!checkThemeFile(fileName) || getThemeResource(fileName) == null) {
+					LOG.warn("Theme resource [" + fileName + "] not found, or too large to cache, for preloading.");
 				}
+			} catch (IOException e) {
+				LOG.warn("Could not preload theme resource [" + fileName + "]. ", e);
+			}
+		}
+	}
+
+	/**
+	 * Retrieves a theme resource, loading it into the cache if necessary.
+	 *
+	 * @param fileName the theme file name.
+	 * @return the theme resource, or null if it does not exist or is too large to be cached.
+	 * @throws IOException if there is an error reading the resource.
+	 */
+	private static ThemeResourceCache.ThemeResource getThemeResource(final String fileName) throws IOException {
+		ThemeResourceCache.ThemeResource resource = THEME_RESOURCE_CACHE.get(fileName);
 
-				/*
-				I have commented out the setting of the Content-Disposition on static theme resources because, well why is it there?
-				If this needs to be reinstated please provide a thorough justification comment here so the reasons are clear.
-
-				Note that setting this header breaks Polymer 1.0 when it is present on HTML imports.
-
-				String encodedName = WebUtilities.encodeForContentDispositionHeader(fileName.
-						substring(fileName
-								.lastIndexOf('/') + 1));
-				resp.setHeader("Content-Disposition", "filename=" + encodedName);  // "filename=" to comply with https://tools.ietf.org/html/rfc6266
-				 */
-				resp.setContentType(WebUtilities.getContentType(fileName));
-				resp.setHeader("Cache-Control", CacheType.THEME_CACHE.getSettings());
-
-				resp.setHeader("Expires", "31536000");
-				resp.setHeader("ETag", "\"" + WebUtilities.getProjectVersion() + "\"");
-				// resp.setHeader("Last-Modified", "Mon, 02 Jan 2015 01:00:00 GMT");
-				long modified = connection.getLastModified();
-				resp.setDateHeader("Last-Modified", modified);
-				StreamUtil.copy(resourceStream, resp.getOutputStream());
+		if (resource != null) {
+			return resource;
+		}
+
+		URL url = getThemeResourceUrl(fileName);
+
+		if (url == null) {
+			return null;
+		}
+
+		URLConnection connection = url.openConnection();
+
+		if (!THEME_RESOURCE_CACHE.isCacheable(connection.getContentLengthLong())) {
+			return null;
+		}
+
+		return loadThemeResource(fileName, connection);
+	}
+
+	/**
+	 * Loads a theme resource into the cache.
+	 *
+	 * @param fileName the theme file name.
+	 * @param connection the connection to the resource.
+	 * @return the theme resource.
+	 * @throws IOException if there is an error reading the resource.
+	 */
+	private static ThemeResourceCache.ThemeResource loadThemeResource(final String fileName,
+			final URLConnection connection) throws IOException {
+		ThemeResourceCache.ThemeResource resource = ThemeResourceCache.ThemeResource.load(connection, fileName);
+		THEME_RESOURCE_CACHE.put(fileName, resource);
+		return resource;
+	}
+
+	/**
+	 * Determines the location of a theme resource.
+	 *
+	 * @param fileName the theme file name.
+	 * @return the location of the resource, or null if it does not exist.
+	 */
+	private static URL getThemeResourceUrl(final String fileName) {
+		URL url = null;
+
+		// Check for project translation file
+		if (fileName.startsWith(THEME_TRANSLATION_RESOURCE_PREFIX)) {
+			String resourceFileName = fileName.substring(THEME_TRANSLATION_RESOURCE_PREFIX.length());
+			url = ServletUtil.class.getResource(THEME_PROJECT_TRANSLATION_RESOURCE_PATH + resourceFileName);
+		}
+
+		// Load from the theme path
+		if (url == null) {
+			String resourceName = ThemeUtil.getThemeBase() + fileName;
+			url = ServletUtil.class.getResource(resourceName);
+		}
+
+		return url;
+	}
+
+	/**
+	 * Evaluates the conditional headers of a theme resource request. If-Modified-Since is only used when the request
+	 * does not contain an If-None-Match header.
+	 *
+	 * @param req the request being processed.
+	 * @param resource the requested resource.
+	 * @return true if the client's copy of the resource is current.
+	 */
+	private static boolean isNotModified(final HttpServletRequest req, final ThemeResourceCache.ThemeResource resource) {
+		String ifNoneMatch = req.getHeader("If-None-Match");
+
+		if (ifNoneMatch != null) {
+			for (String tag : ifNoneMatch.split(",")) {
+				String trimmed = tag.trim();
+
+				// Weak comparison is used for If-None-Match
+				if (trimmed.startsWith("W/")) {
+					trimmed = trimmed.substring(2);
+				}
+
+				if ("*".equals(trimmed) || resource.getEtag().equals(trimmed) || resource.getGzipEtag().equals(trimmed)) {
+					return true;
+				}
 			}
-		} finally {
-			StreamUtil.safeClose(resourceStream);
+
+			return false;
+		}
+
+		return isNotModifiedSince(req, resource.getLastModified());
+	}
+
+	/**
+	 * Evaluates the If-Modified-Since header of a theme resource request.
+	 *
+	 * @param req the request being processed.
+	 * @param lastModified the time the resource was last modified, in milliseconds, or 0 if unknown.
+	 * @return true if the resource has not been modified since the time in the header.
+	 */
+	private static boolean isNotModifiedSince(final HttpServletRequest req, final long lastModified) {
+		String ifModifiedSince = req.getHeader("If-Modified-Since");
+
+		if (ifModifiedSince == null || lastModified <= 0) {
+			return false;
+		}
+
+		try {
+			long since = ZonedDateTime.parse(ifModifiedSince, HTTP_DATE_FORMAT).toEpochSecond();
+			return lastModified / 1000 <= since;
+		} catch (DateTimeParseException e) {
+			LOG.debug("Invalid If-Modified-Since header: " + ifModifiedSince);
+			return false;
+		}
+	}
+
+	/**
+	 * Indicates whether the client accepts gzip content encoding.
+	 *
+	 * @param req the request being processed.
+	 * @return true if the client accepts gzip encoding.
+	 */
+	private static boolean acceptsGzip(final HttpServletRequest req) {
+		String acceptEncoding = req.getHeader("Accept-Encoding");
+
+		if (acceptEncoding == null) {
+			return false;
 		}
+
+		for (String encoding : acceptEncoding.split(",")) {
+			String[] parts = encoding.split(";");
+			String coding = parts[0].trim();
+
+			if ("gzip".equalsIgnoreCase(coding) || "x-gzip".equalsIgnoreCase(coding)) {
+				// Check for an explicit rejection, i.e. a quality of zero
+				for (int i = 1; i < parts.length; i++) {
+					String param = parts[i].trim();
+
+					if (param.startsWith("q=") && param.substring(2).matches("0(\\.0*)?")) {
+						return false;
+					}
+				}
+
+				return true;
+			}
+		}
+
+		return false;
+	}
+
+	/**
+	 * Formats a date for use in an HTTP header.
+	 *
+	 * @param time the time in milliseconds.
+	 * @return the formatted date.
+	 */
+	private static String formatHttpDate(final long time) {
+		return HTTP_DATE_FORMAT.format(Instant.ofEpochMilli(time));
 	}
 
 	/**
@@ -748,4 +1200,198 @@ public final class ServletUtil {
 		}
 		return DeviceType.NORMAL;
 	}
+
+	/**
+	 * Provides access to the content being written by {@link #writeContent}, using the most efficient means
+	 * available for the type of content.
+	 */
+	private static final class ContentSource implements Closeable {
+
+		/**
+		 * The content, for byte array content.
+		 */
+		private byte[] bytes;
+
+		/**
+		 * The file channel, for file backed content.
+		 */
+		private FileChannel channel;
+
+		/**
+		 * The position of the content in the file channel.
+		 */
+		private long channelOffset;
+
+		/**
+		 * The stream, for other streamed content.
+		 */
+		private InputStream stream;
+
+		/**
+		 * The number of bytes which have been read from the stream.
+		 */
+		private long streamPosition;
+
+		/**
+		 * The length of the content, or -1 if unknown.
+		 */
+		private long length = -1;
+
+		/**
+		 * The last modified date of the content, formatted for an HTTP header, or null if unknown.
+		 */
+		private String lastModified;
+
+		/**
+		 * Opens the content.
+		 *
+		 * @param content the content to open.
+		 * @return the source for the content.
+		 * @throws IOException if the content could not be opened.
+		 */
+		private static ContentSource open(final ContentAccess content) throws IOException {
+			ContentSource source = new ContentSource();
+
+			if (isResourceStream(content) && ((InternalResource) content).getResourceUrl() != null) {
+				source.openResource(((InternalResource) content).getResourceUrl());
+			} else if (content instanceof ContentStreamAccess) {
+				source.openStream(((ContentStreamAccess) content).getStream(), content);
+			} else {
+				source.bytes = content.getBytes();
+
+				if (source.bytes == null) {
+					throw new SystemException("ContentAccess returned null data, access=" + content);
+				}
+
+				source.length = source.bytes.length;
+			}
+
+			return source;
+		}
+
+		/**
+		 * Indicates whether content is an {@link InternalResource} which streams its class path resource. Subclasses
+		 * which override {@link InternalResource#getStream()} provide different content, so must be read from their
+		 * stream.
+		 *
+		 * @param content the content being opened.
+		 * @return true if the content can be read from the resource's location.
+		 */
+		private static boolean isResourceStream(final ContentAccess content) {
+			if (!(content instanceof InternalResource)) {
+				return false;
+			}
+
+			try {
+				return content.getClass().getMethod("getStream").getDeclaringClass() == InternalResource.class;
+			} catch (NoSuchMethodException e) {
+				return false;
+			}
+		}
+
+		/**
+		 * Opens a class path resource, directly from the file system if possible.
+		 *
+		 * @param url the location of the resource.
+		 * @throws IOException if the resource could not be opened.
+		 */
+		private void openResource(final URL url) throws IOException {
+			if ("file".equals(url.getProtocol())) {
+				try {
+					Path path = Paths.get(url.toURI());
+					channel = FileChannel.open(path, StandardOpenOption.READ);
+					length = channel.size();
+					lastModified = formatHttpDate(Files.getLastModifiedTime(path).toMillis());
+					return;
+				} catch (URISyntaxException | IllegalArgumentException e) {
+					LOG.debug("Unable to open resource " + url + " as a file", e);
+				}
+			}
+
+			URLConnection connection = url.openConnection();
+			stream = connection.getInputStream();
+			length = connection.getContentLengthLong();
+		}
+
+		/**
+		 * Opens streamed content, using the stream's file channel if it is backed by a file.
+		 *
+		 * @param in the content stream.
+		 * @param content the content being opened.
+		 * @throws IOException if there is an error accessing the stream.
+		 */
+		private void openStream(final InputStream in, final ContentAccess content) throws IOException {
+			if (in == null) {
+				throw new SystemException("ContentAccess returned null stream, access=" + content);
+			}
+
+			if (in instanceof FileInputStream) {
+				channel = ((FileInputStream) in).getChannel();
+				channelOffset = channel.position();
+				length = channel.size() - channelOffset;
+			}
+
+			stream = in;
+		}
+
+		/**
+		 * @return the length of the content, or -1 if unknown.
+		 */
+		private long getLength() {
+			return length;
+		}
+
+		/**
+		 * @return the last modified date of the content, formatted for an HTTP header, or null if unknown.
+		 */
+		private String getLastModified() {
+			return lastModified;
+		}
+
+		/**
+		 * @return true if the content can be read in any order, false if it can only be read forwards.
+		 */
+		private boolean isRandomAccess() {
+			return bytes != null || channel != null;
+		}
+
+		/**
+		 * Writes part of the content.
+		 *
+		 * @param out the stream to write to.
+		 * @param start the position of the first byte to write.
+		 * @param count the number of bytes to write.
+		 * @throws IOException if there is an error reading or writing the content.
+		 */
+		private void write(final OutputStream out, final long start, final long count) throws IOException {
+			if (bytes != null) {
+				out.write(bytes, (int) start, (int) count);
+				out.flush();
+			} else if (channel != null) {
+				StreamUtil.copy(channel, channelOffset + start, count, out);
+			} else {
+				StreamUtil.copy(stream, out, start - streamPosition, count);
+				streamPosition = start + count;
+			}
+		}
+
+		/**
+		 * Writes all of the content, when the length is not known.
+		 *
+		 * @param out the stream to write to.
+		 * @throws IOException if there is an error reading or writing the content.
+		 */
+		private void writeAll(final OutputStream out) throws IOException {
+			StreamUtil.copy(stream, out);
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public void close() {
+			StreamUtil.safeClose(stream);
+			StreamUtil.safeClose(channel);
+		}
+	}
 }
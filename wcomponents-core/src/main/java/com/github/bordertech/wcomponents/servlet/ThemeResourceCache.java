@@ -0,0 +1,287 @@
+package com.github.bordertech.wcomponents.servlet;
+
+import com.github.bordertech.wcomponents.WebUtilities;
+import com.github.bordertech.wcomponents.util.StreamUtil;
+import com.github.bordertech.wcomponents.util.SystemException;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URLConnection;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * <p>
+ * A bounded, least recently used cache of theme resources, see {@link ServletUtil#handleThemeResourceRequest}. Each
+ * cached resource holds the resource content, a strong entity tag derived from a hash of the content and, for
+ * compressible content types, a gzip compressed copy of the content.
+ * </p>
+ * <p>
+ * The cache is limited by the total number of bytes held (including the compressed copies), and resources larger than
+ * a quarter of the limit are never cached. A limit of zero disables the cache. Resources which can not be cached are
+ * streamed to the client, without being loaded into memory, see {@link #isCacheable(long)}.
+ * </p>
+ *
+ * @since 1.5.30
+ */
+final class ThemeResourceCache {
+
+	/**
+	 * Content is not compressed unless it is at least this size, as the saving would not be worth it.
+	 */
+	private static final int MIN_COMPRESS_SIZE = 256;
+
+	/**
+	 * The maximum number of bytes held in the cache.
+	 */
+	private final long maxSize;
+
+	/**
+	 * The number of bytes currently held in the cache.
+	 */
+	private long size;
+
+	/**
+	 * The cached resources, keyed by file name, in access order.
+	 */
+	private final Map<String, ThemeResource> resources = new LinkedHashMap<>(64, 0.75f, true);
+
+	/**
+	 * Creates a ThemeResourceCache.
+	 *
+	 * @param maxSize the maximum number of bytes to hold in the cache.
+	 */
+	ThemeResourceCache(final long maxSize) {
+		this.maxSize = maxSize;
+	}
+
+	/**
+	 * Retrieves a cached resource.
+	 *
+	 * @param fileName the theme file name.
+	 * @return the cached resource, or null if not cached.
+	 */
+	synchronized ThemeResource get(final String fileName) {
+		return resources.get(fileName);
+	}
+
+	/**
+	 * Adds a resource to the cache, evicting the least recently used resources if necessary.
+	 *
+	 * @param fileName the theme file name.
+	 * @param resource the resource to cache.
+	 */
+	synchronized void put(final String fileName, final ThemeResource resource) {
+		long resourceSize = resource.getSize();
+
+		if (!isCacheable(resourceSize)) {
+			return;
+		}
+
+		ThemeResource previous = resources.put(fileName, resource);
+
+		if (previous != null) {
+			size -= previous.getSize();
+		}
+
+		size += resourceSize;
+
+		for (Iterator<ThemeResource> iter = resources.values().iterator(); size > maxSize && iter.hasNext();) {
+			size -= iter.next().getSize();
+			iter.remove();
+		}
+	}
+
+	/**
+	 * Indicates whether a resource of the given size can be cached. Resources which can not be cached should be
+	 * streamed, rather than being loaded into memory.
+	 *
+	 * @param resourceSize the size of the resource in bytes, or -1 if unknown.
+	 * @return true if a resource of the given size can be cached.
+	 */
+	boolean isCacheable(final long resourceSize) {
+		return maxSize > 0 && resourceSize >= 0 && resourceSize <= maxSize / 4;
+	}
+
+	/**
+	 * @return the number of bytes currently held in the cache.
+	 */
+	synchronized long getSize() {
+		return size;
+	}
+
+	/**
+	 * Removes all resources from the cache.
+	 */
+	synchronized void clear() {
+		resources.clear();
+		size = 0;
+	}
+
+	/**
+	 * A theme resource which has been loaded into memory.
+	 */
+	static final class ThemeResource {
+
+		/**
+		 * The resource content.
+		 */
+		private final byte[] content;
+
+		/**
+		 * The gzip compressed content, or null if the content is not compressed.
+		 */
+		private final byte[] gzipContent;
+
+		/**
+		 * The strong entity tag for the content, including the quotes.
+		 */
+		private final String etag;
+
+		/**
+		 * The entity tag for the compressed content, including the quotes.
+		 */
+		private final String gzipEtag;
+
+		/**
+		 * The time the resource was last modified, in milliseconds, or 0 if unknown.
+		 */
+		private final long lastModified;
+
+		/**
+		 * Creates a ThemeResource.
+		 *
+		 * @param content the resource content.
+		 * @param contentType the content type of the resource.
+		 * @param lastModified the time the resource was last modified, or 0 if unknown.
+		 */
+		ThemeResource(final byte[] content, final String contentType, final long lastModified) {
+			this.content = content;
+			this.lastModified = lastModified;
+
+			String hash = hash(content);
+			this.etag = '"' + hash + '"';
+			this.gzipEtag = '"' + hash + "-gzip\"";
+			this.gzipContent = isCompressible(contentType) && content.length >= MIN_COMPRESS_SIZE ? compress(content)
+					: null;
+		}
+
+		/**
+		 * Loads a theme resource.
+		 *
+		 * @param connection the connection to the resource.
+		 * @param fileName the theme file name.
+		 * @return the loaded resource.
+		 * @throws IOException if there is an error reading the resource.
+		 */
+		static ThemeResource load(final URLConnection connection, final String fileName) throws IOException {
+			InputStream stream = connection.getInputStream();
+
+			try {
+				byte[] content = StreamUtil.getBytes(stream);
+				return new ThemeResource(content, WebUtilities.getContentType(fileName), connection.getLastModified());
+			} finally {
+				StreamUtil.safeClose(stream);
+			}
+		}
+
+		/**
+		 * @return the resource content.
+		 */
+		byte[] getContent() {
+			return content;
+		}
+
+		/**
+		 * @return the gzip compressed content, or null if the content is not compressed.
+		 */
+		byte[] getGzipContent() {
+			return gzipContent;
+		}
+
+		/**
+		 * @return the strong entity tag for the content, including the quotes.
+		 */
+		String getEtag() {
+			return etag;
+		}
+
+		/**
+		 * @return the entity tag for the compressed content, including the quotes.
+		 */
+		String getGzipEtag() {
+			return gzipEtag;
+		}
+
+		/**
+		 * @return the time the resource was last modified, in milliseconds, or 0 if unknown.
+		 */
+		long getLastModified() {
+			return lastModified;
+		}
+
+		/**
+		 * @return the number of bytes held by this resource.
+		 */
+		long getSize() {
+			return content.length + (gzipContent == null ? 0 : gzipContent.length);
+		}
+
+		/**
+		 * Indicates whether content of the given type is worth compressing.
+		 *
+		 * @param contentType the content type.
+		 * @return true if the content should be compressed.
+		 */
+		private static boolean isCompressible(final String contentType) {
+			if (contentType == null) {
+				return false;
+			}
+
+			return contentType.startsWith("text/")
+					|| contentType.contains("javascript")
+					|| contentType.contains("json")
+					|| contentType.contains("xml");
+		}
+
+		/**
+		 * Compresses content using gzip.
+		 *
+		 * @param content the content to compress.
+		 * @return the compressed content, or null if compression would not reduce the size.
+		 */
+		private static byte[] compress(final byte[] content) {
+			try {
+				ByteArrayOutputStream buffer = new ByteArrayOutputStream(content.length / 3);
+
+				try (GZIPOutputStream gzip = new GZIPOutputStream(buffer)) {
+					gzip.write(content);
+				}
+
+				return buffer.size() < content.length ? buffer.toByteArray() : null;
+			} catch (IOException e) {
+				throw new SystemException("Failed to compress theme resource", e);
+			}
+		}
+
+		/**
+		 * Calculates a hash of the content, for use in an entity tag.
+		 *
+		 * @param content the content to hash.
+		 * @return the hash of the content.
+		 */
+		private static String hash(final byte[] content) {
+			try {
+				byte[] digest = MessageDigest.getInstance("SHA-256").digest(content);
+				return Base64.getUrlEncoder().withoutPadding().encodeToString(digest);
+			} catch (NoSuchAlgorithmException e) {
+				throw new SystemException("SHA-256 not available", e);
+			}
+		}
+	}
+}
@@ -25,6 +25,14 @@ import javax.servlet.http.HttpServletResponse;
 @Deprecated
 public class ThemeServlet extends HttpServlet {
 
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void init() throws ServletException {
+		ServletUtil.preloadThemeResources();
+	}
+
 	/**
 	 * {@inheritDoc}
 	 */
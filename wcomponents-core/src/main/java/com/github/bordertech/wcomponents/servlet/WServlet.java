@@ -6,6 +6,7 @@ import com.github.bordertech.wcomponents.UserAgentInfo;
 import com.github.bordertech.wcomponents.WComponent;
 import com.github.bordertech.wcomponents.WLabel;
 import com.github.bordertech.wcomponents.container.InterceptorComponent;
+import com.github.bordertech.wcomponents.registry.UIRegistry;
 import com.github.bordertech.wcomponents.servlet.HttpServletHelper.HttpServletEnvironment;
 import java.io.IOException;
 import javax.servlet.ServletException;
@@ -77,6 +78,8 @@ public class WServlet extends HttpServlet {
 	public void init() throws ServletException {
 		// To enable server-side generation of images
 		System.setProperty("java.awt.headless", "true");
+		ServletUtil.preloadThemeResources();
+		UIRegistry.warmUp();
 	}
 
 	/**
@@ -0,0 +1,288 @@
+package com.github.bordertech.wcomponents.subordinate;
+
+import com.github.bordertech.wcomponents.Input;
+import com.github.bordertech.wcomponents.Request;
+import com.github.bordertech.wcomponents.SubordinateTarget;
+import com.github.bordertech.wcomponents.SubordinateTrigger;
+import com.github.bordertech.wcomponents.WComponent;
+import com.github.bordertech.wcomponents.WComponentGroup;
+import com.github.bordertech.wcomponents.util.Util;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * <p>
+ * The dependencies between the triggers and the rules of a {@link WSubordinateControl}, which are used to only apply
+ * the rules affected by the values submitted in a request.
+ * </p>
+ * <p>
+ * The outcome of a rule depends on the values of its triggers and on whether its triggers are disabled. When a request
+ * is submitted, a rule is applied again if the value of one of its triggers has been changed on the client. A trigger's
+ * value is treated as changed using the same test as the input's own change detection, i.e. if its request value
+ * differs from its current value. As the actions of the rules which are applied can change the state of other
+ * triggers, a rule is also applied if one of its triggers, or an ancestor of one of its triggers, is the target (or in
+ * the target group) of an action of another rule which is applied. Otherwise, the rule would have the same outcome as
+ * when it was last applied (after the prepare paint phase of the previous request), so it is not applied again.
+ * </p>
+ * <p>
+ * The triggers of a rule are only known for conditions built from {@link AbstractCompare}s combined with {@link And},
+ * {@link Or} and {@link Not}. Rules with any other condition are always applied.
+ * </p>
+ *
+ * @since 1.5.30
+ */
+final class RuleDependencies {
+
+	/**
+	 * The rules, in the order they are applied.
+	 */
+	private final Rule[] rules;
+
+	/**
+	 * The condition of each rule at the time the dependencies were determined.
+	 */
+	private final Condition[] conditions;
+
+	/**
+	 * The distinct triggers of the rules.
+	 */
+	private final SubordinateTrigger[] triggers;
+
+	/**
+	 * The indices of the rules which depend on each trigger.
+	 */
+	private final int[][] triggerRules;
+
+	/**
+	 * The triggers of each rule, or null for rules whose triggers are not known.
+	 */
+	private final SubordinateTrigger[][] ruleTriggers;
+
+	/**
+	 * Flags the rules whose triggers are not known, which must always be applied.
+	 */
+	private final boolean[] alwaysApply;
+
+	/**
+	 * Creates the dependencies for the given rules.
+	 *
+	 * @param ruleList the rules to determine the dependencies of.
+	 */
+	RuleDependencies(final List<Rule> ruleList) {
+		rules = ruleList.toArray(new Rule[ruleList.size()]);
+		conditions = new Condition[rules.length];
+		ruleTriggers = new SubordinateTrigger[rules.length][];
+		alwaysApply = new boolean[rules.length];
+
+		Map<SubordinateTrigger, List<Integer>> dependents = new IdentityHashMap<>();
+
+		for (int i = 0; i < rules.length; i++) {
+			conditions[i] = rules[i].getCondition();
+			List<SubordinateTrigger> triggerList = new ArrayList<>();
+
+			if (!collateTriggers(conditions[i], triggerList)) {
+				alwaysApply[i] = true;
+				continue;
+			}
+
+			ruleTriggers[i] = triggerList.toArray(new SubordinateTrigger[triggerList.size()]);
+
+			for (SubordinateTrigger trigger : triggerList) {
+				List<Integer> ruleIndices = dependents.get(trigger);
+
+				if (ruleIndices == null) {
+					ruleIndices = new ArrayList<>(2);
+					dependents.put(trigger, ruleIndices);
+				}
+
+				if (ruleIndices.isEmpty() || ruleIndices.get(ruleIndices.size() - 1) != i) {
+					ruleIndices.add(i);
+				}
+			}
+		}
+
+		triggers = dependents.keySet().toArray(new SubordinateTrigger[dependents.size()]);
+		triggerRules = new int[triggers.length][];
+
+		for (int i = 0; i < triggers.length; i++) {
+			List<Integer> ruleIndices = dependents.get(triggers[i]);
+			triggerRules[i] = new int[ruleIndices.size()];
+
+			for (int j = 0; j < triggerRules[i].length; j++) {
+				triggerRules[i][j] = ruleIndices.get(j);
+			}
+		}
+	}
+
+	/**
+	 * Indicates whether these dependencies still reflect the given rules. Rules can have their condition replaced
+	 * after they have been added to a control, in which case the dependencies must be determined again.
+	 *
+	 * @param ruleList the current rules.
+	 * @return true if the dependencies are for the given rules.
+	 */
+	boolean isCurrent(final List<Rule> ruleList) {
+		if (ruleList.size() != rules.length) {
+			return false;
+		}
+
+		for (int i = 0; i < rules.length; i++) {
+			if (ruleList.get(i) != rules[i] || rules[i].getCondition() != conditions[i]) {
+				return false;
+			}
+		}
+
+		return true;
+	}
+
+	/**
+	 * Determines the rules which are affected by the values submitted in a request, either directly or through the
+	 * actions of other affected rules.
+	 *
+	 * @param request the request being processed.
+	 * @return the rules to apply, in order.
+	 */
+	List<Rule> getAffectedRules(final Request request) {
+		boolean[] affected = alwaysApply.clone();
+
+		for (int i = 0; i < triggers.length; i++) {
+			if (isChanged(triggers[i], request)) {
+				for (int ruleIndex : triggerRules[i]) {
+					affected[ruleIndex] = true;
+				}
+			}
+		}
+
+		// Add the rules whose triggers are targeted by the actions of the affected rules, until there are no more
+		List<Integer> pending = new ArrayList<>();
+
+		for (int i = 0; i < rules.length; i++) {
+			if (affected[i]) {
+				pending.add(i);
+			}
+		}
+
+		Set<WComponent> targets = Collections.newSetFromMap(new IdentityHashMap<WComponent, Boolean>());
+
+		while (!pending.isEmpty()) {
+			collateTargets(rules[pending.remove(pending.size() - 1)], targets);
+
+			for (int i = 0; i < rules.length; i++) {
+				if (!affected[i] && isTargeted(ruleTriggers[i], targets)) {
+					affected[i] = true;
+					pending.add(i);
+				}
+			}
+		}
+
+		List<Rule> affectedRules = new ArrayList<>();
+
+		for (int i = 0; i < rules.length; i++) {
+			if (affected[i]) {
+				affectedRules.add(rules[i]);
+			}
+		}
+
+		return affectedRules;
+	}
+
+	/**
+	 * Collates the triggers of a condition.
+	 *
+	 * @param condition the condition to collate the triggers of.
+	 * @param ruleTriggers the list to add the triggers to.
+	 * @return true if all the triggers of the condition are known.
+	 */
+	private static boolean collateTriggers(final Condition condition, final List<SubordinateTrigger> ruleTriggers) {
+		if (condition instanceof AbstractCompare) {
+			ruleTriggers.add(((AbstractCompare) condition).getTrigger());
+			return true;
+		}
+
+		List<Condition> nested;
+
+		if (condition != null && condition.getClass() == And.class) {
+			nested = ((And) condition).getConditions();
+		} else if (condition != null && condition.getClass() == Or.class) {
+			nested = ((Or) condition).getConditions();
+		} else if (condition != null && condition.getClass() == Not.class) {
+			return collateTriggers(((Not) condition).getCondition(), ruleTriggers);
+		} else {
+			return false;
+		}
+
+		for (Condition child : nested) {
+			if (!collateTriggers(child, ruleTriggers)) {
+				return false;
+			}
+		}
+
+		return true;
+	}
+
+	/**
+	 * Collates the components targeted by the actions of a rule. The components of a target group are resolved in the
+	 * current context.
+	 *
+	 * @param rule the rule to collate the targets of.
+	 * @param targets the set to add the targets to.
+	 */
+	private static void collateTargets(final Rule rule, final Set<WComponent> targets) {
+		List<Action> actions = new ArrayList<>(rule.getOnTrue());
+		actions.addAll(rule.getOnFalse());
+
+		for (Action action : actions) {
+			SubordinateTarget target = action.getTarget();
+
+			if (target instanceof WComponentGroup<?>) {
+				targets.addAll(((WComponentGroup<?>) target).getComponents());
+			} else if (target != null) {
+				targets.add(target);
+			}
+		}
+	}
+
+	/**
+	 * Indicates whether any of a rule's triggers may be changed by actions on the given targets. Actions on a container
+	 * apply to the components within it, so the ancestors of the triggers are also checked.
+	 *
+	 * @param triggers the rule's triggers.
+	 * @param targets the targets of the actions.
+	 * @return true if one of the triggers, or one of their ancestors, is targeted.
+	 */
+	private static boolean isTargeted(final SubordinateTrigger[] triggers, final Set<WComponent> targets) {
+		if (triggers == null || targets.isEmpty()) {
+			return false;
+		}
+
+		for (SubordinateTrigger trigger : triggers) {
+			for (WComponent component = trigger; component != null; component = component.getParent()) {
+				if (targets.contains(component)) {
+					return true;
+				}
+			}
+		}
+
+		return false;
+	}
+
+	/**
+	 * Indicates whether the value of a trigger has been changed on the client.
+	 *
+	 * @param trigger the trigger to check.
+	 * @param request the request being processed.
+	 * @return true if the trigger's request value differs from its current value.
+	 */
+	private static boolean isChanged(final SubordinateTrigger trigger, final Request request) {
+		if (!(trigger instanceof Input)) {
+			return true;
+		}
+
+		Input input = (Input) trigger;
+		return !Util.equals(input.getRequestValue(request), input.getValue());
+	}
+}
@@ -2,6 +2,7 @@ package com.github.bordertech.wcomponents.subordinate;
 
 import com.github.bordertech.wcomponents.AbstractWComponent;
 import com.github.bordertech.wcomponents.Request;
+import com.github.bordertech.wcomponents.util.ConfigurationProperties;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
@@ -52,6 +53,11 @@ public class WSubordinateControl extends AbstractWComponent {
 	 */
 	private final List<Rule> rules = new ArrayList<>();
 
+	/**
+	 * The dependencies between the triggers and the rules, lazily determined.
+	 */
+	private transient RuleDependencies dependencies;
+
 	/**
 	 * Add a Rule to the subordinate control.
 	 *
@@ -63,6 +69,7 @@ public class WSubordinateControl extends AbstractWComponent {
 		}
 
 		rules.add(rule);
+		dependencies = null;
 	}
 
 	/**
@@ -86,11 +93,18 @@ public class WSubordinateControl extends AbstractWComponent {
 
 	/**
 	 * Run the controls using values from the Request.
+	 * <p>
+	 * If {@link ConfigurationProperties#getSubordinateIncrementalApply()} is enabled, only the rules with a trigger
+	 * whose value has been changed on the client are run.
+	 * </p>
 	 *
 	 * @param request the request being responded to.
 	 */
 	public void applyTheControls(final Request request) {
-		for (Rule rule : getRules()) {
+		List<Rule> toApply = ConfigurationProperties.getSubordinateIncrementalApply()
+				? getDependencies().getAffectedRules(request) : getRules();
+
+		for (Rule rule : toApply) {
 			rule.execute(request);
 		}
 	}
@@ -102,6 +116,20 @@ public class WSubordinateControl extends AbstractWComponent {
 		return Collections.unmodifiableList(rules);
 	}
 
+	/**
+	 * @return the dependencies between the triggers and the rules.
+	 */
+	private RuleDependencies getDependencies() {
+		RuleDependencies current = dependencies;
+
+		if (current == null || !current.isCurrent(rules)) {
+			current = new RuleDependencies(rules);
+			dependencies = current;
+		}
+
+		return current;
+	}
+
 	/**
 	 * {@inheritDoc}
 	 */
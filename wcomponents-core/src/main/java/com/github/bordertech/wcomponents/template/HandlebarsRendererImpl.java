@@ -9,17 +9,26 @@ import com.github.bordertech.wcomponents.util.SystemException;
 import com.github.jknack.handlebars.Context;
 import com.github.jknack.handlebars.EscapingStrategy;
 import com.github.jknack.handlebars.Handlebars;
+import com.github.jknack.handlebars.Helper;
+import com.github.jknack.handlebars.Options;
 import com.github.jknack.handlebars.Template;
 import com.github.jknack.handlebars.cache.TemplateCache;
 import com.github.jknack.handlebars.context.JavaBeanValueResolver;
 import com.github.jknack.handlebars.context.MapValueResolver;
-import com.github.jknack.handlebars.helper.I18nHelper;
 import com.github.jknack.handlebars.io.ClassPathTemplateLoader;
 import com.github.jknack.handlebars.io.TemplateLoader;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.Writer;
+import java.text.MessageFormat;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.ResourceBundle;
+import java.util.concurrent.ConcurrentHashMap;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 
@@ -33,6 +42,10 @@ import org.apache.commons.logging.LogFactory;
  * <li>{@link #MARKDOWN} - Include with value "true" to activate</li>
  * <li>{@link #ESCAPING_STRATEGY} - Include with {@link EscapingStrategy} as the value</li>
  * </ul>
+ * <p>
+ * Handlebars engines are thread-safe once configured, so an engine is created once for each combination of options
+ * and then shared between renders. Compiled inline templates are also cached for each engine.
+ * </p>
  *
  * @author Jonathan Austin
  * @since 1.0.3
@@ -74,6 +87,33 @@ public class HandlebarsRendererImpl implements TemplateRenderer {
 	 */
 	private static final TemplateCache CACHE = new HandlebarsCacheImpl();
 
+	/**
+	 * The maximum number of engines which will be cached. Engines are keyed by their options, so this is only reached if
+	 * an application uses a lot of different escaping strategy instances.
+	 */
+	private static final int MAX_ENGINES = 32;
+
+	/**
+	 * The maximum number of compiled inline templates which will be cached.
+	 */
+	private static final int MAX_INLINE_TEMPLATES = 256;
+
+	/**
+	 * The configured engines, keyed by their options.
+	 */
+	private static final Map<List<Object>, Handlebars> ENGINES = new ConcurrentHashMap<>();
+
+	/**
+	 * The compiled inline templates, keyed by engine and template content, in access order.
+	 */
+	private static final Map<List<Object>, Template> INLINE_TEMPLATES = Collections.synchronizedMap(
+			new LinkedHashMap<List<Object>, Template>(64, 0.75f, true) {
+		@Override
+		protected boolean removeEldestEntry(final Map.Entry<List<Object>, Template> eldest) {
+			return size() > MAX_INLINE_TEMPLATES;
+		}
+	});
+
 	/**
 	 * {@inheritDoc}
 	 */
@@ -123,8 +163,13 @@ public class HandlebarsRendererImpl implements TemplateRenderer {
 			// Get Engine
 			Handlebars handlebars = getHandlebarsEngine(options);
 
-			// Compile inline
-			Template template = handlebars.compileInline(templateInline);
+			// Compile inline (or use the previously compiled template)
+			List<Object> key = Arrays.<Object>asList(handlebars, templateInline);
+			Template template = INLINE_TEMPLATES.get(key);
+			if (template == null) {
+				template = handlebars.compileInline(templateInline);
+				INLINE_TEMPLATES.put(key, template);
+			}
 
 			// Setup handlebars context
 			Context handlebarsContext = createContext(context);
@@ -138,37 +183,74 @@ public class HandlebarsRendererImpl implements TemplateRenderer {
 	}
 
 	/**
+	 * Retrieves the engine for the given options. Engines are shared between renders, so the returned engine must not
+	 * be modified.
 	 *
 	 * @param options the engine options
 	 * @return the handlebars engine
 	 */
 	protected Handlebars getHandlebarsEngine(final Map<String, Object> options) {
-		// Setup handlebars
+		// Pretty Print
+		Object value = options.get(PRETTY_PRINT);
+		Boolean prettyPrint = value == null ? null : "true".equalsIgnoreCase(value.toString());
+
+		// Escaping Strategy
+		value = options.get(ESCAPING_STRATEGY);
+		EscapingStrategy escaping = value instanceof EscapingStrategy ? (EscapingStrategy) value : null;
+
+		// Theme i18n
+		value = options.get(THEME_I18N);
+		boolean i18n = value == null || "true".equalsIgnoreCase(value.toString());
+
+		// Caching
+		value = options.get(USE_CACHE);
+		boolean cache = (isCaching() && value == null) || (value != null && "true".equalsIgnoreCase(value.toString()));
+
+		List<Object> key = Arrays.<Object>asList(prettyPrint, escaping, i18n, cache);
+		Handlebars handlebars = ENGINES.get(key);
+
+		if (handlebars == null) {
+			handlebars = createHandlebarsEngine(prettyPrint, escaping, i18n, cache);
+
+			if (ENGINES.size() < MAX_ENGINES) {
+				Handlebars existing = ENGINES.putIfAbsent(key, handlebars);
+				if (existing != null) {
+					handlebars = existing;
+				}
+			}
+		}
+
+		return handlebars;
+	}
+
+	/**
+	 * Creates and configures a new engine.
+	 *
+	 * @param prettyPrint the pretty print option, or null to use the handlebars default
+	 * @param escaping the escaping strategy, or null to use the handlebars default
+	 * @param i18n true to perform theme i18n
+	 * @param cache true to cache templates
+	 * @return the handlebars engine
+	 */
+	protected Handlebars createHandlebarsEngine(final Boolean prettyPrint, final EscapingStrategy escaping,
+			final boolean i18n, final boolean cache) {
 		TemplateLoader loader = new ClassPathTemplateLoader();
 		// Clear the suffix so the file name does not default the file type to ".hbs"
 		loader.setSuffix("");
 
 		Handlebars handlebars = new Handlebars(loader);
 
-		// Pretty Print
-		Object value = options.get(PRETTY_PRINT);
-		if (value != null) {
-			handlebars.setPrettyPrint("true".equalsIgnoreCase(value.toString()));
+		if (prettyPrint != null) {
+			handlebars.setPrettyPrint(prettyPrint);
 		}
 
-		// Escaping Strategy
-		value = options.get(ESCAPING_STRATEGY);
-		if (value instanceof EscapingStrategy) {
-			handlebars.with((EscapingStrategy) value);
+		if (escaping != null) {
+			handlebars.with(escaping);
 		}
 
-		value = options.get(THEME_I18N);
-		if (value == null || "true".equalsIgnoreCase(value.toString())) {
-			String resourceBundleBasename = ConfigurationProperties.getI18nThemeResourceBundleBaseName();
+		if (i18n) {
 			// Theme i18n helper uses "t" not "i18n".
-			handlebars.registerHelper("t", I18nHelper.i18n);
-			I18nHelper.i18n.setDefaultLocale(I18nUtilities.getEffectiveLocale());
-			I18nHelper.i18n.setDefaultBundle(resourceBundleBasename);
+			handlebars.registerHelper("t", ThemeI18nHelper.INSTANCE);
 		}
 
 		// Use markdown
@@ -177,9 +259,6 @@ public class HandlebarsRendererImpl implements TemplateRenderer {
 		if (value != null && "true".equalsIgnoreCase(value.toString())) {
 			handlebars.registerHelper("md", new MarkdownHelper());
 		}*/
-		// Caching
-		value = options.get(USE_CACHE);
-		boolean cache = (isCaching() && value == null) || (value != null && "true".equalsIgnoreCase(value.toString()));
 		if (cache) {
 			handlebars.with(CACHE);
 		}
@@ -222,4 +301,52 @@ public class HandlebarsRendererImpl implements TemplateRenderer {
 		return ConfigurationProperties.getHandlebarsCache();
 	}
 
+	/**
+	 * Translates theme i18n keys using the theme resource bundle. Unlike the handlebars i18n helper, the locale is
+	 * resolved for each render (from the "locale" hash parameter or the current user's effective locale) rather than
+	 * being held in global state, so that concurrent renders in different locales do not interfere with each other.
+	 */
+	private static final class ThemeI18nHelper implements Helper<String> {
+
+		/**
+		 * The singleton instance.
+		 */
+		private static final ThemeI18nHelper INSTANCE = new ThemeI18nHelper();
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public Object apply(final String key, final Options options) throws IOException {
+			if (key == null || key.isEmpty()) {
+				throw new IllegalArgumentException("found: '" + key + "', expected 'bundle's key'");
+			}
+
+			Locale locale = getLocale(options.hash("locale"));
+			String baseName = options.hash("bundle", ConfigurationProperties.getI18nThemeResourceBundleBaseName());
+			ResourceBundle bundle = ResourceBundle.getBundle(baseName, locale);
+
+			if (!bundle.containsKey(key)) {
+				throw new IllegalArgumentException("no message found: '" + key + "' for locale '" + locale + "'.");
+			}
+
+			// Messages without parameters are not MessageFormat patterns, e.g. they may contain literal quotes or braces
+			String message = bundle.getString(key);
+			return options.params.length == 0 ? message : new MessageFormat(message, locale).format(options.params);
+		}
+
+		/**
+		 * @param value the locale hash parameter, may be null
+		 * @return the locale to translate to
+		 */
+		private static Locale getLocale(final Object value) {
+			if (value instanceof Locale) {
+				return (Locale) value;
+			} else if (value != null) {
+				return Locale.forLanguageTag(value.toString().replace('_', '-'));
+			}
+
+			return I18nUtilities.getEffectiveLocale();
+		}
+	}
 }
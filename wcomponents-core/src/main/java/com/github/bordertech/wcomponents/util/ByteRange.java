@@ -0,0 +1,249 @@
+package com.github.bordertech.wcomponents.util;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * <p>
+ * A range of bytes requested using an HTTP <code>Range</code> header, as per RFC 7233. Ranges are always resolved
+ * against the length of the content being served, so suffix ranges (e.g. "bytes=-500") and open ranges (e.g.
+ * "bytes=500-") are converted to absolute positions.
+ * </p>
+ *
+ * @since 1.5.30
+ */
+public final class ByteRange {
+
+	/**
+	 * The only range unit supported.
+	 */
+	private static final String BYTES_UNIT = "bytes=";
+
+	/**
+	 * The maximum number of ranges that will be served in a single response. Requests for more ranges than this are
+	 * served the whole content, to limit the cost of abusive requests.
+	 */
+	private static final int MAX_RANGES = 16;
+
+	/**
+	 * The position of the first byte in the range.
+	 */
+	private final long start;
+
+	/**
+	 * The position of the last byte in the range, inclusive.
+	 */
+	private final long end;
+
+	/**
+	 * Creates a ByteRange.
+	 *
+	 * @param start the position of the first byte in the range.
+	 * @param end the position of the last byte in the range, inclusive.
+	 */
+	public ByteRange(final long start, final long end) {
+		if (start < 0 || end < start) {
+			throw new IllegalArgumentException("Invalid byte range " + start + "-" + end);
+		}
+
+		this.start = start;
+		this.end = end;
+	}
+
+	/**
+	 * Parses the value of a <code>Range</code> header.
+	 *
+	 * @param header the value of the range header, may be null.
+	 * @param length the length of the content being served.
+	 * @return the satisfiable ranges, in the order requested unless overlapping or adjacent ranges have been coalesced;
+	 * an empty list if none of the ranges can be satisfied; or null if the header is missing or invalid, in which case
+	 * the whole content should be served.
+	 */
+	public static List<ByteRange> parse(final String header, final long length) {
+		if (header == null || !header.startsWith(BYTES_UNIT) || length < 0) {
+			return null;
+		}
+
+		String[] specs = header.substring(BYTES_UNIT.length()).split(",");
+
+		if (specs.length > MAX_RANGES) {
+			return null;
+		}
+
+		List<ByteRange> ranges = new ArrayList<>(specs.length);
+
+		for (String spec : specs) {
+			String trimmed = spec.trim();
+			int dash = trimmed.indexOf('-');
+
+			if (dash == -1) {
+				return null;
+			}
+
+			long first;
+			long last;
+
+			try {
+				if (dash == 0) {
+					// Suffix range, i.e. the last n bytes
+					long suffix = Long.parseLong(trimmed.substring(1));
+					if (suffix < 0) {
+						return null;
+					} else if (suffix == 0) {
+						// An empty suffix can not be satisfied
+						continue;
+					}
+					first = Math.max(0, length - suffix);
+					last = length - 1;
+				} else {
+					first = Long.parseLong(trimmed.substring(0, dash));
+					// An open range extends to the end of the content
+					last = dash == trimmed.length() - 1 ? Long.MAX_VALUE : Long.parseLong(trimmed.substring(dash + 1));
+
+					if (first < 0 || last < first) {
+						return null;
+					}
+				}
+			} catch (NumberFormatException e) {
+				return null;
+			}
+
+			// Ranges which start past the end of the content can not be satisfied
+			if (first < length) {
+				ranges.add(new ByteRange(first, Math.min(last, length - 1)));
+			}
+		}
+
+		return ranges.isEmpty() ? Collections.<ByteRange>emptyList() : coalesce(ranges);
+	}
+
+	/**
+	 * Coalesces ranges which overlap or are adjacent, as permitted by RFC 7233, so that the same bytes are not served
+	 * more than once. The ranges are only put in ascending order if some of them are coalesced.
+	 *
+	 * @param ranges the ranges to coalesce.
+	 * @return the coalesced ranges.
+	 */
+	private static List<ByteRange> coalesce(final List<ByteRange> ranges) {
+		if (!isOverlapping(ranges)) {
+			return ranges;
+		}
+
+		List<ByteRange> sorted = new ArrayList<>(ranges);
+		Collections.sort(sorted, (range1, range2) -> Long.compare(range1.start, range2.start));
+
+		List<ByteRange> coalesced = new ArrayList<>(sorted.size());
+		ByteRange current = sorted.get(0);
+
+		for (int i = 1; i < sorted.size(); i++) {
+			ByteRange next = sorted.get(i);
+
+			if (next.start <= current.end + 1) {
+				if (next.end > current.end) {
+					current = new ByteRange(current.start, next.end);
+				}
+			} else {
+				coalesced.add(current);
+				current = next;
+			}
+		}
+
+		coalesced.add(current);
+		return coalesced;
+	}
+
+	/**
+	 * Checks whether any of the ranges overlap or are adjacent.
+	 *
+	 * @param ranges the ranges to check.
+	 * @return true if any of the ranges overlap or are adjacent.
+	 */
+	private static boolean isOverlapping(final List<ByteRange> ranges) {
+		for (int i = 0; i < ranges.size(); i++) {
+			ByteRange range1 = ranges.get(i);
+
+			for (int j = i + 1; j < ranges.size(); j++) {
+				ByteRange range2 = ranges.get(j);
+
+				if (range1.start <= range2.end + 1 && range2.start <= range1.end + 1) {
+					return true;
+				}
+			}
+		}
+
+		return false;
+	}
+
+	/**
+	 * Checks whether the ranges are in ascending order and do not overlap, so that they can be read from a stream
+	 * sequentially.
+	 *
+	 * @param ranges the ranges to check.
+	 * @return true if the ranges can be served sequentially.
+	 */
+	public static boolean isSequential(final List<ByteRange> ranges) {
+		for (int i = 1; i < ranges.size(); i++) {
+			if (ranges.get(i).getStart() <= ranges.get(i - 1).getEnd()) {
+				return false;
+			}
+		}
+
+		return true;
+	}
+
+	/**
+	 * @return the position of the first byte in the range.
+	 */
+	public long getStart() {
+		return start;
+	}
+
+	/**
+	 * @return the position of the last byte in the range, inclusive.
+	 */
+	public long getEnd() {
+		return end;
+	}
+
+	/**
+	 * @return the number of bytes in the range.
+	 */
+	public long getLength() {
+		return end - start + 1;
+	}
+
+	/**
+	 * Formats the range for a <code>Content-Range</code> header.
+	 *
+	 * @param contentLength the length of the whole content.
+	 * @return the value for a Content-Range header.
+	 */
+	public String toContentRange(final long contentLength) {
+		return "bytes " + start + '-' + end + '/' + contentLength;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public boolean equals(final Object obj) {
+		return obj instanceof ByteRange && ((ByteRange) obj).start == start && ((ByteRange) obj).end == end;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public int hashCode() {
+		return (int) (start * 31 + end);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public String toString() {
+		return start + "-" + end;
+	}
+}
@@ -0,0 +1,276 @@
+package com.github.bordertech.wcomponents.util;
+
+import com.github.bordertech.wcomponents.ComponentWithContext;
+import com.github.bordertech.wcomponents.UIContext;
+import com.github.bordertech.wcomponents.UIContextHolder;
+import com.github.bordertech.wcomponents.WCardManager;
+import com.github.bordertech.wcomponents.WComponent;
+import com.github.bordertech.wcomponents.WInvisibleContainer;
+import com.github.bordertech.wcomponents.WRepeater;
+import com.github.bordertech.wcomponents.WWindow;
+import com.github.bordertech.wcomponents.util.visitor.AbstractVisitorWithResult;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * <p>
+ * A per-request index of component ids, used to avoid searching the whole component tree each time a component is
+ * looked up by id. The index is held in the request scratch map of the UI, so it is discarded at the end of each
+ * request.
+ * </p>
+ * <p>
+ * Building the index costs a full traversal of the tree, including every repeater row, so most requests (which only
+ * look up a few ids) never build it. Until then, lookups use the normal tree search and only the components found are
+ * remembered. The index is only built once several tree searches have been made in the request. As the tree can
+ * change during a request, each remembered or indexed entry is checked to make sure it is still attached to the UI
+ * (and visible if required) before it is returned. Entries which fail the check fall back to the normal tree search.
+ * </p>
+ *
+ * @since 1.5.30
+ */
+public final class ComponentIdIndex {
+
+	/**
+	 * The key used to store the index in the request scratch map.
+	 */
+	private static final String SCRATCHMAP_KEY = "wc-component-id-index";
+
+	/**
+	 * The number of tree searches in a request after which the index of the whole tree is built.
+	 */
+	private static final int INDEX_THRESHOLD = 8;
+
+	/**
+	 * The components by id. Before the index is built, this only holds the components found by tree searches.
+	 */
+	private final Map<String, ComponentWithContext> components = new HashMap<>();
+
+	/**
+	 * Indicates whether the index of the whole tree has been built.
+	 */
+	private boolean indexed;
+
+	/**
+	 * The number of tree searches made before the index was built.
+	 */
+	private int searches;
+
+	/**
+	 * Prevent instantiation from outside this class.
+	 */
+	private ComponentIdIndex() {
+	}
+
+	/**
+	 * Finds a component by its id in the given context's UI.
+	 *
+	 * @param uic the context to search.
+	 * @param id the id of the component to search for.
+	 * @param visibleOnly true if process visible only
+	 * @return the component and context for the given id, or null if not found.
+	 */
+	public static ComponentWithContext getComponentWithContextForId(final UIContext uic, final String id,
+			final boolean visibleOnly) {
+		WComponent root = uic.getUI();
+
+		if (root == null || id == null || uic instanceof WRepeater.SubUIContext) {
+			// Only index from the top-level context
+			return TreeUtil.getComponentWithContextForId(root, id, visibleOnly);
+		}
+
+		return getInstance(uic, root).find(root, id, visibleOnly);
+	}
+
+	/**
+	 * Adds a component which has already been found to the given context's index, so that it is not searched for
+	 * again during the request.
+	 *
+	 * @param uic the context whose index the component is added to.
+	 * @param id the id of the component.
+	 * @param component the component and the context it is to be processed in.
+	 */
+	public static void addComponent(final UIContext uic, final String id, final ComponentWithContext component) {
+		WComponent root = uic.getUI();
+
+		if (root != null && !(uic instanceof WRepeater.SubUIContext)) {
+			getInstance(uic, root).components.put(id, component);
+		}
+	}
+
+	/**
+	 * Retrieves the index for a context, creating it if necessary.
+	 *
+	 * @param uic the context.
+	 * @param root the context's UI.
+	 * @return the index for the given context.
+	 */
+	private static ComponentIdIndex getInstance(final UIContext uic, final WComponent root) {
+		Map<Object, Object> scratchMap = uic.getRequestScratchMap(root);
+		ComponentIdIndex idIndex = (ComponentIdIndex) scratchMap.get(SCRATCHMAP_KEY);
+
+		if (idIndex == null) {
+			idIndex = new ComponentIdIndex();
+			scratchMap.put(SCRATCHMAP_KEY, idIndex);
+		}
+
+		return idIndex;
+	}
+
+	/**
+	 * Finds a component by its id.
+	 *
+	 * @param root the root component to search from.
+	 * @param id the id of the component to search for.
+	 * @param visibleOnly true if process visible only
+	 * @return the component and context for the given id, or null if not found.
+	 */
+	private ComponentWithContext find(final WComponent root, final String id, final boolean visibleOnly) {
+		ComponentWithContext cached = components.get(id);
+
+		if (cached == null && !indexed && searches >= INDEX_THRESHOLD) {
+			buildIndex(root, components);
+			indexed = true;
+			cached = components.get(id);
+		}
+
+		if (cached != null && isValid(root, cached, id, visibleOnly)) {
+			return cached;
+		}
+
+		ComponentWithContext result = TreeUtil.getComponentWithContextForId(root, id, visibleOnly);
+
+		if (!indexed) {
+			searches++;
+		}
+
+		if (result != null) {
+			components.put(id, result);
+		}
+
+		return result;
+	}
+
+	/**
+	 * Builds the index of all the components in the tree. Components which have already been found keep their entry.
+	 *
+	 * @param root the root component of the tree.
+	 * @param components the components by id, which the index is added to.
+	 */
+	private static void buildIndex(final WComponent root, final Map<String, ComponentWithContext> components) {
+		TreeUtil.traverse(root, new AbstractVisitorWithResult<Object>() {
+			@Override
+			public VisitorResult visit(final WComponent comp) {
+				String compId = comp.getId();
+
+				if (!components.containsKey(compId)) {
+					components.put(compId, new ComponentWithContext(comp, UIContextHolder.getCurrent()));
+				}
+
+				return VisitorResult.CONTINUE;
+			}
+		});
+	}
+
+	/**
+	 * Checks whether an indexed component would still be found by a search of the tree. This applies the same rules
+	 * as the tree traversal, walking up from the component to the root.
+	 *
+	 * @param root the root component of the tree.
+	 * @param entry the indexed component and context.
+	 * @param id the id which was looked up.
+	 * @param visibleOnly true if the component and its ancestors must be visible.
+	 * @return true if the entry is still valid.
+	 */
+	private static boolean isValid(final WComponent root, final ComponentWithContext entry, final String id,
+			final boolean visibleOnly) {
+		UIContext context = entry.getContext();
+		UIContextHolder.pushContext(context);
+		int pushed = 1;
+
+		try {
+			WComponent node = entry.getComponent();
+
+			if (!id.equals(node.getId())) {
+				return false;
+			}
+
+			while (node != root) {
+				WComponent parent = node.getParent();
+
+				if (parent == null) {
+					// Removed from the tree
+					return false;
+				}
+
+				if (visibleOnly && !isTraversedWhenVisibleOnly(node, parent)) {
+					return false;
+				}
+
+				if (node instanceof WRepeater.WRepeatRoot) {
+					if (!(context instanceof WRepeater.SubUIContext)) {
+						return false;
+					}
+
+					WRepeater.SubUIContext rowContext = (WRepeater.SubUIContext) context;
+					context = rowContext.getBacking();
+					UIContextHolder.pushContext(context);
+					pushed++;
+
+					if (!isCurrentRow((WRepeater) parent, rowContext)) {
+						return false;
+					}
+				}
+
+				node = parent;
+			}
+
+			return !visibleOnly || isTraversedWhenVisibleOnly(node, null);
+		} finally {
+			for (int i = 0; i < pushed; i++) {
+				UIContextHolder.popContext();
+			}
+		}
+	}
+
+	/**
+	 * Indicates whether the given node is processed by a traversal of visible components only.
+	 *
+	 * @param node the node to check.
+	 * @param parent the node's parent, or null if the node is the root.
+	 * @return true if the node would be traversed.
+	 */
+	private static boolean isTraversedWhenVisibleOnly(final WComponent node, final WComponent parent) {
+		if (parent instanceof WInvisibleContainer) {
+			WComponent grandParent = parent.getParent();
+
+			if (grandParent instanceof WCardManager && ((WCardManager) grandParent).getVisible() != node) {
+				return false;
+			}
+		}
+
+		if (node instanceof WInvisibleContainer) {
+			return !(parent instanceof WWindow) || ((WWindow) parent).getState() == WWindow.ACTIVE_STATE;
+		}
+
+		return node instanceof WRepeater.WRepeatRoot || node.isVisible();
+	}
+
+	/**
+	 * Indicates whether the given row context is still a row of the repeater. The repeater's context must be active.
+	 *
+	 * @param repeater the repeater.
+	 * @param rowContext the row context.
+	 * @return true if the row context belongs to one of the repeater's current rows.
+	 */
+	private static boolean isCurrentRow(final WRepeater repeater, final WRepeater.SubUIContext rowContext) {
+		List<?> beanList = repeater.getBeanList();
+		int rowIndex = rowContext.getRowIndex();
+
+		if (beanList == null || rowIndex < 0 || rowIndex >= beanList.size()) {
+			return false;
+		}
+
+		return repeater.getRowContext(beanList.get(rowIndex), rowIndex) == rowContext;
+	}
+}
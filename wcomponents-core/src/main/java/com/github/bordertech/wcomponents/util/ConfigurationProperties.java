@@ -167,6 +167,11 @@ public final class ConfigurationProperties {
 	 */
 	public static final String INTEGRITY_ERROR_MODE = "bordertech.wcomponents.integrity.terminate.mode";
 
+	/**
+	 * The class path location of the internal resource hash manifest.
+	 */
+	public static final String INTERNAL_RESOURCE_HASH_MANIFEST = "bordertech.wcomponents.internalResource.hashManifest";
+
 	/**
 	 * The prefix for internal messages.
 	 */
@@ -182,6 +187,31 @@ public final class ConfigurationProperties {
 	 */
 	public static final String MEMUTIL_WARN_THRESHOLD = "bordertech.wcomponents.memutil.threshold.warn";
 
+	/**
+	 * The flag indicating whether request timing metrics are recorded.
+	 */
+	public static final String METRICS_ENABLED = "bordertech.wcomponents.metrics.enabled";
+
+	/**
+	 * The flag indicating whether session size estimates are recorded.
+	 */
+	public static final String METRICS_SESSION_SIZE_ENABLED = "bordertech.wcomponents.metrics.sessionSize.enabled";
+
+	/**
+	 * The proportion of component models which are serialized to calibrate the session size estimates.
+	 */
+	public static final String METRICS_SESSION_SIZE_SAMPLE_RATE = "bordertech.wcomponents.metrics.sessionSize.sampleRate";
+
+	/**
+	 * The maximum number of component models which are serialized per second to calibrate the session size estimates.
+	 */
+	public static final String METRICS_SESSION_SIZE_MAX_SAMPLES = "bordertech.wcomponents.metrics.sessionSize.maxSamplesPerSecond";
+
+	/**
+	 * The flag indicating whether component models are serialized in the compact form.
+	 */
+	public static final String MODEL_COMPACT_SERIALIZATION = "bordertech.wcomponents.model.serialization.compact.enabled";
+
 	/**
 	 * The flag indicating whether plaintext should cache.
 	 */
@@ -197,6 +227,11 @@ public final class ConfigurationProperties {
 	 */
 	public static final String RENDERER_OVERRIDE_PREFIX = "bordertech.wcomponents.UIManager.renderer.";
 
+	/**
+	 * The flag indicating whether handleRequest is only called on components whose parameters are in the request.
+	 */
+	public static final String REQUEST_PARAMETER_DISPATCH = "bordertech.wcomponents.request.parameterDispatch.enabled";
+
 	/**
 	 * The response cache String for each type of header.
 	 */
@@ -236,6 +271,13 @@ public final class ConfigurationProperties {
 	 * Whether to use sticky focus.
 	 */
 	public static final String STICKY_FOCUS = "bordertech.wcomponents.stickyFocus";
+
+	/**
+	 * The flag indicating whether subordinate controls only apply the rules affected by the values submitted in a
+	 * request.
+	 */
+	public static final String SUBORDINATE_INCREMENTAL_APPLY = "bordertech.wcomponents.subordinate.incrementalApply.enabled";
+
 	/**
 	 * The parameter variable that contains the URL path to the support servlet that services targeted requests for a
 	 * Portlet application. This parameter is only applicable to portlet applications
@@ -275,6 +317,16 @@ public final class ConfigurationProperties {
 	 */
 	public static final String THEME_NAME = "bordertech.wcomponents.theme.name";
 
+	/**
+	 * The maximum number of bytes of theme resources to cache in memory.
+	 */
+	public static final String THEME_RESOURCE_CACHE_SIZE = "bordertech.wcomponents.theme.resource.cache.size";
+
+	/**
+	 * The theme resources to load into the theme resource cache on start up.
+	 */
+	public static final String THEME_RESOURCE_CACHE_PRELOAD = "bordertech.wcomponents.theme.resource.cache.preload";
+
 	/**
 	 * The timeout period (in seconds).
 	 */
@@ -304,6 +356,11 @@ public final class ConfigurationProperties {
 	 */
 	public static final String TRACKING_DATA_COLLECTION_DOMAIN = "bordertech.wcomponents.tracking.datacollectiondomain";
 
+	/**
+	 * The UIs to load into the UI registry on start up.
+	 */
+	public static final String UI_REGISTRY_WARM_UP = "bordertech.wcomponents.registry.warmup.uis";
+
 	/**
 	 * The flag indicating whether the whitespace filter is enabled.
 	 */
@@ -797,6 +854,16 @@ public final class ConfigurationProperties {
 				getBoolean(INTEGRITY_ERROR_MODE, false);
 	}
 
+	/**
+	 * The class path location of a properties file which maps internal resource names to their hashes, so that the
+	 * hashes do not need to be calculated at run time.
+	 *
+	 * @return the parameter value, or "/wcomponents-resource-hashes.properties" if not set.
+	 */
+	public static String getInternalResourceHashManifest() {
+		return get().getString(INTERNAL_RESOURCE_HASH_MANIFEST, "/wcomponents-resource-hashes.properties");
+	}
+
 	/**
 	 * The internal message content.
 	 *
@@ -825,6 +892,55 @@ public final class ConfigurationProperties {
 		return get().getInt(MEMUTIL_WARN_THRESHOLD, 1000);
 	}
 
+	/**
+	 * The flag indicating whether request timing metrics are recorded, see
+	 * {@link com.github.bordertech.wcomponents.monitor.RequestMetrics}.
+	 *
+	 * @return the parameter value if set, or false if not set.
+	 */
+	public static boolean getMetricsEnabled() {
+		return get().getBoolean(METRICS_ENABLED, false);
+	}
+
+	/**
+	 * The flag indicating whether session size estimates are recorded after each request, see
+	 * {@link com.github.bordertech.wcomponents.monitor.SessionSizeMetrics}.
+	 *
+	 * @return the parameter value if set, or false if not set.
+	 */
+	public static boolean getMetricsSessionSizeEnabled() {
+		return get().getBoolean(METRICS_SESSION_SIZE_ENABLED, false);
+	}
+
+	/**
+	 * The proportion of component models, from 0 to 1, which are serialized to calibrate the session size estimates.
+	 *
+	 * @return the parameter value if set, or 0.01 if not set.
+	 */
+	public static double getMetricsSessionSizeSampleRate() {
+		return get().getDouble(METRICS_SESSION_SIZE_SAMPLE_RATE, 0.01);
+	}
+
+	/**
+	 * The maximum number of component models which are serialized per second, across all requests, to calibrate the
+	 * session size estimates. This bounds the cost of sampling on busy servers.
+	 *
+	 * @return the parameter value if set, or 20 if not set.
+	 */
+	public static int getMetricsSessionSizeMaxSamplesPerSecond() {
+		return get().getInt(METRICS_SESSION_SIZE_MAX_SAMPLES, 20);
+	}
+
+	/**
+	 * The flag indicating whether component models are serialized in the compact form, which only writes the fields
+	 * that differ from the shared model. Models written in either form can always be read.
+	 *
+	 * @return the parameter value if set, or false if not set.
+	 */
+	public static boolean getCompactModelSerialization() {
+		return get().getBoolean(MODEL_COMPACT_SERIALIZATION, false);
+	}
+
 	/**
 	 * The flag indicating whether plaintext should cache.
 	 *
@@ -857,6 +973,16 @@ public final class ConfigurationProperties {
 		return get().getString(RENDERER_OVERRIDE_PREFIX + classname);
 	}
 
+	/**
+	 * The flag indicating whether handleRequest is only called on {@link com.github.bordertech.wcomponents.RequestParameterConsumer}
+	 * components whose parameters are in the request. Other components are always called.
+	 *
+	 * @return the parameter value if set, or false if not set.
+	 */
+	public static boolean getRequestParameterDispatch() {
+		return get().getBoolean(REQUEST_PARAMETER_DISPATCH, false);
+	}
+
 	/**
 	 * The response cache header settings for the given contentType.
 	 *
@@ -923,6 +1049,17 @@ public final class ConfigurationProperties {
 		return get().getBoolean(STICKY_FOCUS, false);
 	}
 
+	/**
+	 * The flag indicating whether {@link com.github.bordertech.wcomponents.subordinate.WSubordinateControl}s only apply
+	 * the rules with a trigger whose value was changed on the client when a request is submitted. The rules are always
+	 * all applied after the prepare paint phase.
+	 *
+	 * @return the parameter value if set, or false if not set.
+	 */
+	public static boolean getSubordinateIncrementalApply() {
+		return get().getBoolean(SUBORDINATE_INCREMENTAL_APPLY, false);
+	}
+
 	/**
 	 * The templating engine classname for the given engine.
 	 *
@@ -970,6 +1107,25 @@ public final class ConfigurationProperties {
 		return get().getString(THEME_NAME);
 	}
 
+	/**
+	 * The maximum number of bytes of theme resources to cache in memory. A value of zero disables the cache.
+	 *
+	 * @return the parameter value if set, or 16MB if not set.
+	 */
+	public static long getThemeResourceCacheSize() {
+		return get().getLong(THEME_RESOURCE_CACHE_SIZE, 16 * 1024 * 1024);
+	}
+
+	/**
+	 * The theme resources to load into the theme resource cache on start up, e.g. the main script and style sheet
+	 * bundles.
+	 *
+	 * @return the parameter value if set, or an empty array if not set.
+	 */
+	public static String[] getThemeResourceCachePreload() {
+		return get().getStringArray(THEME_RESOURCE_CACHE_PRELOAD);
+	}
+
 	/**
 	 * The timeout period in seconds.
 	 *
@@ -1024,6 +1180,16 @@ public final class ConfigurationProperties {
 		return get().getString(TRACKING_DATA_COLLECTION_DOMAIN);
 	}
 
+	/**
+	 * The registration keys of the UIs to load into the UI registry on start up, so that the first requests after a
+	 * deployment do not need to construct them.
+	 *
+	 * @return the parameter value if set, or an empty array if not set.
+	 */
+	public static String[] getUIRegistryWarmUp() {
+		return get().getStringArray(UI_REGISTRY_WARM_UP);
+	}
+
 	/**
 	 * The flag indicating whether to cache velocity output.
 	 *
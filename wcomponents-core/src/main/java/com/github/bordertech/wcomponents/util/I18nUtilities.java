@@ -5,11 +5,9 @@ import com.github.bordertech.wcomponents.UIContext;
 import com.github.bordertech.wcomponents.UIContextHolder;
 import java.io.Serializable;
 import java.text.MessageFormat;
-import java.util.HashSet;
 import java.util.Locale;
-import java.util.MissingResourceException;
-import java.util.ResourceBundle;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 
@@ -29,7 +27,7 @@ public final class I18nUtilities {
 	/**
 	 * A store of bad bundles, to avoid repeated logging of errors when the bundle fails to load.
 	 */
-	private static final Set<Locale> MISSING_RESOURCES = new HashSet<>();
+	private static final Set<Locale> MISSING_RESOURCES = ConcurrentHashMap.newKeySet();
 
 	/**
 	 * Prevent instantiation of this utility class.
@@ -95,6 +93,10 @@ public final class I18nUtilities {
 
 	/**
 	 * Formats the given text, optionally using locale-specific text.
+	 * <p>
+	 * Messages from the resource bundle are held in a {@link MessageCatalog}, which only parses each message's
+	 * {@link MessageFormat} pattern once.
+	 * </p>
 	 *
 	 * @param locale The locale to use to look up a message, may be null.
 	 * @param text the text / resource bundle key to use.
@@ -106,18 +108,14 @@ public final class I18nUtilities {
 			return null;
 		}
 
-		String localisedText = getLocalisedText(locale, text);
-		String message = localisedText == null ? text : localisedText;
+		MessageTemplate template = getCatalogMessage(locale, text);
 
-		if (args != null) {
-			try {
-				return MessageFormat.format(message, args);
-			} catch (IllegalArgumentException e) {
-				LOG.error("Invalid message format for message " + message, e);
-			}
+		if (template != null) {
+			return template.format(args);
 		}
 
-		return message;
+		String localisedText = getUncataloguedText(locale, text);
+		return MessageTemplate.formatText(localisedText == null ? text : localisedText, args);
 	}
 
 	/**
@@ -150,36 +148,51 @@ public final class I18nUtilities {
 	 * @return the localised text if found, otherwise null.
 	 */
 	public static String getLocalisedText(final Locale locale, final String text) {
-		String message = null;
+		MessageTemplate template = getCatalogMessage(locale, text);
+		return template == null ? getUncataloguedText(locale, text) : template.getText();
+	}
+
+	/**
+	 * Retrieves a message from the resource bundle.
+	 *
+	 * @param locale the locale to retrieve the message for, or null for the default locale.
+	 * @param text the text message or id to look up.
+	 * @return the message, or null if there is no resource bundle or it does not contain the text.
+	 */
+	private static MessageTemplate getCatalogMessage(final Locale locale, final String text) {
 		String resourceBundleBaseName = getResourceBundleBaseName();
 
-		if (!Util.empty(resourceBundleBaseName)) {
-			Locale effectiveLocale = locale;
+		if (text == null || Util.empty(resourceBundleBaseName)) {
+			return null;
+		}
 
-			if (effectiveLocale == null) {
-				effectiveLocale = getEffectiveLocale();
-			}
+		Locale effectiveLocale = locale == null ? getEffectiveLocale() : locale;
+		return MessageCatalog.getInstance(resourceBundleBaseName, effectiveLocale).getMessage(text);
+	}
 
-			try {
-				// TODO: This is slow
-				ResourceBundle bundle = ResourceBundle.getBundle(resourceBundleBaseName, effectiveLocale);
-				message = bundle.getString(text);
-			} catch (MissingResourceException e) {
-				// Fall back to the Configuration mechanism for the default internal messages
-				if (text != null && text.startsWith(ConfigurationProperties.INTERNAL_MESSAGE_PREFIX)) {
-					message = ConfigurationProperties.getInternalMessage(text);
-				}
-
-				if (message == null && !MISSING_RESOURCES.contains(locale)) {
-					LOG.error("Missing resource mapping for locale: " + locale + ", text: " + text);
-					MISSING_RESOURCES.add(locale);
-				}
-			}
-		} else if (text != null && text.startsWith(ConfigurationProperties.INTERNAL_MESSAGE_PREFIX)) {
-			// Fall back to the Configuration mechanism for the default internal messages
+	/**
+	 * Retrieves the text for a message which is not in the resource bundle.
+	 *
+	 * @param locale the locale to retrieve the message for, or null for the default locale.
+	 * @param text the text message or id to look up.
+	 * @return the default internal message for the text, or null if the text is not an internal message.
+	 */
+	private static String getUncataloguedText(final Locale locale, final String text) {
+		String message = null;
+
+		// Fall back to the Configuration mechanism for the default internal messages
+		if (text != null && text.startsWith(ConfigurationProperties.INTERNAL_MESSAGE_PREFIX)) {
 			message = ConfigurationProperties.getInternalMessage(text);
 		}
 
+		if (message == null && !Util.empty(getResourceBundleBaseName())) {
+			Locale effectiveLocale = locale == null ? getEffectiveLocale() : locale;
+
+			if (MISSING_RESOURCES.add(effectiveLocale)) {
+				LOG.error("Missing resource mapping for locale: " + effectiveLocale + ", text: " + text);
+			}
+		}
+
 		return message;
 	}
 }
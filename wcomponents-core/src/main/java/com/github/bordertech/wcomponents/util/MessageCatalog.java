@@ -0,0 +1,145 @@
+package com.github.bordertech.wcomponents.util;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.MissingResourceException;
+import java.util.ResourceBundle;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * <p>
+ * The messages of a resource bundle, which are loaded once per bundle and locale for use by {@link I18nUtilities}.
+ * </p>
+ * <p>
+ * Locales which resolve to the same resource bundle share a catalog. The catalogs are discarded whenever the
+ * {@link Config configuration} changes, so that a different bundle base name or a reloaded bundle is picked up.
+ * </p>
+ *
+ * @since 1.5.30
+ */
+final class MessageCatalog {
+
+	/**
+	 * The maximum number of locales per bundle base name which are cached. Catalogs for other locales are still
+	 * shared by bundle, but need a bundle look up each time.
+	 */
+	private static final int MAX_CACHED_LOCALES = 100;
+
+	/**
+	 * A catalog with no messages, used when the bundle can not be found.
+	 */
+	private static final MessageCatalog EMPTY = new MessageCatalog(Collections.<String, MessageTemplate>emptyMap());
+
+	/**
+	 * The catalogs by requested locale, keyed by bundle base name.
+	 */
+	private static final Map<String, Map<Locale, MessageCatalog>> BY_LOCALE = new ConcurrentHashMap<>();
+
+	/**
+	 * The catalogs by the locale of the resource bundle they were loaded from, keyed by bundle base name.
+	 */
+	private static final Map<String, Map<Locale, MessageCatalog>> BY_BUNDLE_LOCALE = new ConcurrentHashMap<>();
+
+	/**
+	 * When this class is loaded by the application, register a property change listener.
+	 */
+	static {
+		Config.addPropertyChangeListener(evt -> clear());
+	}
+
+	/**
+	 * The messages, keyed by resource bundle key.
+	 */
+	private final Map<String, MessageTemplate> messages;
+
+	/**
+	 * Creates a MessageCatalog.
+	 *
+	 * @param messages the messages, keyed by resource bundle key.
+	 */
+	private MessageCatalog(final Map<String, MessageTemplate> messages) {
+		this.messages = messages;
+	}
+
+	/**
+	 * Retrieves the catalog for the given resource bundle and locale.
+	 *
+	 * @param baseName the resource bundle base name.
+	 * @param locale the locale.
+	 * @return the catalog, which will be empty if the resource bundle can not be found.
+	 */
+	static MessageCatalog getInstance(final String baseName, final Locale locale) {
+		Map<Locale, MessageCatalog> catalogs = BY_LOCALE.get(baseName);
+
+		if (catalogs == null) {
+			catalogs = BY_LOCALE.computeIfAbsent(baseName, name -> new ConcurrentHashMap<>());
+		}
+
+		MessageCatalog catalog = catalogs.get(locale);
+
+		if (catalog == null) {
+			catalog = load(baseName, locale);
+
+			if (catalogs.size() < MAX_CACHED_LOCALES) {
+				catalogs.put(locale, catalog);
+			}
+		}
+
+		return catalog;
+	}
+
+	/**
+	 * Discards all the catalogs.
+	 */
+	static void clear() {
+		BY_LOCALE.clear();
+		BY_BUNDLE_LOCALE.clear();
+	}
+
+	/**
+	 * Retrieves a message.
+	 *
+	 * @param key the resource bundle key.
+	 * @return the message, or null if the bundle does not contain the key.
+	 */
+	MessageTemplate getMessage(final String key) {
+		return messages.get(key);
+	}
+
+	/**
+	 * Loads the catalog for the given resource bundle and locale, or retrieves the catalog already loaded from the
+	 * bundle which the locale resolves to.
+	 *
+	 * @param baseName the resource bundle base name.
+	 * @param locale the locale.
+	 * @return the catalog.
+	 */
+	private static MessageCatalog load(final String baseName, final Locale locale) {
+		final ResourceBundle bundle;
+
+		try {
+			bundle = ResourceBundle.getBundle(baseName, locale);
+		} catch (MissingResourceException e) {
+			return EMPTY;
+		}
+
+		Map<Locale, MessageCatalog> catalogs = BY_BUNDLE_LOCALE.computeIfAbsent(baseName,
+				name -> new ConcurrentHashMap<>());
+
+		return catalogs.computeIfAbsent(bundle.getLocale(), bundleLocale -> {
+			Map<String, MessageTemplate> messages = new HashMap<>();
+
+			for (String key : bundle.keySet()) {
+				Object value = bundle.getObject(key);
+
+				if (value instanceof String) {
+					messages.put(key, new MessageTemplate((String) value));
+				}
+			}
+
+			return new MessageCatalog(messages);
+		});
+	}
+}
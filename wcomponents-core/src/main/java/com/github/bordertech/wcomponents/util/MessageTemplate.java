@@ -0,0 +1,146 @@
+package com.github.bordertech.wcomponents.util;
+
+import java.text.MessageFormat;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+/**
+ * A message from a {@link MessageCatalog}, which parses its {@link MessageFormat} pattern once, the first time it is
+ * formatted with arguments.
+ *
+ * @since 1.5.30
+ */
+final class MessageTemplate {
+
+	/**
+	 * The logger instance for this class.
+	 */
+	private static final Log LOG = LogFactory.getLog(MessageTemplate.class);
+
+	/**
+	 * The message text.
+	 */
+	private final String text;
+
+	/**
+	 * True if the text contains no format elements or quotes, so formatting it without arguments gives the same text.
+	 */
+	private final boolean literal;
+
+	/**
+	 * The parsed pattern, lazily created.
+	 */
+	private volatile MessageFormat format;
+
+	/**
+	 * The text formatted without any arguments, lazily created.
+	 */
+	private volatile String formattedText;
+
+	/**
+	 * Set if the text is not a valid pattern.
+	 */
+	private volatile boolean invalid;
+
+	/**
+	 * Creates a MessageTemplate.
+	 *
+	 * @param text the message text.
+	 */
+	MessageTemplate(final String text) {
+		this.text = text;
+		this.literal = isLiteral(text);
+	}
+
+	/**
+	 * @return the message text.
+	 */
+	String getText() {
+		return text;
+	}
+
+	/**
+	 * Formats the message.
+	 *
+	 * @param args the message arguments, may be null.
+	 * @return the formatted message, or the message text if the arguments are null or the text is not a valid pattern.
+	 */
+	String format(final Object... args) {
+		if (args == null || literal && args.length == 0) {
+			return text;
+		}
+
+		if (args.length == 0) {
+			String formatted = formattedText;
+
+			if (formatted == null) {
+				formatted = formatPattern(new Object[0]);
+				formattedText = formatted;
+			}
+
+			return formatted;
+		}
+
+		return formatPattern(args);
+	}
+
+	/**
+	 * Formats the text as a pattern, parsing it if necessary.
+	 *
+	 * @param args the message arguments.
+	 * @return the formatted message, or the message text if it is not a valid pattern.
+	 */
+	private String formatPattern(final Object[] args) {
+		MessageFormat parsed = format;
+
+		if (parsed == null) {
+			if (invalid) {
+				return text;
+			}
+
+			try {
+				parsed = new MessageFormat(text);
+				format = parsed;
+			} catch (IllegalArgumentException e) {
+				LOG.error("Invalid message format for message " + text, e);
+				invalid = true;
+				return text;
+			}
+		}
+
+		// MessageFormat is not thread-safe, so each use needs its own copy of the parsed pattern
+		return ((MessageFormat) parsed.clone()).format(args);
+	}
+
+	/**
+	 * Formats text which is not held in a catalog.
+	 *
+	 * @param text the message text.
+	 * @param args the message arguments, may be null.
+	 * @return the formatted message, or the message text if the arguments are null or the text is not a valid pattern.
+	 */
+	static String formatText(final String text, final Object... args) {
+		if (args == null || args.length == 0 && isLiteral(text)) {
+			return text;
+		}
+
+		try {
+			return MessageFormat.format(text, args);
+		} catch (IllegalArgumentException e) {
+			LOG.error("Invalid message format for message " + text, e);
+		}
+
+		return text;
+	}
+
+	/**
+	 * Indicates whether text contains no format elements or quotes, in which case {@link MessageFormat} would return
+	 * the text unchanged.
+	 *
+	 * @param text the text to check.
+	 * @return true if the text does not need to be formatted.
+	 */
+	private static boolean isLiteral(final String text) {
+		return text.indexOf('{') == -1 && text.indexOf('\'') == -1;
+	}
+}
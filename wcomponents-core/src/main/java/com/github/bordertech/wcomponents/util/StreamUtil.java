@@ -2,9 +2,12 @@ package com.github.bordertech.wcomponents.util;
 
 import java.io.ByteArrayOutputStream;
 import java.io.Closeable;
+import java.io.EOFException;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 
@@ -64,6 +67,85 @@ public final class StreamUtil {
 		out.flush();
 	}
 
+	/**
+	 * Copies part of the input stream to the output stream, using the default copy buffer size.
+	 *
+	 * @param in the source stream.
+	 * @param out the destination stream.
+	 * @param skip the number of bytes to skip in the source stream before copying.
+	 * @param length the number of bytes to copy.
+	 * @throws IOException if there is an error reading or writing to the streams, or the source stream ends early.
+	 */
+	public static void copy(final InputStream in, final OutputStream out, final long skip, final long length)
+			throws IOException {
+		long remaining = skip;
+
+		while (remaining > 0) {
+			long skipped = in.skip(remaining);
+
+			if (skipped <= 0) {
+				// Some streams will not skip, so fall back to reading
+				if (in.read() == -1) {
+					throw new EOFException("Stream ended before position " + skip);
+				}
+				skipped = 1;
+			}
+
+			remaining -= skipped;
+		}
+
+		final byte[] buf = new byte[DEFAULT_BUFFER_SIZE];
+		remaining = length;
+
+		while (remaining > 0) {
+			int bytesRead = in.read(buf, 0, (int) Math.min(buf.length, remaining));
+
+			if (bytesRead == -1) {
+				throw new EOFException("Stream ended " + remaining + " bytes early");
+			}
+
+			out.write(buf, 0, bytesRead);
+			remaining -= bytesRead;
+		}
+
+		out.flush();
+	}
+
+	/**
+	 * Copies part of a file to the output stream, using the default copy buffer size. The file is read using
+	 * positional reads, so the channel's position is not changed and the parts of the file can be copied in any order.
+	 *
+	 * @param channel the source file.
+	 * @param position the position in the file to start copying from.
+	 * @param length the number of bytes to copy.
+	 * @param out the destination stream.
+	 * @throws IOException if there is an error reading or writing, or the file ends early.
+	 */
+	public static void copy(final FileChannel channel, final long position, final long length,
+			final OutputStream out) throws IOException {
+		final byte[] buf = new byte[(int) Math.min(DEFAULT_BUFFER_SIZE, Math.max(length, 1))];
+		final ByteBuffer buffer = ByteBuffer.wrap(buf);
+		long pos = position;
+		long remaining = length;
+
+		while (remaining > 0) {
+			buffer.clear();
+			buffer.limit((int) Math.min(buf.length, remaining));
+			int bytesRead = channel.read(buffer, pos);
+
+			// Stop rather than retrying if the file has been truncated
+			if (bytesRead <= 0) {
+				throw new EOFException("File ended " + remaining + " bytes early");
+			}
+
+			out.write(buf, 0, bytesRead);
+			pos += bytesRead;
+			remaining -= bytesRead;
+		}
+
+		out.flush();
+	}
+
 	/**
 	 * Returns a byte array containing all the information contained in the given input stream.
 	 *
@@ -1,5 +1,6 @@
 package com.github.bordertech.wcomponents.util;
 
+import com.github.bordertech.wcomponents.RowPath;
 import com.github.bordertech.wcomponents.UIContext;
 import com.github.bordertech.wcomponents.UIContextHolder;
 import com.github.bordertech.wcomponents.WComponent;
@@ -8,6 +9,7 @@ import com.github.bordertech.wcomponents.WTable;
 import com.github.bordertech.wcomponents.WTable.RowIdWrapper;
 import com.github.bordertech.wcomponents.WebUtilities;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Comparator;
 import java.util.List;
 import org.apache.commons.logging.Log;
@@ -48,18 +50,7 @@ public final class TableUtil {
 			return null;
 		}
 
-		StringBuffer index = new StringBuffer();
-		boolean addDelimiter = false;
-
-		for (Integer lvl : row) {
-			if (addDelimiter) {
-				index.append(INDEX_DELIMITER);
-			}
-			index.append(lvl);
-			addDelimiter = true;
-		}
-
-		return index.toString();
+		return RowPath.valueOf(row).toIndexString();
 	}
 
 	/**
@@ -73,17 +64,22 @@ public final class TableUtil {
 			return null;
 		}
 
+		try {
+			return RowPath.parse(row);
+		} catch (NumberFormatException e) {
+			LOG.warn("Invalid row id: " + row);
+		}
+
+		// Return the valid leading indices, if any
 		List<Integer> rowIndex = new ArrayList<>();
 
 		try {
-
-			// Convert StringId to array
 			String[] rowIdString = row.split(INDEX_DELIMITER);
 			for (int i = 0; i < rowIdString.length; i++) {
 				rowIndex.add(Integer.parseInt(rowIdString[i]));
 			}
 		} catch (NumberFormatException e) {
-			LOG.warn("Invalid row id: " + row);
+			// Already logged
 		}
 
 		return rowIndex;
@@ -177,4 +173,131 @@ public final class TableUtil {
 		sortData(data, comparator, ascending, i + 1, highIndex, sortIndices);
 	}
 
+	/**
+	 * Determines the indices of the rows which would occupy the given range of positions if the data were sorted. Only
+	 * the rows up to the end of the range are put in order, so this is much cheaper than sorting all the data when the
+	 * range is small, e.g. a page of a table. Rows which compare as equal are ordered by their index, so that
+	 * consecutive ranges are consistent with each other.
+	 *
+	 * @param data the data for the column.
+	 * @param comparator the comparator to use for sorting.
+	 * @param ascending true for an ascending sort, false for descending.
+	 * @param start the first position in the sorted data to return, inclusive.
+	 * @param end the last position in the sorted data to return, exclusive.
+	 * @return the row indices for the given range of positions, in sort order.
+	 */
+	public static int[] sortDataRange(final Object[] data, final Comparator<Object> comparator,
+			final boolean ascending, final int start, final int end) {
+		int limit = Math.min(end, data.length);
+
+		if (start >= limit) {
+			return new int[0];
+		}
+
+		// Max-heap of the first "limit" rows seen so far, with the last row in sort order at the top
+		int[] heap = new int[limit];
+		int size = 0;
+		int sign = ascending ? 1 : -1;
+
+		for (int i = 0; i < data.length; i++) {
+			if (size < limit) {
+				heap[size] = i;
+				siftUp(data, comparator, sign, heap, size++);
+			} else if (compareRows(data, comparator, sign, i, heap[0]) < 0) {
+				heap[0] = i;
+				siftDown(data, comparator, sign, heap, 0, size);
+			}
+		}
+
+		// Heap sort the rows which were kept
+		for (int last = size - 1; last > 0; last--) {
+			int temp = heap[0];
+			heap[0] = heap[last];
+			heap[last] = temp;
+			siftDown(data, comparator, sign, heap, 0, last);
+		}
+
+		return Arrays.copyOfRange(heap, start, limit);
+	}
+
+	/**
+	 * Compares two rows for {@link #sortDataRange}, using the row index to order rows which are otherwise equal.
+	 *
+	 * @param data the data for the column.
+	 * @param comparator the comparator to use for sorting.
+	 * @param sign 1 for an ascending sort, -1 for descending.
+	 * @param row1 the index of the first row.
+	 * @param row2 the index of the second row.
+	 * @return a negative integer, zero, or a positive integer if the first row sorts before, with or after the second.
+	 */
+	private static int compareRows(final Object[] data, final Comparator<Object> comparator, final int sign,
+			final int row1, final int row2) {
+		int result = comparator.compare(data[row1], data[row2]) * sign;
+		return result == 0 ? Integer.compare(row1, row2) : result;
+	}
+
+	/**
+	 * Moves a row up the heap to its correct position.
+	 *
+	 * @param data the data for the column.
+	 * @param comparator the comparator to use for sorting.
+	 * @param sign 1 for an ascending sort, -1 for descending.
+	 * @param heap the heap of row indices.
+	 * @param pos the position of the row to move.
+	 */
+	private static void siftUp(final Object[] data, final Comparator<Object> comparator, final int sign,
+			final int[] heap, final int pos) {
+		int child = pos;
+		int row = heap[child];
+
+		while (child > 0) {
+			int parent = (child - 1) >>> 1;
+
+			if (compareRows(data, comparator, sign, row, heap[parent]) <= 0) {
+				break;
+			}
+
+			heap[child] = heap[parent];
+			child = parent;
+		}
+
+		heap[child] = row;
+	}
+
+	/**
+	 * Moves a row down the heap to its correct position.
+	 *
+	 * @param data the data for the column.
+	 * @param comparator the comparator to use for sorting.
+	 * @param sign 1 for an ascending sort, -1 for descending.
+	 * @param heap the heap of row indices.
+	 * @param pos the position of the row to move.
+	 * @param size the number of rows in the heap.
+	 */
+	private static void siftDown(final Object[] data, final Comparator<Object> comparator, final int sign,
+			final int[] heap, final int pos, final int size) {
+		int parent = pos;
+		int row = heap[parent];
+
+		while (true) {
+			int child = 2 * parent + 1;
+
+			if (child >= size) {
+				break;
+			}
+
+			if (child + 1 < size && compareRows(data, comparator, sign, heap[child + 1], heap[child]) > 0) {
+				child++;
+			}
+
+			if (compareRows(data, comparator, sign, row, heap[child]) >= 0) {
+				break;
+			}
+
+			heap[parent] = heap[child];
+			parent = child;
+		}
+
+		heap[parent] = row;
+	}
 }
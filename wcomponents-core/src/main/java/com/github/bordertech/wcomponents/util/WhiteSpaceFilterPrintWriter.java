@@ -35,10 +35,8 @@ public class WhiteSpaceFilterPrintWriter extends PrintWriter {
 	public void write(final int c) {
 		WhiteSpaceFilterStateMachine.StateChange change = stateMachine.nextState((char) c);
 
-		if (change.getOutputBytes() != null) {
-			for (int i = 0; i < change.getOutputBytes().length; i++) {
-				super.write(change.getOutputBytes()[i]);
-			}
+		if (change.getOutputChars() != null) {
+			super.write(change.getOutputChars(), 0, change.getOutputChars().length);
 		}
 
 		if (!change.isSuppressCurrentChar()) {
@@ -47,7 +45,8 @@ public class WhiteSpaceFilterPrintWriter extends PrintWriter {
 	}
 
 	/**
-	 * Writes the given character data to the underlying output stream, filtering as necessary.
+	 * Writes the given character data to the underlying output stream, filtering as necessary. Runs of characters
+	 * which pass through the filter unchanged are written in bulk.
 	 *
 	 * @param buf the character data to write.
 	 * @param off the data offset to start writing data from.
@@ -55,13 +54,35 @@ public class WhiteSpaceFilterPrintWriter extends PrintWriter {
 	 */
 	@Override
 	public void write(final char[] buf, final int off, final int len) {
-		for (int i = off; i < off + len; i++) {
-			write(buf[i]);
+		synchronized (lock) {
+			int runStart = off;
+			final int end = off + len;
+
+			for (int i = off; i < end; i++) {
+				WhiteSpaceFilterStateMachine.StateChange change = stateMachine.nextState(buf[i]);
+
+				if (!change.isPassThrough()) {
+					if (i > runStart) {
+						super.write(buf, runStart, i - runStart);
+					}
+
+					if (change.getOutputChars() != null) {
+						super.write(change.getOutputChars(), 0, change.getOutputChars().length);
+					}
+
+					runStart = change.isSuppressCurrentChar() ? i + 1 : i;
+				}
+			}
+
+			if (end > runStart) {
+				super.write(buf, runStart, end - runStart);
+			}
 		}
 	}
 
 	/**
-	 * Writes the given String to the underlying output stream, filtering as necessary.
+	 * Writes the given String to the underlying output stream, filtering as necessary. Runs of characters which pass
+	 * through the filter unchanged are written in bulk.
 	 *
 	 * @param string the String to write.
 	 * @param off the position in the string to start writing data from.
@@ -69,8 +90,29 @@ public class WhiteSpaceFilterPrintWriter extends PrintWriter {
 	 */
 	@Override
 	public void write(final String string, final int off, final int len) {
-		for (int i = off; i < off + len; i++) {
-			write(string.charAt(i));
+		synchronized (lock) {
+			int runStart = off;
+			final int end = off + len;
+
+			for (int i = off; i < end; i++) {
+				WhiteSpaceFilterStateMachine.StateChange change = stateMachine.nextState(string.charAt(i));
+
+				if (!change.isPassThrough()) {
+					if (i > runStart) {
+						super.write(string, runStart, i - runStart);
+					}
+
+					if (change.getOutputChars() != null) {
+						super.write(change.getOutputChars(), 0, change.getOutputChars().length);
+					}
+
+					runStart = change.isSuppressCurrentChar() ? i + 1 : i;
+				}
+			}
+
+			if (end > runStart) {
+				super.write(string, runStart, end - runStart);
+			}
 		}
 	}
 }
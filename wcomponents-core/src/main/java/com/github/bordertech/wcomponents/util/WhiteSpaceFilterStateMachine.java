@@ -609,6 +609,10 @@ public class WhiteSpaceFilterStateMachine {
 				}
 			}
 		}
+
+		for (int i = 0; i < stateData.length; i++) {
+			((State) stateData[i][0]).buildLookupTable();
+		}
 	}
 
 	/**
@@ -641,6 +645,12 @@ public class WhiteSpaceFilterStateMachine {
 	 */
 	protected static final class State {
 
+		/**
+		 * The number of characters which are looked up directly in the transition table. All the characters which
+		 * trigger a transition are ASCII.
+		 */
+		private static final int LOOKUP_TABLE_SIZE = 128;
+
 		/**
 		 * State changes indexed by character.
 		 */
@@ -656,6 +666,11 @@ public class WhiteSpaceFilterStateMachine {
 		 */
 		private StateChange defaultStateChange;
 
+		/**
+		 * State transitions indexed directly by character, for characters up to {@link #LOOKUP_TABLE_SIZE}.
+		 */
+		private StateChange[] lookupTable;
+
 		/**
 		 * Creates a state.
 		 */
@@ -693,6 +708,20 @@ public class WhiteSpaceFilterStateMachine {
 			this.defaultStateChange = change;
 		}
 
+		/**
+		 * Precomputes the transition for each character in the lookup table. This must be called once all the
+		 * transitions for this state have been added.
+		 */
+		void buildLookupTable() {
+			StateChange[] table = new StateChange[LOOKUP_TABLE_SIZE];
+
+			for (int c = 0; c < LOOKUP_TABLE_SIZE; c++) {
+				table[c] = findChange((char) c);
+			}
+
+			lookupTable = table;
+		}
+
 		/**
 		 * Gets the state change for the given character.
 		 *
@@ -700,6 +729,22 @@ public class WhiteSpaceFilterStateMachine {
 		 * @return the state to transition to.
 		 */
 		public StateChange getChange(final char c) {
+			StateChange[] table = lookupTable;
+
+			if (table != null && c < LOOKUP_TABLE_SIZE) {
+				return table[c];
+			}
+
+			return findChange(c);
+		}
+
+		/**
+		 * Searches the state transitions for the given character.
+		 *
+		 * @param c the input character.
+		 * @return the state to transition to.
+		 */
+		private StateChange findChange(final char c) {
 			for (int i = 0; i < inputChars.length; i++) {
 				if (c == inputChars[i]) {
 					return stateChanges[i];
@@ -730,6 +775,11 @@ public class WhiteSpaceFilterStateMachine {
 		 */
 		private final byte[] outputBytes;
 
+		/**
+		 * Data to output on transition to the new state, as characters, or null for no output.
+		 */
+		private final char[] outputChars;
+
 		/**
 		 * Creates a StateChange.
 		 *
@@ -742,6 +792,9 @@ public class WhiteSpaceFilterStateMachine {
 			this.newState = newState;
 			this.suppressCurrentChar = suppressCurrentChar;
 			this.outputBytes = outputBytes;
+			this.outputChars = outputBytes == null
+					? null
+					: new String(outputBytes, StandardCharsets.UTF_8).toCharArray();
 		}
 
 		/**
@@ -765,5 +818,19 @@ public class WhiteSpaceFilterStateMachine {
 			return outputBytes;
 		}
 
+		/**
+		 * @return the output data as characters, or null for no output
+		 */
+		public char[] getOutputChars() {
+			return outputChars;
+		}
+
+		/**
+		 * @return true if the current char is written unchanged, with no additional output.
+		 */
+		public boolean isPassThrough() {
+			return outputBytes == null && !suppressCurrentChar;
+		}
+
 	}
 }
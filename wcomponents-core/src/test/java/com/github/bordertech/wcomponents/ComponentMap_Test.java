@@ -0,0 +1,317 @@
+package com.github.bordertech.wcomponents;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.ConcurrentModificationException;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Unit tests for {@link ComponentMap}.
+ *
+ * @since 1.5.30
+ */
+public class ComponentMap_Test extends AbstractWComponentTestCase {
+
+	@Test
+	public void testLockedTree() {
+		WContainer root = createTree(20);
+		root.setLocked(true);
+
+		ComponentMap<WComponent, String> map = new ComponentMap<>();
+		Set<WComponent> expectedKeys = new HashSet<>();
+
+		for (int i = 0; i < root.getChildCount(); i++) {
+			WComponent child = root.getChildAt(i);
+			Assert.assertNull("Incorrect previous value", map.put(child, child.getId()));
+			expectedKeys.add(child);
+		}
+
+		Assert.assertEquals("Incorrect size", 20, map.size());
+		Assert.assertEquals("Incorrect keys", expectedKeys, map.keySet());
+		Assert.assertFalse("Root should not have a value", map.containsKey(root));
+
+		for (int i = 0; i < root.getChildCount(); i++) {
+			WComponent child = root.getChildAt(i);
+			Assert.assertTrue("Child should have a value", map.containsKey(child));
+			Assert.assertEquals("Incorrect value", child.getId(), map.get(child));
+		}
+
+		WComponent child = root.getChildAt(5);
+		Assert.assertEquals("Incorrect previous value", child.getId(), map.put(child, "replaced"));
+		Assert.assertEquals("Incorrect replaced value", "replaced", map.get(child));
+		Assert.assertEquals("Incorrect removed value", "replaced", map.remove(child));
+		Assert.assertNull("Removed value should not be returned", map.get(child));
+		Assert.assertEquals("Incorrect size after remove", 19, map.size());
+
+		map.clear();
+		Assert.assertTrue("Map should be empty after clear", map.isEmpty());
+		Assert.assertNull("Value should not be returned after clear", map.get(root.getChildAt(0)));
+	}
+
+	@Test
+	public void testComponentsNotInSnapshot() {
+		WContainer root = createTree(2);
+		root.setLocked(true);
+
+		WText dynamic = new WText();
+		WText unlocked = new WText();
+		root.add(dynamic);
+
+		ComponentMap<WComponent, String> map = new ComponentMap<>();
+		map.put(root, "root");
+		map.put(dynamic, "dynamic");
+		map.put(unlocked, "unlocked");
+
+		Assert.assertEquals("Incorrect size", 3, map.size());
+		Assert.assertEquals("Incorrect root value", "root", map.get(root));
+		Assert.assertEquals("Incorrect dynamic value", "dynamic", map.get(dynamic));
+		Assert.assertEquals("Incorrect unlocked value", "unlocked", map.get(unlocked));
+	}
+
+	@Test
+	public void testUnlockAndRelock() {
+		WContainer root = createTree(3);
+		root.setLocked(true);
+
+		ComponentMap<WComponent, String> map = new ComponentMap<>();
+		map.put(root.getChildAt(0), "a");
+		map.put(root.getChildAt(1), "b");
+
+		root.setLocked(false);
+		Assert.assertEquals("Value should be retained after unlocking", "a", map.get(root.getChildAt(0)));
+
+		root.setLocked(true);
+		map.put(root.getChildAt(2), "c");
+
+		Assert.assertEquals("Incorrect size after relocking", 3, map.size());
+		Assert.assertEquals("Value should be retained after relocking", "a", map.get(root.getChildAt(0)));
+		Assert.assertEquals("Value should be retained after relocking", "b", map.get(root.getChildAt(1)));
+		Assert.assertEquals("Incorrect value after relocking", "c", map.get(root.getChildAt(2)));
+	}
+
+	@Test
+	public void testReadAfterUnlock() {
+		WContainer root = createTree(3);
+		root.setLocked(true);
+
+		ComponentMap<WComponent, String> map = new ComponentMap<>();
+		map.put(root.getChildAt(0), "a");
+		map.put(root.getChildAt(2), "c");
+
+		root.setLocked(false);
+
+		// Reads must not change the map, so iterating while reading is safe
+		Iterator<Map.Entry<WComponent, String>> iter = map.entrySet().iterator();
+		Assert.assertEquals("Incorrect value read after unlocking", "a", map.get(root.getChildAt(0)));
+		Assert.assertTrue("Value should be found after unlocking", map.containsKey(root.getChildAt(2)));
+		Assert.assertFalse("Missing value should not be found after unlocking", map.containsKey(root.getChildAt(1)));
+		Assert.assertEquals("Incorrect first entry after unlocking", root.getChildAt(0), iter.next().getKey());
+		Assert.assertEquals("Incorrect second entry after unlocking", root.getChildAt(2), iter.next().getKey());
+		Assert.assertFalse("Incorrect number of entries after unlocking", iter.hasNext());
+	}
+
+	@Test
+	public void testRelockWithoutUnlock() {
+		WContainer root = createTree(3);
+		root.setLocked(true);
+
+		ComponentMap<WComponent, String> map = new ComponentMap<>();
+		map.put(root.getChildAt(1), "b");
+
+		// Locking again builds a new snapshot, so the values held for the old snapshot must still be found
+		root.setLocked(true);
+		Assert.assertEquals("Value should be found after relocking", "b", map.get(root.getChildAt(1)));
+
+		map.put(root.getChildAt(2), "c");
+		Assert.assertEquals("Incorrect size after relocking", 2, map.size());
+		Assert.assertEquals("Value should be retained after relocking", "b", map.get(root.getChildAt(1)));
+		Assert.assertEquals("Incorrect value after relocking", "c", map.get(root.getChildAt(2)));
+	}
+
+	@Test
+	public void testSwitchSnapshot() {
+		WContainer first = createTree(2);
+		first.setLocked(true);
+		WContainer second = createTree(3);
+		second.setLocked(true);
+
+		ComponentMap<WComponent, String> map = new ComponentMap<>();
+		map.put(first.getChildAt(0), "first");
+
+		// More values for the second tree than the first, so the map switches to the second tree's snapshot
+		for (int i = 0; i < second.getChildCount(); i++) {
+			map.put(second.getChildAt(i), "second" + i);
+		}
+
+		Assert.assertEquals("Incorrect size after switching", 4, map.size());
+		Assert.assertEquals("Value should be retained after switching", "first", map.get(first.getChildAt(0)));
+
+		for (int i = 0; i < second.getChildCount(); i++) {
+			Assert.assertEquals("Incorrect value after switching", "second" + i, map.get(second.getChildAt(i)));
+		}
+
+		// Removing all the values for a snapshot releases it
+		map.remove(first.getChildAt(0));
+
+		for (int i = 0; i < second.getChildCount(); i++) {
+			map.remove(second.getChildAt(i));
+		}
+
+		Assert.assertTrue("Map should be empty", map.isEmpty());
+		map.put(first.getChildAt(1), "first1");
+		Assert.assertEquals("Incorrect value after release", "first1", map.get(first.getChildAt(1)));
+		Assert.assertEquals("Incorrect size after release", 1, map.size());
+	}
+
+	@Test
+	public void testLargeTree() {
+		WContainer root = createTree(1000);
+		root.setLocked(true);
+
+		ComponentMap<WComponent, String> map = new ComponentMap<>();
+		map.put(root.getChildAt(999), "last");
+		map.put(root.getChildAt(0), "first");
+		map.put(root.getChildAt(500), "middle");
+
+		Assert.assertEquals("Incorrect size", 3, map.size());
+		Assert.assertEquals("Incorrect last value", "last", map.get(root.getChildAt(999)));
+		Assert.assertEquals("Incorrect first value", "first", map.get(root.getChildAt(0)));
+		Assert.assertEquals("Incorrect middle value", "middle", map.get(root.getChildAt(500)));
+		Assert.assertNull("Incorrect missing value", map.get(root.getChildAt(501)));
+
+		Assert.assertEquals("Incorrect removed value", "middle", map.remove(root.getChildAt(500)));
+		Assert.assertNull("Removed value should not be returned", map.get(root.getChildAt(500)));
+		Assert.assertEquals("Incorrect size after remove", 2, map.size());
+	}
+
+	@Test(expected = ConcurrentModificationException.class)
+	public void testIteratorConcurrentModification() {
+		WContainer root = createTree(100);
+		root.setLocked(true);
+
+		ComponentMap<WComponent, String> map = new ComponentMap<>();
+		map.put(root.getChildAt(0), "a");
+		map.put(root.getChildAt(1), "b");
+
+		Iterator<Map.Entry<WComponent, String>> iter = map.entrySet().iterator();
+		iter.next();
+		map.put(root.getChildAt(99), "c");
+		iter.next();
+	}
+
+	@Test
+	public void testNullValue() {
+		WContainer root = createTree(1);
+		root.setLocked(true);
+
+		ComponentMap<WComponent, String> map = new ComponentMap<>();
+		map.put(root.getChildAt(0), null);
+
+		Assert.assertTrue("Null value should be held", map.containsKey(root.getChildAt(0)));
+		Assert.assertNull("Incorrect null value", map.get(root.getChildAt(0)));
+		Assert.assertEquals("Incorrect size", 1, map.size());
+	}
+
+	@Test
+	public void testIteratorRemove() {
+		WContainer root = createTree(4);
+		root.setLocked(true);
+		WText dynamic = new WText();
+
+		ComponentMap<WComponent, String> map = new ComponentMap<>();
+
+		for (int i = 0; i < root.getChildCount(); i++) {
+			map.put(root.getChildAt(i), "value" + i);
+		}
+
+		map.put(dynamic, "dynamic");
+
+		for (Iterator<Map.Entry<WComponent, String>> iter = map.entrySet().iterator(); iter.hasNext();) {
+			Map.Entry<WComponent, String> entry = iter.next();
+
+			if (entry.getKey() == dynamic || entry.getKey() == root.getChildAt(1)) {
+				iter.remove();
+			} else {
+				entry.setValue("updated");
+			}
+		}
+
+		Assert.assertEquals("Incorrect size after remove", 3, map.size());
+		Assert.assertFalse("Dynamic value should have been removed", map.containsKey(dynamic));
+		Assert.assertFalse("Value should have been removed", map.containsKey(root.getChildAt(1)));
+		Assert.assertEquals("Value should have been updated", "updated", map.get(root.getChildAt(3)));
+		Assert.assertEquals("Value should have been updated", "updated", map.get(root.getChildAt(0)));
+
+		// Removing every value through the iterator releases the snapshot
+		for (Iterator<Map.Entry<WComponent, String>> iter = map.entrySet().iterator(); iter.hasNext();) {
+			iter.next();
+			iter.remove();
+		}
+
+		Assert.assertTrue("Map should be empty", map.isEmpty());
+		map.put(root.getChildAt(2), "again");
+		Assert.assertEquals("Incorrect value after removing all", "again", map.get(root.getChildAt(2)));
+	}
+
+	@Test
+	public void testSerialization() throws IOException, ClassNotFoundException {
+		WContainer root = createTree(3);
+		root.setLocked(true);
+
+		ComponentMap<WComponent, String> map = new ComponentMap<>();
+		map.put(root.getChildAt(0), "a");
+		map.put(root.getChildAt(2), "c");
+
+		Object[] copy = (Object[]) pipe(new Object[]{root, map});
+		WContainer copyRoot = (WContainer) copy[0];
+		Map<WComponent, String> copyMap = (Map<WComponent, String>) copy[1];
+
+		Assert.assertEquals("Incorrect size after serialization", 2, copyMap.size());
+		Assert.assertEquals("Incorrect value after serialization", "a", copyMap.get(copyRoot.getChildAt(0)));
+		Assert.assertEquals("Incorrect value after serialization", "c", copyMap.get(copyRoot.getChildAt(2)));
+	}
+
+	/**
+	 * Creates a tree with the given number of children.
+	 *
+	 * @param children the number of children to add.
+	 * @return the root of the tree.
+	 */
+	private static WContainer createTree(final int children) {
+		WContainer root = new WContainer();
+
+		for (int i = 0; i < children; i++) {
+			root.add(new WText());
+		}
+
+		return root;
+	}
+
+	/**
+	 * Takes a copy of an object via serialization.
+	 *
+	 * @param obj the object to copy.
+	 * @return the copy of the object.
+	 * @throws IOException if there is an error serializing the object.
+	 * @throws ClassNotFoundException if there is an error deserializing the object.
+	 */
+	private static Object pipe(final Object obj) throws IOException, ClassNotFoundException {
+		ByteArrayOutputStream bos = new ByteArrayOutputStream();
+
+		try (ObjectOutputStream oos = new ObjectOutputStream(bos)) {
+			oos.writeObject(obj);
+		}
+
+		try (ObjectInputStream ois = new ObjectInputStream(new ByteArrayInputStream(bos.toByteArray()))) {
+			return ois.readObject();
+		}
+	}
+}
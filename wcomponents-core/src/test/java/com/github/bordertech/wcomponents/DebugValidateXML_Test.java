@@ -0,0 +1,57 @@
+package com.github.bordertech.wcomponents;
+
+import com.github.bordertech.wcomponents.util.XMLUtil;
+import org.junit.Assert;
+import org.junit.Test;
+import org.xml.sax.SAXException;
+
+/**
+ * Unit tests for {@link DebugValidateXML}.
+ *
+ * @since 1.5.30
+ */
+public class DebugValidateXML_Test {
+
+	@Test
+	public void testSchemaCached() throws SAXException {
+		Assert.assertNotNull("Schema should have been compiled", DebugValidateXML.getSchema());
+		Assert.assertSame("Schema should only be compiled once", DebugValidateXML.getSchema(), DebugValidateXML.
+				getSchema());
+	}
+
+	@Test
+	public void testValidateValidXML() {
+		String xml = "<ui:text>valid</ui:text>";
+		Assert.assertNull("Fragment should be valid", DebugValidateXML.validateXMLAgainstSchema(xml));
+		Assert.assertNull("Fragment should be valid", validateBuffer(xml));
+		Assert.assertNull("Empty buffer should be valid", DebugValidateXML.validateXMLAgainstSchema(new char[10], 0));
+
+		xml = DebugValidateXML.wrapXMLInRootElement(xml);
+		Assert.assertTrue("XML should have been wrapped", xml.startsWith(XMLUtil.XML_DECLARATION));
+		Assert.assertNull("Document should be valid", validateBuffer(xml));
+	}
+
+	@Test
+	public void testValidateInvalidXML() {
+		String[] invalid = new String[]{"<badxml>", "<ui:bad>bad</ui:bad>",
+			DebugValidateXML.wrapXMLInRootElement("<badxml>")};
+
+		for (String xml : invalid) {
+			String error = DebugValidateXML.validateXMLAgainstSchema(xml);
+			Assert.assertNotNull("Should have reported an error for " + xml, error);
+			Assert.assertEquals("Buffer should report the same error for " + xml, error, validateBuffer(xml));
+		}
+	}
+
+	/**
+	 * Validates the XML from a buffer which is larger than the XML.
+	 *
+	 * @param xml the XML to validate
+	 * @return the validation error, or null if valid
+	 */
+	private static String validateBuffer(final String xml) {
+		char[] buffer = new char[xml.length() + 16];
+		xml.getChars(0, xml.length(), buffer, 0);
+		return DebugValidateXML.validateXMLAgainstSchema(buffer, xml.length());
+	}
+}
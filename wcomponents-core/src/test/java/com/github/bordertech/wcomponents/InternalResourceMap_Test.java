@@ -0,0 +1,62 @@
+package com.github.bordertech.wcomponents;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Unit tests for {@link InternalResourceMap}.
+ *
+ * @since 1.5.30
+ */
+public class InternalResourceMap_Test {
+
+	@Test
+	public void testGetResource() {
+		InternalResource resource = new InternalResource("/content/gif.gif", "gif");
+		Assert.assertNotNull("Resource should have been registered", InternalResourceMap.getResource(
+				"/content/gif.gif"));
+		Assert.assertNull("Resource should not have been registered", InternalResourceMap.getResource(
+				"/content/InternalResourceMap_Test.unregistered"));
+
+		// Registering another resource with the same name should not replace the original
+		InternalResource first = InternalResourceMap.getResource("/content/gif.gif");
+		new InternalResource("/content/gif.gif", "another");
+		Assert.assertSame("Resource should not have been replaced", first, InternalResourceMap.getResource(
+				resource.getResourceName()));
+	}
+
+	@Test
+	public void testGetResourceCacheKey() {
+		InternalResource resource = new InternalResource("/content/gif.gif", "gif");
+		String key = InternalResourceMap.getResourceCacheKey(resource.getResourceName());
+
+		Assert.assertNotNull("Missing cache key", key);
+		Assert.assertEquals("Cache key should be the hash of the content", InternalResourceMap.computeHash(resource),
+				key);
+		Assert.assertEquals("Incorrect cache key length", 22, key.length());
+		Assert.assertSame("Cache key should only be calculated once", key, InternalResourceMap.getResourceCacheKey(
+				resource.getResourceName()));
+
+		Assert.assertNull("Unregistered resource should not have a cache key", InternalResourceMap.getResourceCacheKey(
+				"/content/InternalResourceMap_Test.unregistered"));
+
+		new InternalResource("/content/InternalResourceMap_Test.missing", "missing");
+		Assert.assertNull("Missing resource should not have a cache key", InternalResourceMap.getResourceCacheKey(
+				"/content/InternalResourceMap_Test.missing"));
+	}
+
+	@Test
+	public void testGetResourceCacheKeyFromManifest() {
+		// This resource does not exist, so the key can only have come from the manifest
+		new InternalResource("/content/InternalResourceMap_Test.manifest", "manifest");
+		Assert.assertEquals("Cache key should have been read from the manifest", "manifestHash",
+				InternalResourceMap.getResourceCacheKey("/content/InternalResourceMap_Test.manifest"));
+	}
+
+	@Test
+	public void testComputeHash() {
+		String hash = InternalResourceMap.computeHash(new InternalResource("/content/gif.gif", "gif"));
+		Assert.assertNotEquals("Different content should have a different hash", hash, InternalResourceMap.computeHash(
+				new InternalResource("/content/test.pdf", "pdf")));
+	}
+}
@@ -0,0 +1,131 @@
+package com.github.bordertech.wcomponents;
+
+import com.github.bordertech.wcomponents.util.Config;
+import com.github.bordertech.wcomponents.util.ConfigurationProperties;
+import com.github.bordertech.wcomponents.util.mock.MockRequest;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Unit tests for {@link RequestParameterIndex} and parameter driven request dispatch.
+ *
+ * @since 1.5.30
+ */
+public class RequestParameterIndex_Test extends AbstractWComponentTestCase {
+
+	@After
+	public void resetConfig() {
+		Config.reset();
+	}
+
+	@Test
+	public void testIsRequested() {
+		MockRequest request = new MockRequest();
+		request.setParameter("abc", "x");
+		request.setParameter("def-h", "x");
+		request.setParameter(Environment.TARGET_ID, "target");
+
+		RequestParameterIndex index = new RequestParameterIndex(request);
+
+		Assert.assertTrue("Non consumers should always be requested", index.isRequested(new WContainer()));
+		Assert.assertTrue("Consumers with a null prefix should always be requested", index.isRequested(
+				new CountingConsumer(null)));
+		Assert.assertTrue("Exact parameter should be requested", index.isRequested(new CountingConsumer("abc")));
+		Assert.assertTrue("Prefix of a parameter should be requested", index.isRequested(new CountingConsumer("def")));
+		Assert.assertTrue("Target id should be requested", index.isRequested(new CountingConsumer("target")));
+		Assert.assertFalse("Missing parameter should not be requested", index.isRequested(new CountingConsumer("ab1")));
+		Assert.assertFalse("Missing parameter should not be requested", index.isRequested(new CountingConsumer("xyz")));
+	}
+
+	@Test
+	public void testServiceRequest() {
+		WContainer root = new WContainer();
+		CountingConsumer submitted = new CountingConsumer("submitted");
+		CountingConsumer missing = new CountingConsumer("missing");
+		CountingConsumer always = new CountingConsumer(null);
+		root.add(submitted);
+		root.add(missing);
+		root.add(always);
+		root.setLocked(true);
+		setActiveContext(createUIContext());
+
+		MockRequest request = new MockRequest();
+		request.setParameter("submitted.value", "x");
+
+		root.serviceRequest(request);
+		Assert.assertEquals("All components should be called by default", 1, missing.handleRequestCount);
+
+		Config.getInstance().setProperty(ConfigurationProperties.REQUEST_PARAMETER_DISPATCH, "true");
+		root.serviceRequest(request);
+
+		Assert.assertEquals("Submitted consumer should be called", 2, submitted.handleRequestCount);
+		Assert.assertEquals("Missing consumer should not be called", 1, missing.handleRequestCount);
+		Assert.assertEquals("Always notify consumer should be called", 2, always.handleRequestCount);
+		Assert.assertNull("Index should be removed after the request", request.getAttribute(
+				RequestParameterIndex.ATTRIBUTE_KEY));
+	}
+
+	@Test
+	public void testServiceRequestInputsAndButtons() {
+		WContainer root = new WContainer();
+		WTextField text1 = new WTextField();
+		WTextField text2 = new WTextField();
+		WButton button = new WButton("Go");
+		root.add(text1);
+		root.add(text2);
+		root.add(button);
+		root.setLocked(true);
+		setActiveContext(createUIContext());
+		Config.getInstance().setProperty(ConfigurationProperties.REQUEST_PARAMETER_DISPATCH, "true");
+
+		MockRequest request = new MockRequest();
+		request.setParameter(text1.getId(), "a");
+		request.setParameter(button.getId(), "x");
+		root.serviceRequest(request);
+
+		Assert.assertEquals("Incorrect text1", "a", text1.getText());
+		Assert.assertTrue("Text1 should be changed", text1.isChangedInLastRequest());
+		Assert.assertNull("Text2 should not have been updated", text2.getText());
+		Assert.assertTrue("Button should be pressed", button.isPressed());
+
+		// The changed and pressed flags must still be cleared when their parameters are not submitted
+		root.serviceRequest(new MockRequest());
+		Assert.assertFalse("Text1 changed flag should be cleared", text1.isChangedInLastRequest());
+		Assert.assertFalse("Button pressed flag should be cleared", button.isPressed());
+		Assert.assertEquals("Text1 should be unchanged", "a", text1.getText());
+	}
+
+	/**
+	 * A component which consumes parameters with a fixed prefix and counts handleRequest calls.
+	 */
+	private static final class CountingConsumer extends WContainer implements RequestParameterConsumer {
+
+		/**
+		 * The parameter prefix.
+		 */
+		private final String prefix;
+
+		/**
+		 * The number of times handleRequest has been called.
+		 */
+		private int handleRequestCount;
+
+		/**
+		 * @param prefix the parameter prefix.
+		 */
+		private CountingConsumer(final String prefix) {
+			this.prefix = prefix;
+		}
+
+		@Override
+		public String getRequestParameterPrefix() {
+			return prefix;
+		}
+
+		@Override
+		public void handleRequest(final Request request) {
+			handleRequestCount++;
+		}
+	}
+}
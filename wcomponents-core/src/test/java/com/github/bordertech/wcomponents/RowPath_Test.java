@@ -0,0 +1,145 @@
+package com.github.bordertech.wcomponents;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Unit tests for {@link RowPath}.
+ *
+ * @since 1.5.30
+ */
+public class RowPath_Test {
+
+	@Test
+	public void testListContract() {
+		RowPath path = RowPath.of(2, 0, 13);
+		List<Integer> list = new ArrayList<>(Arrays.asList(2, 0, 13));
+
+		Assert.assertEquals("Incorrect size", 3, path.size());
+		Assert.assertEquals("Incorrect depth", 3, path.getDepth());
+		Assert.assertEquals("Incorrect index", Integer.valueOf(13), path.get(2));
+		Assert.assertEquals("Incorrect primitive index", 13, path.getIndex(2));
+		Assert.assertEquals("Path should equal list", list, path);
+		Assert.assertEquals("List should equal path", path, list);
+		Assert.assertEquals("Incorrect hash code", list.hashCode(), path.hashCode());
+		Assert.assertEquals("Paths should be equal", RowPath.of(2, 0, 13), path);
+		Assert.assertNotEquals("Paths should not be equal", RowPath.of(2, 0), path);
+	}
+
+	@Test
+	public void testMapKeyCompatibility() {
+		Map<List<Integer>, String> map = new HashMap<>();
+		map.put(Arrays.asList(1, 2), "value");
+		Assert.assertEquals("Path should find list key", "value", map.get(RowPath.of(1, 2)));
+
+		map.clear();
+		map.put(RowPath.of(1, 2), "value");
+		Assert.assertEquals("List should find path key", "value", map.get(Arrays.asList(1, 2)));
+	}
+
+	@Test
+	public void testChild() {
+		RowPath parent = RowPath.of(4);
+		RowPath child = parent.child(7);
+
+		Assert.assertEquals("Incorrect child", RowPath.of(4, 7), child);
+		Assert.assertEquals("Parent should not be modified", RowPath.of(4), parent);
+	}
+
+	@Test
+	public void testValueOf() {
+		RowPath path = RowPath.of(1);
+		Assert.assertSame("Should return the same path", path, RowPath.valueOf(path));
+		Assert.assertEquals("Incorrect path for list", RowPath.of(3, 1), RowPath.valueOf(Arrays.asList(3, 1)));
+		Assert.assertNull("Should return null for null", RowPath.valueOf(null));
+	}
+
+	@Test
+	public void testIndexString() {
+		Assert.assertEquals("Incorrect index string", "0", RowPath.of(0).toIndexString());
+		Assert.assertEquals("Incorrect index string", "12-0-345", RowPath.of(12, 0, 345).toIndexString());
+	}
+
+	@Test
+	public void testParse() {
+		Assert.assertEquals("Incorrect path", RowPath.of(0), RowPath.parse("0"));
+		Assert.assertEquals("Incorrect path", RowPath.of(12, 0, 345), RowPath.parse("12-0-345"));
+		Assert.assertEquals("Incorrect path", RowPath.of(Integer.MAX_VALUE), RowPath.parse(String.valueOf(
+				Integer.MAX_VALUE)));
+	}
+
+	@Test(expected = NumberFormatException.class)
+	public void testParseInvalid() {
+		RowPath.parse("1-x");
+	}
+
+	@Test(expected = NumberFormatException.class)
+	public void testParseEmptyLevel() {
+		RowPath.parse("1--2");
+	}
+
+	@Test(expected = UnsupportedOperationException.class)
+	public void testImmutable() {
+		RowPath.of(1).add(2);
+	}
+
+	@Test
+	public void testTopLevelCache() {
+		RowPath.TopLevelCache cache = new RowPath.TopLevelCache();
+		RowPath path = cache.get(5);
+
+		Assert.assertEquals("Incorrect path", RowPath.of(5), path);
+		Assert.assertSame("Path should be interned", path, cache.get(5));
+		Assert.assertEquals("Incorrect path for large index", RowPath.of(100000), cache.get(100000));
+	}
+
+	@Test
+	public void testTopLevelCacheSerialization() throws IOException, ClassNotFoundException {
+		RowPath.TopLevelCache cache = new RowPath.TopLevelCache();
+		byte[] empty = serialize(cache);
+
+		for (int i = 0; i < 100; i++) {
+			cache.get(i);
+		}
+
+		byte[] populated = serialize(cache);
+		Assert.assertEquals("Cached paths should not be serialized", empty.length, populated.length);
+
+		RowPath.TopLevelCache copy;
+
+		try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(populated))) {
+			copy = (RowPath.TopLevelCache) in.readObject();
+		}
+
+		RowPath path = copy.get(5);
+		Assert.assertEquals("Incorrect path after serialization", RowPath.of(5), path);
+		Assert.assertSame("Path should be interned after serialization", path, copy.get(5));
+	}
+
+	/**
+	 * Serializes an object.
+	 *
+	 * @param obj the object to serialize.
+	 * @return the serialized form of the object.
+	 * @throws IOException if there is an error serializing the object.
+	 */
+	private static byte[] serialize(final Object obj) throws IOException {
+		ByteArrayOutputStream bos = new ByteArrayOutputStream();
+
+		try (ObjectOutputStream out = new ObjectOutputStream(bos)) {
+			out.writeObject(obj);
+		}
+
+		return bos.toByteArray();
+	}
+}
@@ -5,6 +5,8 @@ import com.github.bordertech.wcomponents.registry.UIRegistry;
 import com.github.bordertech.wcomponents.servlet.ServletUtil;
 import com.github.bordertech.wcomponents.servlet.WServlet;
 import com.github.bordertech.wcomponents.servlet.WebXmlRenderContext;
+import com.github.bordertech.wcomponents.util.Config;
+import com.github.bordertech.wcomponents.util.ConfigurationProperties;
 import com.github.bordertech.wcomponents.util.NullWriter;
 import com.github.bordertech.wcomponents.util.SerializationUtil;
 import com.github.bordertech.wcomponents.util.mock.MockRequest;
@@ -171,6 +173,80 @@ public class SerializationPerformance_Test extends AbstractWComponentTestCase {
 		assertLessThan("Time scaling should be O(n)", registered10Time, registered1Time * 10);
 	}
 
+	@Test
+	public void testCompactSerializationSize() throws Exception {
+		WComponent registered = UIRegistry.getInstance().getUI(AllComponents.class.getName());
+
+		for (int percent : new int[]{0, 50, 100}) {
+			UIContext uic = createUIContext();
+			createUserModels(registered, uic, percent);
+
+			int defaultSize = getUISize(uic, registered, false);
+			int compactSize = getUISize(uic, registered, true);
+
+			LOG.info("default size - " + percent + "% models: " + defaultSize);
+			LOG.info("Compact size - " + percent + "% models: " + compactSize);
+			assertLessThan("Compact size should be smaller than default", compactSize, defaultSize);
+		}
+	}
+
+	@Test
+	public void testCompactSerializationTime() throws Exception {
+		WComponent registered = UIRegistry.getInstance().getUI(AllComponents.class.getName());
+
+		for (int percent : new int[]{0, 50, 100}) {
+			UIContext uic = createUIContext();
+			createUserModels(registered, uic, percent);
+
+			long defaultTime = serializeSession(registered, uic, NUM_REPETITIONS, false);
+			long compactTime = serializeSession(registered, uic, NUM_REPETITIONS, true);
+
+			LOG.info("default time - " + percent + "% models: " + (defaultTime / 1000000.0) + "ms");
+			LOG.info("Compact time - " + percent + "% models: " + (compactTime / 1000000.0) + "ms");
+		}
+	}
+
+	/**
+	 * Serializes a component tree, using the given component model serialization form.
+	 *
+	 * @param uic the UIContext to serialize
+	 * @param comp the component to serialize.
+	 * @param compact true to use the compact component model form.
+	 * @return an approximation of the serialized session size.
+	 * @throws IOException on error
+	 */
+	private int getUISize(final UIContext uic, final WComponent comp, final boolean compact) throws IOException {
+		Config.getInstance().setProperty(ConfigurationProperties.MODEL_COMPACT_SERIALIZATION, String.valueOf(compact));
+
+		try {
+			return getUISize(uic, comp);
+		} finally {
+			Config.reset();
+		}
+	}
+
+	/**
+	 * Serializes the session the given number of times using the given component model serialization form, and
+	 * returns the elapsed time.
+	 *
+	 * @param comp the root component.
+	 * @param uic the UIContext to serialize.
+	 * @param count the number of times to serialize the session.
+	 * @param compact true to use the compact component model form.
+	 * @return the elapsed time, in milliseconds.
+	 * @throws Exception an exception
+	 */
+	private long serializeSession(final WComponent comp, final UIContext uic, final long count,
+			final boolean compact) throws Exception {
+		Config.getInstance().setProperty(ConfigurationProperties.MODEL_COMPACT_SERIALIZATION, String.valueOf(compact));
+
+		try {
+			return serializeSession(comp, uic, count);
+		} finally {
+			Config.reset();
+		}
+	}
+
 	/**
 	 * Serializes a component tree.
 	 *
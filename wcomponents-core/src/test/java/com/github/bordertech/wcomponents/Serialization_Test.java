@@ -1,12 +1,18 @@
 package com.github.bordertech.wcomponents;
 
 import com.github.bordertech.wcomponents.registry.UIRegistry;
+import com.github.bordertech.wcomponents.util.Config;
+import com.github.bordertech.wcomponents.util.ConfigurationProperties;
 import com.github.bordertech.wcomponents.util.SystemException;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.FileOutputStream;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import org.junit.Assert;
 import org.apache.commons.logging.LogFactory;
 import org.junit.Test;
@@ -105,6 +111,127 @@ public class Serialization_Test extends AbstractWComponentTestCase {
 		Assert.assertEquals("Text incorrect after serialization", TEST_STRING, name.getText());
 	}
 
+	@Test
+	public void testCompactUIContextSerialization() {
+		Config.getInstance().setProperty(ConfigurationProperties.MODEL_COMPACT_SERIALIZATION, "true");
+
+		try {
+			MyApplication app = (MyApplication) UIRegistry.getInstance().getUI(MyApplication.class.
+					getName());
+
+			UIContextImpl uic = new UIContextImpl();
+			setActiveContext(uic);
+			uic.setUI(app);
+
+			WTextField name = app.getText();
+			name.setText(TEST_STRING);
+			name.setMandatory(true);
+			name.setToolTip(TEST_STRING);
+			name.setHtmlClass("compact");
+			name.setAttribute("data-compact", Integer.valueOf(-1));
+			WLabel label = new WLabel("Name", name);
+			app.add(label);
+
+			// Pipe the ui context
+			uic = (UIContextImpl) pipe(uic);
+			setActiveContext(uic);
+
+			MyApplication pipedApp = (MyApplication) uic.getUI();
+			Assert.assertSame("Should be the same component instance", app, pipedApp);
+			Assert.assertEquals("Text incorrect after serialization", TEST_STRING, name.getText());
+			Assert.assertTrue("Mandatory incorrect after serialization", name.isMandatory());
+			Assert.assertEquals("Tool tip incorrect after serialization", TEST_STRING, name.getToolTip());
+			Assert.assertEquals("HTML class incorrect after serialization", "compact", name.getHtmlClass());
+			Assert.assertEquals("Attribute incorrect after serialization", Integer.valueOf(-1), name.getAttribute(
+					"data-compact"));
+			Assert.assertEquals("Dynamic children incorrect after serialization", 2, app.getChildCount());
+			Assert.assertSame("Shared child should be the same instance", name, app.getChildAt(0));
+			Assert.assertEquals("Dynamic child incorrect after serialization", "Name", ((WLabel) app.getChildAt(1)).
+					getText());
+
+			// Models written in the compact form must still be readable when it is turned off
+			Config.getInstance().setProperty(ConfigurationProperties.MODEL_COMPACT_SERIALIZATION, "false");
+			WebModel model = (WebModel) pipe(uic.getModel(name));
+			Assert.assertNotNull("Model should have been read", model);
+			uic.setModel(name, model);
+			Assert.assertEquals("Text incorrect after cross-mode read", TEST_STRING, name.getText());
+			Assert.assertTrue("Mandatory incorrect after cross-mode read", name.isMandatory());
+			Assert.assertEquals("Tool tip incorrect after cross-mode read", TEST_STRING, name.getToolTip());
+			Assert.assertEquals("HTML class incorrect after cross-mode read", "compact", name.getHtmlClass());
+			Assert.assertEquals("Attribute incorrect after cross-mode read", Integer.valueOf(-1), name.getAttribute(
+					"data-compact"));
+		} finally {
+			Config.reset();
+		}
+	}
+
+	@Test
+	public void testCompactSharedCollectionSerialization() {
+		Config.getInstance().setProperty(ConfigurationProperties.MODEL_COMPACT_SERIALIZATION, "true");
+
+		try {
+			WPanel panel = new WPanel();
+			WTextField field = new WTextField();
+			WTextField other = new WTextField();
+			panel.add(field);
+			panel.add(other);
+			panel.setLocked(true);
+
+			UIContextImpl uic = new UIContextImpl();
+			setActiveContext(uic);
+			uic.setUI(panel);
+
+			ArrayList<Object> shared = new ArrayList<>();
+			shared.add(TEST_STRING);
+			ArrayList<Object> cyclic = new ArrayList<>();
+			cyclic.add(cyclic);
+			field.setAttribute("shared1", shared);
+			field.setAttribute("shared2", shared);
+			field.setAttribute("cyclic", cyclic);
+			other.setAttribute("shared", shared);
+			other.setAttribute("bean", new SimpleBean(shared));
+
+			uic = (UIContextImpl) pipe(uic);
+			setActiveContext(uic);
+			panel = (WPanel) uic.getUI();
+			field = (WTextField) panel.getChildAt(0);
+			other = (WTextField) panel.getChildAt(1);
+
+			List<?> shared1 = (List<?>) field.getAttribute("shared1");
+			Assert.assertEquals("Incorrect shared list", Arrays.asList(TEST_STRING), shared1);
+			Assert.assertSame("Shared list should be the same instance", shared1, field.getAttribute("shared2"));
+			Assert.assertSame("List shared between models should be the same instance", shared1,
+					other.getAttribute("shared"));
+			Assert.assertSame("List shared with a bean should be the same instance", shared1,
+					((SimpleBean) other.getAttribute("bean")).getValue());
+
+			List<?> pipedCyclic = (List<?>) field.getAttribute("cyclic");
+			Assert.assertEquals("Incorrect cyclic list size", 1, pipedCyclic.size());
+			Assert.assertSame("Cyclic list should contain itself", pipedCyclic, pipedCyclic.get(0));
+		} finally {
+			Config.reset();
+		}
+	}
+
+	@Test
+	public void testCompactCoreSerialization() {
+		Config.getInstance().setProperty(ConfigurationProperties.MODEL_COMPACT_SERIALIZATION, "true");
+
+		try {
+			WPanel panel = new WPanel();
+			WTextField field = new WTextField();
+			field.setText(TEST_STRING);
+			panel.add(field);
+			panel.add(new WLabel("Label", field));
+
+			WPanel piped = (WPanel) pipe(panel);
+			Assert.assertEquals("Incorrect child count", 2, piped.getChildCount());
+			Assert.assertEquals("Incorrect text", TEST_STRING, ((WTextField) piped.getChildAt(0)).getText());
+		} finally {
+			Config.reset();
+		}
+	}
+
 	/**
 	 * Asserts that the given object can be serialized.
 	 *
@@ -174,4 +301,31 @@ public class Serialization_Test extends AbstractWComponentTestCase {
 			return text;
 		}
 	}
+
+	/**
+	 * A simple bean which holds a value.
+	 */
+	private static final class SimpleBean implements Serializable {
+
+		/**
+		 * The bean's value.
+		 */
+		private final Object value;
+
+		/**
+		 * Creates a SimpleBean.
+		 *
+		 * @param value the bean's value.
+		 */
+		private SimpleBean(final Object value) {
+			this.value = value;
+		}
+
+		/**
+		 * @return the bean's value.
+		 */
+		public Object getValue() {
+			return value;
+		}
+	}
 }
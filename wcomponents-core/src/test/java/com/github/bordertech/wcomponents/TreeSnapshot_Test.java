@@ -0,0 +1,188 @@
+package com.github.bordertech.wcomponents;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Unit tests for {@link TreeSnapshot}.
+ *
+ * @since 1.5.30
+ */
+public class TreeSnapshot_Test extends AbstractWComponentTestCase {
+
+	@Test
+	public void testIdsPrecomputed() {
+		TestTree tree = new TestTree();
+		String[] expected = tree.getIds();
+		Container[] expectedParents = tree.getParents();
+
+		tree.root.setLocked(true);
+
+		Assert.assertArrayEquals("Incorrect ids after locking", expected, tree.getIds());
+		Assert.assertArrayEquals("Incorrect parents after locking", expectedParents, tree.getParents());
+		Assert.assertSame("Id should be precomputed", tree.button.getId(), tree.button.getId());
+		Assert.assertSame("Internal id should be precomputed", tree.button.getInternalId(), tree.button.
+				getInternalId());
+
+		// The label id depends on its input, so is not precomputed
+		Assert.assertNotSame("Label id should not be precomputed", tree.label.getId(), tree.label.getId());
+
+		setActiveContext(createUIContext());
+		Assert.assertArrayEquals("Incorrect ids for user", expected, tree.getIds());
+	}
+
+	@Test
+	public void testStructureChangedForUser() {
+		TestTree tree = new TestTree();
+		tree.root.setLocked(true);
+		String buttonId = tree.button.getId();
+
+		TestTree expectedTree = new TestTree();
+		expectedTree.root.remove(expectedTree.first);
+		String expected = expectedTree.button.getId();
+
+		UIContext uic1 = createUIContext();
+		UIContext uic2 = createUIContext();
+
+		setActiveContext(uic1);
+		tree.root.remove(tree.first);
+		Assert.assertNull("Removed component should not have a parent", tree.first.getParent());
+		Assert.assertFalse("Button id should change for the user", buttonId.equals(tree.button.getId()));
+		Assert.assertEquals("Incorrect button id after structure change", expected, tree.button.getId());
+
+		setActiveContext(uic2);
+		Assert.assertEquals("Button id should not change for other users", buttonId, tree.button.getId());
+		Assert.assertSame("Incorrect parent for other users", tree.root, tree.first.getParent());
+	}
+
+	@Test
+	public void testIdNameChangedForUser() {
+		TestTree tree = new TestTree();
+		tree.root.setLocked(true);
+		String fieldId = tree.field.getId();
+
+		setActiveContext(createUIContext());
+		tree.context.setIdName("other");
+
+		Assert.assertEquals("Incorrect field id after naming context change", "other" + WComponent.ID_CONTEXT_SEPERATOR
+				+ "fld", tree.field.getId());
+
+		resetContext();
+		Assert.assertEquals("Shared field id should not change", fieldId, tree.field.getId());
+	}
+
+	@Test
+	public void testSharedStructureChanged() {
+		TestTree tree = new TestTree();
+		tree.root.setLocked(true);
+
+		// Changes made without a user context change the shared structure
+		tree.context.setIdName("other");
+
+		Assert.assertEquals("Incorrect field id after shared change", "other" + WComponent.ID_CONTEXT_SEPERATOR
+				+ "fld", tree.field.getId());
+	}
+
+	@Test
+	public void testDynamicChild() {
+		TestTree tree = new TestTree();
+		tree.root.setLocked(true);
+
+		setActiveContext(createUIContext());
+		WButton dynamic = new WButton("dynamic");
+		tree.context.add(dynamic);
+
+		Assert.assertSame("Incorrect dynamic parent", tree.context, dynamic.getParent());
+		Assert.assertTrue("Incorrect dynamic id", dynamic.getId().startsWith(tree.context.getId()));
+	}
+
+	@Test
+	public void testLockedSubtreeAddedToUnlockedParent() {
+		WPanel subtree = new WPanel();
+		WTextField field = new WTextField();
+		subtree.add(field);
+		subtree.setLocked(true);
+		String lockedId = field.getId();
+
+		WContainer parent = new WContainer();
+		parent.add(new WText("first"));
+		parent.add(subtree);
+
+		WContainer expectedParent = new WContainer();
+		WPanel expectedSubtree = new WPanel();
+		WTextField expectedField = new WTextField();
+		expectedParent.add(new WText("first"));
+		expectedParent.add(expectedSubtree);
+		expectedSubtree.add(expectedField);
+
+		Assert.assertSame("Incorrect parent after adding the locked subtree", parent, subtree.getParent());
+		Assert.assertSame("Incorrect field parent after adding the locked subtree", subtree, field.getParent());
+		Assert.assertEquals("Incorrect field id after adding the locked subtree", expectedField.getId(),
+				field.getId());
+		Assert.assertFalse("Field id should not be the id from the locked subtree", lockedId.equals(field.getId()));
+	}
+
+	/**
+	 * A component tree used for testing.
+	 */
+	private static final class TestTree {
+
+		/**
+		 * The root.
+		 */
+		private final WContainer root = new WContainer();
+
+		/**
+		 * The first child of the root.
+		 */
+		private final WText first = new WText("first");
+
+		/**
+		 * A naming context.
+		 */
+		private final WNamingContext context = new WNamingContext("ctx");
+
+		/**
+		 * A field in the naming context.
+		 */
+		private final WTextField field = new WTextField();
+
+		/**
+		 * A label for the field.
+		 */
+		private final WLabel label = new WLabel("label", field);
+
+		/**
+		 * A button with a generated id.
+		 */
+		private final WButton button = new WButton("button");
+
+		/**
+		 * Creates the tree.
+		 */
+		private TestTree() {
+			field.setIdName("fld");
+			root.add(first);
+			root.add(context);
+			context.add(field);
+			context.add(label);
+			root.add(button);
+		}
+
+		/**
+		 * @return the ids of the components in the tree.
+		 */
+		private String[] getIds() {
+			return new String[]{root.getId(), first.getId(), context.getId(), field.getId(), label.getId(),
+				button.getId(), root.getInternalId(), button.getInternalId()};
+		}
+
+		/**
+		 * @return the parents of the components in the tree.
+		 */
+		private Container[] getParents() {
+			return new Container[]{root.getParent(), first.getParent(), context.getParent(), field.getParent(),
+				label.getParent(), button.getParent()};
+		}
+	}
+}
@@ -3,6 +3,7 @@ package com.github.bordertech.wcomponents;
 import com.github.bordertech.wcomponents.SimpleBeanBoundTableModel.LevelDetails;
 import com.github.bordertech.wcomponents.WRepeater.SubUIContext;
 import com.github.bordertech.wcomponents.WTable.ExpandMode;
+import com.github.bordertech.wcomponents.monitor.SessionSizeEstimate;
 import com.github.bordertech.wcomponents.util.mock.MockRequest;
 import java.util.Arrays;
 import java.util.List;
@@ -129,6 +130,36 @@ public class UIContextImpl_Test extends AbstractWComponentTestCase {
 				component2));
 	}
 
+	@Test
+	public void testEstimateSize() {
+		UIContextImpl uic = new UIContextImpl();
+		WComponent component = new WText("a");
+		WComponent component2 = new WText("b");
+		WComponent component3 = new WTextField();
+
+		uic.setModel(component, new ComponentModel());
+		uic.setModel(component2, new ComponentModel());
+
+		SessionSizeEstimate estimate = uic.estimateSize();
+		Assert.assertEquals("Incorrect model count", 2, estimate.getModelCount());
+		Assert.assertEquals("Incorrect WText model count", Integer.valueOf(2), estimate.getModelCounts().get(
+				WText.class.getName()));
+		Assert.assertTrue("Estimated size should be positive", estimate.getEstimatedSize() > 0);
+
+		// Counts should be updated incrementally once tracking has started
+		uic.setModel(component3, new ComponentModel());
+		uic.setModel(component3, new ComponentModel());
+		uic.removeModel(component);
+		uic.removeModel(component);
+
+		estimate = uic.estimateSize();
+		Assert.assertEquals("Incorrect model count after update", 2, estimate.getModelCount());
+		Assert.assertEquals("Incorrect WText model count after update", Integer.valueOf(1), estimate.getModelCounts().
+				get(WText.class.getName()));
+		Assert.assertEquals("Incorrect WTextField model count after update", Integer.valueOf(1), estimate.
+				getModelCounts().get(WTextField.class.getName()));
+	}
+
 	@Test
 	public void testEnvironmentAccessors() {
 		UIContext uic = createUIContext();
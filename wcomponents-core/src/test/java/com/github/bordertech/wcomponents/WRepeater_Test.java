@@ -305,6 +305,58 @@ public class WRepeater_Test extends AbstractWComponentTestCase {
 		}
 	}
 
+	@Test
+	public void testGetRowContextForBean() {
+		WRepeater repeater = new WRepeater(new WTextField());
+		repeater.setLocked(true);
+		setActiveContext(createUIContext());
+
+		List<String> data = new ArrayList<>();
+		for (int i = 0; i < 100; i++) {
+			data.add("row" + i);
+		}
+		repeater.setBeanList(data);
+
+		for (int i = data.size() - 1; i >= 0; i--) {
+			SubUIContext rowContext = (SubUIContext) repeater.getRowContext(data.get(i));
+			Assert.assertEquals("Incorrect row index", i, rowContext.getRowIndex());
+			Assert.assertSame("Incorrect row context", repeater.getRowContexts().get(i), rowContext);
+		}
+
+		Assert.assertEquals("Incorrect row index for missing row", -1, ((SubUIContext) repeater.getRowContext(
+				"missing")).getRowIndex());
+	}
+
+	@Test
+	public void testStaleContextsEvictedOnPreparePaint() {
+		final List<String> data = new ArrayList<>(Arrays.asList("a", "b", "c"));
+
+		WRepeater repeater = new WRepeater(new WTextField());
+		repeater.setBeanProvider(new BeanProvider() {
+			@Override
+			public Object getBean(final BeanProviderBound beanProviderBound) {
+				return new ArrayList<>(data);
+			}
+		});
+		repeater.setLocked(true);
+
+		UIContext uic = createUIContext();
+		setActiveContext(uic);
+		repeater.preparePaint(new MockRequest());
+		UIContext rowContextC = repeater.getRowContexts().get(2);
+
+		// Next request, row "c" is no longer in the list
+		uic.clearScratchMap();
+		data.remove("c");
+		repeater.preparePaint(new MockRequest());
+
+		// Next request, row "c" is back, but its old context should have been evicted
+		uic.clearScratchMap();
+		data.add("c");
+		repeater.preparePaint(new MockRequest());
+		Assert.assertNotSame("Stale row context should have been evicted", rowContextC, repeater.getRowContext("c"));
+	}
+
 	@Test
 	public void testNamingContextAccessors() {
 		assertAccessorsCorrect(new WRepeater(), WRepeater::isNamingContext, WRepeater::setNamingContext, false, true, false);
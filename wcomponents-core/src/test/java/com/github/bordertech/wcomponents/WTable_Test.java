@@ -736,6 +736,99 @@ public final class WTable_Test extends AbstractWComponentTestCase {
 				get(0));
 	}
 
+	@Test
+	public void testSortTableDynamicPaginationRangeSorted() {
+		SimpleBeanBoundTableModel model = new SimpleBeanBoundTableModel(new String[]{"."});
+		model.setComparator(0, SimpleBeanBoundTableModel.COMPARABLE_COMPARATOR);
+
+		WTable table = new WTable();
+		table.setTableModel(model);
+		table.addColumn(new WTableColumn("dummy", WText.class));
+		table.setPaginationMode(PaginationMode.DYNAMIC);
+		table.setRowsPerPage(2);
+
+		table.setLocked(true);
+		setActiveContext(createUIContext());
+		table.setBean(Arrays.asList("e", "a", "d", "b", "c"));
+		table.setCurrentPage(1);
+
+		table.sort(0, true);
+		Assert.assertTrue("Table should be sorted", table.isSorted());
+
+		// Second page of a, b, c, d, e
+		List<RowIdWrapper> rowIndices = table.getRepeater().getBeanList();
+		Assert.assertEquals("Incorrect page size", 2, rowIndices.size());
+		Assert.assertEquals("Incorrect sort", Integer.valueOf(4), rowIndices.get(0).getRowIndex().get(0));
+		Assert.assertEquals("Incorrect sort", Integer.valueOf(2), rowIndices.get(1).getRowIndex().get(0));
+
+		// Last page, descending
+		resetContext();
+		setActiveContext(createUIContext());
+		table.setBean(Arrays.asList("e", "a", "d", "b", "c"));
+		table.setCurrentPage(2);
+		table.sort(0, false);
+
+		rowIndices = table.getRepeater().getBeanList();
+		Assert.assertEquals("Incorrect page size", 1, rowIndices.size());
+		Assert.assertEquals("Incorrect sort", Integer.valueOf(1), rowIndices.get(0).getRowIndex().get(0));
+	}
+
+	@Test
+	public void testSortTableDynamicPaginationRangeCached() {
+		final int[] sortCount = new int[1];
+		SimpleBeanBoundTableModel model = new SimpleBeanBoundTableModel(new String[]{"."}) {
+			@Override
+			public int[] sort(final int col, final boolean ascending, final int start, final int end) {
+				sortCount[0]++;
+				return super.sort(col, ascending, start, end);
+			}
+		};
+		model.setComparator(0, SimpleBeanBoundTableModel.COMPARABLE_COMPARATOR);
+
+		WTable table = new WTable();
+		table.setTableModel(model);
+		table.addColumn(new WTableColumn("dummy", WText.class));
+		table.setPaginationMode(PaginationMode.DYNAMIC);
+		table.setRowsPerPage(2);
+
+		table.setLocked(true);
+		setActiveContext(createUIContext());
+		table.setBean(Arrays.asList("b", "a", "b", "a", "c"));
+		table.sort(0, true);
+
+		// Rows which compare as equal are kept in model order: a(1), a(3), b(0), b(2), c(4)
+		List<RowIdWrapper> rowIndices = table.getRepeater().getBeanList();
+		Assert.assertEquals("Incorrect sort", Integer.valueOf(1), rowIndices.get(0).getRowIndex().get(0));
+		Assert.assertEquals("Incorrect sort", Integer.valueOf(3), rowIndices.get(1).getRowIndex().get(0));
+		clearScratchMaps();
+		table.getRepeater().getBeanList();
+		Assert.assertEquals("Rows for the same page should only be sorted once", 1, sortCount[0]);
+
+		table.setCurrentPage(1);
+		clearScratchMaps();
+		rowIndices = table.getRepeater().getBeanList();
+		Assert.assertEquals("Rows for a different page should be sorted", 2, sortCount[0]);
+		Assert.assertEquals("Incorrect sort", Integer.valueOf(0), rowIndices.get(0).getRowIndex().get(0));
+		Assert.assertEquals("Incorrect sort", Integer.valueOf(2), rowIndices.get(1).getRowIndex().get(0));
+
+		table.handleDataChanged();
+		clearScratchMaps();
+		table.getRepeater().getBeanList();
+		Assert.assertEquals("Rows should be sorted again after the data changed", 3, sortCount[0]);
+
+		// The full sort of the same data gives the same order
+		Assert.assertArrayEquals("Full sort should match range sort", new int[]{1, 3, 0, 2, 4}, model.sort(0, true));
+	}
+
+	/**
+	 * Clears the scratch maps of the active context, so that the table's row ids are determined again.
+	 */
+	private void clearScratchMaps() {
+		UIContext uic = UIContextHolder.getCurrent();
+		uic.clearScratchMap();
+		uic.clearRequestScratchMap();
+	}
+
 	/**
 	 * Test setShowColumnHeaders.
 	 */
@@ -14,6 +14,7 @@ import com.github.bordertech.wcomponents.WLabel;
 import com.github.bordertech.wcomponents.WText;
 import com.github.bordertech.wcomponents.WTextField;
 import com.github.bordertech.wcomponents.WebComponent;
+import com.github.bordertech.wcomponents.monitor.RequestMetrics;
 import com.github.bordertech.wcomponents.util.Config;
 import com.github.bordertech.wcomponents.util.ConfigurationProperties;
 import com.github.bordertech.wcomponents.util.SystemException;
@@ -186,6 +187,38 @@ public class AbstractContainerHelper_Test {
 		Assert.assertTrue("Helper should be disposed after render", helper.isDisposed());
 	}
 
+	@Test
+	public void testRenderWithMetrics() throws IOException {
+		Config.getInstance().setProperty(ConfigurationProperties.METRICS_ENABLED, "true");
+
+		try {
+			MyContainerHelper helper = new MyContainerHelper();
+			MyInterceptor interceptor = new MyInterceptor();
+
+			helper.setWebComponent(interceptor);
+			Assert.assertNotSame("Interceptor chain should be instrumented", interceptor, helper.getInterceptor());
+
+			helper.prepareUserContext();
+			helper.processAction();
+			helper.render();
+
+			Assert.assertTrue("Paint should have been called", interceptor.paintCalled);
+			Assert.assertEquals("Service request phase not recorded", 1, RequestMetrics.getLatency(
+					RequestMetrics.PHASE_SERVICE_REQUEST).getCount());
+			Assert.assertEquals("Prepare paint phase not recorded", 1, RequestMetrics.getLatency(
+					RequestMetrics.PHASE_PREPARE_PAINT).getCount());
+			Assert.assertEquals("Paint phase not recorded", 1, RequestMetrics.getLatency(RequestMetrics.PHASE_PAINT).
+					getCount());
+			Assert.assertEquals("Interceptor paint not recorded", 1, RequestMetrics.getLatency("MyInterceptor.paint").
+					getCount());
+			Assert.assertEquals("Incorrect rendered size", helper.stringWriter.toString().length(),
+					RequestMetrics.getRenderedSizes().getTotal());
+		} finally {
+			Config.getInstance().setProperty(ConfigurationProperties.METRICS_ENABLED, "false");
+			RequestMetrics.reset();
+		}
+	}
+
 	@Test
 	public void testErrorDuringActionPhase() throws IOException {
 		MyContainerHelper helper = new MyContainerHelper();
@@ -55,6 +55,32 @@ public class TemplateRenderInterceptorTest extends AbstractWComponentTestCase {
 		Assert.assertEquals("Template should not be rendered when interceptor disabled", EXPECTED_RENDERED, actual.result);
 	}
 
+	/**
+	 * Ensure that content without i18n sections and unknown keys pass through untouched.
+	 */
+	@Test
+	public void testPaintUntranslated() {
+		Config.getInstance().setProperty(ConfigurationProperties.I18N_THEME_RESOURCE_BUNDLE_BASE_NAME, "i18n/theme");
+		String html = "<fu a=\"{x}\">{{/i18n}}</fu>";
+		Assert.assertEquals("Content without i18n sections should not change", html,
+				generateOutput(new MyComponent(html)).result);
+		Assert.assertEquals("Unknown keys should be output untranslated", "<fu>unknown_key</fu>",
+				generateOutput(new MyComponent("<fu>{{#i18n}}unknown_key{{/i18n}}</fu>")).result);
+		Assert.assertEquals("Unterminated sections should be output as is", "<fu>{{#i18n}}some_i18n_key</fu>",
+				generateOutput(new MyComponent("<fu>{{#i18n}}some_i18n_key</fu>")).result);
+	}
+
+	/**
+	 * Ensure that multiple i18n sections are translated.
+	 */
+	@Test
+	public void testPaintMultipleSections() {
+		Config.getInstance().setProperty(ConfigurationProperties.I18N_THEME_RESOURCE_BUNDLE_BASE_NAME, "i18n/theme");
+		MyComponent testUI = new MyComponent(TEST_HTML + TEST_HTML);
+		Assert.assertEquals("All i18n sections should be translated", EXPECTED_RENDERED + EXPECTED_RENDERED,
+				generateOutput(testUI).result);
+	}
+
 	/**
 	 * A 'fake' WComponent that renders the string we pass to the constructor.
 	 */
@@ -0,0 +1,56 @@
+package com.github.bordertech.wcomponents.monitor;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Unit tests for {@link Histogram}.
+ *
+ * @since 1.5.30
+ */
+public class Histogram_Test {
+
+	@Test
+	public void testBuckets() {
+		int previous = -1;
+
+		for (long value = 0; value < 100000; value++) {
+			int bucket = Histogram.getBucket(value);
+			Assert.assertTrue("Buckets should not decrease", bucket >= previous);
+			Assert.assertTrue("Value should not exceed bucket upper bound", value <= Histogram.getBucketUpperBound(
+					bucket));
+			Assert.assertTrue("Value should be within 25% of bucket upper bound",
+					Histogram.getBucketUpperBound(bucket) <= value + value / 4);
+			previous = bucket;
+		}
+
+		Assert.assertEquals("Incorrect upper bound for largest bucket", Long.MAX_VALUE,
+				Histogram.getBucketUpperBound(Histogram.getBucket(Long.MAX_VALUE)));
+	}
+
+	@Test
+	public void testRecord() {
+		Histogram histogram = new Histogram();
+		Assert.assertEquals("Incorrect percentile when empty", 0, histogram.getValueAtPercentile(50));
+
+		for (int i = 1; i <= 1000; i++) {
+			histogram.record(i);
+		}
+
+		histogram.record(-1);
+
+		Assert.assertEquals("Incorrect count", 1001, histogram.getCount());
+		Assert.assertEquals("Incorrect total", 500500, histogram.getTotal());
+		Assert.assertEquals("Incorrect max", 1000, histogram.getMax());
+		Assert.assertEquals("Incorrect mean", 500.0, histogram.getMean(), 0.5);
+
+		long median = histogram.getValueAtPercentile(50);
+		Assert.assertTrue("Median too low: " + median, median >= 500);
+		Assert.assertTrue("Median too high: " + median, median <= 625);
+		Assert.assertEquals("Incorrect 100th percentile", 1000, histogram.getValueAtPercentile(100));
+
+		histogram.reset();
+		Assert.assertEquals("Count should be reset", 0, histogram.getCount());
+		Assert.assertEquals("Max should be reset", 0, histogram.getMax());
+	}
+}
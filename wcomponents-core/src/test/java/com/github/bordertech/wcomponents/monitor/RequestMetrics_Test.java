@@ -0,0 +1,136 @@
+package com.github.bordertech.wcomponents.monitor;
+
+import com.github.bordertech.wcomponents.AbstractWComponentTestCase;
+import com.github.bordertech.wcomponents.RenderContext;
+import com.github.bordertech.wcomponents.Request;
+import com.github.bordertech.wcomponents.WText;
+import com.github.bordertech.wcomponents.container.InterceptorComponent;
+import com.github.bordertech.wcomponents.servlet.WebXmlRenderContext;
+import com.github.bordertech.wcomponents.util.mock.MockRequest;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import javax.management.ObjectName;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Unit tests for {@link RequestMetrics}.
+ *
+ * @since 1.5.30
+ */
+public class RequestMetrics_Test extends AbstractWComponentTestCase {
+
+	@After
+	public void resetMetrics() {
+		RequestMetrics.reset();
+	}
+
+	@Test
+	public void testInstrument() {
+		WText ui = new WText("test");
+		SlowInterceptor slow = new SlowInterceptor();
+		InterceptorComponent chain = new InterceptorComponent(slow);
+		slow.setBackingComponent(ui);
+
+		InterceptorComponent instrumented = RequestMetrics.instrument(chain);
+		Assert.assertSame("Should not instrument a chain twice", instrumented, RequestMetrics.instrument(
+				instrumented));
+		Assert.assertSame("Incorrect UI for instrumented chain", ui, instrumented.getUI());
+
+		setActiveContext(createUIContext());
+		Request request = new MockRequest();
+		instrumented.serviceRequest(request);
+		instrumented.preparePaint(request);
+
+		StringWriter writer = new StringWriter();
+		instrumented.paint(new WebXmlRenderContext(new PrintWriter(writer)));
+		Assert.assertEquals("Instrumented chain should render the UI", "test", writer.toString());
+
+		for (String phase : new String[]{"serviceRequest", "preparePaint", "paint"}) {
+			Assert.assertEquals("Incorrect count for interceptor", 1, RequestMetrics.getLatency("InterceptorComponent."
+					+ phase).getCount());
+			Assert.assertEquals("Incorrect count for UI", 1, RequestMetrics.getLatency("ui." + phase).getCount());
+		}
+
+		// The slow interceptor's own time should be recorded against it, not the interceptors above it
+		long slowTime = RequestMetrics.getLatency("SlowInterceptor.paint").getTotal();
+		long topTime = RequestMetrics.getLatency("InterceptorComponent.paint").getTotal();
+		Assert.assertTrue("Slow interceptor time too low", slowTime >= SlowInterceptor.DELAY_NANOS);
+		Assert.assertTrue("Nested time should be excluded", topTime < SlowInterceptor.DELAY_NANOS);
+	}
+
+	@Test
+	public void testListeners() {
+		final List<String> names = new ArrayList<>();
+		final long[] rendered = new long[1];
+
+		MetricsListener listener = new MetricsListener() {
+			@Override
+			public void latencyRecorded(final String name, final long nanos) {
+				names.add(name);
+			}
+
+			@Override
+			public void renderedSizeRecorded(final long characters) {
+				rendered[0] += characters;
+			}
+		};
+
+		RequestMetrics.addListener(listener);
+
+		try {
+			RequestMetrics.recordLatency(RequestMetrics.PHASE_PAINT, 1000);
+			RequestMetrics.recordRenderedSize(123);
+		} finally {
+			RequestMetrics.removeListener(listener);
+		}
+
+		RequestMetrics.recordLatency(RequestMetrics.PHASE_PAINT, 1000);
+
+		Assert.assertEquals("Listener should have been notified once", 1, names.size());
+		Assert.assertEquals("Incorrect name", RequestMetrics.PHASE_PAINT, names.get(0));
+		Assert.assertEquals("Incorrect rendered size", 123, rendered[0]);
+		Assert.assertEquals("Incorrect count", 2, RequestMetrics.getLatency(RequestMetrics.PHASE_PAINT).getCount());
+		Assert.assertEquals("Incorrect rendered total", 123, RequestMetrics.getRenderedSizes().getTotal());
+	}
+
+	@Test
+	public void testMXBean() throws Exception {
+		RequestMetrics.instrument(new InterceptorComponent(new WText()));
+		RequestMetrics.recordLatency(RequestMetrics.PHASE_SERVICE_REQUEST, 2000000);
+
+		ObjectName name = new ObjectName(RequestMetrics.OBJECT_NAME);
+		String[] names = (String[]) ManagementFactory.getPlatformMBeanServer().getAttribute(name, "MetricNames");
+		Assert.assertEquals("Incorrect metric names", RequestMetrics.PHASE_SERVICE_REQUEST, names[0]);
+
+		Object mean = ManagementFactory.getPlatformMBeanServer().invoke(name, "getMeanMillis",
+				new Object[]{RequestMetrics.PHASE_SERVICE_REQUEST}, new String[]{String.class.getName()});
+		Assert.assertEquals("Incorrect mean", 2.0, (Double) mean, 0.001);
+	}
+
+	/**
+	 * An interceptor which takes a measurable amount of time to paint.
+	 */
+	public static final class SlowInterceptor extends InterceptorComponent {
+
+		/**
+		 * The minimum time taken to paint.
+		 */
+		private static final long DELAY_NANOS = 20000000;
+
+		@Override
+		public void paint(final RenderContext renderContext) {
+			long start = System.nanoTime();
+
+			while (System.nanoTime() - start < DELAY_NANOS) {
+				Thread.yield();
+			}
+
+			super.paint(renderContext);
+		}
+	}
+}
@@ -0,0 +1,140 @@
+package com.github.bordertech.wcomponents.monitor;
+
+import com.github.bordertech.wcomponents.AbstractWComponentTestCase;
+import com.github.bordertech.wcomponents.UIContext;
+import com.github.bordertech.wcomponents.UIContextDelegate;
+import com.github.bordertech.wcomponents.WContainer;
+import com.github.bordertech.wcomponents.WText;
+import com.github.bordertech.wcomponents.WTextField;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import javax.management.ObjectName;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Unit tests for {@link SessionSizeMetrics}.
+ *
+ * @since 1.5.30
+ */
+public class SessionSizeMetrics_Test extends AbstractWComponentTestCase {
+
+	@After
+	public void resetMetrics() {
+		SessionSizeMetrics.reset();
+	}
+
+	@Test
+	public void testRecord() throws Exception {
+		WContainer ui = new WContainer();
+		WTextField field = new WTextField();
+		ui.add(field);
+		ui.add(new WText("text"));
+		ui.setLocked(true);
+
+		UIContext uic = createUIContext();
+		uic.setUI(ui);
+		setActiveContext(uic);
+		field.setText("some text");
+
+		SessionSizeEstimate estimate = SessionSizeMetrics.record(new UIContextDelegate(uic) {
+		});
+		Assert.assertNotNull("Should have estimated the size through a delegate", estimate);
+		Assert.assertEquals("Incorrect model count", 1, estimate.getModelCount());
+		Assert.assertTrue("Estimated size should be positive", estimate.getEstimatedSize() > 0);
+
+		String name = WContainer.class.getName();
+		Assert.assertArrayEquals("Incorrect UI names", new String[]{name}, SessionSizeMetrics.getUINames());
+		Assert.assertEquals("Incorrect session size count", 1, SessionSizeMetrics.getSessionSizes(name).getCount());
+		Assert.assertEquals("Incorrect recorded size", estimate.getEstimatedSize(), SessionSizeMetrics.
+				getSessionSizes(name).getMax(), estimate.getEstimatedSize() / 4.0);
+		Assert.assertEquals("Incorrect model count recorded", 1, SessionSizeMetrics.getModelCounts(name).getCount());
+
+		ObjectName objectName = new ObjectName(SessionSizeMetrics.OBJECT_NAME);
+		Assert.assertTrue("MBean should be registered", ManagementFactory.getPlatformMBeanServer().isRegistered(
+				objectName));
+
+		SessionSizeMetrics.reset();
+		Assert.assertEquals("Should not have any UI names after reset", 0, SessionSizeMetrics.getUINames().length);
+	}
+
+	@Test
+	public void testRecordWithoutUI() {
+		Assert.assertNull("Should not estimate a context without a UI", SessionSizeMetrics.record(createUIContext()));
+	}
+
+	@Test
+	public void testIsSampleRequired() {
+		Assert.assertTrue("Should sample the first model", SessionSizeMetrics.isSampleRequired(MyComponent.class, 1.0,
+				0.5));
+
+		for (int i = 0; i < 3; i++) {
+			SessionSizeMetrics.sample(MyComponent.class, "sample");
+		}
+
+		Assert.assertFalse("Should not sample once calibrated", SessionSizeMetrics.isSampleRequired(MyComponent.class,
+				1.0, 0.5));
+		Assert.assertTrue("Should sample at random", SessionSizeMetrics.isSampleRequired(MyComponent.class, 0.0, 0.5));
+	}
+
+	@Test
+	public void testAcquireSample() {
+		Assert.assertFalse("Should not sample when sampling is disabled", SessionSizeMetrics.acquireSample(0));
+
+		// Make sure that the samples are all taken within the same second
+		long second = System.currentTimeMillis() / 1000;
+		int acquired = 0;
+
+		for (int i = 0; i < 10; i++) {
+			if (SessionSizeMetrics.acquireSample(5)) {
+				acquired++;
+			}
+		}
+
+		if (second == System.currentTimeMillis() / 1000) {
+			Assert.assertTrue("Should not exceed the samples per second", acquired <= 5);
+		}
+	}
+
+	@Test
+	public void testEstimateModelSize() throws IOException {
+		Assert.assertEquals("Uncalibrated classes should have no size", 0, SessionSizeMetrics.estimateModelSize(
+				UncalibratedComponent.class, 10));
+
+		ArrayList<String> model = new ArrayList<>();
+		model.add("value");
+		long size = SessionSizeMetrics.getSerializedSize(model);
+		SessionSizeMetrics.sample(MyComponent2.class, model);
+
+		Assert.assertEquals("Incorrect estimated size", size * 10, SessionSizeMetrics.estimateModelSize(
+				MyComponent2.class, 10), size * 10 / 4.0);
+	}
+
+	@Test
+	public void testGetSerializedSize() throws IOException {
+		long shortSize = SessionSizeMetrics.getSerializedSize("a");
+		long longSize = SessionSizeMetrics.getSerializedSize("abcdefghijklmnopqrstuvwxyz");
+
+		Assert.assertEquals("Incorrect size difference", 25, longSize - shortSize);
+	}
+
+	/**
+	 * A component class used to calibrate sampling.
+	 */
+	private static final class MyComponent extends WContainer {
+	}
+
+	/**
+	 * A component class used to calibrate model sizes.
+	 */
+	private static final class MyComponent2 extends WContainer {
+	}
+
+	/**
+	 * A component class which is never calibrated.
+	 */
+	private static final class UncalibratedComponent extends WContainer {
+	}
+}
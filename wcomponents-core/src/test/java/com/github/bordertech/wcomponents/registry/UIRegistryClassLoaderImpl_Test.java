@@ -3,7 +3,16 @@ package com.github.bordertech.wcomponents.registry;
 import com.github.bordertech.wcomponents.DefaultWComponent;
 import com.github.bordertech.wcomponents.WButton;
 import com.github.bordertech.wcomponents.WComponent;
+import com.github.bordertech.wcomponents.WContainer;
 import com.github.bordertech.wcomponents.util.SystemException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.junit.Assert;
 import org.junit.Test;
 
@@ -123,4 +132,108 @@ public class UIRegistryClassLoaderImpl_Test {
 		Assert.assertTrue("the WComponent should be in the registry", reg.isRegistered(key));
 		Assert.assertTrue("the WComponent should be locked", result.isLocked());
 	}
+
+	/**
+	 * Test getUI - concurrent requests for the same UI only load it once.
+	 *
+	 * @throws Exception if a request fails
+	 */
+	@Test
+	public void testGetUIConcurrent() throws Exception {
+		final String key = SlowUI.class.getName();
+		final UIRegistryClassLoaderImpl reg = new UIRegistryClassLoaderImpl();
+		final int threads = 8;
+		ExecutorService executor = Executors.newFixedThreadPool(threads);
+
+		try {
+			List<Callable<WComponent>> tasks = new ArrayList<>();
+
+			for (int i = 0; i < threads; i++) {
+				tasks.add(() -> reg.getUI(key));
+			}
+
+			WComponent first = null;
+
+			for (Future<WComponent> result : executor.invokeAll(tasks)) {
+				if (first == null) {
+					first = result.get();
+				}
+
+				Assert.assertTrue("should return an instantiated WComponent", result.get() instanceof SlowUI);
+				Assert.assertSame("should return the same WComponent", first, result.get());
+			}
+
+			Assert.assertEquals("the WComponent should only have been created once", 1, SlowUI.INSTANCES.get());
+			Assert.assertTrue("the WComponent should be locked", first.isLocked());
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	/**
+	 * Test getUI - a UI which fails to load is not cached.
+	 */
+	@Test
+	public void testGetUIFailureNotCached() {
+		final String key = FailingUI.class.getName();
+		UIRegistryClassLoaderImpl reg = new UIRegistryClassLoaderImpl();
+		FailingUI.FAIL.set(true);
+
+		try {
+			reg.getUI(key);
+			Assert.fail("a failed load should have thrown an exception");
+		} catch (SystemException e) {
+			Assert.assertFalse("the failed load should not be in the registry", reg.isRegistered(key));
+		} finally {
+			FailingUI.FAIL.set(false);
+		}
+
+		WComponent result = reg.getUI(key);
+		Assert.assertTrue("should return an instantiated WComponent", result instanceof FailingUI);
+		Assert.assertTrue("the WComponent should be in the registry", reg.isRegistered(key));
+	}
+
+	/**
+	 * A UI which is slow to construct.
+	 */
+	public static final class SlowUI extends WContainer {
+
+		/**
+		 * The number of instances created.
+		 */
+		private static final AtomicInteger INSTANCES = new AtomicInteger();
+
+		/**
+		 * Creates a SlowUI.
+		 *
+		 * @throws InterruptedException if interrupted while constructing.
+		 */
+		public SlowUI() throws InterruptedException {
+			INSTANCES.incrementAndGet();
+			Thread.sleep(100);
+		}
+	}
+
+	/**
+	 * A UI which can not be locked while {@link #FAIL} is set.
+	 */
+	public static final class FailingUI extends WContainer {
+
+		/**
+		 * Whether locking the UI should fail.
+		 */
+		private static final AtomicBoolean FAIL = new AtomicBoolean();
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public void setLocked(final boolean lock) {
+			if (FAIL.get()) {
+				throw new IllegalStateException("Failed to lock the UI");
+			}
+
+			super.setLocked(lock);
+		}
+	}
 }
@@ -0,0 +1,42 @@
+package com.github.bordertech.wcomponents.registry;
+
+import com.github.bordertech.wcomponents.WContainer;
+import com.github.bordertech.wcomponents.util.Config;
+import com.github.bordertech.wcomponents.util.ConfigurationProperties;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Unit tests for {@link UIRegistry}.
+ *
+ * @since 1.5.30
+ */
+public class UIRegistry_Test {
+
+	@After
+	public void restoreConfig() {
+		Config.reset();
+	}
+
+	@Test
+	public void testWarmUp() {
+		String key = WarmUpUI.class.getName();
+		Config.getInstance().setProperty(ConfigurationProperties.UI_REGISTRY_WARM_UP, key);
+
+		UIRegistry.warmUp();
+		Assert.assertTrue("UI should have been registered", UIRegistry.getInstance().isRegistered(key));
+		Assert.assertTrue("UI should have been locked", UIRegistry.getInstance().getUI(key).isLocked());
+	}
+
+	@Test
+	public void testGetInstance() {
+		Assert.assertSame("Incorrect instance", UIRegistry.getInstance(), UIRegistry.getInstance());
+	}
+
+	/**
+	 * A UI for testing warm up.
+	 */
+	public static final class WarmUpUI extends WContainer {
+	}
+}
@@ -1,6 +1,35 @@
 package com.github.bordertech.wcomponents.servlet;
 
+import com.github.bordertech.wcomponents.Environment;
+import com.github.bordertech.wcomponents.InternalResource;
+import com.github.bordertech.wcomponents.MockContentAccess;
+import com.github.bordertech.wcomponents.MockContentStreamAccess;
+import com.github.bordertech.wcomponents.MockWEnvironment;
+import com.github.bordertech.wcomponents.ReadOnlyTargetable;
+import com.github.bordertech.wcomponents.UIContext;
+import com.github.bordertech.wcomponents.UIContextHolder;
+import com.github.bordertech.wcomponents.UIContextImpl;
+import com.github.bordertech.wcomponents.WBeanContainer;
+import com.github.bordertech.wcomponents.WComponent;
+import com.github.bordertech.wcomponents.WContainer;
+import com.github.bordertech.wcomponents.WContent;
+import com.github.bordertech.wcomponents.WRepeater;
+import com.github.bordertech.wcomponents.WText;
+import com.github.bordertech.wcomponents.container.InterceptorComponent;
+import com.github.bordertech.wcomponents.util.StreamUtil;
 import com.github.bordertech.wcomponents.util.mock.servlet.MockHttpServletRequest;
+import com.github.bordertech.wcomponents.util.mock.servlet.MockHttpServletResponse;
+import com.github.bordertech.wcomponents.util.mock.servlet.MockServletConfig;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Locale;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletResponse;
+import java.util.concurrent.locks.ReadWriteLock;
 import org.junit.Assert;
 import org.junit.Test;
 
@@ -43,4 +72,434 @@ public class ServletUtilTest {
 		MockHttpServletRequest httpServletRequest = new MockHttpServletRequest();
 		Assert.assertNull("Got cookie value by name", ServletUtil.extractCookie(httpServletRequest, cookieName));
 	}
+
+	@Test
+	public void testPrepareReadOnlyRequest() throws ServletException {
+		WContainer root = new WContainer();
+		WContent content = new ReadOnlyContent();
+		WContent plainContent = new WContent();
+		WText text = new WText();
+		WBeanContainer row = new WBeanContainer();
+		WContent rowContent = new ReadOnlyContent();
+		row.add(rowContent);
+		WRepeater repeater = new WRepeater(row);
+		root.add(content);
+		root.add(plainContent);
+		root.add(text);
+		root.add(repeater);
+		root.setLocked(true);
+
+		UIContext uic = new UIContextImpl();
+		uic.setUI(root);
+		UIContextHolder.pushContext(uic);
+		String rowContentId;
+
+		try {
+			repeater.setBeanList(Arrays.asList("row"));
+			UIContextHolder.pushContext(repeater.getRowContexts().get(0));
+
+			try {
+				rowContentId = rowContent.getId();
+			} finally {
+				UIContextHolder.popContext();
+			}
+		} finally {
+			UIContextHolder.reset();
+		}
+
+		MockHttpServletRequest request = new MockHttpServletRequest();
+		request.setParameter(WServlet.TARGET_ID_PARAM_NAME, content.getId());
+		HttpServletHelper helper = createHelper(uic, request);
+		Assert.assertTrue("Content request should be read-only", helper.prepareReadOnlyRequest(createChain(request,
+				root)));
+		Assert.assertTrue("Content request should be read-only", helper.isReadOnlyRequest());
+		Assert.assertTrue("Incorrect context for read-only request",
+				helper.getUIContext() instanceof ReadOnlyRequestUIContext);
+		Assert.assertFalse("Environment should have been prepared", uic.isDummyEnvironment());
+
+		request = new MockHttpServletRequest();
+		request.setParameter(WServlet.DATA_LIST_PARAM_NAME, "key");
+		Assert.assertTrue("Data list request should be read-only", createHelper(uic, request).prepareReadOnlyRequest(
+				createChain(request, root)));
+
+		request = new MockHttpServletRequest();
+		request.setParameter(WServlet.TARGET_ID_PARAM_NAME, text.getId());
+		Assert.assertFalse("Request for other components should not be read-only", createHelper(uic, request).
+				prepareReadOnlyRequest(createChain(request, root)));
+
+		request = new MockHttpServletRequest();
+		request.setParameter(WServlet.TARGET_ID_PARAM_NAME, plainContent.getId());
+		Assert.assertFalse("Request for content which has not opted in should not be read-only", createHelper(uic,
+				request).prepareReadOnlyRequest(createChain(request, root)));
+
+		request = new MockHttpServletRequest();
+		request.setParameter(WServlet.TARGET_ID_PARAM_NAME, rowContentId);
+		helper = createHelper(uic, request);
+		Assert.assertFalse("Request for repeated content should not be read-only", helper.prepareReadOnlyRequest(
+				createChain(request, root)));
+		Assert.assertFalse("Request for repeated content should not be read-only", helper.isReadOnlyRequest());
+		Assert.assertSame("Incorrect context for request", uic, helper.getUIContext());
+
+		request = new MockHttpServletRequest();
+		request.setParameter(WServlet.TARGET_ID_PARAM_NAME, content.getId());
+		request.setParameter(WServlet.AJAX_TRIGGER_PARAM_NAME, content.getId());
+		Assert.assertFalse("AJAX request should not be read-only", createHelper(uic, request).prepareReadOnlyRequest(
+				createChain(request, root)));
+
+		request = new MockHttpServletRequest();
+		Assert.assertFalse("Page submit should not be read-only", createHelper(uic, request).prepareReadOnlyRequest(
+				createChain(request, root)));
+
+		request = new MockHttpServletRequest();
+		request.setParameter(WServlet.TARGET_ID_PARAM_NAME, content.getId());
+		Assert.assertFalse("Request with an unknown interceptor should not be read-only", createHelper(uic, request).
+				prepareReadOnlyRequest(new InterceptorComponent(createChain(request, root))));
+	}
+
+	@Test
+	public void testReadOnlyRequestModels() {
+		WText text = new WText("shared");
+		text.setLocked(true);
+		UIContext uic = new UIContextImpl();
+		uic.setUI(text);
+
+		UIContextHolder.pushContext(new ReadOnlyRequestUIContext(uic));
+
+		try {
+			text.setText("updated");
+			Assert.assertEquals("Incorrect text for read-only request", "updated", text.getText());
+		} finally {
+			UIContextHolder.reset();
+		}
+
+		Assert.assertNull("Model should not be added to the user's context", uic.getModel(text));
+
+		UIContextHolder.pushContext(uic);
+
+		try {
+			text.setText("user");
+		} finally {
+			UIContextHolder.reset();
+		}
+
+		UIContextHolder.pushContext(new ReadOnlyRequestUIContext(uic));
+
+		try {
+			Assert.assertEquals("Model should be read from the user's context", "user", text.getText());
+
+			text.reset();
+			Assert.assertEquals("Incorrect text after reset", "shared", text.getText());
+		} finally {
+			UIContextHolder.reset();
+		}
+
+		Assert.assertNotNull("Model should not be removed from the user's context", uic.getModel(text));
+	}
+
+	@Test
+	public void testReadOnlyRequestEnvironment() {
+		UIContext uic = new UIContextImpl();
+		UIContext readOnly = new ReadOnlyRequestUIContext(uic);
+		Environment env = new MockWEnvironment();
+
+		readOnly.setEnvironment(env);
+		Assert.assertSame("Incorrect read-only environment", env, readOnly.getEnvironment());
+		Assert.assertFalse("Read-only environment should not be a dummy", readOnly.isDummyEnvironment());
+		Assert.assertTrue("User's environment should not be updated", uic.isDummyEnvironment());
+		Assert.assertNotSame("Headers should not be shared", uic.getHeaders(), readOnly.getHeaders());
+	}
+
+	@Test
+	public void testReadOnlyRequestContextUpdates() {
+		WText text = new WText();
+		UIContext uic = new UIContextImpl();
+		uic.setUI(text);
+		uic.setLocale(Locale.ENGLISH);
+		uic.setFwkAttribute("shared", "user");
+		UIContext readOnly = new ReadOnlyRequestUIContext(uic);
+		WText otherUI = new WText();
+
+		readOnly.setUI(otherUI);
+		readOnly.setLocale(Locale.FRENCH);
+		readOnly.setFwkAttribute("local", "request");
+		readOnly.removeFwkAttribute("shared");
+		readOnly.setFocussed(text);
+		readOnly.setFocusRequired(true);
+
+		Assert.assertSame("Incorrect read-only UI", otherUI, readOnly.getUI());
+		Assert.assertEquals("Incorrect read-only locale", Locale.FRENCH, readOnly.getLocale());
+		Assert.assertEquals("Incorrect read-only attribute", "request", readOnly.getFwkAttribute("local"));
+		Assert.assertNull("Read-only attribute should have been removed", readOnly.getFwkAttribute("shared"));
+		Assert.assertEquals("Incorrect read-only attribute names", Collections.singleton("local"),
+				readOnly.getFwkAttributeNames());
+
+		Assert.assertSame("User's UI should not be updated", text, uic.getUI());
+		Assert.assertEquals("User's locale should not be updated", Locale.ENGLISH, uic.getLocale());
+		Assert.assertEquals("User's attribute should not be removed", "user", uic.getFwkAttribute("shared"));
+		Assert.assertNull("User's attribute should not be added", uic.getFwkAttribute("local"));
+		Assert.assertNull("User's focus should not be updated", uic.getFocussed());
+		Assert.assertFalse("User's focus should not be required", uic.isFocusRequired());
+	}
+
+	@Test
+	public void testReadOnlyRequestInvokeLater() {
+		final WText text = new WText("shared");
+		text.setLocked(true);
+		final UIContext uic = new UIContextImpl();
+		uic.setUI(text);
+		final UIContext readOnly = new ReadOnlyRequestUIContext(uic);
+
+		readOnly.invokeLater(uic, new Runnable() {
+			@Override
+			public void run() {
+				Assert.assertSame("Incorrect context for invoke later", readOnly, UIContextHolder.getCurrent());
+				text.setText("updated");
+
+				readOnly.invokeLater(new Runnable() {
+					@Override
+					public void run() {
+						text.setText("nested");
+					}
+				});
+			}
+		});
+
+		uic.doInvokeLaters();
+		Assert.assertNull("Invoke later should not be added to the user's context", uic.getModel(text));
+
+		readOnly.doInvokeLaters();
+		Assert.assertNull("User's context should not be updated", uic.getModel(text));
+
+		UIContextHolder.pushContext(readOnly);
+
+		try {
+			Assert.assertEquals("Invoke laters should have been run", "nested", text.getText());
+		} finally {
+			UIContextHolder.reset();
+		}
+	}
+
+	@Test
+	public void testGetContextLock() throws InterruptedException {
+		UIContext uic = new UIContextImpl();
+		final ReadWriteLock lock = ServletUtil.getContextLock(uic);
+		Assert.assertSame("Should use the same lock for the same context", lock, ServletUtil.getContextLock(uic));
+		Assert.assertNotSame("Should use a different lock for another context", lock, ServletUtil.getContextLock(
+				new UIContextImpl()));
+
+		final boolean[] acquired = new boolean[2];
+		lock.readLock().lock();
+		try {
+			Thread thread = new Thread() {
+				@Override
+				public void run() {
+					acquired[0] = lock.readLock().tryLock();
+					if (acquired[0]) {
+						lock.readLock().unlock();
+					}
+					acquired[1] = lock.writeLock().tryLock();
+				}
+			};
+			thread.start();
+			thread.join();
+		} finally {
+			lock.readLock().unlock();
+		}
+
+		Assert.assertTrue("Read lock should be shared", acquired[0]);
+		Assert.assertFalse("Write lock should be exclusive", acquired[1]);
+	}
+
+	@Test
+	public void testReadOnlyRequestScratchMaps() {
+		WComponent component = new WText();
+		UIContext uic = new UIContextImpl();
+		uic.getScratchMap(component).put("key", "value");
+		uic.getRequestScratchMap(component).put("key", "value");
+
+		UIContext readOnly = new ReadOnlyRequestUIContext(uic);
+		readOnly.getScratchMap(component).put("key", "other");
+		readOnly.getRequestScratchMap(component).put("key", "other");
+
+		Assert.assertEquals("Scratch map should not be shared", "value", uic.getScratchMap(component).get("key"));
+		Assert.assertEquals("Request scratch map should not be shared", "value", uic.getRequestScratchMap(component).get(
+				"key"));
+		Assert.assertEquals("Incorrect read-only scratch map value", "other", readOnly.getScratchMap(component).get(
+				"key"));
+	}
+
+	@Test
+	public void testWriteContentWithoutRange() throws IOException {
+		MockHttpServletResponse response = writeContent(null);
+		Assert.assertEquals("Incorrect status", HttpServletResponse.SC_OK, response.getStatus());
+		Assert.assertEquals("Incorrect content", "0123456789", response.getOutputAsString());
+		Assert.assertEquals("Incorrect Accept-Ranges", "bytes", response.getHeader("Accept-Ranges"));
+		Assert.assertEquals("Incorrect Content-Length", "10", response.getHeader("Content-Length"));
+	}
+
+	@Test
+	public void testWriteContentSingleRange() throws IOException {
+		MockHttpServletResponse response = writeContent("bytes=2-4");
+		Assert.assertEquals("Incorrect status", HttpServletResponse.SC_PARTIAL_CONTENT, response.getStatus());
+		Assert.assertEquals("Incorrect content", "234", response.getOutputAsString());
+		Assert.assertEquals("Incorrect Content-Range", "bytes 2-4/10", response.getHeader("Content-Range"));
+		Assert.assertEquals("Incorrect Content-Length", "3", response.getHeader("Content-Length"));
+	}
+
+	@Test
+	public void testWriteContentMultipleRanges() throws IOException {
+		MockHttpServletResponse response = writeContent("bytes=0-1,-2");
+		Assert.assertEquals("Incorrect status", HttpServletResponse.SC_PARTIAL_CONTENT, response.getStatus());
+		Assert.assertTrue("Incorrect content type", response.getContentType().startsWith(
+				"multipart/byteranges; boundary="));
+
+		String boundary = response.getContentType().substring(response.getContentType().indexOf('=') + 1);
+		String expected = "\r\n--" + boundary + "\r\nContent-Type: text/plain\r\nContent-Range: bytes 0-1/10\r\n\r\n01"
+				+ "\r\n--" + boundary + "\r\nContent-Type: text/plain\r\nContent-Range: bytes 8-9/10\r\n\r\n89"
+				+ "\r\n--" + boundary + "--\r\n";
+		Assert.assertEquals("Incorrect content", expected, response.getOutputAsString());
+		Assert.assertEquals("Incorrect Content-Length", String.valueOf(expected.length()), response.getHeader(
+				"Content-Length"));
+	}
+
+	@Test
+	public void testWriteContentUnsatisfiableRange() throws IOException {
+		MockHttpServletResponse response = writeContent("bytes=10-");
+		Assert.assertEquals("Incorrect status", HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE, response.
+				getStatus());
+		Assert.assertEquals("Incorrect Content-Range", "bytes */10", response.getHeader("Content-Range"));
+		Assert.assertNull("Should not write content", response.getOutput());
+	}
+
+	@Test
+	public void testWriteContentIfRange() throws IOException {
+		MockHttpServletRequest request = new MockHttpServletRequest();
+		request.setHeader("Range", "bytes=2-4");
+		request.setHeader("If-Range", "\"some-etag\"");
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		ServletUtil.writeContent(request, response, createContent(), false);
+
+		Assert.assertEquals("Stale If-Range should return whole content", HttpServletResponse.SC_OK, response.
+				getStatus());
+		Assert.assertEquals("Incorrect content", "0123456789", response.getOutputAsString());
+	}
+
+	@Test
+	public void testWriteContentUnknownLength() throws IOException {
+		MockContentStreamAccess content = new MockContentStreamAccess();
+		content.setBytes("0123456789".getBytes(StandardCharsets.ISO_8859_1));
+
+		MockHttpServletRequest request = new MockHttpServletRequest();
+		request.setHeader("Range", "bytes=2-4");
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		ServletUtil.writeContent(request, response, content, false);
+
+		Assert.assertEquals("Ranges should not be served without a length", HttpServletResponse.SC_OK, response.
+				getStatus());
+		Assert.assertEquals("Incorrect Accept-Ranges", "none", response.getHeader("Accept-Ranges"));
+		Assert.assertEquals("Incorrect content", "0123456789", response.getOutputAsString());
+	}
+
+	@Test
+	public void testWriteContentFileResource() throws IOException {
+		InternalResource resource = new InternalResource("/content/gif.gif", "gif");
+		byte[] expected = StreamUtil.getBytes(resource.getStream());
+
+		MockHttpServletRequest request = new MockHttpServletRequest();
+		request.setHeader("Range", "bytes=5-14");
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		ServletUtil.writeContent(request, response, resource, false);
+		Assert.assertEquals("Incorrect status", HttpServletResponse.SC_PARTIAL_CONTENT, response.getStatus());
+		Assert.assertArrayEquals("Incorrect content", Arrays.copyOfRange(expected, 5, 15), response.getOutput());
+
+		String lastModified = response.getHeader("Last-Modified");
+		Assert.assertNotNull("Last-Modified should be set for a file", lastModified);
+
+		request.setHeader("If-Range", lastModified);
+		response = new MockHttpServletResponse();
+		ServletUtil.writeContent(request, response, resource, false);
+		Assert.assertEquals("Current If-Range should return partial content", HttpServletResponse.SC_PARTIAL_CONTENT,
+				response.getStatus());
+	}
+
+	@Test
+	public void testWriteContentOverriddenResourceStream() throws IOException {
+		InternalResource resource = new InternalResource("/content/gif.gif", "gif") {
+			@Override
+			public InputStream getStream() {
+				return new ByteArrayInputStream("0123456789".getBytes(StandardCharsets.ISO_8859_1));
+			}
+		};
+
+		MockHttpServletRequest request = new MockHttpServletRequest();
+		request.setHeader("Range", "bytes=2-4");
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		ServletUtil.writeContent(request, response, resource, false);
+		Assert.assertEquals("Incorrect status", HttpServletResponse.SC_OK, response.getStatus());
+		Assert.assertEquals("Overridden stream should be served", "0123456789", response.getOutputAsString());
+	}
+
+	/**
+	 * Writes the content "0123456789" to a response.
+	 *
+	 * @param range the value of the range header
+	 * @return the response
+	 * @throws IOException if there is an error writing the content
+	 */
+	private static MockHttpServletResponse writeContent(final String range) throws IOException {
+		MockHttpServletRequest request = new MockHttpServletRequest();
+		if (range != null) {
+			request.setHeader("Range", range);
+		}
+
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		response.setContentType("text/plain");
+		ServletUtil.writeContent(request, response, createContent(), false);
+		return response;
+	}
+
+	/**
+	 * @return content with the bytes "0123456789".
+	 */
+	private static MockContentAccess createContent() {
+		MockContentAccess content = new MockContentAccess();
+		content.setBytes("0123456789".getBytes(StandardCharsets.ISO_8859_1));
+		return content;
+	}
+
+	/**
+	 * Creates a helper for a request from the user with the given context.
+	 *
+	 * @param uic the user's context.
+	 * @param request the request being processed.
+	 * @return the helper for the request.
+	 * @throws ServletException if the servlet can not be initialised.
+	 */
+	private static HttpServletHelper createHelper(final UIContext uic, final MockHttpServletRequest request)
+			throws ServletException {
+		WServlet servlet = new WServlet();
+		servlet.init(new MockServletConfig());
+		HttpServletHelper helper = new HttpServletHelper(servlet, request, new MockHttpServletResponse());
+		request.getSession(true).setAttribute(helper.getUiContextSessionKey(), uic);
+		return helper;
+	}
+
+	/**
+	 * Creates the interceptor chain for a request.
+	 *
+	 * @param request the request being processed.
+	 * @param ui the UI being serviced.
+	 * @return the interceptor chain.
+	 */
+	private static InterceptorComponent createChain(final MockHttpServletRequest request, final WComponent ui) {
+		InterceptorComponent chain = ServletUtil.createInterceptorChain(request);
+		chain.attachUI(ui);
+		return chain;
+	}
+
+	/**
+	 * A WContent which opts in to read-only targeted requests.
+	 */
+	private static final class ReadOnlyContent extends WContent implements ReadOnlyTargetable {
+	}
 }
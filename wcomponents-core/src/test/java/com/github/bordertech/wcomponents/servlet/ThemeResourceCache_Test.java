@@ -0,0 +1,49 @@
+package com.github.bordertech.wcomponents.servlet;
+
+import java.nio.charset.StandardCharsets;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Unit tests for {@link ThemeResourceCache}.
+ *
+ * @since 1.5.30
+ */
+public class ThemeResourceCache_Test {
+
+	@Test
+	public void testIsCacheable() {
+		ThemeResourceCache cache = new ThemeResourceCache(400);
+		Assert.assertTrue("Empty resource should be cacheable", cache.isCacheable(0));
+		Assert.assertTrue("Resource of a quarter of the limit should be cacheable", cache.isCacheable(100));
+		Assert.assertFalse("Resource over a quarter of the limit should not be cacheable", cache.isCacheable(101));
+		Assert.assertFalse("Resource of unknown size should not be cacheable", cache.isCacheable(-1));
+		Assert.assertFalse("Nothing should be cacheable when disabled", new ThemeResourceCache(0).isCacheable(0));
+	}
+
+	@Test
+	public void testPut() {
+		ThemeResourceCache cache = new ThemeResourceCache(400);
+		cache.put("small", createResource(100));
+		cache.put("large", createResource(101));
+
+		Assert.assertNotNull("Small resource should be cached", cache.get("small"));
+		Assert.assertNull("Large resource should not be cached", cache.get("large"));
+		Assert.assertEquals("Incorrect cache size", 100, cache.getSize());
+
+		cache = new ThemeResourceCache(0);
+		cache.put("empty", createResource(0));
+		Assert.assertNull("Nothing should be cached when disabled", cache.get("empty"));
+	}
+
+	/**
+	 * Creates an uncompressed resource.
+	 *
+	 * @param size the size of the resource.
+	 * @return the resource.
+	 */
+	private static ThemeResourceCache.ThemeResource createResource(final int size) {
+		return new ThemeResourceCache.ThemeResource(new String(new char[size]).getBytes(StandardCharsets.ISO_8859_1),
+				"image/png", 0);
+	}
+}
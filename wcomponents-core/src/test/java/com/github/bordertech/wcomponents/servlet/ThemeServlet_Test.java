@@ -1,10 +1,14 @@
 package com.github.bordertech.wcomponents.servlet;
 
 import com.github.bordertech.wcomponents.util.ConfigurationProperties;
+import com.github.bordertech.wcomponents.util.StreamUtil;
 import com.github.bordertech.wcomponents.util.mock.servlet.MockHttpServletRequest;
 import com.github.bordertech.wcomponents.util.mock.servlet.MockHttpServletResponse;
 import com.github.bordertech.wcomponents.util.mock.servlet.MockServletConfig;
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.util.zip.GZIPInputStream;
 import javax.servlet.ServletException;
 import javax.servlet.http.HttpServletResponse;
 import org.junit.Assert;
@@ -68,6 +72,98 @@ public class ThemeServlet_Test {
 		Assert.assertEquals("Incorrect MIME type", ConfigurationProperties.getFileMimeTypeForExtension("xsl"), response.getContentType());
 	}
 
+	@Test
+	public void testEntityTag() throws ServletException, IOException {
+		MockHttpServletResponse response = requestFile("ThemeServlet_Testfile.xsl", false);
+		String etag = response.getHeader("ETag");
+		Assert.assertNotNull("Missing ETag", etag);
+		Assert.assertTrue("ETag should be a strong entity tag", etag.startsWith("\"") && etag.endsWith("\""));
+
+		MockHttpServletRequest request = createRequest("ThemeServlet_Testfile.xsl");
+		request.setHeader("If-None-Match", "\"other\", " + etag);
+		response = new MockHttpServletResponse();
+		themeServlet.doGet(request, response);
+		Assert.assertEquals("Should have returned 304", HttpServletResponse.SC_NOT_MODIFIED, response.getStatus());
+		Assert.assertEquals("Incorrect ETag", etag, response.getHeader("ETag"));
+		Assert.assertNull("Should not have written content", response.getOutput());
+
+		request = createRequest("ThemeServlet_Testfile.xsl");
+		request.setHeader("If-None-Match", "\"other\"");
+		// If-Modified-Since must be ignored when If-None-Match is present
+		request.setHeader("If-Modified-Since", "Fri, 31 Dec 9999 23:59:59 GMT");
+		response = new MockHttpServletResponse();
+		themeServlet.doGet(request, response);
+		Assert.assertEquals("Should have returned 200", HttpServletResponse.SC_OK, response.getStatus());
+	}
+
+	@Test
+	public void testIfModifiedSince() throws ServletException, IOException {
+		MockHttpServletResponse response = requestFile("ThemeServlet_Testfile.xsl", false);
+		String lastModified = response.getHeader("Last-Modified");
+		Assert.assertNotNull("Missing Last-Modified", lastModified);
+
+		MockHttpServletRequest request = createRequest("ThemeServlet_Testfile.xsl");
+		request.setHeader("If-Modified-Since", lastModified);
+		response = new MockHttpServletResponse();
+		themeServlet.doGet(request, response);
+		Assert.assertEquals("Should have returned 304", HttpServletResponse.SC_NOT_MODIFIED, response.getStatus());
+
+		request = createRequest("ThemeServlet_Testfile.xsl");
+		request.setHeader("If-Modified-Since", "Thu, 01 Jan 1970 00:00:00 GMT");
+		response = new MockHttpServletResponse();
+		themeServlet.doGet(request, response);
+		Assert.assertEquals("Should have returned 200 for an older date", HttpServletResponse.SC_OK, response.
+				getStatus());
+
+		request = createRequest("ThemeServlet_Testfile.xsl");
+		request.setHeader("If-Modified-Since", "not a date");
+		response = new MockHttpServletResponse();
+		themeServlet.doGet(request, response);
+		Assert.assertEquals("Should have returned 200 for an invalid date", HttpServletResponse.SC_OK, response.
+				getStatus());
+	}
+
+	@Test
+	public void testGzipEncoding() throws ServletException, IOException {
+		MockHttpServletResponse plain = requestFile("ThemeServlet_Testfile.css", false);
+		Assert.assertNull("Should not be compressed", plain.getHeader("Content-Encoding"));
+		Assert.assertEquals("Incorrect Vary header", "Accept-Encoding", plain.getHeader("Vary"));
+
+		MockHttpServletRequest request = createRequest("ThemeServlet_Testfile.css");
+		request.setHeader("Accept-Encoding", "deflate, gzip;q=0.8");
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		themeServlet.doGet(request, response);
+
+		Assert.assertEquals("Should have returned 200", HttpServletResponse.SC_OK, response.getStatus());
+		Assert.assertEquals("Should be compressed", "gzip", response.getHeader("Content-Encoding"));
+		Assert.assertFalse("Compressed content should have a different ETag", plain.getHeader("ETag").equals(response.
+				getHeader("ETag")));
+
+		try (InputStream stream = new GZIPInputStream(new ByteArrayInputStream(response.getOutput()))) {
+			Assert.assertArrayEquals("Incorrect decompressed content", plain.getOutput(), StreamUtil.getBytes(stream));
+		}
+
+		request = createRequest("ThemeServlet_Testfile.css");
+		request.setHeader("Accept-Encoding", "gzip;q=0");
+		response = new MockHttpServletResponse();
+		themeServlet.doGet(request, response);
+		Assert.assertNull("Should not be compressed when refused", response.getHeader("Content-Encoding"));
+		Assert.assertArrayEquals("Incorrect content", plain.getOutput(), response.getOutput());
+	}
+
+	/**
+	 * Creates a request for a file, with the path in the URL.
+	 *
+	 * @param path the path to the file
+	 * @return the servlet request
+	 */
+	private MockHttpServletRequest createRequest(final String path) {
+		MockHttpServletRequest request = new MockHttpServletRequest();
+		request.setRequestURI("/theme/" + path);
+		request.setPathInfo('/' + path);
+		return request;
+	}
+
 	/**
 	 * Requests a file from the servlet.
 	 *
@@ -2,11 +2,16 @@ package com.github.bordertech.wcomponents.subordinate;
 
 import com.github.bordertech.wcomponents.AbstractWComponentTestCase;
 import com.github.bordertech.wcomponents.ComponentModel;
+import com.github.bordertech.wcomponents.Request;
 import com.github.bordertech.wcomponents.SubordinateTarget;
 import com.github.bordertech.wcomponents.WCheckBox;
 import com.github.bordertech.wcomponents.WContainer;
+import com.github.bordertech.wcomponents.WPanel;
 import com.github.bordertech.wcomponents.WTextField;
+import com.github.bordertech.wcomponents.util.Config;
+import com.github.bordertech.wcomponents.util.ConfigurationProperties;
 import com.github.bordertech.wcomponents.util.mock.MockRequest;
+import org.junit.After;
 import org.junit.Assert;
 import org.junit.Test;
 
@@ -18,6 +23,11 @@ import org.junit.Test;
  */
 public class WSubordinateControl_Test extends AbstractWComponentTestCase {
 
+	@After
+	public void resetConfig() {
+		Config.reset();
+	}
+
 	@Test
 	public void testRulesAccessors() {
 		Rule rule1 = new Rule();
@@ -78,6 +88,114 @@ public class WSubordinateControl_Test extends AbstractWComponentTestCase {
 						isHidden());
 	}
 
+	@Test
+	public void testApplyControlsIncremental() {
+		Config.getInstance().setProperty(ConfigurationProperties.SUBORDINATE_INCREMENTAL_APPLY, "true");
+
+		WTextField trigger1 = new WTextField();
+		WTextField trigger2 = new WTextField();
+		WTextField target1 = new WTextField();
+		WTextField target2 = new WTextField();
+		WTextField target3 = new WTextField();
+
+		WSubordinateControl control = new WSubordinateControl();
+		control.addRule(new Rule(new Equal(trigger1, "x"), new Hide(target1), new Show(target1)));
+		control.addRule(new Rule(new And(new Equal(trigger2, "y"), new Not(new Equal(trigger2, "z"))),
+				new Hide(target2), new Show(target2)));
+		// Rules with conditions which do not declare their triggers are always applied
+		control.addRule(new Rule(new AbstractCondition() {
+			@Override
+			protected boolean execute() {
+				return true;
+			}
+
+			@Override
+			protected boolean execute(final Request request) {
+				return true;
+			}
+		}, new Hide(target3)));
+
+		WContainer root = new WContainer();
+		root.add(control);
+		root.add(trigger1);
+		root.add(trigger2);
+		root.add(target1);
+		root.add(target2);
+		root.add(target3);
+
+		setActiveContext(createUIContext());
+		trigger1.setText("x");
+		trigger2.setText("y");
+		target1.setHidden(true);
+
+		// Only trigger1 has been changed on the client
+		MockRequest request = new MockRequest();
+		request.setParameter(trigger1.getId(), "changed");
+		request.setParameter(trigger2.getId(), "y");
+		control.applyTheControls(request);
+
+		Assert.assertFalse("Rule with a changed trigger should have been applied", target1.isHidden());
+		Assert.assertFalse("Rule without a changed trigger should not have been applied", target2.isHidden());
+		Assert.assertTrue("Rule with an unknown trigger should have been applied", target3.isHidden());
+
+		// Replacing a condition must be picked up
+		control.getRules().get(1).setCondition(new Equal(trigger1, "changed"));
+		control.applyTheControls(request);
+		Assert.assertTrue("Rule with a replaced condition should have been applied", target2.isHidden());
+
+		// All rules are applied when the incremental apply is not enabled
+		Config.reset();
+		target2.setHidden(false);
+		trigger1.setText("changed");
+		control.applyTheControls(request);
+		Assert.assertTrue("All rules should be applied", target2.isHidden());
+	}
+
+	@Test
+	public void testApplyControlsIncrementalChained() {
+		Config.getInstance().setProperty(ConfigurationProperties.SUBORDINATE_INCREMENTAL_APPLY, "true");
+
+		WTextField triggerY = new WTextField();
+		WTextField triggerX = new WTextField();
+		WTextField nestedX = new WTextField();
+		WPanel container = new WPanel();
+		container.add(nestedX);
+		WTextField targetP = new WTextField();
+		WTextField targetQ = new WTextField();
+
+		// Rule A disables X (and the panel holding the nested trigger), which affects the outcome of rules B and C
+		WSubordinateControl control = new WSubordinateControl();
+		Rule ruleA = new Rule(new Equal(triggerY, "y"), new Disable(triggerX), new Enable(triggerX));
+		ruleA.addActionOnTrue(new Disable(container));
+		ruleA.addActionOnFalse(new Enable(container));
+		control.addRule(ruleA);
+		control.addRule(new Rule(new Equal(triggerX, "x"), new Show(targetP), new Hide(targetP)));
+		control.addRule(new Rule(new Equal(nestedX, "x"), new Show(targetQ), new Hide(targetQ)));
+
+		WContainer root = new WContainer();
+		root.add(control);
+		root.add(triggerY);
+		root.add(triggerX);
+		root.add(container);
+		root.add(targetP);
+		root.add(targetQ);
+
+		setActiveContext(createUIContext());
+		triggerX.setText("x");
+		nestedX.setText("x");
+
+		// Only Y has been changed on the client
+		MockRequest request = new MockRequest();
+		request.setParameter(triggerY.getId(), "y");
+		request.setParameter(triggerX.getId(), "x");
+		request.setParameter(nestedX.getId(), "x");
+		control.applyTheControls(request);
+
+		Assert.assertTrue("X should have been disabled", triggerX.isDisabled());
+		Assert.assertTrue("Rule triggered by a disabled target should have been applied", targetP.isHidden());
+		Assert.assertTrue("Rule triggered within a disabled panel should have been applied", targetQ.isHidden());
+	}
+
 	@Test
 	public void testToString() {
 		WCheckBox box = new WCheckBox();
@@ -0,0 +1,104 @@
+package com.github.bordertech.wcomponents.template;
+
+import com.github.bordertech.wcomponents.AbstractWComponentTestCase;
+import com.github.bordertech.wcomponents.UIContext;
+import com.github.bordertech.wcomponents.WComponent;
+import com.github.bordertech.wcomponents.util.Config;
+import com.github.bordertech.wcomponents.util.ConfigurationProperties;
+import com.github.jknack.handlebars.EscapingStrategy;
+import com.github.jknack.handlebars.Handlebars;
+import java.io.StringWriter;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Unit tests for {@link HandlebarsRendererImpl}.
+ *
+ * @since 1.5.30
+ */
+public class HandlebarsRendererImpl_Test extends AbstractWComponentTestCase {
+
+	@After
+	public void resetConfig() {
+		Config.reset();
+	}
+
+	@Test
+	public void testEngineReused() {
+		HandlebarsRendererImpl renderer = new HandlebarsRendererImpl();
+		Map<String, Object> options = new HashMap<>();
+		Handlebars engine = renderer.getHandlebarsEngine(options);
+
+		Assert.assertSame("Engine should be reused for the same options", engine, renderer.getHandlebarsEngine(
+				new HashMap<String, Object>()));
+
+		options.put(HandlebarsRendererImpl.PRETTY_PRINT, "true");
+		Handlebars prettyEngine = renderer.getHandlebarsEngine(options);
+		Assert.assertNotSame("Engine should not be shared for different options", engine, prettyEngine);
+		Assert.assertTrue("Engine should pretty print", prettyEngine.prettyPrint());
+
+		options.put(HandlebarsRendererImpl.ESCAPING_STRATEGY, EscapingStrategy.NOOP);
+		Assert.assertSame("Incorrect escaping strategy", EscapingStrategy.NOOP, renderer.getHandlebarsEngine(options).
+				getEscapingStrategy());
+	}
+
+	@Test
+	public void testRenderInline() {
+		HandlebarsRendererImpl renderer = new HandlebarsRendererImpl();
+		Map<String, Object> context = Collections.<String, Object>singletonMap("name", "<b>");
+
+		Assert.assertEquals("Incorrect output", "Hello &lt;b&gt;", renderInline(renderer, "Hello {{name}}", context));
+		// Rendering again should use the cached compiled template
+		Assert.assertEquals("Incorrect output on second render", "Hello &lt;b&gt;", renderInline(renderer,
+				"Hello {{name}}", context));
+		Assert.assertEquals("Incorrect output for different content", "Bye &lt;b&gt;", renderInline(renderer,
+				"Bye {{name}}", context));
+	}
+
+	@Test
+	public void testThemeI18n() {
+		Config.getInstance().setProperty(ConfigurationProperties.I18N_THEME_RESOURCE_BUNDLE_BASE_NAME, "i18n/theme");
+		HandlebarsRendererImpl renderer = new HandlebarsRendererImpl();
+		Map<String, Object> context = Collections.emptyMap();
+
+		Assert.assertEquals("Incorrect translation", "yeah nah yeah", renderInline(renderer, "{{t \"some_i18n_key\"}}",
+				context));
+		Assert.assertEquals("Incorrect translation with locale parameter", "oui non oui", renderInline(renderer,
+				"{{t \"some_i18n_key\" locale=\"fr_FR\"}}", context));
+		Assert.assertEquals("Incorrect translation with parameters", "c&#x27;est ici", renderInline(renderer,
+				"{{t \"quoted_key\" \"ici\" locale=\"fr\"}}", context));
+		Assert.assertEquals("Incorrect translation without parameters", "it&#x27;&#x27;s {0}", renderInline(renderer,
+				"{{t \"quoted_key\"}}", context));
+
+		UIContext uic = createUIContext();
+		uic.setLocale(Locale.FRENCH);
+		setActiveContext(uic);
+		Assert.assertEquals("Incorrect translation for user locale", "oui non oui", renderInline(renderer,
+				"{{t \"some_i18n_key\"}}", context));
+
+		uic.setLocale(Locale.GERMAN);
+		Assert.assertEquals("Incorrect translation for user locale without a bundle", "yeah nah yeah", renderInline(
+				renderer, "{{t \"some_i18n_key\"}}", context));
+	}
+
+	/**
+	 * Renders an inline template.
+	 *
+	 * @param renderer the renderer to use.
+	 * @param template the inline template.
+	 * @param context the template context.
+	 * @return the rendered output.
+	 */
+	private String renderInline(final HandlebarsRendererImpl renderer, final String template,
+			final Map<String, Object> context) {
+		StringWriter writer = new StringWriter();
+		renderer.renderInline(template, context, Collections.<String, WComponent>emptyMap(), writer,
+				Collections.<String, Object>emptyMap());
+		return writer.toString();
+	}
+}
@@ -0,0 +1,73 @@
+package com.github.bordertech.wcomponents.util;
+
+import java.util.Arrays;
+import java.util.List;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Unit tests for {@link ByteRange}.
+ *
+ * @since 1.5.30
+ */
+public class ByteRange_Test {
+
+	@Test
+	public void testParseSingleRange() {
+		Assert.assertEquals("Incorrect range", Arrays.asList(new ByteRange(0, 99)), ByteRange.parse("bytes=0-99", 1000));
+		Assert.assertEquals("Incorrect open range", Arrays.asList(new ByteRange(500, 999)), ByteRange.parse(
+				"bytes=500-", 1000));
+		Assert.assertEquals("Incorrect suffix range", Arrays.asList(new ByteRange(900, 999)), ByteRange.parse(
+				"bytes=-100", 1000));
+		Assert.assertEquals("Suffix longer than content should be whole content", Arrays.asList(new ByteRange(0, 9)),
+				ByteRange.parse("bytes=-100", 10));
+		Assert.assertEquals("End past content should be truncated", Arrays.asList(new ByteRange(5, 9)), ByteRange.
+				parse("bytes=5-100", 10));
+	}
+
+	@Test
+	public void testParseMultipleRanges() {
+		List<ByteRange> ranges = ByteRange.parse("bytes=0-9, 20-29,-5", 100);
+		Assert.assertEquals("Incorrect ranges", Arrays.asList(new ByteRange(0, 9), new ByteRange(20, 29), new ByteRange(
+				95, 99)), ranges);
+		Assert.assertTrue("Ranges should be sequential", ByteRange.isSequential(ranges));
+		Assert.assertFalse("Ranges should not be sequential", ByteRange.isSequential(ByteRange.parse(
+				"bytes=20-29,0-9", 100)));
+	}
+
+	@Test
+	public void testParseCoalescesRanges() {
+		Assert.assertEquals("Overlapping ranges should be coalesced", Arrays.asList(new ByteRange(0, 29)), ByteRange.
+				parse("bytes=0-20,10-29", 100));
+		Assert.assertEquals("Adjacent ranges should be coalesced", Arrays.asList(new ByteRange(0, 19)), ByteRange.
+				parse("bytes=10-19,0-9", 100));
+		Assert.assertEquals("Repeated ranges should be coalesced", Arrays.asList(new ByteRange(0, 9),
+				new ByteRange(50, 59)), ByteRange.parse("bytes=50-59,0-9,0-9,0-5", 100));
+		Assert.assertEquals("Separate ranges should not be coalesced", Arrays.asList(new ByteRange(20, 29),
+				new ByteRange(0, 9)), ByteRange.parse("bytes=20-29,0-9", 100));
+	}
+
+	@Test
+	public void testParseUnsatisfiable() {
+		Assert.assertTrue("Range past end should not be satisfiable", ByteRange.parse("bytes=100-", 100).isEmpty());
+		Assert.assertTrue("Empty suffix should not be satisfiable", ByteRange.parse("bytes=-0", 100).isEmpty());
+		Assert.assertEquals("Satisfiable ranges should be kept", Arrays.asList(new ByteRange(0, 0)), ByteRange.parse(
+				"bytes=100-200,0-0", 100));
+	}
+
+	@Test
+	public void testParseInvalid() {
+		Assert.assertNull("Missing header should be ignored", ByteRange.parse(null, 100));
+		Assert.assertNull("Unknown unit should be ignored", ByteRange.parse("items=0-1", 100));
+		Assert.assertNull("Invalid range should be ignored", ByteRange.parse("bytes=abc", 100));
+		Assert.assertNull("Reversed range should be ignored", ByteRange.parse("bytes=10-5", 100));
+		Assert.assertNull("Invalid number should be ignored", ByteRange.parse("bytes=1-x", 100));
+	}
+
+	@Test
+	public void testContentRange() {
+		ByteRange range = new ByteRange(10, 19);
+		Assert.assertEquals("Incorrect length", 10, range.getLength());
+		Assert.assertEquals("Incorrect content range", "bytes 10-19/100", range.toContentRange(100));
+	}
+}
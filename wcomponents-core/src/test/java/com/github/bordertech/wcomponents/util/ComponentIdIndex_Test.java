@@ -0,0 +1,157 @@
+package com.github.bordertech.wcomponents.util;
+
+import com.github.bordertech.wcomponents.ComponentWithContext;
+import com.github.bordertech.wcomponents.UIContext;
+import com.github.bordertech.wcomponents.UIContextHolder;
+import com.github.bordertech.wcomponents.UIContextImpl;
+import com.github.bordertech.wcomponents.WApplication;
+import com.github.bordertech.wcomponents.WCardManager;
+import com.github.bordertech.wcomponents.WContainer;
+import com.github.bordertech.wcomponents.WRepeater;
+import com.github.bordertech.wcomponents.WText;
+import com.github.bordertech.wcomponents.WTextArea;
+import java.util.Arrays;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Unit tests for {@link ComponentIdIndex}.
+ *
+ * @since 1.5.30
+ */
+public class ComponentIdIndex_Test {
+
+	private WApplication root;
+	private WContainer containerChild;
+	private WTextArea grandChild;
+	private WText repeatedComponent;
+	private WRepeater repeaterChild;
+	private WCardManager cardManager;
+	private WText card1;
+	private WText card2;
+	private UIContext uic;
+
+	@Before
+	public void initTree() {
+		root = new WApplication();
+		containerChild = new WContainer();
+		grandChild = new WTextArea();
+		repeatedComponent = new WText();
+		repeaterChild = new WRepeater(repeatedComponent);
+		cardManager = new WCardManager();
+		card1 = new WText();
+		card2 = new WText();
+
+		root.add(containerChild);
+		root.add(repeaterChild);
+		root.add(cardManager);
+		containerChild.add(grandChild);
+		cardManager.add(card1);
+		cardManager.add(card2);
+		root.setLocked(true);
+
+		uic = new UIContextImpl();
+		uic.setUI(root);
+		UIContextHolder.pushContext(uic);
+		repeaterChild.setData(Arrays.asList(new String[]{"1", "2", "3"}));
+	}
+
+	@After
+	public void resetContext() {
+		UIContextHolder.reset();
+	}
+
+	@Test
+	public void testLookupMatchesTreeSearch() {
+		String[] ids = new String[]{root.getId(), grandChild.getId(), card1.getId(), card2.getId(),
+			getRowId("1"), getRowId("2"), getRowId("3"), "no-such-id"};
+
+		// Look up each id twice, so that the index is built and then used
+		for (int i = 0; i < 2; i++) {
+			for (String id : ids) {
+				assertSameResult(id, false);
+				assertSameResult(id, true);
+			}
+		}
+	}
+
+	@Test
+	public void testLookupAfterVisibilityChange() {
+		String grandChildId = grandChild.getId();
+		String card2Id = card2.getId();
+		assertSameResult(grandChildId, true);
+		assertSameResult(card2Id, true);
+
+		containerChild.setVisible(false);
+		Assert.assertNull("Should not find child of invisible container", lookup(grandChildId, true));
+		Assert.assertNotNull("Should still find child of invisible container", lookup(grandChildId, false));
+
+		cardManager.makeVisible(card2);
+		assertSameResult(card2Id, true);
+		assertSameResult(card1.getId(), true);
+	}
+
+	@Test
+	public void testLookupAfterRowRemoved() {
+		String row3Id = getRowId("3");
+		String row1Id = getRowId("1");
+		Assert.assertNotNull("Row should be found", lookup(row3Id, false));
+		Assert.assertNotNull("Row should be found", lookup(row1Id, false));
+
+		repeaterChild.setData(Arrays.asList(new String[]{"1", "2"}));
+		Assert.assertNull("Removed row should not be found", lookup(row3Id, false));
+		assertSameResult(row1Id, false);
+	}
+
+	@Test
+	public void testIndexDiscardedWithRequestScratchMap() {
+		String id = grandChild.getId();
+		assertSameResult(card1.getId(), false);
+		assertSameResult(id, false);
+		uic.clearRequestScratchMap();
+		assertSameResult(id, false);
+	}
+
+	/**
+	 * @param rowData the row data
+	 * @return the id of the repeated component in the given row
+	 */
+	private String getRowId(final String rowData) {
+		UIContextHolder.pushContext(repeaterChild.getRowContext(rowData));
+		try {
+			return repeatedComponent.getId();
+		} finally {
+			UIContextHolder.popContext();
+		}
+	}
+
+	/**
+	 * @param id the id to look up
+	 * @param visibleOnly true to only search visible components
+	 * @return the result of the indexed lookup
+	 */
+	private ComponentWithContext lookup(final String id, final boolean visibleOnly) {
+		return ComponentIdIndex.getComponentWithContextForId(uic, id, visibleOnly);
+	}
+
+	/**
+	 * Checks the indexed lookup returns the same result as a tree search.
+	 *
+	 * @param id the id to look up
+	 * @param visibleOnly true to only search visible components
+	 */
+	private void assertSameResult(final String id, final boolean visibleOnly) {
+		ComponentWithContext expected = TreeUtil.getComponentWithContextForId(root, id, visibleOnly);
+		ComponentWithContext actual = lookup(id, visibleOnly);
+
+		if (expected == null) {
+			Assert.assertNull("Should not find " + id, actual);
+		} else {
+			Assert.assertNotNull("Should find " + id, actual);
+			Assert.assertSame("Incorrect component for " + id, expected.getComponent(), actual.getComponent());
+			Assert.assertSame("Incorrect context for " + id, expected.getContext(), actual.getContext());
+		}
+	}
+}
@@ -24,6 +24,11 @@ public class I18nUtilities_Test {
 	 */
 	private static final String PARAMETERISED_TEXT_KEY = "PARAMETERISED_TEXT";
 
+	/**
+	 * This key matches a mapping containing quotes in the test resource bundle.
+	 */
+	private static final String QUOTED_TEXT_KEY = "QUOTED_TEXT";
+
 	/**
 	 * A locale with no internationalisation provided for tests.
 	 */
@@ -86,6 +91,28 @@ public class I18nUtilities_Test {
 		Assert.assertEquals("Incorrect parameterised text for locale", "fr_CA arg1", result);
 	}
 
+	@Test
+	public void testFormatWithoutArgs() {
+		String result = I18nUtilities.format(NON_PROVIDED_LOCALE, QUOTED_TEXT_KEY, new Object[0]);
+		Assert.assertEquals("Incorrect quoted text without args", "it's {0}", result);
+
+		result = I18nUtilities.format(NON_PROVIDED_LOCALE, QUOTED_TEXT_KEY);
+		Assert.assertEquals("Text without a message should not be formatted", "it''s {0}", result);
+
+		result = I18nUtilities.format(NON_PROVIDED_LOCALE, QUOTED_TEXT_KEY, "arg1");
+		Assert.assertEquals("Incorrect quoted text with args", "it's arg1", result);
+
+		result = I18nUtilities.format(NON_PROVIDED_LOCALE, new Message(QUOTED_TEXT_KEY));
+		Assert.assertEquals("Message without args should not be formatted", "it''s {0}", result);
+
+		result = I18nUtilities.format(NON_PROVIDED_LOCALE, "it''s not in the bundle", new Object[0]);
+		Assert.assertEquals("Incorrect text without args", "it's not in the bundle", result);
+
+		String text = "Not in the bundle";
+		Assert.assertSame("Literal text should not be formatted", text, I18nUtilities.format(NON_PROVIDED_LOCALE,
+				text, new Object[0]));
+	}
+
 	@Test
 	public void testFormatInternalMessage() {
 		// With resource bundle set but no locale-specific text, should drop back to text in messages.properties.
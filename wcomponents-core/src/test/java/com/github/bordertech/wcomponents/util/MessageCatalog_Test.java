@@ -0,0 +1,70 @@
+package com.github.bordertech.wcomponents.util;
+
+import java.util.Locale;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Unit tests for {@link MessageCatalog}.
+ *
+ * @since 1.5.30
+ */
+public class MessageCatalog_Test {
+
+	/**
+	 * The resource bundle used for tests.
+	 */
+	private static final String BASE_NAME = "i18n/test";
+
+	@After
+	public void resetConfig() {
+		Config.reset();
+	}
+
+	@Test
+	public void testGetMessage() {
+		MessageCatalog catalog = MessageCatalog.getInstance(BASE_NAME, new Locale("fr", "CA"));
+
+		Assert.assertEquals("Incorrect message for locale", "fr_CA text", catalog.getMessage("SIMPLE_TEXT").getText());
+		Assert.assertEquals("Incorrect message from parent bundle", "it''s {0}", catalog.getMessage("QUOTED_TEXT").
+				getText());
+		Assert.assertNull("Missing key should not have a message", catalog.getMessage("NOT_A_KEY"));
+	}
+
+	@Test
+	public void testMissingBundle() {
+		MessageCatalog catalog = MessageCatalog.getInstance("i18n/notABundle", Locale.ENGLISH);
+		Assert.assertNull("Missing bundle should not have messages", catalog.getMessage("SIMPLE_TEXT"));
+	}
+
+	@Test
+	public void testCatalogCached() {
+		Locale locale = new Locale("fr", "CA");
+		MessageCatalog catalog = MessageCatalog.getInstance(BASE_NAME, locale);
+
+		Assert.assertSame("Catalog should be cached", catalog, MessageCatalog.getInstance(BASE_NAME, locale));
+		Assert.assertSame("Messages should be cached", catalog.getMessage("SIMPLE_TEXT"), MessageCatalog.getInstance(
+				BASE_NAME, locale).getMessage("SIMPLE_TEXT"));
+		Assert.assertSame("Locales resolving to the same bundle should share a catalog", MessageCatalog.getInstance(
+				BASE_NAME, new Locale("de")), MessageCatalog.getInstance(BASE_NAME, new Locale("it")));
+
+		Config.notifyListeners();
+		Assert.assertNotSame("Catalog should be discarded when the configuration changes", catalog, MessageCatalog.
+				getInstance(BASE_NAME, locale));
+	}
+
+	@Test
+	public void testMessageTemplate() {
+		MessageTemplate template = new MessageTemplate("it''s {0}");
+
+		Assert.assertEquals("Incorrect text", "it''s {0}", template.getText());
+		Assert.assertEquals("Null args should not be formatted", "it''s {0}", template.format((Object[]) null));
+		Assert.assertEquals("Incorrect text without args", "it's {0}", template.format());
+		Assert.assertEquals("Incorrect text with args", "it's a", template.format("a"));
+		Assert.assertEquals("Incorrect text with args", "it's b", template.format("b"));
+
+		MessageTemplate invalid = new MessageTemplate("invalid {");
+		Assert.assertEquals("Invalid pattern should not be formatted", "invalid {", invalid.format("a"));
+	}
+}
@@ -0,0 +1,73 @@
+package com.github.bordertech.wcomponents.util;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Random;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Unit tests for {@link TableUtil}.
+ *
+ * @since 1.5.30
+ */
+public class TableUtil_Test {
+
+	/**
+	 * Compares Integers.
+	 */
+	private static final Comparator<Object> COMPARATOR = (Comparator) new ComparableComparator();
+
+	@Test
+	public void testRowIndexStringConversion() {
+		Assert.assertEquals("Incorrect row index string", "1-0-12", TableUtil.rowIndexListToString(Arrays.asList(1, 0,
+				12)));
+		Assert.assertEquals("Incorrect row index", Arrays.asList(1, 0, 12), TableUtil.rowIndexStringToList("1-0-12"));
+		Assert.assertNull("Incorrect row index string for null", TableUtil.rowIndexListToString(null));
+		Assert.assertNull("Incorrect row index for null", TableUtil.rowIndexStringToList(null));
+		Assert.assertEquals("Incorrect row index for invalid string", Arrays.asList(1), TableUtil.rowIndexStringToList(
+				"1-x"));
+	}
+
+	@Test
+	public void testSortDataRange() {
+		Object[] data = new Object[]{5, 1, 4, 2, 3};
+
+		Assert.assertArrayEquals("Incorrect first page", new int[]{1, 3}, TableUtil.sortDataRange(data, COMPARATOR,
+				true, 0, 2));
+		Assert.assertArrayEquals("Incorrect second page", new int[]{4, 2}, TableUtil.sortDataRange(data, COMPARATOR,
+				true, 2, 4));
+		Assert.assertArrayEquals("Incorrect partial page", new int[]{0}, TableUtil.sortDataRange(data, COMPARATOR,
+				true, 4, 6));
+		Assert.assertArrayEquals("Incorrect descending page", new int[]{0, 2}, TableUtil.sortDataRange(data,
+				COMPARATOR, false, 0, 2));
+		Assert.assertEquals("Range past the end should be empty", 0, TableUtil.sortDataRange(data, COMPARATOR, true, 5,
+				7).length);
+	}
+
+	@Test
+	public void testSortDataRangeMatchesFullSort() {
+		Random random = new Random(42);
+		Object[] data = new Object[1000];
+
+		for (int i = 0; i < data.length; i++) {
+			// Plenty of duplicates
+			data[i] = random.nextInt(100);
+		}
+
+		for (boolean ascending : new boolean[]{true, false}) {
+			int[] full = TableUtil.sortDataRange(data, COMPARATOR, ascending, 0, data.length);
+
+			for (int i = 1; i < full.length; i++) {
+				int cmp = COMPARATOR.compare(data[full[i - 1]], data[full[i]]) * (ascending ? 1 : -1);
+				Assert.assertTrue("Data not sorted", cmp < 0 || (cmp == 0 && full[i - 1] < full[i]));
+			}
+
+			for (int start = 0; start < data.length; start += 30) {
+				int end = start + 30;
+				Assert.assertArrayEquals("Incorrect range " + start, Arrays.copyOfRange(full, start, Math.min(end,
+						data.length)), TableUtil.sortDataRange(data, COMPARATOR, ascending, start, end));
+			}
+		}
+	}
+}
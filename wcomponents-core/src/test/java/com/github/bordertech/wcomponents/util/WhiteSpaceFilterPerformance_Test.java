@@ -0,0 +1,191 @@
+package com.github.bordertech.wcomponents.util;
+
+import com.github.bordertech.wcomponents.AbstractWComponentTestCase;
+import com.github.bordertech.wcomponents.PerformanceTests;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.io.Writer;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+/**
+ * Rudimentary performance test of {@link WhiteSpaceFilterPrintWriter}, comparing the block-oriented filter against
+ * filtering one character at a time. The timings are only logged, as they vary too much between environments to
+ * assert on.
+ *
+ * @since 1.5.30
+ */
+@Category(PerformanceTests.class)
+public class WhiteSpaceFilterPerformance_Test extends AbstractWComponentTestCase {
+
+	/**
+	 * The logger instance for this class.
+	 */
+	private static final Log LOG = LogFactory.getLog(WhiteSpaceFilterPerformance_Test.class);
+
+	/**
+	 * The number of times to filter the page.
+	 */
+	private static final int LOOPS = 500;
+
+	/**
+	 * The size of each chunk written to the filter, similar to the chunks written by the XSLT transform.
+	 */
+	private static final int CHUNK_SIZE = 8192;
+
+	/**
+	 * A page to filter.
+	 */
+	private static final String PAGE = buildPage();
+
+	@Test
+	public void testFilterPerformance() {
+
+		// Warm up
+		timeFilter(false, LOOPS / 10);
+		timeFilter(true, LOOPS / 10);
+
+		long charTime = timeFilter(false, LOOPS);
+		long blockTime = timeFilter(true, LOOPS);
+		double megabytes = (double) PAGE.length() * LOOPS / (1024 * 1024);
+
+		LOG.info("Character filter time: " + (charTime / 1000000.0) + "ms, "
+				+ (megabytes * 1000000000.0 / charTime) + "MB/s");
+		LOG.info("Block filter time: " + (blockTime / 1000000.0) + "ms, "
+				+ (megabytes * 1000000000.0 / blockTime) + "MB/s");
+	}
+
+	/**
+	 * Times filtering the page.
+	 *
+	 * @param block true to use the block filter, false to filter one character at a time.
+	 * @param count the number of times to filter the page.
+	 * @return the time taken, in nanoseconds.
+	 */
+	private long timeFilter(final boolean block, final int count) {
+		return time(new Runnable() {
+			@Override
+			public void run() {
+				for (int i = 0; i < count; i++) {
+					if (block) {
+						filterByBlock(PAGE, CHUNK_SIZE);
+					} else {
+						filterByChar(PAGE);
+					}
+				}
+			}
+		});
+	}
+
+	/**
+	 * Filters the given text with the block-oriented filter.
+	 *
+	 * @param text the text to filter.
+	 * @param chunkSize the size of each chunk written to the filter.
+	 * @return the filtered text.
+	 */
+	private static String filterByBlock(final String text, final int chunkSize) {
+		StringWriter result = new StringWriter(text.length());
+		PrintWriter writer = new WhiteSpaceFilterPrintWriter(result);
+		writeChunks(writer, text, chunkSize);
+		writer.close();
+		return result.toString();
+	}
+
+	/**
+	 * Filters the given text one character at a time.
+	 *
+	 * @param text the text to filter.
+	 * @return the filtered text.
+	 */
+	private static String filterByChar(final String text) {
+		StringWriter result = new StringWriter(text.length());
+		PrintWriter writer = new CharFilterPrintWriter(result);
+		writeChunks(writer, text, CHUNK_SIZE);
+		writer.close();
+		return result.toString();
+	}
+
+	/**
+	 * Writes the text to the writer in chunks.
+	 *
+	 * @param writer the writer to write to.
+	 * @param text the text to write.
+	 * @param chunkSize the size of each chunk.
+	 */
+	private static void writeChunks(final PrintWriter writer, final String text, final int chunkSize) {
+		char[] chars = text.toCharArray();
+
+		for (int off = 0; off < chars.length; off += chunkSize) {
+			writer.write(chars, off, Math.min(chunkSize, chars.length - off));
+		}
+	}
+
+	/**
+	 * @return a page with a mix of markup, whitespace, comments and preformatted content.
+	 */
+	private static String buildPage() {
+		StringBuilder page = new StringBuilder("<?xml version=\"1.0\"?>\n<ui:root xmlns:ui=\"x\">\n");
+
+		for (int i = 0; i < 500; i++) {
+			page.append("  <ui:panel id=\"panel").append(i).append("\" type=\"box\">\n")
+					.append("    <!-- panel ").append(i).append(" -->\n")
+					.append("    <ui:text>  Some    text   for row ").append(i).append("  </ui:text>\n")
+					.append("    <ui:textfield id=\"field").append(i).append("\" size=\"20\">value</ui:textfield>\n")
+					.append("    <ui:textarea id=\"area").append(i).append("\">  line one\n    line two  </ui:textarea>\n")
+					.append("    <pre>  keep   this  </pre>\n")
+					.append("  </ui:panel>\n");
+		}
+
+		return page.append("</ui:root>\n").toString();
+	}
+
+	/**
+	 * Filters characters one at a time, in the same manner as the original implementation of
+	 * {@link WhiteSpaceFilterPrintWriter}.
+	 */
+	private static final class CharFilterPrintWriter extends PrintWriter {
+
+		/**
+		 * The whitespace filter state machine.
+		 */
+		private final WhiteSpaceFilterStateMachine stateMachine = new WhiteSpaceFilterStateMachine();
+
+		/**
+		 * @param writer the writer that will receive the filtered output.
+		 */
+		private CharFilterPrintWriter(final Writer writer) {
+			super(writer);
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public void write(final int c) {
+			WhiteSpaceFilterStateMachine.StateChange change = stateMachine.nextState((char) c);
+
+			if (change.getOutputBytes() != null) {
+				for (int i = 0; i < change.getOutputBytes().length; i++) {
+					super.write(change.getOutputBytes()[i]);
+				}
+			}
+
+			if (!change.isSuppressCurrentChar()) {
+				super.write(c);
+			}
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public void write(final char[] buf, final int off, final int len) {
+			for (int i = off; i < off + len; i++) {
+				write(buf[i]);
+			}
+		}
+	}
+}
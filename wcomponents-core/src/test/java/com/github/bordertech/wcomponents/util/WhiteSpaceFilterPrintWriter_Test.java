@@ -24,6 +24,29 @@ public class WhiteSpaceFilterPrintWriter_Test {
 	 */
 	private static final String ERROR_MESSAGE = "Incorrect filter result for: \"";
 
+	/**
+	 * A sample to check the filter output against.
+	 */
+	private static final String SAMPLE = "<?xml version=\"1.0\"?>\n<ui:root xmlns:ui=\"x\">\n"
+			+ "  <ui:panel id=\"panel1\" type=\"box\">\n"
+			+ "    <!-- panel   1 -->\n"
+			+ "    <ui:text>  Some    text   for row 1  </ui:text>\n"
+			+ "    <ui:textfield id=\"field1\" size=\"20\">value</ui:textfield>\n"
+			+ "    <ui:textarea id=\"area1\">  line one\n    line two  </ui:textarea>\n"
+			+ "    <pre>  keep   this  </pre>\n"
+			+ "\t\t<script>  var a =   1;\n  </script>\n"
+			+ "  </ui:panel>\n</ui:root>\n";
+
+	/**
+	 * The output of the original per-character implementation for the sample.
+	 */
+	private static final String SAMPLE_FILTERED = "<?xml version=\"1.0\"?> <ui:root xmlns:ui=\"x\">"
+			+ " <ui:panel id=\"panel1\" type=\"box\"> <!-- -->"
+			+ " <ui:text>  Some    text   for row 1  </ui:text>"
+			+ " <ui:textfield id=\"field1\" size=\"20\">value</ui:textfield>"
+			+ " <ui:textarea id=\"area1\">  line one\n    line two  </ui:textarea>"
+			+ " <pre>  keep   this  </pre> <script>  var a =   1;\n  </script> </ui:panel> </ui:root> ";
+
 	@Test
 	public void testSimpleHTML1() {
 		//Shouldn't strip anything
@@ -248,6 +271,24 @@ public class WhiteSpaceFilterPrintWriter_Test {
 		Assert.assertEquals(ERROR_MESSAGE + input + '"', expected, filter(input));
 	}
 
+	@Test
+	public void testFilterOutputInChunks() {
+		// Write the sample in chunks of different sizes, so that chunk boundaries fall within each filter state
+		for (int chunkSize = 1; chunkSize <= SAMPLE.length(); chunkSize++) {
+			StringWriter result = new StringWriter();
+			WhiteSpaceFilterPrintWriter writer = new WhiteSpaceFilterPrintWriter(result);
+			char[] chars = SAMPLE.toCharArray();
+
+			for (int off = 0; off < chars.length; off += chunkSize) {
+				writer.write(chars, off, Math.min(chunkSize, chars.length - off));
+			}
+
+			writer.close();
+			Assert.assertEquals("Incorrect filter output for chunk size " + chunkSize, SAMPLE_FILTERED, result.
+					toString());
+		}
+	}
+
 	/**
 	 * @param input the test input
 	 * @return the filtered result
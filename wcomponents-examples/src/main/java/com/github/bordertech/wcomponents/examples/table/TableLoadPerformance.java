@@ -1,5 +1,6 @@
 package com.github.bordertech.wcomponents.examples.table;
 
+import com.github.bordertech.wcomponents.AbstractTableModel;
 import com.github.bordertech.wcomponents.ActionEvent;
 import com.github.bordertech.wcomponents.AjaxHelper;
 import com.github.bordertech.wcomponents.AjaxTarget;
@@ -38,17 +39,30 @@ import com.github.bordertech.wcomponents.examples.table.PersonBean.TravelDoc;
 import com.github.bordertech.wcomponents.layout.ColumnLayout;
 import com.github.bordertech.wcomponents.validation.ValidatingAction;
 import java.io.Serializable;
+import java.util.Comparator;
 import java.util.Date;
 import java.util.List;
 
 /**
- * Example of {@link WTable} using large amounts of data.
+ * Example of {@link WTable} using large amounts of data. The sort test compares sorting all the rows with sorting
+ * just the rows needed for the first page, as is done for dynamically paginated tables with a
+ * {@link WTable.RangeSortableTableModel}.
  *
  * @author Jonathan Austin
  * @since 1.0.0
  */
 public class TableLoadPerformance extends WApplication {
 
+	/**
+	 * The page size used by the sort test.
+	 */
+	private static final int SORT_PAGE_SIZE = 20;
+
+	/**
+	 * The number of times each sort is run by the sort test.
+	 */
+	private static final int SORT_REPEAT = 5;
+
 	/**
 	 * Table load options.
 	 */
@@ -114,6 +128,26 @@ public class TableLoadPerformance extends WApplication {
 	 */
 	private final WButton loadButton = new WButton("Load test");
 
+	/**
+	 * Sort test button.
+	 */
+	private final WButton sortButton = new WButton("Sort test");
+
+	/**
+	 * Sort test results.
+	 */
+	private final WDefinitionList sortResults = new WDefinitionList(WDefinitionList.Type.COLUMN);
+
+	/**
+	 * Full sort result.
+	 */
+	private final WText fullSortResult = new WText();
+
+	/**
+	 * First page sort result.
+	 */
+	private final WText pageSortResult = new WText();
+
 	/**
 	 * WTable instance.
 	 */
@@ -277,6 +311,7 @@ public class TableLoadPerformance extends WApplication {
 		optionLayout.addField("Table", rbOptions);
 
 		optionLayout.addField((WLabel) null, loadButton);
+		optionLayout.addField((WLabel) null, sortButton);
 
 		loadButton.setAction(new ValidatingAction(messages.getValidationErrors(), optionLayout) {
 			@Override
@@ -293,6 +328,18 @@ public class TableLoadPerformance extends WApplication {
 			}
 		});
 
+		sortButton.setAction(new ValidatingAction(messages.getValidationErrors(), optionLayout) {
+			@Override
+			public void executeOnValid(final ActionEvent event) {
+				runSortTest();
+			}
+		});
+
+		sortResults.addTerm("Full sort", fullSortResult);
+		sortResults.addTerm("First page sort", pageSortResult);
+		sortResults.setVisible(false);
+		optionsPanel.add(sortResults);
+
 		// Table layouts
 		root.add(tablePanel);
 		tableLayout.setLayout(new ColumnLayout(new int[]{50, 50}, Size.MEDIUM, Size.MEDIUM));
@@ -448,6 +495,44 @@ public class TableLoadPerformance extends WApplication {
 
 	}
 
+	/**
+	 * Compares the time taken to sort all the rows, as is required for a full sort mapping, with the time taken to
+	 * sort just the rows for the first page of a dynamically paginated table.
+	 */
+	private void runSortTest() {
+		List<PersonBean> beans = ExampleDataUtil.createExampleData(numRows.getNumber().intValue(), 0);
+		SortTestModel model = new SortTestModel(beans);
+
+		long fullTime = 0;
+		long pageTime = 0;
+
+		// Run once first to warm up
+		for (int i = 0; i <= SORT_REPEAT; i++) {
+			long start = System.nanoTime();
+			model.sortAll();
+			long mid = System.nanoTime();
+			model.sortFirstPage();
+			long finish = System.nanoTime();
+
+			if (i > 0) {
+				fullTime += mid - start;
+				pageTime += finish - mid;
+			}
+		}
+
+		fullSortResult.setText(formatNanos(fullTime / SORT_REPEAT));
+		pageSortResult.setText(formatNanos(pageTime / SORT_REPEAT));
+		sortResults.setVisible(true);
+	}
+
+	/**
+	 * @param nanos the elapsed time in nanoseconds
+	 * @return the elapsed time formatted in milliseconds
+	 */
+	private static String formatNanos(final long nanos) {
+		return String.format("%.2f ms", nanos / 1000000.0);
+	}
+
 	/**
 	 * @return true is loading WTable
 	 */
@@ -500,6 +585,67 @@ public class TableLoadPerformance extends WApplication {
 		}
 	}
 
+	/**
+	 * A table model used to time sorting the rows by last name.
+	 */
+	private static final class SortTestModel extends AbstractTableModel {
+
+		/**
+		 * The comparator used to sort the rows.
+		 */
+		private static final Comparator<Object> COMPARATOR = (Comparator) SimpleBeanBoundTableModel.COMPARABLE_COMPARATOR;
+
+		/**
+		 * The rows.
+		 */
+		private final List<PersonBean> beans;
+
+		/**
+		 * @param beans the rows
+		 */
+		private SortTestModel(final List<PersonBean> beans) {
+			this.beans = beans;
+		}
+
+		/**
+		 * @return the sort mapping for all the rows
+		 */
+		private int[] sortAll() {
+			return sort(COMPARATOR, 0, true);
+		}
+
+		/**
+		 * @return the sort mapping for the rows on the first page
+		 */
+		private int[] sortFirstPage() {
+			return sort(COMPARATOR, 0, true, 0, SORT_PAGE_SIZE);
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public Object getValueAt(final List<Integer> row, final int col) {
+			return beans.get(row.get(0)).getLastName();
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public int getRowCount() {
+			return beans.size();
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public int getChildCount(final List<Integer> row) {
+			return 0;
+		}
+	}
+
 	/**
 	 * Results panel.
 	 */